@@ -0,0 +1,85 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import com.consetto.adt.cloudalmlink.model.CloudAlmItem;
+
+/**
+ * Checks the Cloud ALM IDs referenced in comments against the items found in Cloud ALM.
+ * IDs that do not exist and items in a closed status are reported as problems.
+ */
+public final class CalmIdValidation {
+
+	/** Item statuses that make a reference outdated */
+	public static final Set<String> CLOSED_STATUSES = Set.of("CLOSED", "CANCELED", "CANCELLED", "OBSOLETE", "DELETED");
+
+	/**
+	 * A problem with a referenced ID.
+	 *
+	 * @param offset The offset of the ID in the document
+	 * @param length The length of the ID
+	 * @param itemId The referenced ID
+	 * @param message The problem description
+	 */
+	public record Problem(int offset, int length, String itemId, String message) {
+	}
+
+	private CalmIdValidation() {
+		// Prevent instantiation
+	}
+
+	/**
+	 * Collects the distinct IDs referenced in comments.
+	 *
+	 * @param occurrences The indexed occurrences of a document
+	 * @return The IDs in order of first occurrence
+	 */
+	public static Set<String> referencedIds(List<CalmIdIndex.Occurrence> occurrences) {
+		Set<String> ids = new LinkedHashSet<>();
+		for (CalmIdIndex.Occurrence occurrence : occurrences) {
+			if (occurrence.inComment()) {
+				ids.add(occurrence.itemId());
+			}
+		}
+		return ids;
+	}
+
+	/**
+	 * Validates the IDs referenced in comments.
+	 *
+	 * @param occurrences The indexed occurrences of a document
+	 * @param items The resolved items by ID; null values for IDs that do not exist,
+	 *              IDs that could not be checked are missing and never reported
+	 * @return The problems in offset order
+	 */
+	public static List<Problem> validate(List<CalmIdIndex.Occurrence> occurrences, Map<String, CloudAlmItem> items) {
+		List<Problem> problems = new ArrayList<>();
+		for (CalmIdIndex.Occurrence occurrence : occurrences) {
+			String itemId = occurrence.itemId();
+			if (!occurrence.inComment() || !items.containsKey(itemId)) {
+				continue;
+			}
+			String message = problemOf(itemId, items.get(itemId));
+			if (message != null) {
+				problems.add(new Problem(occurrence.offset(), occurrence.length(), itemId, message));
+			}
+		}
+		return problems;
+	}
+
+	private static String problemOf(String itemId, CloudAlmItem item) {
+		if (item == null) {
+			return "Cloud ALM item " + itemId + " does not exist";
+		}
+		String status = item.getStatus();
+		if (status != null && CLOSED_STATUSES.contains(status.toUpperCase(Locale.ROOT))) {
+			return "Cloud ALM item " + itemId + " is closed (" + status + ")";
+		}
+		return null;
+	}
+}
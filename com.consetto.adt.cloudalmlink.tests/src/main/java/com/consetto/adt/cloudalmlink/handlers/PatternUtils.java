@@ -6,15 +6,15 @@ import java.nio.charset.StandardCharsets;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.consetto.adt.cloudalmlink.model.CloudAlmConfig;
+import com.consetto.adt.cloudalmlink.model.ItemTypeRegistry;
+
 /**
  * Utility class containing pattern matching and parsing methods.
  * Extracted from handler classes to enable standalone testing.
  */
 public class PatternUtils {
 
-	// Cloud ALM ID pattern: features (6-NNNN), tasks (3-NNNN), documents (7-NNNN), libraries (15-NNNN)
-	private static final Pattern CALM_ID_PATTERN = Pattern.compile("(?:3|6|7|15)-\\d+");
-
 	// Feature pattern for description parsing
 	private static final Pattern FEATURE_PATTERN = Pattern.compile("^6-\\d+$");
 
@@ -105,10 +105,10 @@ public class PatternUtils {
 	 * @return true if the ID matches Cloud ALM pattern
 	 */
 	public static boolean isValidCalmId(String id) {
-		if (id == null) {
+		if (id == null || id.isEmpty()) {
 			return false;
 		}
-		return CALM_ID_PATTERN.matcher(id).matches();
+		return ItemTypeRegistry.getCurrent().lexer().matchId(id, 0, id.length()) == id.length();
 	}
 
 	/**
@@ -116,16 +116,13 @@ public class PatternUtils {
 	 *
 	 * @param lineText The full line text
 	 * @param matchStart The start position of the ID match
-	 * @return true if the ID is within an ABAP comment
+	 * @return true if the ID is within an ABAP comment (a {@code "} inside a string literal does not count)
 	 */
 	public static boolean isInComment(String lineText, int matchStart) {
 		if (lineText == null) {
 			return false;
 		}
-
-		String textBeforeMatch = lineText.substring(0, matchStart);
-		String trimmedLine = lineText.trim();
-		return trimmedLine.startsWith("*") || textBeforeMatch.contains("\"");
+		return ItemTypeRegistry.getCurrent().lexer().isInComment(lineText, 0, lineText.length(), matchStart);
 	}
 
 	/**
@@ -141,23 +138,7 @@ public class PatternUtils {
 			return null;
 		}
 
-		String baseUrl = "https://" + tenant + "." + region + ".alm.cloud.sap";
-
-		if (itemId.startsWith("6-")) {
-			// Feature
-			return baseUrl + "/launchpad#feature-display?sap-ui-app-id-hint=com.sap.calm.imp.cdm.features.ui&/details/" + itemId;
-		} else if (itemId.startsWith("3-")) {
-			// Task/Requirement
-			return baseUrl + "/launchpad#task-management?sap-app-origin-hint=&/taskDetail/" + itemId;
-		} else if (itemId.startsWith("7-")) {
-			// Document
-			return baseUrl + "/launchpad#DocumentationObject-manage?sap-ui-app-id-hint=com.sap.calm.imp.sd.docu.ui&/Documents('" + itemId + "')";
-		} else if (itemId.startsWith("15-")) {
-			// Library
-			return baseUrl + "/launchpad#library-management?sap-ui-app-id-hint=com.sap.calm.imp.lib.ui&/LibraryElement('" + itemId + "')";
-		}
-
-		return null;
+		return ItemTypeRegistry.getCurrent().buildUrl(itemId, new CloudAlmConfig(tenant, region, null, null));
 	}
 
 	/**
@@ -195,11 +176,9 @@ public class PatternUtils {
 			return new String[0];
 		}
 
-		Matcher matcher = CALM_ID_PATTERN.matcher(lineText);
 		java.util.List<String> ids = new java.util.ArrayList<>();
-		while (matcher.find()) {
-			ids.add(matcher.group());
-		}
+		ItemTypeRegistry.getCurrent().lexer().scan(lineText, 0, lineText.length(),
+				(start, end, inComment) -> ids.add(lineText.substring(start, end)));
 		return ids.toArray(new String[0]);
 	}
 }
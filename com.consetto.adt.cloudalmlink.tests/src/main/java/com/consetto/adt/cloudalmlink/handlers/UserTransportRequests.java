@@ -0,0 +1,73 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Query and parser for the transport requests of a user as listed by the ADT Transport Organizer,
+ * used to prefetch the Cloud ALM features of the user's modifiable transports.
+ */
+public final class UserTransportRequests {
+
+	/** ADT resource listing transport requests */
+	public static final String TRANSPORT_REQUESTS_PATH = "/sap/bc/adt/cts/transportrequests";
+
+	/** Request status of modifiable requests */
+	public static final String STATUS_MODIFIABLE = "D";
+
+	private static final Pattern REQUEST_PATTERN = Pattern.compile("<tm:request\\s[^>]*>");
+	private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("tm:(number|status)=\"([^\"]*)\"");
+
+	private UserTransportRequests() {
+		// Prevent instantiation
+	}
+
+	/**
+	 * Builds the URI listing the modifiable requests of a user.
+	 *
+	 * @param user The ABAP user
+	 * @return The resource URI with query
+	 */
+	public static String modifiableRequestsUri(String user) {
+		return TRANSPORT_REQUESTS_PATH + "?user=" + URLEncoder.encode(user, StandardCharsets.UTF_8)
+				+ "&requestStatus=" + STATUS_MODIFIABLE;
+	}
+
+	/**
+	 * Parses the numbers of the modifiable requests in a Transport Organizer response.
+	 * Tasks are nested tm:task elements and not reported; requests without status are
+	 * taken as modifiable because the query already filters by status.
+	 *
+	 * @param xml The response, a tree of tm:request elements
+	 * @return The distinct request numbers in response order
+	 */
+	public static List<String> parseModifiable(String xml) {
+		List<String> numbers = new ArrayList<>();
+		if (xml == null) {
+			return numbers;
+		}
+
+		Matcher element = REQUEST_PATTERN.matcher(xml);
+		while (element.find()) {
+			String number = null;
+			String status = null;
+			Matcher attribute = ATTRIBUTE_PATTERN.matcher(element.group());
+			while (attribute.find()) {
+				if ("number".equals(attribute.group(1))) {
+					number = attribute.group(2);
+				} else {
+					status = attribute.group(2);
+				}
+			}
+			if (number != null && !number.isEmpty() && (status == null || STATUS_MODIFIABLE.equals(status))
+					&& !numbers.contains(number)) {
+				numbers.add(number);
+			}
+		}
+		return numbers;
+	}
+}
@@ -0,0 +1,118 @@
+package com.consetto.adt.cloudalmlink.model;
+
+import com.consetto.adt.cloudalmlink.CloudAlmLinkConstants;
+
+/**
+ * Enum representing the built-in Cloud ALM item types identified by their ID prefix.
+ * Provides type-safe handling of different Cloud ALM entities.
+ * <p>
+ * Matching and URL building go through the {@link ItemTypeRegistry}, which also holds the
+ * item types configured in the preferences.
+ */
+public enum CloudAlmItemType {
+
+	/** Feature items (prefix: 6-) */
+	FEATURE("6-", CloudAlmLinkConstants.FEATURE_LAUNCHPAD_FRAGMENT + ItemTypeRegistry.ID_PLACEHOLDER,
+			CloudAlmLinkConstants.FEATURES_COLLECTION_PATH),
+
+	/** Task/Requirement items (prefix: 3-) */
+	TASK("3-", CloudAlmLinkConstants.TASK_LAUNCHPAD_FRAGMENT + ItemTypeRegistry.ID_PLACEHOLDER,
+			CloudAlmLinkConstants.TASKS_COLLECTION_PATH),
+
+	/** Document items (prefix: 7-) */
+	DOCUMENT("7-", CloudAlmLinkConstants.DOCUMENT_LAUNCHPAD_FRAGMENT + ItemTypeRegistry.ID_PLACEHOLDER + "')",
+			CloudAlmLinkConstants.DOCUMENTS_COLLECTION_PATH),
+
+	/** Library items (prefix: 15-) */
+	LIBRARY("15-", CloudAlmLinkConstants.LIBRARY_LAUNCHPAD_FRAGMENT + ItemTypeRegistry.ID_PLACEHOLDER + "')",
+			CloudAlmLinkConstants.LIBRARIES_COLLECTION_PATH),
+
+	/** Unknown item type */
+	UNKNOWN("", null, null);
+
+	private final String prefix;
+	private final String urlTemplate;
+	private final String lookupPath;
+
+	CloudAlmItemType(String prefix, String urlTemplate, String lookupPath) {
+		this.prefix = prefix;
+		this.urlTemplate = urlTemplate;
+		this.lookupPath = lookupPath;
+	}
+
+	/**
+	 * Gets the ID prefix for this item type.
+	 *
+	 * @return The prefix string
+	 */
+	public String getPrefix() {
+		return prefix;
+	}
+
+	/**
+	 * Gets the launchpad URL of this item type relative to the Cloud ALM base URL.
+	 *
+	 * @return The template containing {@link ItemTypeRegistry#ID_PLACEHOLDER}, or null if type is UNKNOWN
+	 */
+	public String getUrlTemplate() {
+		return urlTemplate;
+	}
+
+	/**
+	 * Determines the item type from a Cloud ALM ID.
+	 *
+	 * @param itemId The item ID (e.g., "6-1234")
+	 * @return The corresponding item type, or UNKNOWN if not recognized
+	 */
+	public static CloudAlmItemType fromId(String itemId) {
+		if (itemId == null || itemId.isEmpty()) {
+			return UNKNOWN;
+		}
+		ItemTypeRegistry.ItemType type = ItemTypeRegistry.getCurrent().fromId(itemId);
+		return type != null ? type.kind() : UNKNOWN;
+	}
+
+	/**
+	 * Checks if the given ID matches this item type.
+	 *
+	 * @param itemId The item ID to check
+	 * @return true if the ID starts with this type's prefix
+	 */
+	public boolean matches(String itemId) {
+		return itemId != null && !prefix.isEmpty() && itemId.startsWith(prefix);
+	}
+
+	/**
+	 * Builds the appropriate Cloud ALM URL for the given item ID.
+	 *
+	 * @param itemId The item ID
+	 * @param config The Cloud ALM configuration
+	 * @return The URL for this item, or null if type is UNKNOWN
+	 */
+	public String buildUrl(String itemId, CloudAlmConfig config) {
+		if (config == null || !config.hasConnectionSettings() || urlTemplate == null) {
+			return null;
+		}
+		return config.baseUrl() + urlTemplate.replace(ItemTypeRegistry.ID_PLACEHOLDER, itemId);
+	}
+
+	/**
+	 * Gets the API collection path used to look up items of this type by display ID.
+	 *
+	 * @return The collection path relative to the Cloud ALM base URL, or null if type is UNKNOWN
+	 */
+	public String getLookupPath() {
+		return lookupPath;
+	}
+
+	/**
+	 * Gets the URL for a Cloud ALM item ID using the appropriate type, including configured ones.
+	 *
+	 * @param itemId The item ID
+	 * @param config The Cloud ALM configuration
+	 * @return The URL, or null if the item type is unknown
+	 */
+	public static String getUrlForItem(String itemId, CloudAlmConfig config) {
+		return ItemTypeRegistry.getCurrent().buildUrl(itemId, config);
+	}
+}
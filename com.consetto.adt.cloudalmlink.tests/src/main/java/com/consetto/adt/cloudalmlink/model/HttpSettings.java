@@ -0,0 +1,82 @@
+package com.consetto.adt.cloudalmlink.model;
+
+import java.time.Duration;
+
+/**
+ * Immutable timeouts, connection pool limits and hedging option of the HTTP client talking to
+ * Cloud ALM.
+ * <p>
+ * {@link com.consetto.adt.cloudalmlink.services.PreferenceService} keeps one snapshot and replaces it
+ * when a preference changes; the settings apply to API clients built afterwards.
+ *
+ * @param connectTimeout The time to establish a TCP and TLS connection
+ * @param connectionRequestTimeout The time to wait for a connection from the pool
+ * @param responseTimeout The time to wait for the response once the request was sent
+ * @param maxConnTotal The maximum number of pooled connections
+ * @param maxConnPerRoute The maximum number of pooled connections to one host, which also bounds the
+ *        parallel requests of one batch
+ * @param connectionTtl The time after which a connection is closed however often it is reused
+ * @param idleEviction The time after which an unused connection is closed in the background
+ * @param validateAfterInactivity The idle time after which a pooled connection is checked before reuse
+ * @param keepAlive The longest time an idle connection is kept for reuse, also when the server allows more
+ * @param hedging Whether slow feature requests are hedged with a second request
+ */
+public record HttpSettings(
+		Duration connectTimeout,
+		Duration connectionRequestTimeout,
+		Duration responseTimeout,
+		int maxConnTotal,
+		int maxConnPerRoute,
+		Duration connectionTtl,
+		Duration idleEviction,
+		Duration validateAfterInactivity,
+		Duration keepAlive,
+		boolean hedging
+) {
+
+	/** Defaults: fail within seconds instead of hanging, keep connections for a minute, no hedging */
+	public static final HttpSettings DEFAULTS = new HttpSettings(
+			Duration.ofSeconds(10), Duration.ofSeconds(10), Duration.ofSeconds(30),
+			10, 5,
+			Duration.ofMinutes(5), Duration.ofSeconds(30), Duration.ofSeconds(2), Duration.ofSeconds(60),
+			false);
+
+	/**
+	 * Validates the settings.
+	 *
+	 * @throws IllegalArgumentException If a timeout is not positive or a pool size is out of range
+	 */
+	public HttpSettings {
+		requirePositive("connectTimeout", connectTimeout);
+		requirePositive("connectionRequestTimeout", connectionRequestTimeout);
+		requirePositive("responseTimeout", responseTimeout);
+		requirePositive("connectionTtl", connectionTtl);
+		requirePositive("idleEviction", idleEviction);
+		requirePositive("validateAfterInactivity", validateAfterInactivity);
+		requirePositive("keepAlive", keepAlive);
+		if (maxConnPerRoute < 1 || maxConnTotal < maxConnPerRoute) {
+			throw new IllegalArgumentException("Pool sizes must satisfy 1 <= maxConnPerRoute <= maxConnTotal: "
+					+ maxConnPerRoute + ", " + maxConnTotal);
+		}
+	}
+
+	/**
+	 * Determines how long an idle connection is kept for reuse after a response.
+	 *
+	 * @param serverKeepAlive The time the server allows in its {@code Keep-Alive} header, or null if
+	 *        it did not send one
+	 * @return The shorter of the server's time and {@link #keepAlive()}
+	 */
+	public Duration keepAliveFor(Duration serverKeepAlive) {
+		if (serverKeepAlive == null || serverKeepAlive.isNegative() || serverKeepAlive.compareTo(keepAlive) > 0) {
+			return keepAlive;
+		}
+		return serverKeepAlive;
+	}
+
+	private static void requirePositive(String name, Duration value) {
+		if (value == null || value.isNegative() || value.isZero()) {
+			throw new IllegalArgumentException(name + " must be positive: " + value);
+		}
+	}
+}
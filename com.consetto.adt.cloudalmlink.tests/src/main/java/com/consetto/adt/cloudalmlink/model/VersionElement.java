@@ -1,28 +1,49 @@
 package com.consetto.adt.cloudalmlink.model;
 
+import java.util.Locale;
+
 /**
  * Represents a single version/transport entry from ADT.
  * Contains version metadata and an optional associated Cloud ALM feature.
+ * <p>
+ * Elements are not thread-safe; they are filled in before they are shared and not changed
+ * afterwards. {@code VersionData} also builds their search keys before publishing them.
  */
 public class VersionElement {
 
+	/** Label shown in the feature columns of versions without a Cloud ALM feature */
+	public static final String NO_FEATURE_LABEL = "No Feature";
+
+	/** Label shown in the feature columns of versions whose feature could not be looked up */
+	public static final String FEATURE_UNAVAILABLE_LABEL = "Cloud ALM unavailable";
+
+	/** Label shown in the feature columns of versions whose feature was not looked up in time */
+	public static final String FEATURE_TIMED_OUT_LABEL = "Not resolved in time";
+
+	/** Separates fields in the search key so a search never matches across two fields */
+	private static final char SEARCH_KEY_SEPARATOR = '\u0000';
+
 	private String versionId;
 	private String title;
 	private String updated;
 	private String transportId;
 	private String author;
 	private FeatureElement feature;
+	private String searchKey;
 
 	public void setID(String versionId) {
 		this.versionId = versionId;
+		this.searchKey = null;
 	}
 
 	public void setTransport(String transportId) {
 		this.transportId = transportId;
+		this.searchKey = null;
 	}
 
 	public void setTitle(String title) {
 		this.title = title;
+		this.searchKey = null;
 	}
 
 	public void setLastUpdate(String lastUpdate) {
@@ -31,6 +52,7 @@ public class VersionElement {
 
 	public void setAuthor(String author) {
 		this.author = author;
+		this.searchKey = null;
 	}
 
 	public String getTransportId() {
@@ -39,6 +61,7 @@ public class VersionElement {
 
 	public void setFeature(FeatureElement feature) {
 		this.feature = feature;
+		this.searchKey = null;
 	}
 
 	public String getTitle() {
@@ -60,4 +83,47 @@ public class VersionElement {
 	public String getLastUpdate() {
 		return updated;
 	}
+
+	/**
+	 * Gets the normalised search key of this version.
+	 * The key holds the lower-cased ID, transport, author, title and feature fields, or the
+	 * "No Feature", "Cloud ALM unavailable" or "Not resolved in time" label shown instead.
+	 * It is built once on first use and rebuilt only after one of these fields changes.
+	 *
+	 * @return The lower-cased search key, never null
+	 */
+	public String getSearchKey() {
+		String key = searchKey;
+		if (key == null) {
+			key = buildSearchKey();
+			searchKey = key;
+		}
+		return key;
+	}
+
+	private String buildSearchKey() {
+		StringBuilder key = new StringBuilder(64);
+		appendSearchField(key, versionId);
+		appendSearchField(key, transportId);
+		appendSearchField(key, author);
+		appendSearchField(key, title);
+		if (feature != null && feature.isUnavailable()) {
+			appendSearchField(key, FEATURE_UNAVAILABLE_LABEL);
+		} else if (feature != null && feature.isTimedOut()) {
+			appendSearchField(key, FEATURE_TIMED_OUT_LABEL);
+		} else if (feature != null) {
+			appendSearchField(key, feature.getDisplayId());
+			appendSearchField(key, feature.getStatus());
+			appendSearchField(key, feature.getResponsibleId());
+		} else {
+			appendSearchField(key, NO_FEATURE_LABEL);
+		}
+		return key.toString().toLowerCase(Locale.ROOT);
+	}
+
+	private static void appendSearchField(StringBuilder key, String value) {
+		if (value != null) {
+			key.append(value).append(SEARCH_KEY_SEPARATOR);
+		}
+	}
 }
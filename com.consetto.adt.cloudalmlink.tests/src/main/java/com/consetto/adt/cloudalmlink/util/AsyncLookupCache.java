@@ -0,0 +1,206 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Bounded, time-limited cache for values that are loaded asynchronously.
+ * <p>
+ * Concurrent requests for the same key share one load (request coalescing), loaded values,
+ * including null for "not found", are kept for the configured time to live, and the least
+ * recently used entries are evicted once the cache is full. Failed loads are not cached.
+ * Callers never block: {@link #get(Object)} returns a future and {@link #getIfPresent(Object)}
+ * only reads what is already cached.
+ *
+ * @param <K> The key type
+ * @param <V> The value type
+ */
+public final class AsyncLookupCache<K, V> {
+
+	private record Entry<V>(V value, long expiresAt) {
+	}
+
+	private final int maxSize;
+	private final long ttlNanos;
+	private final Executor executor;
+	private final Function<K, V> loader;
+	private final LongSupplier clock;
+
+	private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<K, CompletableFuture<V>> loading = new HashMap<>();
+
+	// Incremented on invalidation so loads started before it are not cached
+	private long generation;
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param maxSize The maximum number of cached values
+	 * @param ttl The time a loaded value stays valid
+	 * @param executor Runs the loads
+	 * @param loader Loads the value for a key; may return null and may throw
+	 */
+	public AsyncLookupCache(int maxSize, Duration ttl, Executor executor, Function<K, V> loader) {
+		this(maxSize, ttl, executor, loader, System::nanoTime);
+	}
+
+	/**
+	 * Constructor with an explicit clock for testing.
+	 *
+	 * @param maxSize The maximum number of cached values
+	 * @param ttl The time a loaded value stays valid
+	 * @param executor Runs the loads
+	 * @param loader Loads the value for a key; may return null and may throw
+	 * @param clock Returns the current time in nanoseconds
+	 */
+	public AsyncLookupCache(int maxSize, Duration ttl, Executor executor, Function<K, V> loader, LongSupplier clock) {
+		if (maxSize <= 0) {
+			throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.ttlNanos = ttl.toNanos();
+		this.executor = executor;
+		this.loader = loader;
+		this.clock = clock;
+	}
+
+	/**
+	 * Gets the value for a key, loading it if it is not cached.
+	 * A load that is already running for the key is shared.
+	 *
+	 * @param key The key
+	 * @return A future completing with the value, or exceptionally if the load failed
+	 */
+	public CompletableFuture<V> get(K key) {
+		CompletableFuture<V> future;
+		long loadGeneration;
+		synchronized (this) {
+			Entry<V> entry = freshEntry(key);
+			if (entry != null) {
+				return CompletableFuture.completedFuture(entry.value());
+			}
+			future = loading.get(key);
+			if (future != null) {
+				return future;
+			}
+			future = new CompletableFuture<>();
+			loading.put(key, future);
+			loadGeneration = generation;
+		}
+
+		CompletableFuture<V> result = future;
+		try {
+			executor.execute(() -> load(key, result, loadGeneration));
+		} catch (RuntimeException e) {
+			// Executor rejected the load
+			complete(key, result, loadGeneration, null, e);
+		}
+		return result;
+	}
+
+	/**
+	 * Gets a cached value without loading it.
+	 *
+	 * @param key The key
+	 * @return The cached value, or null if it is not cached, expired, or cached as null
+	 */
+	public synchronized V getIfPresent(K key) {
+		Entry<V> entry = freshEntry(key);
+		return entry != null ? entry.value() : null;
+	}
+
+	/**
+	 * Checks whether a valid value, possibly null, is cached for a key.
+	 *
+	 * @param key The key
+	 * @return true if the key does not need to be loaded
+	 */
+	public synchronized boolean contains(K key) {
+		return freshEntry(key) != null;
+	}
+
+	/**
+	 * Stores a value that was loaded elsewhere, e.g. as part of a batch.
+	 *
+	 * @param key The key
+	 * @param value The value, may be null for "not found"
+	 */
+	public synchronized void put(K key, V value) {
+		store(key, value);
+	}
+
+	/**
+	 * Removes all cached values. Running loads still complete their callers
+	 * but their results are not cached.
+	 */
+	public synchronized void invalidateAll() {
+		entries.clear();
+		loading.clear();
+		generation++;
+	}
+
+	/**
+	 * Gets the number of cached values, including expired ones not yet evicted.
+	 *
+	 * @return The number of entries
+	 */
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private void load(K key, CompletableFuture<V> future, long loadGeneration) {
+		V value;
+		try {
+			value = loader.apply(key);
+		} catch (RuntimeException e) {
+			complete(key, future, loadGeneration, null, e);
+			return;
+		}
+		complete(key, future, loadGeneration, value, null);
+	}
+
+	private void complete(K key, CompletableFuture<V> future, long loadGeneration, V value, Throwable failure) {
+		synchronized (this) {
+			if (loading.get(key) == future) {
+				loading.remove(key);
+			}
+			if (failure == null && loadGeneration == generation) {
+				store(key, value);
+			}
+		}
+		// Complete outside the lock so callbacks cannot dead-lock with the cache
+		if (failure == null) {
+			future.complete(value);
+		} else {
+			future.completeExceptionally(failure);
+		}
+	}
+
+	private void store(K key, V value) {
+		entries.put(key, new Entry<>(value, clock.getAsLong() + ttlNanos));
+		if (entries.size() > maxSize) {
+			Iterator<K> eldest = entries.keySet().iterator();
+			eldest.next();
+			eldest.remove();
+		}
+	}
+
+	private Entry<V> freshEntry(K key) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null) {
+			return null;
+		}
+		if (clock.getAsLong() - entry.expiresAt() >= 0) {
+			entries.remove(key);
+			return null;
+		}
+		return entry;
+	}
+}
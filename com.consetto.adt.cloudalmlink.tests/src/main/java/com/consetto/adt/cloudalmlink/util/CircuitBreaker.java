@@ -0,0 +1,218 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker that makes calls to an unavailable service fail fast instead of waiting for
+ * each of them to time out.
+ * <p>
+ * While <em>closed</em>, the outcomes of the last calls are recorded. Once at least
+ * {@link Settings#minimumCalls()} were recorded and the share of failures reaches
+ * {@link Settings#failureRatePercent()}, the breaker <em>opens</em> and rejects all calls for
+ * {@link Settings#openDuration()}. Then it is <em>half-open</em> and lets
+ * {@link Settings#halfOpenProbes()} probe calls through: if they all succeed it closes again, the
+ * first failure opens it for another cooldown.
+ * <p>
+ * Callers ask {@link #tryAcquire()} before a call and report its outcome with
+ * {@link #onSuccess()} or {@link #onFailure()}. The settings are read on every decision, so
+ * changed preferences apply right away. The class is thread-safe.
+ */
+public final class CircuitBreaker {
+
+	/** Number of most recent calls the failure rate is computed from, unless more are required */
+	private static final int WINDOW_SIZE = 20;
+
+	/**
+	 * States of a circuit breaker.
+	 */
+	public enum State {
+		/** Calls pass and their outcomes are recorded */
+		CLOSED,
+		/** Calls are rejected until the cooldown has passed */
+		OPEN,
+		/** A limited number of probe calls pass to test the service */
+		HALF_OPEN
+	}
+
+	/**
+	 * Thresholds of a circuit breaker.
+	 *
+	 * @param failureRatePercent The failure rate in percent (1-100) at which the breaker opens
+	 * @param minimumCalls The number of recorded calls required before the failure rate is evaluated
+	 * @param openDuration The cooldown during which an open breaker rejects all calls
+	 * @param halfOpenProbes The number of successful probe calls that close a half-open breaker
+	 */
+	public record Settings(int failureRatePercent, int minimumCalls, Duration openDuration, int halfOpenProbes) {
+
+		/** Defaults: open at 50% failures of at least 5 calls, retry after 30 seconds with 2 probes */
+		public static final Settings DEFAULTS = new Settings(50, 5, Duration.ofSeconds(30), 2);
+
+		/**
+		 * Validates the thresholds.
+		 *
+		 * @throws IllegalArgumentException If a threshold is out of range
+		 */
+		public Settings {
+			if (failureRatePercent < 1 || failureRatePercent > 100) {
+				throw new IllegalArgumentException("failureRatePercent must be between 1 and 100: " + failureRatePercent);
+			}
+			if (minimumCalls < 1 || halfOpenProbes < 1) {
+				throw new IllegalArgumentException("minimumCalls and halfOpenProbes must be positive");
+			}
+			if (openDuration == null || openDuration.isNegative()) {
+				throw new IllegalArgumentException("openDuration must not be negative: " + openDuration);
+			}
+		}
+	}
+
+	private final Supplier<Settings> settings;
+	private final LongSupplier clock;
+
+	// Outcomes of the recent calls while closed, true for failures
+	private final Deque<Boolean> outcomes = new ArrayDeque<>();
+	private int failures;
+
+	private State state = State.CLOSED;
+	private long openedAt;
+	private int probesLeft;
+	private int probeSuccesses;
+
+	/**
+	 * Creates a closed circuit breaker.
+	 *
+	 * @param settings Supplies the current thresholds
+	 */
+	public CircuitBreaker(Supplier<Settings> settings) {
+		this(settings, System::nanoTime);
+	}
+
+	/**
+	 * Constructor with an explicit clock for testing.
+	 *
+	 * @param settings Supplies the current thresholds
+	 * @param clock Returns the current time in nanoseconds
+	 */
+	public CircuitBreaker(Supplier<Settings> settings, LongSupplier clock) {
+		this.settings = settings;
+		this.clock = clock;
+	}
+
+	/**
+	 * Asks for permission to make a call. Every permitted call must be reported with
+	 * {@link #onSuccess()} or {@link #onFailure()}.
+	 *
+	 * @return true if the call may be made, false if it has to fail fast
+	 */
+	public synchronized boolean tryAcquire() {
+		if (state == State.OPEN) {
+			if (clock.getAsLong() - openedAt < settings.get().openDuration().toNanos()) {
+				return false;
+			}
+			state = State.HALF_OPEN;
+			probesLeft = settings.get().halfOpenProbes();
+			probeSuccesses = 0;
+		}
+		if (state == State.HALF_OPEN) {
+			if (probesLeft == 0) {
+				return false;
+			}
+			probesLeft--;
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether a call would fail fast, without asking for permission. Lets callers skip the
+	 * work of preparing a call, e.g. waiting for a rate limit, while the breaker is open.
+	 *
+	 * @return true if {@link #tryAcquire()} would currently return false
+	 */
+	public synchronized boolean isRejecting() {
+		if (state == State.OPEN) {
+			return clock.getAsLong() - openedAt < settings.get().openDuration().toNanos();
+		}
+		return state == State.HALF_OPEN && probesLeft == 0;
+	}
+
+	/**
+	 * Reports a successful call.
+	 */
+	public synchronized void onSuccess() {
+		if (state == State.HALF_OPEN) {
+			if (++probeSuccesses >= settings.get().halfOpenProbes()) {
+				close();
+			}
+		} else if (state == State.CLOSED) {
+			record(false);
+		}
+	}
+
+	/**
+	 * Reports a failed call.
+	 *
+	 * @return true if this failure opened the breaker
+	 */
+	public synchronized boolean onFailure() {
+		if (state == State.HALF_OPEN) {
+			open();
+			return true;
+		}
+		if (state == State.CLOSED) {
+			record(true);
+			Settings current = settings.get();
+			if (outcomes.size() >= current.minimumCalls()
+					&& failures * 100 >= current.failureRatePercent() * outcomes.size()) {
+				open();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Gets the current state. An open breaker whose cooldown has passed still reports
+	 * {@link State#OPEN} until the next call is attempted.
+	 *
+	 * @return The state
+	 */
+	public synchronized State getState() {
+		return state;
+	}
+
+	/**
+	 * Closes the breaker and forgets the recorded calls, e.g. after the connection settings changed.
+	 */
+	public synchronized void reset() {
+		close();
+	}
+
+	private void record(boolean failure) {
+		outcomes.addLast(failure);
+		if (failure) {
+			failures++;
+		}
+		int windowSize = Math.max(WINDOW_SIZE, settings.get().minimumCalls());
+		while (outcomes.size() > windowSize) {
+			if (outcomes.removeFirst()) {
+				failures--;
+			}
+		}
+	}
+
+	private void open() {
+		state = State.OPEN;
+		openedAt = clock.getAsLong();
+		outcomes.clear();
+		failures = 0;
+	}
+
+	private void close() {
+		state = State.CLOSED;
+		outcomes.clear();
+		failures = 0;
+	}
+}
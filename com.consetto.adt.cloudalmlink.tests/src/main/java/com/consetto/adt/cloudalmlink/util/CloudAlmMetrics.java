@@ -0,0 +1,175 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters of the requests made to Cloud ALM since the workbench started, to tell throttling,
+ * outages and retries apart when analyzing slow lookups.
+ * <p>
+ * The counters are cheap to increment from concurrent lookups; {@link #toString()} gives a
+ * one-line summary for the log.
+ */
+public final class CloudAlmMetrics {
+
+	private static volatile CloudAlmMetrics instance;
+
+	private final LongAdder requests = new LongAdder();
+	private final LongAdder retries = new LongAdder();
+	private final LongAdder failures = new LongAdder();
+	private final LongAdder rejected = new LongAdder();
+	private final LongAdder throttled = new LongAdder();
+	private final LongAdder hedges = new LongAdder();
+	private final LongAdder receivedBytes = new LongAdder();
+	private final LongAdder decodedBytes = new LongAdder();
+
+	/**
+	 * Creates metrics, e.g. for tests. The plugin uses the shared {@link #getInstance() instance}.
+	 */
+	public CloudAlmMetrics() {
+		// All counters start at zero
+	}
+
+	/**
+	 * Gets the shared metrics instance.
+	 * Thread-safe lazy initialization.
+	 *
+	 * @return The metrics instance
+	 */
+	public static CloudAlmMetrics getInstance() {
+		if (instance == null) {
+			synchronized (CloudAlmMetrics.class) {
+				if (instance == null) {
+					instance = new CloudAlmMetrics();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/** Counts a request sent to Cloud ALM, retries included */
+	public void recordRequest() {
+		requests.increment();
+	}
+
+	/** Counts a retry of a failed request */
+	public void recordRetry() {
+		retries.increment();
+	}
+
+	/** Counts a request that failed after all attempts */
+	public void recordFailure() {
+		failures.increment();
+	}
+
+	/** Counts a request that was not sent because Cloud ALM was considered unavailable */
+	public void recordRejected() {
+		rejected.increment();
+	}
+
+	/** Counts a 429 Too Many Requests answer */
+	public void recordThrottled() {
+		throttled.increment();
+	}
+
+	/** Counts a hedged request sent because the first one was slow */
+	public void recordHedge() {
+		hedges.increment();
+	}
+
+	/**
+	 * Counts response body bytes as received, compressed or not.
+	 *
+	 * @param bytes The number of bytes
+	 */
+	public void recordReceivedBytes(long bytes) {
+		receivedBytes.add(bytes);
+	}
+
+	/**
+	 * Counts response body bytes after decoding.
+	 *
+	 * @param bytes The number of bytes
+	 */
+	public void recordDecodedBytes(long bytes) {
+		decodedBytes.add(bytes);
+	}
+
+	/**
+	 * Gets the number of requests sent.
+	 *
+	 * @return The request count, retries included
+	 */
+	public long getRequests() {
+		return requests.sum();
+	}
+
+	/**
+	 * Gets the number of retries.
+	 *
+	 * @return The retry count
+	 */
+	public long getRetries() {
+		return retries.sum();
+	}
+
+	/**
+	 * Gets the number of requests that failed after all attempts.
+	 *
+	 * @return The failure count
+	 */
+	public long getFailures() {
+		return failures.sum();
+	}
+
+	/**
+	 * Gets the number of requests rejected while Cloud ALM was unavailable.
+	 *
+	 * @return The rejection count
+	 */
+	public long getRejected() {
+		return rejected.sum();
+	}
+
+	/**
+	 * Gets the number of 429 Too Many Requests answers.
+	 *
+	 * @return The throttled count
+	 */
+	public long getThrottled() {
+		return throttled.sum();
+	}
+
+	/**
+	 * Gets the number of hedged requests.
+	 *
+	 * @return The hedge count
+	 */
+	public long getHedges() {
+		return hedges.sum();
+	}
+
+	/**
+	 * Gets the number of response body bytes received.
+	 *
+	 * @return The byte count on the wire
+	 */
+	public long getReceivedBytes() {
+		return receivedBytes.sum();
+	}
+
+	/**
+	 * Gets the number of response body bytes after decoding.
+	 *
+	 * @return The decoded byte count
+	 */
+	public long getDecodedBytes() {
+		return decodedBytes.sum();
+	}
+
+	@Override
+	public String toString() {
+		return "Cloud ALM requests: " + getRequests() + ", retries: " + getRetries() + ", failed: " + getFailures()
+				+ ", rejected: " + getRejected() + ", throttled: " + getThrottled() + ", hedged: " + getHedges()
+				+ ", bytes received: " + getReceivedBytes() + ", decoded: " + getDecodedBytes();
+	}
+}
@@ -0,0 +1,104 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Point in time by which a caller needs an answer, handed down to the requests made on its behalf.
+ * Requests time out and retries are skipped when they would overrun it.
+ * <p>
+ * {@link #none()} imposes no limit. Deadlines are immutable.
+ */
+public final class Deadline {
+
+	private static final Deadline NONE = new Deadline(Long.MAX_VALUE, System::nanoTime);
+
+	private final long expiresAt;
+	private final LongSupplier clock;
+
+	private Deadline(long expiresAt, LongSupplier clock) {
+		this.expiresAt = expiresAt;
+		this.clock = clock;
+	}
+
+	/**
+	 * Gets the deadline that never expires.
+	 *
+	 * @return The unbounded deadline
+	 */
+	public static Deadline none() {
+		return NONE;
+	}
+
+	/**
+	 * Creates a deadline expiring after a timeout from now.
+	 *
+	 * @param timeout The time left
+	 * @return The deadline
+	 */
+	public static Deadline after(Duration timeout) {
+		return after(timeout, System::nanoTime);
+	}
+
+	/**
+	 * Creates a deadline with an explicit clock for testing.
+	 *
+	 * @param timeout The time left
+	 * @param clock Returns the current time in nanoseconds
+	 * @return The deadline
+	 */
+	public static Deadline after(Duration timeout, LongSupplier clock) {
+		return new Deadline(clock.getAsLong() + timeout.toNanos(), clock);
+	}
+
+	/**
+	 * Checks whether this deadline limits the time at all.
+	 *
+	 * @return false for {@link #none()}
+	 */
+	public boolean isBounded() {
+		return this != NONE;
+	}
+
+	/**
+	 * Checks whether the deadline has passed.
+	 *
+	 * @return true if no time is left
+	 */
+	public boolean isExpired() {
+		return isBounded() && clock.getAsLong() - expiresAt >= 0;
+	}
+
+	/**
+	 * Gets the time left.
+	 *
+	 * @return The remaining time, zero once expired, or a practically infinite duration for {@link #none()}
+	 */
+	public Duration remaining() {
+		if (!isBounded()) {
+			return Duration.ofNanos(Long.MAX_VALUE);
+		}
+		return Duration.ofNanos(Math.max(0, expiresAt - clock.getAsLong()));
+	}
+
+	/**
+	 * Checks whether waiting for a duration still leaves time before the deadline.
+	 *
+	 * @param wait The intended wait
+	 * @return true if the deadline has not passed after the wait
+	 */
+	public boolean allows(Duration wait) {
+		return remaining().compareTo(wait) > 0;
+	}
+
+	/**
+	 * Limits a timeout to the time left.
+	 *
+	 * @param timeout The timeout that would apply without deadline
+	 * @return The smaller of the timeout and the remaining time
+	 */
+	public Duration cap(Duration timeout) {
+		Duration remaining = remaining();
+		return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+	}
+}
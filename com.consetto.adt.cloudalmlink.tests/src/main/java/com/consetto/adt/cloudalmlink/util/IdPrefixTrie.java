@@ -0,0 +1,114 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.util.Map;
+
+/**
+ * Digit trie over the numeric prefixes of Cloud ALM display IDs (the {@code 6} of {@code 6-1234}).
+ * <p>
+ * A single walk over the digits in front of the {@code -} both recognizes an ID and classifies it,
+ * so the cost of matching does not grow with the number of registered prefixes.
+ *
+ * @param <T> The value stored per prefix, e.g. the item type
+ */
+public final class IdPrefixTrie<T> {
+
+	private final Node<T> root = new Node<>();
+
+	/**
+	 * Compiles a trie.
+	 *
+	 * @param prefixes The values by prefix; prefixes consist of digits only and are unique
+	 * @throws IllegalArgumentException If a prefix is empty or contains a non-digit
+	 */
+	public IdPrefixTrie(Map<String, ? extends T> prefixes) {
+		prefixes.forEach(this::add);
+	}
+
+	private void add(String prefix, T value) {
+		if (prefix == null || prefix.isEmpty()) {
+			throw new IllegalArgumentException("ID prefix must not be empty");
+		}
+		Node<T> node = root;
+		for (int i = 0; i < prefix.length(); i++) {
+			int digit = prefix.charAt(i) - '0';
+			if (digit < 0 || digit > 9) {
+				throw new IllegalArgumentException("ID prefix must consist of digits: " + prefix);
+			}
+			if (node.children[digit] == null) {
+				node.children[digit] = new Node<>();
+			}
+			node = node.children[digit];
+		}
+		node.value = value;
+	}
+
+	/**
+	 * Matches an ID ({@code <prefix>-<digits>}) starting exactly at a position.
+	 *
+	 * @param text The text
+	 * @param pos The position of the first prefix digit
+	 * @param end The end of the text region (exclusive)
+	 * @return The offset behind the ID, or -1 if no ID starts at the position
+	 */
+	public int matchId(CharSequence text, int pos, int end) {
+		int dash = prefixEnd(text, pos, end);
+		if (dash == -1 || dash + 1 >= end || !isDigit(text.charAt(dash + 1))) {
+			return -1;
+		}
+		int idEnd = dash + 2;
+		while (idEnd < end && isDigit(text.charAt(idEnd))) {
+			idEnd++;
+		}
+		return idEnd;
+	}
+
+	/**
+	 * Looks up the value of the prefix an ID starts with.
+	 *
+	 * @param id The ID, e.g. 6-1234
+	 * @return The value, or null if the ID does not start with a registered prefix and {@code -}
+	 */
+	public T lookup(CharSequence id) {
+		Node<T> node = root;
+		for (int i = 0; i < id.length(); i++) {
+			char c = id.charAt(i);
+			if (c == '-') {
+				return i > 0 ? node.value : null;
+			}
+			if (!isDigit(c) || (node = node.children[c - '0']) == null) {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the {@code -} behind a registered prefix starting at a position.
+	 *
+	 * @return The offset of the dash, or -1
+	 */
+	private int prefixEnd(CharSequence text, int pos, int end) {
+		Node<T> node = root;
+		for (int i = pos; i < end; i++) {
+			char c = text.charAt(i);
+			if (c == '-') {
+				return i > pos && node.value != null ? i : -1;
+			}
+			if (!isDigit(c) || (node = node.children[c - '0']) == null) {
+				return -1;
+			}
+		}
+		return -1;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static final class Node<T> {
+
+		@SuppressWarnings("unchecked")
+		private final Node<T>[] children = new Node[10];
+		private T value;
+	}
+}
@@ -0,0 +1,95 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Collects keys requested one by one, e.g. while a tree paints its visible rows, so they can be
+ * looked up in batches by a single background job.
+ * <p>
+ * A key is queued at most once and not again while its batch is being looked up. The caller
+ * schedules the job when {@link #request(Object)} returns true; the job drains the queue with
+ * {@link #nextBatch()} and reports finished batches with {@link #done(Collection)}. The class is
+ * thread-safe.
+ *
+ * @param <K> The key type
+ */
+public final class LookupBatcher<K> {
+
+	private final int maxBatchSize;
+	private final Set<K> queued = new LinkedHashSet<>();
+	private final Set<K> inFlight = new HashSet<>();
+
+	/**
+	 * Creates a batcher.
+	 *
+	 * @param maxBatchSize The maximum number of keys per batch
+	 */
+	public LookupBatcher(int maxBatchSize) {
+		if (maxBatchSize <= 0) {
+			throw new IllegalArgumentException("maxBatchSize must be positive: " + maxBatchSize);
+		}
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Requests a lookup of a key.
+	 *
+	 * @param key The key
+	 * @return true if the queue was empty before, i.e. the caller has to schedule the batch job
+	 */
+	public synchronized boolean request(K key) {
+		if (inFlight.contains(key)) {
+			return false;
+		}
+		boolean wasEmpty = queued.isEmpty();
+		return queued.add(key) && wasEmpty;
+	}
+
+	/**
+	 * Takes the next batch from the queue, oldest requests first.
+	 *
+	 * @return The keys to look up, empty if the queue is drained
+	 */
+	public synchronized List<K> nextBatch() {
+		List<K> batch = new ArrayList<>(Math.min(queued.size(), maxBatchSize));
+		for (Iterator<K> it = queued.iterator(); it.hasNext() && batch.size() < maxBatchSize;) {
+			K key = it.next();
+			it.remove();
+			inFlight.add(key);
+			batch.add(key);
+		}
+		return batch;
+	}
+
+	/**
+	 * Marks a batch as looked up, so its keys can be requested again.
+	 *
+	 * @param keys The keys of the batch
+	 */
+	public synchronized void done(Collection<K> keys) {
+		inFlight.removeAll(keys);
+	}
+
+	/**
+	 * Drops all queued keys, e.g. when the lookup source changed.
+	 * Batches in flight still finish.
+	 */
+	public synchronized void clear() {
+		queued.clear();
+	}
+
+	/**
+	 * Gets the number of keys waiting for a batch.
+	 *
+	 * @return The queue length
+	 */
+	public synchronized int queuedCount() {
+		return queued.size();
+	}
+}
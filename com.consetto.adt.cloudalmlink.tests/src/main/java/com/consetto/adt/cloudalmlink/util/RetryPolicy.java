@@ -0,0 +1,118 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.DoubleSupplier;
+
+/**
+ * Decides whether and when a failed idempotent request is retried.
+ * <p>
+ * I/O errors and the transient statuses 429, 502, 503 and 504 are retried with capped exponential
+ * backoff and full jitter, so clients throttled together do not retry together. A
+ * {@code Retry-After} sent by the server replaces the backoff; waits longer than
+ * {@link #maxRetryAfter()} or beyond the caller's {@link Deadline} are not made at all.
+ *
+ * @param maxAttempts The maximum number of attempts including the first one
+ * @param baseDelay The backoff limit before the first retry; doubled for every further retry
+ * @param maxDelay The maximum backoff
+ * @param maxRetryAfter The longest {@code Retry-After} that is waited for
+ * @param random Returns a uniformly distributed value in [0, 1) for the jitter
+ */
+public record RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, Duration maxRetryAfter,
+		DoubleSupplier random) {
+
+	/** Three attempts, backing off up to 200 ms, then 400 ms; waits up to 10 s for Retry-After */
+	public static final RetryPolicy DEFAULT = new RetryPolicy(3, Duration.ofMillis(200), Duration.ofSeconds(5),
+			Duration.ofSeconds(10), () -> ThreadLocalRandom.current().nextDouble());
+
+	/**
+	 * Validates the policy.
+	 *
+	 * @throws IllegalArgumentException If maxAttempts is not positive
+	 */
+	public RetryPolicy {
+		if (maxAttempts < 1) {
+			throw new IllegalArgumentException("maxAttempts must be positive: " + maxAttempts);
+		}
+	}
+
+	/**
+	 * Checks whether a response status is transient and worth retrying.
+	 *
+	 * @param statusCode The HTTP status code
+	 * @return true for 429, 502, 503 and 504
+	 */
+	public static boolean isRetryableStatus(int statusCode) {
+		return statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+	}
+
+	/**
+	 * Computes the wait before the next attempt.
+	 *
+	 * @param failedAttempts The number of attempts made so far (1 after the first failure)
+	 * @param retryAfter The wait requested by the server, or null
+	 * @param deadline The caller's deadline
+	 * @return The wait, or null if the request must not be retried
+	 */
+	public Duration nextDelay(int failedAttempts, Duration retryAfter, Deadline deadline) {
+		if (failedAttempts >= maxAttempts) {
+			return null;
+		}
+		Duration delay;
+		if (retryAfter != null) {
+			if (retryAfter.compareTo(maxRetryAfter) > 0) {
+				return null;
+			}
+			delay = retryAfter;
+		} else {
+			delay = backoff(failedAttempts);
+		}
+		return deadline.allows(delay) ? delay : null;
+	}
+
+	/**
+	 * Computes a jittered exponential backoff.
+	 *
+	 * @param failedAttempts The number of attempts made so far
+	 * @return A random wait between zero and the capped exponential limit
+	 */
+	public Duration backoff(int failedAttempts) {
+		int exponent = Math.min(failedAttempts - 1, 30);
+		long limitNanos = Math.min(maxDelay.toNanos(), baseDelay.toNanos() << exponent);
+		if (limitNanos < 0) {
+			limitNanos = maxDelay.toNanos();
+		}
+		return Duration.ofNanos((long) (random.getAsDouble() * limitNanos));
+	}
+
+	/**
+	 * Parses a {@code Retry-After} header value.
+	 *
+	 * @param value The header value, either delay-seconds (e.g. "120") or an HTTP date
+	 * @param now The current time, to turn a date into a wait
+	 * @return The requested wait, zero for dates in the past, or null if the value is missing or invalid
+	 */
+	public static Duration parseRetryAfter(String value, Instant now) {
+		if (value == null || value.isBlank()) {
+			return null;
+		}
+		String trimmed = value.trim();
+		if (trimmed.chars().allMatch(Character::isDigit)) {
+			try {
+				return Duration.ofSeconds(Long.parseLong(trimmed));
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+		try {
+			Instant date = ZonedDateTime.parse(trimmed, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+			return date.isAfter(now) ? Duration.between(now, date) : Duration.ZERO;
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+}
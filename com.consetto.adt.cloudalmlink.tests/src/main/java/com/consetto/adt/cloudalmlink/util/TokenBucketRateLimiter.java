@@ -0,0 +1,216 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket limiting the rate of Cloud ALM API calls of the whole workbench, so parallel and
+ * batched lookups stay within the tenant's API quota.
+ * <p>
+ * The bucket holds up to {@code burst} tokens and refills at the configured requests per second;
+ * each call takes one token. Interactive calls take precedence: background calls wait while an
+ * interactive call is waiting and never take the last quarter of the bucket.
+ * <p>
+ * The rate adapts to the server: a 429 answer halves it (down to a tenth of the configured rate)
+ * and pauses all calls for the {@code Retry-After} wait; every successful call restores a twentieth
+ * of the configured rate. The class is thread-safe.
+ */
+public final class TokenBucketRateLimiter {
+
+	/** Default sustained requests per second */
+	public static final int DEFAULT_RATE = 10;
+
+	/** Default burst size */
+	public static final int DEFAULT_BURST = 20;
+
+	private static final double MIN_RATE_FRACTION = 0.1;
+	private static final double RECOVERY_FRACTION = 0.05;
+	private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+	/**
+	 * Priorities of rate-limited calls.
+	 */
+	public enum Priority {
+		/** A lookup the user is waiting for */
+		INTERACTIVE,
+		/** A lookup nobody waits for, e.g. prefetching */
+		BACKGROUND
+	}
+
+	private static volatile TokenBucketRateLimiter instance;
+
+	private final LongSupplier clock;
+
+	private double configuredRate;
+	private int burst;
+	private double rate;
+	private double tokens;
+	private long refilledAt;
+	private long pausedUntil;
+	private int interactiveWaiting;
+
+	/**
+	 * Creates a rate limiter with a full bucket.
+	 *
+	 * @param rate The sustained requests per second
+	 * @param burst The maximum number of requests without waiting
+	 */
+	public TokenBucketRateLimiter(double rate, int burst) {
+		this(rate, burst, System::nanoTime);
+	}
+
+	/**
+	 * Constructor with an explicit clock for testing.
+	 *
+	 * @param rate The sustained requests per second
+	 * @param burst The maximum number of requests without waiting
+	 * @param clock Returns the current time in nanoseconds
+	 */
+	public TokenBucketRateLimiter(double rate, int burst, LongSupplier clock) {
+		this.clock = clock;
+		this.refilledAt = clock.getAsLong();
+		this.pausedUntil = refilledAt;
+		configure(rate, burst);
+		this.tokens = burst;
+	}
+
+	/**
+	 * Gets the rate limiter shared by all Cloud ALM calls.
+	 * Thread-safe lazy initialization.
+	 *
+	 * @return The shared rate limiter
+	 */
+	public static TokenBucketRateLimiter getInstance() {
+		if (instance == null) {
+			synchronized (TokenBucketRateLimiter.class) {
+				if (instance == null) {
+					instance = new TokenBucketRateLimiter(DEFAULT_RATE, DEFAULT_BURST);
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Changes the limits. The rate learned from 429 answers is reset.
+	 *
+	 * @param rate The sustained requests per second
+	 * @param burst The maximum number of requests without waiting
+	 * @throws IllegalArgumentException If rate or burst is not positive
+	 */
+	public synchronized void configure(double rate, int burst) {
+		if (rate <= 0 || burst < 1) {
+			throw new IllegalArgumentException("rate and burst must be positive: " + rate + ", " + burst);
+		}
+		refill(clock.getAsLong());
+		this.configuredRate = rate;
+		this.rate = rate;
+		this.burst = burst;
+		this.tokens = Math.min(tokens, burst);
+		notifyAll();
+	}
+
+	/**
+	 * Takes a token if one is available right away.
+	 *
+	 * @param priority The priority of the call
+	 * @return 0 if a token was taken, otherwise the nanoseconds to wait before trying again
+	 */
+	public synchronized long tryAcquire(Priority priority) {
+		long now = clock.getAsLong();
+		if (now - pausedUntil < 0) {
+			return pausedUntil - now;
+		}
+		refill(now);
+		double required = 1;
+		if (priority == Priority.BACKGROUND) {
+			required += burst / 4;
+		}
+		if (tokens >= required) {
+			tokens--;
+			return 0;
+		}
+		return Math.max(1, (long) Math.ceil((required - tokens) * NANOS_PER_SECOND / rate));
+	}
+
+	/**
+	 * Waits for a token.
+	 *
+	 * @param priority The priority of the call
+	 * @param deadline The time by which the call has to be made
+	 * @return true if a token was taken, false if the wait would overrun the deadline
+	 * @throws InterruptedException If interrupted while waiting
+	 */
+	public synchronized boolean acquire(Priority priority, Deadline deadline) throws InterruptedException {
+		boolean interactive = priority == Priority.INTERACTIVE;
+		if (interactive) {
+			interactiveWaiting++;
+		}
+		try {
+			while (true) {
+				long waitNanos;
+				if (!interactive && interactiveWaiting > 0) {
+					// Woken up when the interactive calls got their tokens
+					waitNanos = Math.max(1, (long) (NANOS_PER_SECOND / rate));
+				} else {
+					waitNanos = tryAcquire(priority);
+					if (waitNanos == 0) {
+						return true;
+					}
+				}
+				if (!deadline.allows(Duration.ofNanos(waitNanos))) {
+					return false;
+				}
+				TimeUnit.NANOSECONDS.timedWait(this, waitNanos);
+			}
+		} finally {
+			if (interactive) {
+				interactiveWaiting--;
+				notifyAll();
+			}
+		}
+	}
+
+	/**
+	 * Slows down after the server answered 429 Too Many Requests.
+	 *
+	 * @param retryAfter The wait requested by the server, or null
+	 */
+	public synchronized void onThrottled(Duration retryAfter) {
+		long now = clock.getAsLong();
+		refill(now);
+		rate = Math.max(configuredRate * MIN_RATE_FRACTION, rate / 2);
+		tokens = Math.min(tokens, 0);
+		if (retryAfter != null && now + retryAfter.toNanos() - pausedUntil > 0) {
+			pausedUntil = now + retryAfter.toNanos();
+		}
+	}
+
+	/**
+	 * Speeds up again after a call the server accepted.
+	 */
+	public synchronized void onSuccess() {
+		if (rate < configuredRate) {
+			refill(clock.getAsLong());
+			rate = Math.min(configuredRate, rate + configuredRate * RECOVERY_FRACTION);
+		}
+	}
+
+	/**
+	 * Gets the current rate, lowered after 429 answers.
+	 *
+	 * @return The requests per second
+	 */
+	public synchronized double getRate() {
+		return rate;
+	}
+
+	private void refill(long now) {
+		long elapsed = now - refilledAt;
+		if (elapsed > 0) {
+			tokens = Math.min(burst, tokens + elapsed * rate / NANOS_PER_SECOND);
+			refilledAt = now;
+		}
+	}
+}
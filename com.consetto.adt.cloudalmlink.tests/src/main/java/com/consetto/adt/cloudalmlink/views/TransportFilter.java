@@ -1,16 +1,21 @@
 package com.consetto.adt.cloudalmlink.views;
 
+import java.util.Locale;
+
 import com.consetto.adt.cloudalmlink.model.VersionElement;
 
 /**
  * Filter for TransportView that matches search text against all visible columns.
- * Supports case-insensitive partial matching across all fields.
+ * Supports case-insensitive partial matching across all fields as well as
+ * column-qualified terms such as {@code status:RELEASED owner:DEV*}; see {@link TransportQuery}.
+ * The search text is compiled once and matching does not allocate.
  *
  * Note: This is a standalone version without Eclipse ViewerFilter dependency for testing.
  */
 public class TransportFilter {
 
 	private String searchString = "";
+	private TransportQuery query = TransportQuery.compile(null);
 
 	/**
 	 * Sets the search text for filtering.
@@ -18,7 +23,8 @@ public class TransportFilter {
 	 * @param s The search string (case-insensitive)
 	 */
 	public void setSearchText(String s) {
-		this.searchString = (s == null ? "" : s.toLowerCase().trim());
+		this.searchString = (s == null ? "" : s.toLowerCase(Locale.ROOT).trim());
+		this.query = TransportQuery.compile(searchString);
 	}
 
 	/**
@@ -47,23 +53,6 @@ public class TransportFilter {
 
 		VersionElement v = (VersionElement) element;
 
-		// Match against version/transport fields
-		if (matches(v.getID())) return true;
-		if (matches(v.getTransportId())) return true;
-		if (matches(v.getAuthor())) return true;
-		if (matches(v.getTitle())) return true;
-
-		// Match against feature fields
-		if (v.getFeature() != null) {
-			if (matches(v.getFeature().getDisplayId())) return true;
-			if (matches(v.getFeature().getStatus())) return true;
-			if (matches(v.getFeature().getResponsibleId())) return true;
-		}
-
-		return false;
-	}
-
-	private boolean matches(String value) {
-		return value != null && value.toLowerCase().contains(searchString);
+		return query.test(v);
 	}
 }
@@ -0,0 +1,249 @@
+package com.consetto.adt.cloudalmlink.views;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+import com.consetto.adt.cloudalmlink.model.VersionElement;
+
+/**
+ * Compiled search query for the TransportView search box.
+ * <p>
+ * A query is a whitespace-separated list of terms that must all match:
+ * <ul>
+ * <li>{@code payment} or {@code "fix payment"} - free text, matched against all columns</li>
+ * <li>{@code status:RELEASED} - column-qualified; the value matches as a prefix of the column text</li>
+ * <li>{@code owner:DEV*} - column-qualified glob; {@code *} matches any text, {@code ?} one character</li>
+ * <li>{@code -term} - negates any of the above, e.g. {@code -"No Feature"}</li>
+ * </ul>
+ * Column keys are those of {@link TransportViewColumns}. A qualifier that is not a column key
+ * is treated as free text. All matching is case-insensitive.
+ * The query is compiled once per search text; each term only reads the column it references
+ * and matching does not allocate.
+ */
+public final class TransportQuery implements Predicate<VersionElement> {
+
+	private static final TransportQuery MATCH_ALL = new TransportQuery(new Term[0]);
+
+	private final Term[] terms;
+
+	private TransportQuery(Term[] terms) {
+		this.terms = terms;
+	}
+
+	/**
+	 * Compiles a query string.
+	 *
+	 * @param query The query text, may be null
+	 * @return The compiled query; matches everything if the query has no terms
+	 */
+	public static TransportQuery compile(String query) {
+		if (query == null || query.isBlank()) {
+			return MATCH_ALL;
+		}
+		List<Term> terms = new ArrayList<>();
+		int pos = 0;
+		int length = query.length();
+		while (pos < length) {
+			while (pos < length && Character.isWhitespace(query.charAt(pos))) {
+				pos++;
+			}
+			if (pos >= length) {
+				break;
+			}
+
+			boolean negated = false;
+			if (query.charAt(pos) == '-' && pos + 1 < length && !Character.isWhitespace(query.charAt(pos + 1))) {
+				negated = true;
+				pos++;
+			}
+
+			// Optional column qualifier: key:value
+			String key = null;
+			int keyEnd = pos;
+			while (keyEnd < length && Character.isLetter(query.charAt(keyEnd))) {
+				keyEnd++;
+			}
+			if (keyEnd > pos && keyEnd < length && query.charAt(keyEnd) == ':') {
+				key = query.substring(pos, keyEnd);
+				pos = keyEnd + 1;
+			}
+
+			// Value: quoted phrase or bare word
+			String value;
+			boolean quoted = pos < length && query.charAt(pos) == '"';
+			if (quoted) {
+				int close = query.indexOf('"', pos + 1);
+				int end = close == -1 ? length : close;
+				value = query.substring(pos + 1, end);
+				pos = close == -1 ? length : close + 1;
+			} else {
+				int end = pos;
+				while (end < length && !Character.isWhitespace(query.charAt(end))) {
+					end++;
+				}
+				value = query.substring(pos, end);
+				pos = end;
+			}
+
+			Term term = createTerm(key, value, quoted);
+			if (term != null) {
+				terms.add(negated ? new NotTerm(term) : term);
+			}
+		}
+		return terms.isEmpty() ? MATCH_ALL : new TransportQuery(terms.toArray(new Term[0]));
+	}
+
+	private static Term createTerm(String key, String value, boolean quoted) {
+		if (key != null) {
+			TableColumnDefinition<VersionElement> column = TransportViewColumns.findColumn(key);
+			if (column != null) {
+				return value.isEmpty() ? null : new ColumnTerm(column, TextMatcher.compile(value));
+			}
+			// Not a column: the qualifier is part of the free text, e.g. "http://..."
+			value = key + ":" + (quoted ? "\"" + value + "\"" : value);
+		}
+		return value.isEmpty() ? null : new TextTerm(value.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * Checks whether the query has no terms and therefore matches every row.
+	 *
+	 * @return true if the query matches everything
+	 */
+	public boolean isEmpty() {
+		return terms.length == 0;
+	}
+
+	@Override
+	public boolean test(VersionElement version) {
+		if (version == null) {
+			return false;
+		}
+		for (Term term : terms) {
+			if (!term.test(version)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * A single compiled query term.
+	 */
+	private interface Term {
+		boolean test(VersionElement version);
+	}
+
+	/**
+	 * Free-text term matched against the precomputed search key of the row.
+	 */
+	private record TextTerm(String needle) implements Term {
+		@Override
+		public boolean test(VersionElement version) {
+			return version.getSearchKey().contains(needle);
+		}
+	}
+
+	/**
+	 * Column-qualified term; reads only the text of its column.
+	 */
+	private record ColumnTerm(TableColumnDefinition<VersionElement> column, TextMatcher matcher) implements Term {
+		@Override
+		public boolean test(VersionElement version) {
+			return matcher.matches(column.getText(version));
+		}
+	}
+
+	/**
+	 * Negation of another term.
+	 */
+	private record NotTerm(Term term) implements Term {
+		@Override
+		public boolean test(VersionElement version) {
+			return !term.test(version);
+		}
+	}
+
+	/**
+	 * Precompiled case-insensitive matcher for column values.
+	 */
+	abstract static class TextMatcher {
+
+		abstract boolean matches(String text);
+
+		/**
+		 * Compiles a column value into a prefix matcher, or a glob matcher if it contains wildcards.
+		 */
+		static TextMatcher compile(String value) {
+			int star = value.indexOf('*');
+			boolean hasQuestionMark = value.indexOf('?') != -1;
+			if (!hasQuestionMark && (star == -1 || star == value.length() - 1)) {
+				return new PrefixMatcher(star == -1 ? value : value.substring(0, star));
+			}
+			return new GlobMatcher(value);
+		}
+	}
+
+	/**
+	 * Matches column text starting with the given prefix.
+	 */
+	static final class PrefixMatcher extends TextMatcher {
+
+		private final String prefix;
+
+		PrefixMatcher(String prefix) {
+			this.prefix = prefix;
+		}
+
+		@Override
+		boolean matches(String text) {
+			return text.regionMatches(true, 0, prefix, 0, prefix.length());
+		}
+	}
+
+	/**
+	 * Matches the whole column text against a glob pattern with {@code *} and {@code ?}.
+	 */
+	static final class GlobMatcher extends TextMatcher {
+
+		private final String pattern;
+
+		GlobMatcher(String pattern) {
+			this.pattern = pattern;
+		}
+
+		@Override
+		boolean matches(String text) {
+			int t = 0;
+			int p = 0;
+			int starP = -1;
+			int starT = 0;
+			while (t < text.length()) {
+				if (p < pattern.length() && (pattern.charAt(p) == '?' || equalsIgnoreCase(pattern.charAt(p), text.charAt(t)))) {
+					t++;
+					p++;
+				} else if (p < pattern.length() && pattern.charAt(p) == '*') {
+					// Remember the star and first try to let it match nothing
+					starP = p++;
+					starT = t;
+				} else if (starP != -1) {
+					// Backtrack: let the last star swallow one more character
+					p = starP + 1;
+					t = ++starT;
+				} else {
+					return false;
+				}
+			}
+			while (p < pattern.length() && pattern.charAt(p) == '*') {
+				p++;
+			}
+			return p == pattern.length();
+		}
+
+		private static boolean equalsIgnoreCase(char a, char b) {
+			return a == b || Character.toLowerCase(a) == Character.toLowerCase(b);
+		}
+	}
+}
@@ -0,0 +1,276 @@
+package com.consetto.adt.cloudalmlink.views;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import com.consetto.adt.cloudalmlink.model.VersionElement;
+
+/**
+ * Row model backing the virtual TransportView table.
+ * Keeps the full list of rows, a sort permutation of all rows and an index array
+ * of the currently visible rows, so filtering and sorting never copy or re-create
+ * row objects and the table only materialises the items that are actually scrolled into view.
+ * <p>
+ * Sorting uses per-column ranks: each column comparator runs once over all rows to
+ * assign every row an integer rank, which is cached until the rows change. Resorting,
+ * including multi-key sorting, then only compares primitive ranks.
+ */
+public final class TransportTableModel {
+
+	private static final int[] NO_ROWS = new int[0];
+
+	/**
+	 * One key of a (multi-key) sort order.
+	 *
+	 * @param comparator The column comparator
+	 * @param ascending true for ascending, false for descending order
+	 */
+	public record SortKey(Comparator<VersionElement> comparator, boolean ascending) {
+	}
+
+	/**
+	 * Immutable view of the rows and their sort order, used to filter off the UI thread.
+	 *
+	 * @param rows All rows
+	 * @param order Row indexes in display order
+	 */
+	public record Snapshot(List<VersionElement> rows, int[] order) {
+	}
+
+	private List<VersionElement> rows = List.of();
+	private Snapshot snapshot = new Snapshot(rows, NO_ROWS);
+	private int[] visible = NO_ROWS;
+	private List<SortKey> sortKeys = List.of();
+	private final Map<Comparator<VersionElement>, int[]> rankCache = new IdentityHashMap<>();
+
+	/**
+	 * Replaces the rows of the model. All rows are visible afterwards; the current sort order is kept.
+	 *
+	 * @param newRows The rows to display, may be null
+	 */
+	public void setRows(List<VersionElement> newRows) {
+		setRows(newRows, true);
+	}
+
+	/**
+	 * Replaces the rows of the model; the current sort order is kept. Hiding the rows lets a filter
+	 * run against the new snapshot before any unfiltered row is shown.
+	 *
+	 * @param newRows The rows to display, may be null
+	 * @param showAll true to make all rows visible, false to show none until
+	 *        {@link #setVisible(Snapshot, int[])} applies a filter result
+	 */
+	public void setRows(List<VersionElement> newRows, boolean showAll) {
+		this.rows = newRows == null ? List.of() : List.copyOf(newRows);
+		rankCache.clear();
+		int[] order = computeOrder();
+		this.snapshot = new Snapshot(rows, order);
+		this.visible = showAll ? order : NO_ROWS;
+	}
+
+	/**
+	 * Gets all rows regardless of the current filter and sort order.
+	 *
+	 * @return Immutable list of all rows
+	 */
+	public List<VersionElement> getRows() {
+		return rows;
+	}
+
+	/**
+	 * Gets the current rows together with their sort order.
+	 *
+	 * @return The current snapshot
+	 */
+	public Snapshot snapshot() {
+		return snapshot;
+	}
+
+	/**
+	 * Sets the sort order. Visible rows stay the same but are re-arranged;
+	 * no filter predicate is evaluated again.
+	 *
+	 * @param keys The sort keys, most significant first; empty for the original row order
+	 */
+	public void setSortKeys(List<SortKey> keys) {
+		this.sortKeys = keys == null ? List.of() : List.copyOf(keys);
+		int[] order = computeOrder();
+
+		// Re-arrange the currently visible rows in the new order
+		boolean[] shown = new boolean[rows.size()];
+		for (int row : visible) {
+			shown[row] = true;
+		}
+		int[] result = new int[visible.length];
+		int count = 0;
+		for (int row : order) {
+			if (shown[row]) {
+				result[count++] = row;
+			}
+		}
+		this.snapshot = new Snapshot(rows, order);
+		this.visible = result;
+	}
+
+	/**
+	 * Gets the current sort keys.
+	 *
+	 * @return Immutable list of sort keys, most significant first
+	 */
+	public List<SortKey> getSortKeys() {
+		return sortKeys;
+	}
+
+	/**
+	 * Recomputes the visible rows from the given predicate.
+	 *
+	 * @param predicate The row predicate, or null to show all rows
+	 */
+	public void filter(Predicate<VersionElement> predicate) {
+		visible = computeVisible(snapshot, predicate, () -> false);
+	}
+
+	/**
+	 * Computes the visible row indexes, in display order, for a snapshot.
+	 * Does not touch the model, so it can run on a background thread against
+	 * the snapshot returned by {@link #snapshot()}.
+	 *
+	 * @param snapshot The rows and their sort order
+	 * @param predicate The row predicate, or null to show all rows
+	 * @param cancelled Polled while filtering; computation stops once it returns true
+	 * @return The visible row indexes, or null if the computation was cancelled
+	 */
+	public static int[] computeVisible(Snapshot snapshot, Predicate<VersionElement> predicate,
+			BooleanSupplier cancelled) {
+		int[] order = snapshot.order();
+		if (predicate == null) {
+			return order;
+		}
+		List<VersionElement> snapshotRows = snapshot.rows();
+		int[] result = new int[order.length];
+		int count = 0;
+		for (int i = 0; i < order.length; i++) {
+			// Poll cancellation in blocks to keep the loop cheap
+			if ((i & 0x3FF) == 0 && cancelled.getAsBoolean()) {
+				return null;
+			}
+			if (predicate.test(snapshotRows.get(order[i]))) {
+				result[count++] = order[i];
+			}
+		}
+		return count == result.length ? result : Arrays.copyOf(result, count);
+	}
+
+	/**
+	 * Applies visible row indexes computed by {@link #computeVisible}.
+	 * The result is ignored if the rows or the sort order changed in the meantime.
+	 *
+	 * @param computedFor The snapshot the indexes were computed for
+	 * @param indexes The visible row indexes
+	 * @return true if the indexes were applied
+	 */
+	public boolean setVisible(Snapshot computedFor, int[] indexes) {
+		if (computedFor != snapshot || indexes == null) {
+			return false;
+		}
+		visible = indexes;
+		return true;
+	}
+
+	/**
+	 * Gets the number of visible rows.
+	 *
+	 * @return The visible row count
+	 */
+	public int size() {
+		return visible.length;
+	}
+
+	/**
+	 * Gets the row shown at the given table position.
+	 *
+	 * @param viewIndex The position in the table
+	 * @return The row element
+	 * @throws IndexOutOfBoundsException if the position is not visible
+	 */
+	public VersionElement get(int viewIndex) {
+		return rows.get(visible[viewIndex]);
+	}
+
+	/**
+	 * Computes the permutation of all rows for the current sort keys.
+	 * Runs one stable primitive sort per key, least significant key first.
+	 */
+	private int[] computeOrder() {
+		int size = rows.size();
+		int[] order = identity(size);
+		if (sortKeys.isEmpty() || size == 0) {
+			return order;
+		}
+		long[] packed = new long[size];
+		for (int k = sortKeys.size() - 1; k >= 0; k--) {
+			SortKey key = sortKeys.get(k);
+			int[] ranks = ranks(key.comparator());
+			for (int pos = 0; pos < size; pos++) {
+				int rank = ranks[order[pos]];
+				long sortValue = key.ascending() ? rank : size - rank;
+				// The current position in the low bits keeps the sort stable across keys
+				packed[pos] = (sortValue << 32) | pos;
+			}
+			Arrays.sort(packed);
+			int[] next = new int[size];
+			for (int pos = 0; pos < size; pos++) {
+				next[pos] = order[(int) packed[pos]];
+			}
+			order = next;
+		}
+		return order;
+	}
+
+	/**
+	 * Gets the cached ranks of all rows for a comparator; equal rows share a rank.
+	 */
+	private int[] ranks(Comparator<VersionElement> comparator) {
+		int[] ranks = rankCache.get(comparator);
+		if (ranks == null) {
+			ranks = computeRanks(rows, comparator);
+			rankCache.put(comparator, ranks);
+		}
+		return ranks;
+	}
+
+	private static int[] computeRanks(List<VersionElement> rows, Comparator<VersionElement> comparator) {
+		int size = rows.size();
+		Integer[] sorted = new Integer[size];
+		for (int i = 0; i < size; i++) {
+			sorted[i] = i;
+		}
+		Arrays.sort(sorted, (a, b) -> comparator.compare(rows.get(a), rows.get(b)));
+
+		int[] ranks = new int[size];
+		int rank = 0;
+		for (int i = 0; i < size; i++) {
+			if (i > 0 && comparator.compare(rows.get(sorted[i - 1]), rows.get(sorted[i])) != 0) {
+				rank = i;
+			}
+			ranks[sorted[i]] = rank;
+		}
+		return ranks;
+	}
+
+	private static int[] identity(int size) {
+		if (size == 0) {
+			return NO_ROWS;
+		}
+		int[] indexes = new int[size];
+		for (int i = 0; i < size; i++) {
+			indexes[i] = i;
+		}
+		return indexes;
+	}
+}
@@ -0,0 +1,123 @@
+package com.consetto.adt.cloudalmlink.views;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+
+import com.consetto.adt.cloudalmlink.model.FeatureElement;
+import com.consetto.adt.cloudalmlink.model.VersionElement;
+
+/**
+ * Factory providing column definitions for the Transport View table.
+ * Centralizes column configuration that was previously scattered in createColumns().
+ */
+public final class TransportViewColumns {
+
+	private TransportViewColumns() {
+		// Prevent instantiation
+	}
+
+	private static final List<TableColumnDefinition<VersionElement>> COLUMNS = createColumns();
+
+	/**
+	 * Gets the list of column definitions for the transport view.
+	 *
+	 * @return Immutable list of column definitions
+	 */
+	public static List<TableColumnDefinition<VersionElement>> getColumns() {
+		return COLUMNS;
+	}
+
+	/**
+	 * Finds the column with the given query key.
+	 *
+	 * @param key The column key, case-insensitive (e.g. "status")
+	 * @return The column definition, or null if no column has this key
+	 */
+	public static TableColumnDefinition<VersionElement> findColumn(String key) {
+		for (TableColumnDefinition<VersionElement> column : COLUMNS) {
+			if (column.key().equalsIgnoreCase(key)) {
+				return column;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Gets the text of a feature column, or the label shown instead if there is no feature
+	 * or it could not be looked up in time.
+	 */
+	private static String featureText(VersionElement version, Function<FeatureElement, String> field) {
+		FeatureElement feature = version.getFeature();
+		if (feature == null) {
+			return VersionElement.NO_FEATURE_LABEL;
+		}
+		if (feature.isUnavailable()) {
+			return VersionElement.FEATURE_UNAVAILABLE_LABEL;
+		}
+		return feature.isTimedOut() ? VersionElement.FEATURE_TIMED_OUT_LABEL : field.apply(feature);
+	}
+
+	private static List<TableColumnDefinition<VersionElement>> createColumns() {
+		return List.of(
+				new TableColumnDefinition<>(
+						"id",
+						"ID",
+						80,
+						VersionElement::getID,
+						Comparator.comparing(VersionElement::getID, Comparator.nullsLast(Comparator.naturalOrder()))
+				),
+				new TableColumnDefinition<>(
+						"transport",
+						"Transport",
+						120,
+						VersionElement::getTransportId,
+						Comparator.comparing(VersionElement::getTransportId, Comparator.nullsLast(Comparator.naturalOrder()))
+				),
+				new TableColumnDefinition<>(
+						"owner",
+						"TR Owner",
+						100,
+						v -> v.getAuthor() != null ? v.getAuthor() : "",
+						Comparator.comparing(VersionElement::getAuthor, Comparator.nullsLast(Comparator.naturalOrder()))
+				),
+				new TableColumnDefinition<>(
+						"title",
+						"Title",
+						180,
+						VersionElement::getTitle,
+						Comparator.comparing(VersionElement::getTitle, Comparator.nullsLast(Comparator.naturalOrder()))
+				),
+				new TableColumnDefinition<>(
+						"feature",
+						"Feature",
+						100,
+						v -> featureText(v, FeatureElement::getDisplayId),
+						Comparator.comparing(
+								v -> v.getFeature() != null ? v.getFeature().getDisplayId() : "",
+								Comparator.nullsLast(Comparator.naturalOrder())
+						)
+				),
+				new TableColumnDefinition<>(
+						"status",
+						"Status",
+						100,
+						v -> featureText(v, FeatureElement::getStatus),
+						Comparator.comparing(
+								v -> v.getFeature() != null ? v.getFeature().getStatus() : "",
+								Comparator.nullsLast(Comparator.naturalOrder())
+						)
+				),
+				new TableColumnDefinition<>(
+						"responsible",
+						"Responsible",
+						100,
+						v -> featureText(v, FeatureElement::getResponsibleId),
+						Comparator.comparing(
+								v -> v.getFeature() != null ? v.getFeature().getResponsibleId() : "",
+								Comparator.nullsLast(Comparator.naturalOrder())
+						)
+				)
+		);
+	}
+}
@@ -0,0 +1,252 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CalmIdIndex}.
+ * Tests the offset index behind Cloud ALM hyperlink detection and its incremental updates.
+ */
+@DisplayName("CalmIdIndex")
+class CalmIdIndexTest {
+
+	private static final String SOURCE = """
+			* Feature 6-1234
+			DATA lv_id TYPE string VALUE '3-55'. " Task 3-144444
+			  * Indented comment 15-7
+			WRITE '7-99'.
+			""";
+
+	private CalmIdIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new CalmIdIndex();
+		index.reset(SOURCE);
+	}
+
+	@Nested
+	@DisplayName("Indexing")
+	class Indexing {
+
+		@Test
+		@DisplayName("should index all IDs in offset order")
+		void shouldIndexAllIds() {
+			assertThat(ids(index)).containsExactly("6-1234", "3-55", "3-144444", "15-7", "7-99");
+		}
+
+		@Test
+		@DisplayName("should record the offset of each ID")
+		void shouldRecordOffsets() {
+			assertThat(index.get(0).offset()).isEqualTo(SOURCE.indexOf("6-1234"));
+			assertThat(index.get(4).offset()).isEqualTo(SOURCE.indexOf("7-99"));
+		}
+
+		@Test
+		@DisplayName("should mark IDs on asterisk lines and after quotes as comments")
+		void shouldMarkComments() {
+			assertThat(index.get(0).inComment()).isTrue();
+			assertThat(index.get(1).inComment()).isFalse();
+			assertThat(index.get(2).inComment()).isTrue();
+			assertThat(index.get(3).inComment()).isTrue();
+			assertThat(index.get(4).inComment()).isFalse();
+		}
+
+		@Test
+		@DisplayName("should handle all line delimiters")
+		void shouldHandleLineDelimiters() {
+			index.reset("\" 6-1\r* 6-2\r\n6-3\n\" 6-4");
+
+			assertThat(ids(index)).containsExactly("6-1", "6-2", "6-3", "6-4");
+			assertThat(index.get(2).inComment()).isFalse();
+			assertThat(index.get(3).inComment()).isTrue();
+		}
+
+		@Test
+		@DisplayName("should be empty for null text")
+		void shouldBeEmptyForNull() {
+			index.reset(null);
+
+			assertThat(index.size()).isZero();
+		}
+
+		@Test
+		@DisplayName("should reject positions outside the index")
+		void shouldRejectInvalidPositions() {
+			assertThatThrownBy(() -> index.get(5)).isInstanceOf(IndexOutOfBoundsException.class);
+		}
+
+		@Test
+		@DisplayName("should return a snapshot of all occurrences")
+		void shouldSnapshotOccurrences() {
+			List<CalmIdIndex.Occurrence> expected = occurrences(index);
+			List<CalmIdIndex.Occurrence> snapshot = index.occurrences();
+			index.reset("");
+
+			assertThat(snapshot).hasSize(5).containsExactlyElementsOf(expected);
+		}
+	}
+
+	@Nested
+	@DisplayName("Lookup")
+	class Lookup {
+
+		@Test
+		@DisplayName("should find the ID containing the offset")
+		void shouldFindContainingId() {
+			int offset = SOURCE.indexOf("3-144444") + 3;
+
+			CalmIdIndex.Occurrence occurrence = index.find(offset);
+
+			assertThat(occurrence.itemId()).isEqualTo("3-144444");
+			assertThat(occurrence.length()).isEqualTo(8);
+		}
+
+		@Test
+		@DisplayName("should find the ID at its start and directly behind its end")
+		void shouldFindAtBoundaries() {
+			int start = SOURCE.indexOf("6-1234");
+
+			assertThat(index.find(start).itemId()).isEqualTo("6-1234");
+			assertThat(index.find(start + 6).itemId()).isEqualTo("6-1234");
+			assertThat(index.find(start + 7)).isNull();
+		}
+
+		@Test
+		@DisplayName("should return null outside of IDs")
+		void shouldReturnNullOutsideIds() {
+			assertThat(index.find(0)).isNull();
+			assertThat(index.find(SOURCE.length() + 10)).isNull();
+		}
+	}
+
+	@Nested
+	@DisplayName("Incremental Updates")
+	class IncrementalUpdates {
+
+		@Test
+		@DisplayName("should shift IDs behind an edit")
+		void shouldShiftFollowingIds() {
+			String text = edit(index, SOURCE, 0, 0, "* New line\n");
+
+			assertThat(ids(index)).containsExactly("6-1234", "3-55", "3-144444", "15-7", "7-99");
+			assertThat(index.get(4).offset()).isEqualTo(text.indexOf("7-99"));
+		}
+
+		@Test
+		@DisplayName("should pick up IDs typed into a line")
+		void shouldAddTypedIds() {
+			int offset = SOURCE.indexOf("WRITE");
+			String text = edit(index, SOURCE, offset, 0, "\" 6-42 ");
+
+			assertThat(ids(index)).containsExactly("6-1234", "3-55", "3-144444", "15-7", "6-42", "7-99");
+			assertThat(index.find(text.indexOf("7-99")).inComment()).isTrue();
+		}
+
+		@Test
+		@DisplayName("should drop IDs of deleted lines")
+		void shouldDropDeletedIds() {
+			int start = SOURCE.indexOf("DATA");
+			int end = SOURCE.indexOf("WRITE");
+
+			edit(index, SOURCE, start, end - start, "");
+
+			assertThat(ids(index)).containsExactly("6-1234", "7-99");
+		}
+
+		@Test
+		@DisplayName("should update the comment status when a quote is removed")
+		void shouldUpdateCommentStatus() {
+			int quote = SOURCE.indexOf("\" Task");
+
+			edit(index, SOURCE, quote, 1, "");
+
+			assertThat(index.get(2).itemId()).isEqualTo("3-144444");
+			assertThat(index.get(2).inComment()).isFalse();
+		}
+
+		@Test
+		@DisplayName("should match a full rebuild after random edits")
+		void shouldMatchFullRebuild() {
+			Random random = new Random(42);
+			String[] fragments = { "6-1", "15-23", "\"", "*", "\n", "\r\n", "\r", " ", "x", "3-", "77" };
+			String text = SOURCE;
+
+			for (int i = 0; i < 500; i++) {
+				int offset = random.nextInt(text.length() + 1);
+				int length = random.nextInt(Math.min(5, text.length() - offset) + 1);
+				String replacement = fragments[random.nextInt(fragments.length)];
+				text = edit(index, text, offset, length, random.nextBoolean() ? replacement : "");
+
+				CalmIdIndex rebuilt = new CalmIdIndex();
+				rebuilt.reset(text);
+				assertThat(occurrences(index)).as("after edit %d", i).isEqualTo(occurrences(rebuilt));
+			}
+		}
+	}
+
+	/**
+	 * Applies an edit to the text and updates the index the way the document listener does:
+	 * the lines touched by the edit, plus the line before, are replaced.
+	 */
+	private static String edit(CalmIdIndex index, String text, int offset, int length, String replacement) {
+		int[] lineStarts = lineStarts(text);
+		int firstLine = Math.max(0, lineOf(lineStarts, offset) - 1);
+		int lastLine = lineOf(lineStarts, offset + length);
+		int rangeStart = lineStarts[firstLine];
+		int rangeEnd = lastLine + 1 < lineStarts.length ? lineStarts[lastLine + 1] : text.length();
+
+		String newText = text.substring(0, offset) + replacement + text.substring(offset + length);
+		int newRangeEnd = rangeEnd + replacement.length() - length;
+		index.replace(rangeStart, rangeEnd - rangeStart, newText.substring(rangeStart, newRangeEnd));
+		return newText;
+	}
+
+	private static int[] lineStarts(String text) {
+		List<Integer> starts = new ArrayList<>();
+		starts.add(0);
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '\r' && i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+				i++;
+				starts.add(i + 1);
+			} else if (c == '\r' || c == '\n') {
+				starts.add(i + 1);
+			}
+		}
+		return starts.stream().mapToInt(Integer::intValue).toArray();
+	}
+
+	private static int lineOf(int[] lineStarts, int offset) {
+		int line = 0;
+		while (line + 1 < lineStarts.length && lineStarts[line + 1] <= offset) {
+			line++;
+		}
+		return line;
+	}
+
+	private static List<String> ids(CalmIdIndex index) {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < index.size(); i++) {
+			ids.add(index.get(i).itemId());
+		}
+		return ids;
+	}
+
+	private static List<CalmIdIndex.Occurrence> occurrences(CalmIdIndex index) {
+		List<CalmIdIndex.Occurrence> occurrences = new ArrayList<>();
+		for (int i = 0; i < index.size(); i++) {
+			occurrences.add(index.get(i));
+		}
+		return occurrences;
+	}
+}
@@ -0,0 +1,83 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import com.consetto.adt.cloudalmlink.model.CloudAlmItem;
+
+/**
+ * Unit tests for {@link CalmIdValidation}.
+ * Tests which referenced Cloud ALM IDs are reported as unknown or closed.
+ */
+@DisplayName("CalmIdValidation")
+class CalmIdValidationTest {
+
+	private static final List<CalmIdIndex.Occurrence> OCCURRENCES = List.of(
+			new CalmIdIndex.Occurrence(2, "6-1", true),
+			new CalmIdIndex.Occurrence(20, "3-55", false),
+			new CalmIdIndex.Occurrence(40, "6-2", true),
+			new CalmIdIndex.Occurrence(60, "6-1", true));
+
+	@Test
+	@DisplayName("should collect distinct IDs referenced in comments")
+	void shouldCollectReferencedIds() {
+		assertThat(CalmIdValidation.referencedIds(OCCURRENCES)).containsExactly("6-1", "6-2");
+	}
+
+	@Test
+	@DisplayName("should report every occurrence of an unknown ID")
+	void shouldReportUnknownIds() {
+		Map<String, CloudAlmItem> items = new HashMap<>();
+		items.put("6-1", null);
+		items.put("6-2", item("6-2", "OPEN"));
+
+		List<CalmIdValidation.Problem> problems = CalmIdValidation.validate(OCCURRENCES, items);
+
+		assertThat(problems).extracting(CalmIdValidation.Problem::offset).containsExactly(2, 60);
+		assertThat(problems.get(0).length()).isEqualTo(3);
+		assertThat(problems.get(0).message()).isEqualTo("Cloud ALM item 6-1 does not exist");
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = { "CLOSED", "Canceled", "CANCELLED", "obsolete", "DELETED" })
+	@DisplayName("should report items in a closed status")
+	void shouldReportClosedItems(String status) {
+		Map<String, CloudAlmItem> items = Map.of("6-2", item("6-2", status));
+
+		List<CalmIdValidation.Problem> problems = CalmIdValidation.validate(OCCURRENCES, items);
+
+		assertThat(problems).singleElement().satisfies(problem -> {
+			assertThat(problem.itemId()).isEqualTo("6-2");
+			assertThat(problem.message()).isEqualTo("Cloud ALM item 6-2 is closed (" + status + ")");
+		});
+	}
+
+	@Test
+	@DisplayName("should accept open items and items without status")
+	void shouldAcceptOpenItems() {
+		Map<String, CloudAlmItem> items = Map.of("6-1", item("6-1", "IN_PROGRESS"), "6-2", item("6-2", null));
+
+		assertThat(CalmIdValidation.validate(OCCURRENCES, items)).isEmpty();
+	}
+
+	@Test
+	@DisplayName("should skip IDs that could not be checked and IDs outside comments")
+	void shouldSkipUncheckedIds() {
+		Map<String, CloudAlmItem> items = new HashMap<>();
+		items.put("3-55", null);
+
+		assertThat(CalmIdValidation.validate(OCCURRENCES, items)).isEmpty();
+	}
+
+	private static CloudAlmItem item(String displayId, String status) {
+		return new CloudAlmItem(displayId, "Title", status, null);
+	}
+}
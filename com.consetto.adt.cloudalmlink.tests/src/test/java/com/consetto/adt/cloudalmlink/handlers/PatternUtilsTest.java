@@ -273,6 +273,14 @@ class PatternUtilsTest {
 			assertThat(PatternUtils.isInComment(line, 36)).isFalse();
 		}
 
+		@Test
+		@DisplayName("should return false when the quote is inside a string literal")
+		void shouldReturnFalseForQuoteInLiteral() {
+			String line = "WRITE 'Say \"hi\"' && '6-123'.";
+
+			assertThat(PatternUtils.isInComment(line, 21)).isFalse();
+		}
+
 		@Test
 		@DisplayName("should return false for null line")
 		void shouldReturnFalseForNullLine() {
@@ -0,0 +1,156 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.consetto.adt.cloudalmlink.handlers.TransportFeatures.FeatureGroup;
+import com.consetto.adt.cloudalmlink.handlers.TransportFeatures.Grouping;
+import com.consetto.adt.cloudalmlink.handlers.TransportFeatures.Transport;
+import com.consetto.adt.cloudalmlink.model.FeatureElement;
+
+/**
+ * Unit tests for {@link TransportFeatures}.
+ * Tests grouping of selected transports by feature with the description fallback.
+ */
+@DisplayName("TransportFeatures")
+class TransportFeaturesTest {
+
+	private static FeatureElement feature(String displayId, String title) {
+		FeatureElement feature = new FeatureElement();
+		feature.setDisplayId(displayId);
+		feature.setTitle(title);
+		return feature;
+	}
+
+	@Test
+	@DisplayName("should group transports by their distinct features in selection order")
+	void shouldGroupByFeature() {
+		List<Transport> transports = List.of(
+				new Transport("S4DK900001", "Order import"),
+				new Transport("S4DK900002", "Billing"),
+				new Transport("S4DK900003", "Order import, part 2"));
+		Map<String, FeatureElement> resolved = Map.of(
+				"S4DK900001", feature("6-12", "Order import"),
+				"S4DK900002", feature("6-7", "Billing"),
+				"S4DK900003", feature("6-12", "Order import"));
+
+		Grouping grouping = TransportFeatures.group(transports, resolved);
+
+		assertThat(grouping.features()).containsExactly(
+				new FeatureGroup("6-12", "Order import", List.of("S4DK900001", "S4DK900003")),
+				new FeatureGroup("6-7", "Billing", List.of("S4DK900002")));
+		assertThat(grouping.withoutFeature()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("should parse the description only for transports the API did not resolve")
+	void shouldFallBackToDescription() {
+		List<Transport> transports = List.of(
+				new Transport("S4DK900001", "6-99: Taken from the API instead"),
+				new Transport("S4DK900002", "6-34: Not assigned in Cloud ALM"),
+				new Transport("S4DK900003", "6-35: Lookup failed"),
+				new Transport("S4DK900004", "Cleanup"));
+		Map<String, FeatureElement> resolved = new HashMap<>();
+		resolved.put("S4DK900001", feature("6-12", "Order import"));
+		resolved.put("S4DK900002", null);
+		resolved.put("S4DK900004", null);
+
+		Grouping grouping = TransportFeatures.group(transports, resolved);
+
+		assertThat(grouping.features()).extracting(FeatureGroup::featureId).containsExactly("6-12", "6-34", "6-35");
+		assertThat(grouping.features().get(1).title()).isNull();
+		assertThat(grouping.withoutFeature()).containsExactly("S4DK900004");
+	}
+
+	@Test
+	@DisplayName("should parse the description for transports that failed fast while Cloud ALM is unavailable")
+	void shouldFallBackToDescriptionWhenUnavailable() {
+		List<Transport> transports = List.of(
+				new Transport("S4DK900001", "6-34: Order import"),
+				new Transport("S4DK900002", "Cleanup"));
+		Map<String, FeatureElement> resolved = Map.of(
+				"S4DK900001", FeatureElement.unavailable(),
+				"S4DK900002", FeatureElement.unavailable());
+
+		Grouping grouping = TransportFeatures.group(transports, resolved);
+
+		assertThat(grouping.features()).containsExactly(new FeatureGroup("6-34", null, List.of("S4DK900001")));
+		assertThat(grouping.withoutFeature()).containsExactly("S4DK900002");
+		assertThat(TransportFeatures.decorationSuffix(FeatureElement.unavailable())).isNull();
+	}
+
+	@Test
+	@DisplayName("should parse the description for features the API returned without display ID")
+	void shouldFallBackToDescriptionWithoutDisplayId() {
+		List<Transport> transports = List.of(new Transport("S4DK900001", "6-34: Order import"));
+		Map<String, FeatureElement> resolved = Map.of("S4DK900001", feature(null, "Order import"));
+
+		Grouping grouping = TransportFeatures.group(transports, resolved);
+
+		assertThat(grouping.features()).containsExactly(new FeatureGroup("6-34", null, List.of("S4DK900001")));
+		assertThat(grouping.withoutFeature()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("should take the title from the API when a feature also came from a description")
+	void shouldPreferApiTitle() {
+		List<Transport> transports = List.of(
+				new Transport("S4DK900001", "6-12: Order import"),
+				new Transport("S4DK900002", "Order import"));
+		Map<String, FeatureElement> resolved = Map.of("S4DK900002", feature("6-12", "Order import"));
+
+		Grouping grouping = TransportFeatures.group(transports, resolved);
+
+		assertThat(grouping.features()).containsExactly(
+				new FeatureGroup("6-12", "Order import", List.of("S4DK900001", "S4DK900002")));
+	}
+
+	@Test
+	@DisplayName("should list transports selected twice once")
+	void shouldDeduplicateTransports() {
+		Transport transport = new Transport("S4DK900001", "Cleanup");
+		Grouping grouping = TransportFeatures.group(List.of(transport, transport), Map.of());
+
+		assertThat(grouping.withoutFeature()).containsExactly("S4DK900001");
+	}
+
+	@Test
+	@DisplayName("should label picker entries with title and transport count")
+	void shouldLabelGroups() {
+		assertThat(new FeatureGroup("6-12", "Order import", List.of("A", "B")).label())
+				.isEqualTo("6-12 Order import (2 transports)");
+		assertThat(new FeatureGroup("6-34", null, List.of("A")).label()).isEqualTo("6-34 (1 transport)");
+	}
+
+	@Test
+	@DisplayName("should decorate transports with feature ID and status")
+	void shouldBuildDecorationSuffix() {
+		FeatureElement feature = feature("6-12", "Order import");
+		assertThat(TransportFeatures.decorationSuffix(feature)).isEqualTo(" [6-12]");
+
+		feature.setStatusCode("IN_PROGRESS");
+		assertThat(TransportFeatures.decorationSuffix(feature)).isEqualTo(" [6-12 IN_PROGRESS]");
+		assertThat(TransportFeatures.decorationSuffix(null)).isNull();
+	}
+
+	@ParameterizedTest
+	@DisplayName("should extract feature IDs from descriptions")
+	@CsvSource(value = {
+		"6-123: Order import | 6-123",
+		"6-123 | 6-123",
+		"3-123: Task | ",
+		"Order import 6-123 | ",
+		" | "
+	}, delimiter = '|')
+	void shouldExtractFeatureFromDescription(String description, String expected) {
+		assertThat(TransportFeatures.featureFromDescription(description)).isEqualTo(expected);
+	}
+}
@@ -0,0 +1,93 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link UserTransportRequests}.
+ * Tests the query and parsing of the user's modifiable requests used for prefetching features.
+ */
+@DisplayName("UserTransportRequests")
+class UserTransportRequestsTest {
+
+	@Nested
+	@DisplayName("modifiableRequestsUri")
+	class ModifiableRequestsUri {
+
+		@Test
+		@DisplayName("should filter by user and modifiable status")
+		void shouldFilterByUserAndStatus() {
+			assertThat(UserTransportRequests.modifiableRequestsUri("DEVELOPER"))
+					.isEqualTo("/sap/bc/adt/cts/transportrequests?user=DEVELOPER&requestStatus=D");
+		}
+
+		@Test
+		@DisplayName("should encode the user")
+		void shouldEncodeUser() {
+			assertThat(UserTransportRequests.modifiableRequestsUri("A&B"))
+					.endsWith("?user=A%26B&requestStatus=D");
+		}
+	}
+
+	@Nested
+	@DisplayName("parseModifiable")
+	class ParseModifiable {
+
+		@Test
+		@DisplayName("should return request numbers and skip tasks")
+		void shouldReturnRequestsAndSkipTasks() {
+			String xml = """
+				<tm:root xmlns:tm="http://www.sap.com/cts/adt/tm">
+					<tm:workbench>
+						<tm:request tm:number="S4DK911940" tm:owner="DEVELOPER" tm:status="D" tm:desc="6-1234: Order import">
+							<tm:task tm:number="S4DK911941" tm:owner="DEVELOPER" tm:status="D"/>
+						</tm:request>
+						<tm:request tm:number="S4DK911950" tm:status="D">
+						</tm:request>
+					</tm:workbench>
+				</tm:root>
+				""";
+
+			assertThat(UserTransportRequests.parseModifiable(xml)).containsExactly("S4DK911940", "S4DK911950");
+		}
+
+		@Test
+		@DisplayName("should skip released requests")
+		void shouldSkipReleasedRequests() {
+			String xml = """
+				<tm:request tm:number="S4DK911940" tm:status="R"/>
+				<tm:request tm:status="D" tm:number="S4DK911950"/>
+				""";
+
+			assertThat(UserTransportRequests.parseModifiable(xml)).containsExactly("S4DK911950");
+		}
+
+		@Test
+		@DisplayName("should take requests without status as modifiable")
+		void shouldTakeRequestsWithoutStatusAsModifiable() {
+			assertThat(UserTransportRequests.parseModifiable("<tm:request tm:number=\"S4DK911940\"/>"))
+					.containsExactly("S4DK911940");
+		}
+
+		@Test
+		@DisplayName("should report a request listed twice once")
+		void shouldReportDuplicatesOnce() {
+			String xml = """
+				<tm:request tm:number="S4DK911940" tm:status="D"/>
+				<tm:request tm:number="S4DK911940" tm:status="D"/>
+				""";
+
+			assertThat(UserTransportRequests.parseModifiable(xml)).containsExactly("S4DK911940");
+		}
+
+		@Test
+		@DisplayName("should return an empty list for null or empty responses")
+		void shouldHandleNullAndEmpty() {
+			assertThat(UserTransportRequests.parseModifiable(null)).isEmpty();
+			assertThat(UserTransportRequests.parseModifiable("<tm:root/>")).isEmpty();
+		}
+	}
+}
@@ -0,0 +1,76 @@
+package com.consetto.adt.cloudalmlink.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+/**
+ * Unit tests for {@link CloudAlmItem}.
+ * Tests JSON deserialization of the different Cloud ALM item APIs.
+ */
+@DisplayName("CloudAlmItem")
+class CloudAlmItemTest {
+
+	private final Gson gson = new Gson();
+
+	@Test
+	@DisplayName("should deserialize feature fields")
+	void shouldDeserializeFeature() {
+		String json = """
+			{"displayId": "6-1234", "title": "Payment run", "statusCode": "IN_PROGRESS", "responsibleId": "JOE"}
+			""";
+
+		CloudAlmItem item = gson.fromJson(json, CloudAlmItem.class);
+
+		assertThat(item.getDisplayId()).isEqualTo("6-1234");
+		assertThat(item.getTitle()).isEqualTo("Payment run");
+		assertThat(item.getStatus()).isEqualTo("IN_PROGRESS");
+		assertThat(item.getResponsibleId()).isEqualTo("JOE");
+	}
+
+	@Test
+	@DisplayName("should accept alternate status and responsible field names")
+	void shouldDeserializeAlternateNames() {
+		String json = """
+			{"displayId": "3-55", "title": "Review", "status": "OPEN", "assigneeId": "ANNA"}
+			""";
+
+		CloudAlmItem item = gson.fromJson(json, CloudAlmItem.class);
+
+		assertThat(item.getStatus()).isEqualTo("OPEN");
+		assertThat(item.getResponsibleId()).isEqualTo("ANNA");
+	}
+
+	@Test
+	@DisplayName("should ignore unknown fields")
+	void shouldIgnoreUnknownFields() {
+		String json = """
+			{"displayId": "7-9", "uuid": "abc", "priorityCode": 2}
+			""";
+
+		CloudAlmItem item = gson.fromJson(json, CloudAlmItem.class);
+
+		assertThat(item.getDisplayId()).isEqualTo("7-9");
+		assertThat(item.getTitle()).isNull();
+	}
+
+	@Test
+	@DisplayName("should be created from a feature")
+	void shouldCreateFromFeature() {
+		FeatureElement feature = new FeatureElement();
+		feature.setDisplayId("6-42");
+		feature.setTitle("The Answer");
+		feature.setStatusCode("IN_REVIEW");
+		feature.setResponsibleId("DEEP_THOUGHT");
+
+		CloudAlmItem item = CloudAlmItem.fromFeature(feature);
+
+		assertThat(item.getDisplayId()).isEqualTo("6-42");
+		assertThat(item.getTitle()).isEqualTo("The Answer");
+		assertThat(item.getStatus()).isEqualTo("IN_REVIEW");
+		assertThat(item.getResponsibleId()).isEqualTo("DEEP_THOUGHT");
+	}
+}
@@ -278,4 +278,54 @@ class FeatureElementTest {
 			assertThat(deserializedFeature.getWorkstreamId()).isEqualTo("WS-DEV");
 		}
 	}
+
+	@Nested
+	@DisplayName("Unavailable Marker")
+	class UnavailableMarker {
+
+		@Test
+		@DisplayName("should mark only features created as unavailable")
+		void shouldMarkUnavailable() {
+			FeatureElement marker = FeatureElement.unavailable();
+
+			assertThat(marker.isUnavailable()).isTrue();
+			assertThat(marker.getDisplayId()).isNull();
+			assertThat(feature.isUnavailable()).isFalse();
+		}
+
+		@Test
+		@DisplayName("should not be set or written by JSON")
+		void shouldNotBeSerialized() {
+			FeatureElement deserializedFeature = gson.fromJson("{\"displayId\":\"6-1\",\"unavailable\":true}", FeatureElement.class);
+
+			assertThat(deserializedFeature.isUnavailable()).isFalse();
+			assertThat(gson.toJson(FeatureElement.unavailable())).doesNotContain("unavailable");
+		}
+	}
+
+	@Nested
+	@DisplayName("Timed-Out Marker")
+	class TimedOutMarker {
+
+		@Test
+		@DisplayName("should mark only features created as timed out")
+		void shouldMarkTimedOut() {
+			FeatureElement marker = FeatureElement.timedOut();
+
+			assertThat(marker.isTimedOut()).isTrue();
+			assertThat(marker.isUnavailable()).isFalse();
+			assertThat(marker.getDisplayId()).isNull();
+			assertThat(feature.isTimedOut()).isFalse();
+			assertThat(FeatureElement.unavailable().isTimedOut()).isFalse();
+		}
+
+		@Test
+		@DisplayName("should not be set or written by JSON")
+		void shouldNotBeSerialized() {
+			FeatureElement deserializedFeature = gson.fromJson("{\"displayId\":\"6-1\",\"timedOut\":true}", FeatureElement.class);
+
+			assertThat(deserializedFeature.isTimedOut()).isFalse();
+			assertThat(gson.toJson(FeatureElement.timedOut())).doesNotContain("timedOut");
+		}
+	}
 }
@@ -0,0 +1,119 @@
+package com.consetto.adt.cloudalmlink.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link HttpSettings}.
+ * Tests validation of timeouts and pool sizes and the keep-alive cap.
+ */
+@DisplayName("HttpSettings")
+class HttpSettingsTest {
+
+	private static HttpSettings withPool(int maxConnTotal, int maxConnPerRoute) {
+		HttpSettings d = HttpSettings.DEFAULTS;
+		return new HttpSettings(d.connectTimeout(), d.connectionRequestTimeout(), d.responseTimeout(),
+				maxConnTotal, maxConnPerRoute, d.connectionTtl(), d.idleEviction(), d.validateAfterInactivity(),
+				d.keepAlive(), d.hedging());
+	}
+
+	private static HttpSettings withResponseTimeout(Duration responseTimeout) {
+		HttpSettings d = HttpSettings.DEFAULTS;
+		return new HttpSettings(d.connectTimeout(), d.connectionRequestTimeout(), responseTimeout,
+				d.maxConnTotal(), d.maxConnPerRoute(), d.connectionTtl(), d.idleEviction(),
+				d.validateAfterInactivity(), d.keepAlive(), d.hedging());
+	}
+
+	@Nested
+	@DisplayName("Validation")
+	class Validation {
+
+		@Test
+		@DisplayName("should keep the former pool sizes as defaults")
+		void shouldKeepFormerPoolSizes() {
+			assertThat(HttpSettings.DEFAULTS.maxConnTotal()).isEqualTo(10);
+			assertThat(HttpSettings.DEFAULTS.maxConnPerRoute()).isEqualTo(5);
+		}
+
+		@Test
+		@DisplayName("should bound all requests by default")
+		void shouldBoundRequestsByDefault() {
+			assertThat(HttpSettings.DEFAULTS.connectTimeout()).isPositive();
+			assertThat(HttpSettings.DEFAULTS.connectionRequestTimeout()).isPositive();
+			assertThat(HttpSettings.DEFAULTS.responseTimeout()).isPositive();
+		}
+
+		@Test
+		@DisplayName("should not hedge requests by default")
+		void shouldNotHedgeByDefault() {
+			assertThat(HttpSettings.DEFAULTS.hedging()).isFalse();
+		}
+
+		@Test
+		@DisplayName("should accept equal pool sizes")
+		void shouldAcceptEqualPoolSizes() {
+			assertThat(withPool(3, 3).maxConnTotal()).isEqualTo(3);
+		}
+
+		@Test
+		@DisplayName("should reject more connections per host than in total")
+		void shouldRejectPerRouteAboveTotal() {
+			assertThatThrownBy(() -> withPool(2, 3)).isInstanceOf(IllegalArgumentException.class);
+		}
+
+		@Test
+		@DisplayName("should reject an empty pool")
+		void shouldRejectEmptyPool() {
+			assertThatThrownBy(() -> withPool(0, 0)).isInstanceOf(IllegalArgumentException.class);
+		}
+
+		@Test
+		@DisplayName("should reject a zero timeout")
+		void shouldRejectZeroTimeout() {
+			assertThatThrownBy(() -> withResponseTimeout(Duration.ZERO))
+					.isInstanceOf(IllegalArgumentException.class)
+					.hasMessageContaining("responseTimeout");
+		}
+
+		@Test
+		@DisplayName("should reject a missing timeout")
+		void shouldRejectMissingTimeout() {
+			assertThatThrownBy(() -> withResponseTimeout(null)).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Nested
+	@DisplayName("Keep-Alive")
+	class KeepAlive {
+
+		@Test
+		@DisplayName("should use the configured time when the server sends none")
+		void shouldUseConfiguredWithoutHeader() {
+			assertThat(HttpSettings.DEFAULTS.keepAliveFor(null)).isEqualTo(HttpSettings.DEFAULTS.keepAlive());
+		}
+
+		@Test
+		@DisplayName("should honor a shorter server time")
+		void shouldHonorShorterServerTime() {
+			assertThat(HttpSettings.DEFAULTS.keepAliveFor(Duration.ofSeconds(5))).isEqualTo(Duration.ofSeconds(5));
+		}
+
+		@Test
+		@DisplayName("should cap a longer server time")
+		void shouldCapLongerServerTime() {
+			assertThat(HttpSettings.DEFAULTS.keepAliveFor(Duration.ofHours(1))).isEqualTo(HttpSettings.DEFAULTS.keepAlive());
+		}
+
+		@Test
+		@DisplayName("should cap an unlimited server time")
+		void shouldCapUnlimitedServerTime() {
+			assertThat(HttpSettings.DEFAULTS.keepAliveFor(Duration.ofMillis(-1))).isEqualTo(HttpSettings.DEFAULTS.keepAlive());
+		}
+	}
+}
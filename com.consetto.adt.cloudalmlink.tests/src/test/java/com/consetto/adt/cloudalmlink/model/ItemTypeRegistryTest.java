@@ -0,0 +1,126 @@
+package com.consetto.adt.cloudalmlink.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.consetto.adt.cloudalmlink.CloudAlmLinkConstants;
+import com.consetto.adt.cloudalmlink.handlers.CalmIdIndex;
+import com.consetto.adt.cloudalmlink.model.ItemTypeRegistry.ItemType;
+
+/**
+ * Unit tests for {@link ItemTypeRegistry}.
+ * Tests classification, URL building and scanning with built-in and configured item types.
+ */
+@DisplayName("ItemTypeRegistry")
+class ItemTypeRegistryTest {
+
+	private static final CloudAlmConfig CONFIG = new CloudAlmConfig("mytenant", "eu10", "id", "secret");
+	private static final String RISKS = "42=/launchpad#risk-management&/risks/{id}";
+
+	@AfterEach
+	void restoreRegistry() {
+		ItemTypeRegistry.setCurrent(ItemTypeRegistry.BUILT_IN);
+	}
+
+	@ParameterizedTest
+	@DisplayName("should classify built-in IDs")
+	@CsvSource({
+		"6-1234, FEATURE",
+		"3-1, TASK",
+		"7-12, DOCUMENT",
+		"15-3456, LIBRARY"
+	})
+	void shouldClassifyBuiltInIds(String itemId, CloudAlmItemType expected) {
+		assertThat(ItemTypeRegistry.BUILT_IN.fromId(itemId).kind()).isEqualTo(expected);
+		assertThat(CloudAlmItemType.fromId(itemId)).isEqualTo(expected);
+	}
+
+	@Test
+	@DisplayName("should not classify unknown IDs")
+	void shouldNotClassifyUnknownIds() {
+		assertThat(ItemTypeRegistry.BUILT_IN.fromId("1-123")).isNull();
+		assertThat(ItemTypeRegistry.BUILT_IN.fromId(null)).isNull();
+		assertThat(CloudAlmItemType.fromId("42-1")).isEqualTo(CloudAlmItemType.UNKNOWN);
+	}
+
+	@Test
+	@DisplayName("should build the same URLs as the built-in item types")
+	void shouldBuildBuiltInUrls() {
+		assertThat(ItemTypeRegistry.BUILT_IN.buildUrl("6-1", CONFIG)).isEqualTo(CONFIG.featureUrl("6-1"));
+		assertThat(ItemTypeRegistry.BUILT_IN.buildUrl("3-1", CONFIG)).isEqualTo(CONFIG.taskUrl("3-1"));
+		assertThat(ItemTypeRegistry.BUILT_IN.buildUrl("7-1", CONFIG)).isEqualTo(CONFIG.documentUrl("7-1"));
+		assertThat(ItemTypeRegistry.BUILT_IN.buildUrl("15-1", CONFIG)).isEqualTo(CONFIG.libraryUrl("15-1"));
+		assertThat(ItemTypeRegistry.BUILT_IN.buildUrl("6-1", new CloudAlmConfig("", "eu10", null, null))).isNull();
+	}
+
+	@Test
+	@DisplayName("should add configured item types without a lookup")
+	void shouldAddCustomTypes() {
+		ItemTypeRegistry registry = ItemTypeRegistry.withCustomTypes(RISKS + "  99=https://wiki.example.com/{id}");
+
+		ItemType risk = registry.fromId("42-7");
+		assertThat(risk.lookupPath()).isNull();
+		assertThat(risk.kind()).isEqualTo(CloudAlmItemType.UNKNOWN);
+		assertThat(registry.buildUrl("42-7", CONFIG))
+				.isEqualTo("https://mytenant.eu10.alm.cloud.sap/launchpad#risk-management&/risks/42-7");
+		assertThat(registry.buildUrl("99-1", null)).isEqualTo("https://wiki.example.com/99-1");
+		assertThat(registry.getTypes()).hasSize(6);
+	}
+
+	@Test
+	@DisplayName("should replace the URL of a built-in prefix and keep its lookup")
+	void shouldOverrideBuiltInUrl() {
+		ItemTypeRegistry registry = ItemTypeRegistry.withCustomTypes("6=https://features.example.com/{id}");
+
+		ItemType feature = registry.fromId("6-1");
+		assertThat(feature.kind()).isEqualTo(CloudAlmItemType.FEATURE);
+		assertThat(feature.lookupPath()).isEqualTo(CloudAlmLinkConstants.FEATURES_COLLECTION_PATH);
+		assertThat(registry.buildUrl("6-1", CONFIG)).isEqualTo("https://features.example.com/6-1");
+		assertThat(registry.getTypes()).hasSize(4);
+	}
+
+	@Test
+	@DisplayName("should fall back to the built-in types for empty definitions")
+	void shouldIgnoreEmptyDefinitions() {
+		assertThat(ItemTypeRegistry.withCustomTypes(null)).isSameAs(ItemTypeRegistry.BUILT_IN);
+		assertThat(ItemTypeRegistry.withCustomTypes("  ")).isSameAs(ItemTypeRegistry.BUILT_IN);
+	}
+
+	@ParameterizedTest
+	@DisplayName("should reject malformed definitions")
+	@CsvSource({
+		"42",
+		"=/risks/{id}",
+		"4a=/risks/{id}",
+		"42=/risks/"
+	})
+	void shouldRejectMalformedDefinitions(String definitions) {
+		assertThatThrownBy(() -> ItemTypeRegistry.withCustomTypes(definitions))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("should scan configured prefixes once the registry is current")
+	void shouldScanCustomPrefixes() {
+		String text = "\" 42-1 6-2 99-3";
+		CalmIdIndex index = new CalmIdIndex();
+
+		ItemTypeRegistry.setCurrent(ItemTypeRegistry.withCustomTypes(RISKS));
+		index.reset(text);
+
+		List<String> ids = new ArrayList<>();
+		ItemTypeRegistry.getCurrent().lexer().scan(text, 0, text.length(),
+				(start, end, inComment) -> ids.add(text.substring(start, end)));
+		assertThat(ids).containsExactly("42-1", "6-2");
+		assertThat(index.occurrences()).extracting(CalmIdIndex.Occurrence::itemId).containsExactly("42-1", "6-2");
+	}
+}
@@ -179,4 +179,80 @@ class VersionElementTest {
 			assertThat(version.getFeature().getDisplayId()).isEqualTo("6-42");
 		}
 	}
+
+	@Nested
+	@DisplayName("Search Key")
+	class SearchKey {
+
+		@Test
+		@DisplayName("should only contain the no-feature label for a version without fields")
+		void shouldOnlyContainNoFeatureLabelWithoutFields() {
+			assertThat(version.getSearchKey()).isEqualTo("no feature\u0000");
+		}
+
+		@Test
+		@DisplayName("should contain lower-cased version fields")
+		void shouldContainLowerCasedFields() {
+			version.setID("00001");
+			version.setTransport("DEVK900042");
+			version.setAuthor("DEVELOPER1");
+			version.setTitle("Fix Payment");
+
+			assertThat(version.getSearchKey())
+					.contains("00001", "devk900042", "developer1", "fix payment")
+					.doesNotContain("DEVK");
+		}
+
+		@Test
+		@DisplayName("should be reused until a field changes")
+		void shouldBeReusedUntilChange() {
+			version.setTitle("First");
+			String first = version.getSearchKey();
+
+			assertThat(version.getSearchKey()).isSameAs(first);
+
+			version.setTitle("Second");
+			assertThat(version.getSearchKey()).contains("second").doesNotContain("first");
+		}
+
+		@Test
+		@DisplayName("should be updated when the feature lands")
+		void shouldBeUpdatedWhenFeatureLands() {
+			version.setTransport("DEVK900042");
+			assertThat(version.getSearchKey()).doesNotContain("6-42").contains("no feature");
+
+			FeatureElement feature = new FeatureElement();
+			feature.setDisplayId("6-42");
+			feature.setStatusCode("RELEASED");
+			feature.setResponsibleId("DEEP_THOUGHT");
+			version.setFeature(feature);
+
+			assertThat(version.getSearchKey()).contains("6-42", "released", "deep_thought").doesNotContain("no feature");
+		}
+
+		@Test
+		@DisplayName("should contain the unavailable label instead of feature fields")
+		void shouldContainUnavailableLabel() {
+			version.setFeature(FeatureElement.unavailable());
+
+			assertThat(version.getSearchKey()).isEqualTo("cloud alm unavailable\u0000");
+		}
+
+		@Test
+		@DisplayName("should contain the timed-out label instead of feature fields")
+		void shouldContainTimedOutLabel() {
+			version.setFeature(FeatureElement.timedOut());
+
+			assertThat(version.getSearchKey()).isEqualTo("not resolved in time\u0000");
+		}
+
+		@Test
+		@DisplayName("should not match across field boundaries")
+		void shouldNotMatchAcrossFields() {
+			version.setID("00001");
+			version.setTransport("DEVK900042");
+
+			assertThat(version.getSearchKey()).doesNotContain("00001devk");
+		}
+	}
 }
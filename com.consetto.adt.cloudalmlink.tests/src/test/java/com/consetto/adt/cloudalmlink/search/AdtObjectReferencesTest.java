@@ -0,0 +1,78 @@
+package com.consetto.adt.cloudalmlink.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.consetto.adt.cloudalmlink.search.AdtObjectReferences.ObjectReference;
+
+/**
+ * Unit tests for {@link AdtObjectReferences}.
+ * Tests parsing of ADT repository search responses and object URI handling.
+ */
+@DisplayName("AdtObjectReferences")
+class AdtObjectReferencesTest {
+
+	private static final String RESPONSE = """
+			<?xml version="1.0" encoding="utf-8"?>
+			<adtcore:objectReferences xmlns:adtcore="http://www.sap.com/adt/core">
+			  <adtcore:objectReference adtcore:uri="/sap/bc/adt/oo/classes/zcl_order" adtcore:type="CLAS/OC" adtcore:name="ZCL_ORDER" adtcore:packageName="ZSALES"/>
+			  <adtcore:objectReference adtcore:type="DEVC/K" adtcore:name="ZSALES" adtcore:uri="/sap/bc/adt/packages/zsales"/>
+			  <adtcore:objectReference adtcore:uri="/sap/bc/adt/programs/programs/%2fcust%2fr_post" adtcore:type="PROG/P" adtcore:name="/CUST/R_POST" adtcore:description="Posting &amp; clearing"/>
+			  <adtcore:objectReference adtcore:name="BROKEN"/>
+			</adtcore:objectReferences>
+			""";
+
+	@Test
+	@DisplayName("should parse all references with URI and type in response order")
+	void shouldParseReferences() {
+		List<ObjectReference> references = AdtObjectReferences.parse(RESPONSE);
+
+		assertThat(references).containsExactly(
+				new ObjectReference("/sap/bc/adt/oo/classes/zcl_order", "CLAS/OC", "ZCL_ORDER"),
+				new ObjectReference("/sap/bc/adt/packages/zsales", "DEVC/K", "ZSALES"),
+				new ObjectReference("/sap/bc/adt/programs/programs/%2fcust%2fr_post", "PROG/P", "/CUST/R_POST"));
+	}
+
+	@Test
+	@DisplayName("should only treat objects with a main source as indexable")
+	void shouldDetectSources() {
+		List<ObjectReference> references = AdtObjectReferences.parse(RESPONSE);
+
+		assertThat(references).filteredOn(ObjectReference::hasSource).extracting(ObjectReference::name)
+				.containsExactly("ZCL_ORDER", "/CUST/R_POST");
+		assertThat(references.get(0).sourceUri()).isEqualTo("/sap/bc/adt/oo/classes/zcl_order/source/main");
+	}
+
+	@Test
+	@DisplayName("should handle empty and missing responses")
+	void shouldHandleEmptyResponses() {
+		assertThat(AdtObjectReferences.parse(null)).isEmpty();
+		assertThat(AdtObjectReferences.parse("<adtcore:objectReferences/>")).isEmpty();
+	}
+
+	@ParameterizedTest
+	@CsvSource({
+		"/sap/bc/adt/oo/classes/zcl_order, /sap/bc/adt/oo/classes/zcl_order",
+		"/sap/bc/adt/oo/classes/zcl_order/source/main, /sap/bc/adt/oo/classes/zcl_order",
+		"'/sap/bc/adt/programs/programs/zr/source/main#start=4,0', /sap/bc/adt/programs/programs/zr",
+		"/sap/bc/adt/oo/classes/zcl_order/includes/testclasses, /sap/bc/adt/oo/classes/zcl_order/includes/testclasses"
+	})
+	@DisplayName("should reduce source URIs to the object URI")
+	void shouldReduceToObjectUri(String uri, String expected) {
+		assertThat(AdtObjectReferences.objectUri(uri)).isEqualTo(expected);
+	}
+
+	@Test
+	@DisplayName("should derive decoded upper-case display names")
+	void shouldDeriveDisplayNames() {
+		assertThat(AdtObjectReferences.displayName("/sap/bc/adt/oo/classes/zcl_order")).isEqualTo("ZCL_ORDER");
+		assertThat(AdtObjectReferences.displayName("/sap/bc/adt/programs/programs/%2fcust%2fr_post/source/main"))
+				.isEqualTo("/CUST/R_POST");
+	}
+}
@@ -0,0 +1,73 @@
+package com.consetto.adt.cloudalmlink.search;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.consetto.adt.cloudalmlink.search.CalmReferenceIndex.SourceObject;
+import com.consetto.adt.cloudalmlink.util.AbapCommentLexer;
+
+/**
+ * JMH benchmark comparing a reference query against the {@link CalmReferenceIndex} with
+ * lexing every source for the ID, on 5,000 synthetic 200-line objects. The scan excludes
+ * fetching the sources, which dominates a search without index in practice.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalmReferenceIndexBenchmark {
+
+	private static final int OBJECTS = 5_000;
+	private static final int LINES = 200;
+	private static final String ITEM_ID = "6-4711";
+
+	private String[] sources;
+	private CalmReferenceIndex index;
+
+	@Setup
+	public void setUp() {
+		sources = new String[OBJECTS];
+		index = new CalmReferenceIndex();
+		for (int i = 0; i < OBJECTS; i++) {
+			StringBuilder source = new StringBuilder();
+			for (int line = 0; line < LINES; line++) {
+				if (line % 50 == 0) {
+					source.append("* Feature 6-").append(4700 + (i + line) % 100).append('\n');
+				} else {
+					source.append("    DATA(lv_value_").append(line).append(") = lv_base + ").append(line).append(".\n");
+				}
+			}
+			sources[i] = source.toString();
+			index.put(new SourceObject("DEV", "/sap/bc/adt/programs/programs/z" + i), CalmReferenceIndex.scan(sources[i]));
+		}
+	}
+
+	@Benchmark
+	public void index(Blackhole blackhole) {
+		blackhole.consume(index.find(ITEM_ID));
+	}
+
+	@Benchmark
+	public void scan(Blackhole blackhole) {
+		for (String source : sources) {
+			AbapCommentLexer.DEFAULT.scan(source, 0, source.length(), (start, end, inComment) -> {
+				if (inComment && end - start == ITEM_ID.length() && source.startsWith(ITEM_ID, start)) {
+					blackhole.consume(start);
+				}
+			});
+		}
+	}
+}
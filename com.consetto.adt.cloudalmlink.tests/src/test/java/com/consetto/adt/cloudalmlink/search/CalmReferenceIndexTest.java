@@ -0,0 +1,211 @@
+package com.consetto.adt.cloudalmlink.search;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.consetto.adt.cloudalmlink.search.CalmReferenceIndex.Reference;
+import com.consetto.adt.cloudalmlink.search.CalmReferenceIndex.SourceObject;
+import com.consetto.adt.cloudalmlink.util.AbapCommentLexer;
+
+/**
+ * Unit tests for {@link CalmReferenceIndex}.
+ * Tests source scanning, incremental replacement and persistence of the reference search index.
+ */
+@DisplayName("CalmReferenceIndex")
+class CalmReferenceIndexTest {
+
+	private static final SourceObject ORDER = new SourceObject("DEV", "/sap/bc/adt/oo/classes/zcl_order");
+	private static final SourceObject REPORT = new SourceObject("DEV", "/sap/bc/adt/programs/programs/zreport");
+	private static final SourceObject QA_ORDER = new SourceObject("QAS", "/sap/bc/adt/oo/classes/zcl_order");
+
+	private static final String ORDER_SOURCE = """
+			* Implements feature 6-4711
+			CLASS zcl_order IMPLEMENTATION.
+			  METHOD post. " 6-4711 and task 3-12
+			    DATA(lv_id) = '6-4711'.
+			  ENDMETHOD.
+			ENDCLASS.
+			""";
+
+	private CalmReferenceIndex index;
+
+	@BeforeEach
+	void setUp() {
+		index = new CalmReferenceIndex();
+	}
+
+	@Nested
+	@DisplayName("Scanning")
+	class Scanning {
+
+		@Test
+		@DisplayName("should collect the lines of IDs in comments only")
+		void shouldCollectCommentLines() {
+			Map<String, int[]> references = CalmReferenceIndex.scan(ORDER_SOURCE);
+
+			assertThat(references).containsOnlyKeys("6-4711", "3-12");
+			assertThat(references.get("6-4711")).containsExactly(1, 3);
+			assertThat(references.get("3-12")).containsExactly(3);
+		}
+
+		@Test
+		@DisplayName("should record a line once for repeated IDs")
+		void shouldDeduplicateLines() {
+			assertThat(CalmReferenceIndex.scan("\" 6-1 6-1 6-1").get("6-1")).containsExactly(1);
+		}
+
+		@Test
+		@DisplayName("should find the IDs of the given lexer")
+		void shouldUseGivenLexer() {
+			Map<String, int[]> references = CalmReferenceIndex.scan("\" 42-7 6-1", new AbapCommentLexer("42"));
+
+			assertThat(references).containsOnlyKeys("42-7");
+		}
+
+		@Test
+		@DisplayName("should count \\r\\n and \\r line delimiters once")
+		void shouldCountLineDelimiters() {
+			Map<String, int[]> references = CalmReferenceIndex.scan("* 6-1\r\n* 6-2\r* 6-3\n\n* 6-4");
+
+			assertThat(references.get("6-2")).containsExactly(2);
+			assertThat(references.get("6-3")).containsExactly(3);
+			assertThat(references.get("6-4")).containsExactly(5);
+		}
+
+		@Test
+		@DisplayName("should return nothing for sources without references")
+		void shouldHandleSourcesWithoutReferences() {
+			assertThat(CalmReferenceIndex.scan("WRITE '6-1'.")).isEmpty();
+			assertThat(CalmReferenceIndex.scan("")).isEmpty();
+		}
+	}
+
+	@Nested
+	@DisplayName("Queries and Updates")
+	class QueriesAndUpdates {
+
+		@BeforeEach
+		void fill() {
+			index.put(ORDER, CalmReferenceIndex.scan(ORDER_SOURCE));
+			index.put(REPORT, CalmReferenceIndex.scan("REPORT zreport.\n* 6-4711"));
+			index.put(QA_ORDER, CalmReferenceIndex.scan("* 6-4711"));
+		}
+
+		@Test
+		@DisplayName("should find references ordered by project, object and line")
+		void shouldFindReferences() {
+			assertThat(index.find("6-4711")).containsExactly(
+					new Reference(ORDER, 1),
+					new Reference(ORDER, 3),
+					new Reference(REPORT, 2),
+					new Reference(QA_ORDER, 1));
+			assertThat(index.find("3-12")).containsExactly(new Reference(ORDER, 3));
+			assertThat(index.find("6-1")).isEmpty();
+		}
+
+		@Test
+		@DisplayName("should replace all references of an updated object")
+		void shouldReplaceObjectReferences() {
+			index.put(ORDER, CalmReferenceIndex.scan("\" 3-99"));
+
+			assertThat(index.find("6-4711")).extracting(Reference::object).containsExactly(REPORT, QA_ORDER);
+			assertThat(index.find("3-12")).isEmpty();
+			assertThat(index.find("3-99")).containsExactly(new Reference(ORDER, 1));
+			assertThat(index.itemCount()).isEqualTo(2);
+		}
+
+		@Test
+		@DisplayName("should drop objects without references")
+		void shouldDropObjectsWithoutReferences() {
+			index.put(REPORT, Map.of());
+
+			assertThat(index.objectCount()).isEqualTo(2);
+			assertThat(index.find("6-4711")).extracting(Reference::object).doesNotContain(REPORT);
+		}
+
+		@Test
+		@DisplayName("should replace the objects of one project only")
+		void shouldReplaceProject() {
+			index.replaceProject("DEV", Map.of(REPORT, CalmReferenceIndex.scan("* 3-12")));
+
+			assertThat(index.find("6-4711")).containsExactly(new Reference(QA_ORDER, 1));
+			assertThat(index.find("3-12")).containsExactly(new Reference(REPORT, 1));
+			assertThat(index.objectCount()).isEqualTo(2);
+		}
+
+		@Test
+		@DisplayName("should not share line arrays with the caller")
+		void shouldCopyLines() {
+			int[] lines = { 5 };
+			index.put(REPORT, Map.of("7-1", lines));
+			lines[0] = 99;
+
+			assertThat(index.find("7-1")).containsExactly(new Reference(REPORT, 5));
+		}
+
+		@Test
+		@DisplayName("should merge scans of many sources in parallel")
+		void shouldMergeParallelScans() {
+			IntStream.range(0, 500).parallel().forEach(i -> index.put(
+					new SourceObject("DEV", "/sap/bc/adt/programs/programs/z" + i),
+					CalmReferenceIndex.scan("* 6-" + (i % 10))));
+
+			assertThat(index.find("6-3")).hasSize(50);
+			assertThat(index.objectCount()).isEqualTo(503);
+		}
+	}
+
+	@Nested
+	@DisplayName("Persistence")
+	class Persistence {
+
+		@Test
+		@DisplayName("should read what was written")
+		void shouldRoundTrip() throws IOException {
+			index.put(ORDER, CalmReferenceIndex.scan(ORDER_SOURCE));
+			index.put(QA_ORDER, CalmReferenceIndex.scan("* 6-4711"));
+
+			CalmReferenceIndex read = CalmReferenceIndex.read(new ByteArrayInputStream(write(index)));
+
+			assertThat(read.find("6-4711")).isEqualTo(index.find("6-4711"));
+			assertThat(read.find("3-12")).isEqualTo(index.find("3-12"));
+			assertThat(read.objectCount()).isEqualTo(2);
+		}
+
+		@Test
+		@DisplayName("should reject data of another format")
+		void shouldRejectUnknownFormat() {
+			byte[] data = { 1, 2, 3, 4, 5, 6, 7, 8 };
+
+			assertThatThrownBy(() -> CalmReferenceIndex.read(new ByteArrayInputStream(data)))
+					.isInstanceOf(IOException.class);
+		}
+
+		@Test
+		@DisplayName("should reject truncated data")
+		void shouldRejectTruncatedData() throws IOException {
+			index.put(ORDER, CalmReferenceIndex.scan(ORDER_SOURCE));
+			byte[] data = write(index);
+
+			assertThatThrownBy(() -> CalmReferenceIndex.read(new ByteArrayInputStream(data, 0, data.length - 3)))
+					.isInstanceOf(IOException.class);
+		}
+
+		private byte[] write(CalmReferenceIndex source) throws IOException {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			source.write(out);
+			return out.toByteArray();
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * JMH benchmark comparing the {@link AbapCommentLexer} with the previous regex-based detection
+ * ({@code Pattern} per line plus {@code substring}/{@code trim}/{@code contains} per match)
+ * on a synthetic 20,000-line ABAP include.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AbapCommentLexerBenchmark {
+
+	private static final int LINES = 20_000;
+
+	private static final Pattern CALM_ID_PATTERN = Pattern.compile("(?:3|6|7|15)-\\d+");
+
+	private static final String[] TEMPLATES = {
+		"* Feature 6-%d: payment run adjustments",
+		"    DATA(lv_amount) = ls_item-amount * 100. \" see 3-%d",
+		"    lv_text = 'Order 7-%d \"quoted\"'.",
+		"    LOOP AT lt_items INTO DATA(ls_item).",
+		"      IF ls_item-status = 'RELEASED'.",
+		"        APPEND ls_item TO rt_result.",
+		"      ENDIF.",
+		"    ENDLOOP.",
+		"    \" Library 15-%d documents the interface",
+		"    rv_result = lines( lt_items ) - 6."
+	};
+
+	private String source;
+	private String[] lines;
+
+	@Setup
+	public void setUp() {
+		StringBuilder builder = new StringBuilder();
+		lines = new String[LINES];
+		for (int i = 0; i < LINES; i++) {
+			lines[i] = String.format(TEMPLATES[i % TEMPLATES.length], i);
+			builder.append(lines[i]).append('\n');
+		}
+		source = builder.toString();
+	}
+
+	@Benchmark
+	public void lexer(Blackhole blackhole) {
+		AbapCommentLexer.DEFAULT.scan(source, 0, source.length(), (start, end, inComment) -> {
+			blackhole.consume(start);
+			blackhole.consume(inComment);
+		});
+	}
+
+	@Benchmark
+	public void regex(Blackhole blackhole) {
+		for (String lineText : lines) {
+			Matcher matcher = CALM_ID_PATTERN.matcher(lineText);
+			while (matcher.find()) {
+				// The detection logic before the lexer
+				String textBeforeMatch = lineText.substring(0, matcher.start());
+				String trimmedLine = lineText.trim();
+				boolean isInComment = trimmedLine.startsWith("*") || textBeforeMatch.contains("\"");
+				blackhole.consume(matcher.start());
+				blackhole.consume(isInComment);
+			}
+		}
+	}
+}
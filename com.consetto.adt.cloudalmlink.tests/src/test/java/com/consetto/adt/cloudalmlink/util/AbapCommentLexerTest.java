@@ -0,0 +1,180 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Unit tests for {@link AbapCommentLexer}.
+ * Tests ID detection and ABAP comment state tracking of the hand-written lexer.
+ */
+@DisplayName("AbapCommentLexer")
+class AbapCommentLexerTest {
+
+	private static final AbapCommentLexer LEXER = AbapCommentLexer.DEFAULT;
+
+	/**
+	 * An ID reported by the lexer.
+	 */
+	private record Token(String id, boolean inComment) {
+	}
+
+	private static List<Token> scan(String text) {
+		List<Token> tokens = new ArrayList<>();
+		LEXER.scan(text, 0, text.length(), (start, end, inComment) -> tokens.add(new Token(text.substring(start, end), inComment)));
+		return tokens;
+	}
+
+	@Nested
+	@DisplayName("IDs")
+	class Ids {
+
+		@Test
+		@DisplayName("should find IDs of all item types")
+		void shouldFindAllTypes() {
+			assertThat(scan("Feature 6-1, Task 3-2, Doc 7-3, Lib 15-4"))
+					.extracting(Token::id)
+					.containsExactly("6-1", "3-2", "7-3", "15-4");
+		}
+
+		@Test
+		@DisplayName("should require a digit after the dash")
+		void shouldRequireDigit() {
+			assertThat(scan("6- 6-x 6-")).isEmpty();
+		}
+
+		@Test
+		@DisplayName("should ignore unknown prefixes")
+		void shouldIgnoreUnknownPrefixes() {
+			assertThat(scan("1-23 4-56 99-1")).isEmpty();
+		}
+
+		@Test
+		@DisplayName("should support custom prefixes")
+		void shouldSupportCustomPrefixes() {
+			AbapCommentLexer lexer = new AbapCommentLexer("42");
+			List<String> ids = new ArrayList<>();
+			String text = "\" 42-1 6-2";
+
+			lexer.scan(text, 0, text.length(), (start, end, inComment) -> ids.add(text.substring(start, end)));
+
+			assertThat(ids).containsExactly("42-1");
+		}
+
+		@Test
+		@DisplayName("should only scan the given region")
+		void shouldRespectRegion() {
+			String text = "6-1 6-22 6-3";
+			List<String> ids = new ArrayList<>();
+
+			LEXER.scan(text, 4, 7, (start, end, inComment) -> ids.add(text.substring(start, end)));
+
+			assertThat(ids).containsExactly("6-2");
+		}
+
+		@ParameterizedTest
+		@DisplayName("should match IDs exactly at a position")
+		@CsvSource({
+			"6-1234, 0, 6",
+			"15-7, 0, 4",
+			"x6-1, 1, 4",
+			"6-, 0, -1",
+			"A-1, 0, -1"
+		})
+		void shouldMatchIdAtPosition(String text, int position, int expectedEnd) {
+			assertThat(LEXER.matchId(text, position, text.length())).isEqualTo(expectedEnd);
+		}
+
+		@Test
+		@DisplayName("should find the same IDs as the regular expression")
+		void shouldMatchRegex() {
+			Pattern pattern = Pattern.compile("(?:3|6|7|15)-\\d+");
+			Random random = new Random(7);
+			String alphabet = "0135667-- x\"'*\n";
+
+			for (int i = 0; i < 2_000; i++) {
+				StringBuilder text = new StringBuilder();
+				for (int j = random.nextInt(40); j > 0; j--) {
+					text.append(alphabet.charAt(random.nextInt(alphabet.length())));
+				}
+				List<String> expected = new ArrayList<>();
+				Matcher matcher = pattern.matcher(text);
+				while (matcher.find()) {
+					expected.add(matcher.group());
+				}
+
+				assertThat(scan(text.toString())).extracting(Token::id).as("text '%s'", text).isEqualTo(expected);
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("Comments")
+	class Comments {
+
+		@Test
+		@DisplayName("should treat lines starting with asterisk as comments")
+		void shouldDetectAsteriskLines() {
+			assertThat(scan("* Feature 6-1\n  * Indented 6-2\nWRITE 6-3.\nWRITE 2 * 6-4."))
+					.containsExactly(
+							new Token("6-1", true),
+							new Token("6-2", true),
+							new Token("6-3", false),
+							new Token("6-4", false));
+		}
+
+		@Test
+		@DisplayName("should start a comment at a double quote")
+		void shouldDetectQuoteComments() {
+			assertThat(scan("WRITE 6-1. \" see 6-2"))
+					.containsExactly(new Token("6-1", false), new Token("6-2", true));
+		}
+
+		@Test
+		@DisplayName("should ignore double quotes inside string literals")
+		void shouldIgnoreQuotesInLiterals() {
+			assertThat(scan("lv = 'say \"hi\" 6-1'. lv = `\"` && '6-2'. \" 6-3"))
+					.containsExactly(
+							new Token("6-1", false),
+							new Token("6-2", false),
+							new Token("6-3", true));
+		}
+
+		@Test
+		@DisplayName("should handle escaped quotes in literals")
+		void shouldHandleEscapedQuotes() {
+			assertThat(scan("lv = 'it''s \"'. \" 6-1"))
+					.containsExactly(new Token("6-1", true));
+		}
+
+		@Test
+		@DisplayName("should reset the state at line ends")
+		void shouldResetAtLineEnds() {
+			assertThat(scan("\" comment\r\nlv = 'open 6-1\r6-2"))
+					.containsExactly(new Token("6-1", false), new Token("6-2", false));
+		}
+
+		@ParameterizedTest
+		@DisplayName("should check the comment state of a position")
+		@CsvSource(delimiter = '|', quoteCharacter = '^', value = {
+			"* comment 6-1| 10| true",
+			"WRITE 6-1. \" 6-2| 13| true",
+			"WRITE 6-1. \" 6-2| 6| false",
+			"lv = '\"' && 6-1| 13| false",
+			"lv = `\"` && 6-1| 13| false"
+		})
+		void shouldCheckPosition(String line, int position, boolean expected) {
+			assertThat(LEXER.isInComment(line, 0, line.length(), position)).isEqualTo(expected);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link AsyncLookupCache}.
+ * Uses a manual executor and clock so loads and expiry are fully deterministic.
+ */
+@DisplayName("AsyncLookupCache")
+class AsyncLookupCacheTest {
+
+	private final List<Runnable> pending = new ArrayList<>();
+	private final AtomicLong now = new AtomicLong();
+	private final AtomicInteger loads = new AtomicInteger();
+	private AsyncLookupCache<String, String> cache;
+
+	@BeforeEach
+	void setUp() {
+		cache = new AsyncLookupCache<>(3, Duration.ofSeconds(10), pending::add, key -> {
+			loads.incrementAndGet();
+			if (key.startsWith("fail")) {
+				throw new IllegalStateException("lookup failed");
+			}
+			return key.startsWith("missing") ? null : key.toUpperCase();
+		}, now::get);
+	}
+
+	private void runPending() {
+		List<Runnable> tasks = new ArrayList<>(pending);
+		pending.clear();
+		tasks.forEach(Runnable::run);
+	}
+
+	@Nested
+	@DisplayName("Loading")
+	class Loading {
+
+		@Test
+		@DisplayName("should load asynchronously on the executor")
+		void shouldLoadAsynchronously() throws Exception {
+			CompletableFuture<String> future = cache.get("a");
+
+			assertThat(future).isNotDone();
+			runPending();
+
+			assertThat(future.get()).isEqualTo("A");
+		}
+
+		@Test
+		@DisplayName("should share a running load between callers")
+		void shouldCoalesceRequests() {
+			CompletableFuture<String> first = cache.get("a");
+			CompletableFuture<String> second = cache.get("a");
+
+			assertThat(second).isSameAs(first);
+			assertThat(pending).hasSize(1);
+		}
+
+		@Test
+		@DisplayName("should serve cached values without loading")
+		void shouldServeCachedValues() throws Exception {
+			cache.get("a");
+			runPending();
+
+			CompletableFuture<String> future = cache.get("a");
+
+			assertThat(future).isDone();
+			assertThat(future.get()).isEqualTo("A");
+			assertThat(loads).hasValue(1);
+		}
+
+		@Test
+		@DisplayName("should cache missing values")
+		void shouldCacheMissingValues() throws Exception {
+			cache.get("missing");
+			runPending();
+
+			assertThat(cache.get("missing").get()).isNull();
+			assertThat(cache.contains("missing")).isTrue();
+			assertThat(loads).hasValue(1);
+		}
+
+		@Test
+		@DisplayName("should not cache failed loads")
+		void shouldNotCacheFailures() {
+			CompletableFuture<String> future = cache.get("fail");
+			runPending();
+
+			assertThatThrownBy(future::get).isInstanceOf(ExecutionException.class)
+					.hasCauseInstanceOf(IllegalStateException.class);
+			assertThat(cache.contains("fail")).isFalse();
+
+			cache.get("fail");
+			assertThat(pending).hasSize(1);
+		}
+
+		@Test
+		@DisplayName("should fail the future if the executor rejects the load")
+		void shouldFailOnRejectedExecution() {
+			AsyncLookupCache<String, String> rejecting = new AsyncLookupCache<>(3, Duration.ofSeconds(10),
+					runnable -> {
+						throw new IllegalStateException("shut down");
+					}, key -> key);
+
+			assertThat(rejecting.get("a")).isCompletedExceptionally();
+			assertThat(rejecting.get("a")).isCompletedExceptionally();
+		}
+	}
+
+	@Nested
+	@DisplayName("Expiry and Eviction")
+	class ExpiryAndEviction {
+
+		@Test
+		@DisplayName("should reload values after the time to live")
+		void shouldExpireValues() {
+			cache.get("a");
+			runPending();
+
+			now.addAndGet(Duration.ofSeconds(10).toNanos());
+
+			assertThat(cache.getIfPresent("a")).isNull();
+			assertThat(cache.get("a")).isNotDone();
+		}
+
+		@Test
+		@DisplayName("should evict the least recently used value when full")
+		void shouldEvictLeastRecentlyUsed() {
+			cache.put("a", "A");
+			cache.put("b", "B");
+			cache.put("c", "C");
+			cache.getIfPresent("a");
+
+			cache.put("d", "D");
+
+			assertThat(cache.size()).isEqualTo(3);
+			assertThat(cache.contains("a")).isTrue();
+			assertThat(cache.contains("b")).isFalse();
+		}
+
+		@Test
+		@DisplayName("should not cache loads started before invalidation")
+		void shouldDropLoadsAfterInvalidation() throws Exception {
+			CompletableFuture<String> future = cache.get("a");
+			cache.invalidateAll();
+			runPending();
+
+			assertThat(future.get()).isEqualTo("A");
+			assertThat(cache.contains("a")).isFalse();
+		}
+
+		@Test
+		@DisplayName("should reject a non-positive size")
+		void shouldRejectInvalidSize() {
+			assertThatThrownBy(() -> new AsyncLookupCache<String, String>(0, Duration.ofSeconds(1), Runnable::run, k -> k))
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+}
@@ -0,0 +1,243 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.consetto.adt.cloudalmlink.util.CircuitBreaker.Settings;
+import com.consetto.adt.cloudalmlink.util.CircuitBreaker.State;
+
+/**
+ * Unit tests for {@link CircuitBreaker}.
+ * Uses a manual clock so the cooldown is fully deterministic.
+ */
+@DisplayName("CircuitBreaker")
+class CircuitBreakerTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private final AtomicReference<Settings> settings = new AtomicReference<>(
+			new Settings(50, 4, Duration.ofSeconds(30), 2));
+	private CircuitBreaker breaker;
+
+	@BeforeEach
+	void setUp() {
+		breaker = new CircuitBreaker(settings::get, now::get);
+	}
+
+	private void call(boolean success) {
+		assertThat(breaker.tryAcquire()).isTrue();
+		if (success) {
+			breaker.onSuccess();
+		} else {
+			breaker.onFailure();
+		}
+	}
+
+	private void open() {
+		for (int i = 0; i < 4; i++) {
+			call(false);
+		}
+		assertThat(breaker.getState()).isEqualTo(State.OPEN);
+	}
+
+	private void advanceSeconds(long seconds) {
+		now.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+	}
+
+	@Nested
+	@DisplayName("Closed")
+	class Closed {
+
+		@Test
+		@DisplayName("should permit calls initially")
+		void shouldPermitCalls() {
+			assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+			assertThat(breaker.tryAcquire()).isTrue();
+		}
+
+		@Test
+		@DisplayName("should not open before the minimum number of calls")
+		void shouldWaitForMinimumCalls() {
+			call(false);
+			call(false);
+			call(false);
+
+			assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+		}
+
+		@Test
+		@DisplayName("should open when the failure rate reaches the threshold")
+		void shouldOpenAtThreshold() {
+			call(true);
+			call(false);
+			call(true);
+
+			assertThat(breaker.tryAcquire()).isTrue();
+			assertThat(breaker.onFailure()).isTrue();
+			assertThat(breaker.getState()).isEqualTo(State.OPEN);
+		}
+
+		@Test
+		@DisplayName("should stay closed below the threshold")
+		void shouldStayClosedBelowThreshold() {
+			call(true);
+			call(true);
+			call(true);
+			call(false);
+
+			assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+		}
+
+		@Test
+		@DisplayName("should only consider the most recent calls")
+		void shouldSlideWindow() {
+			for (int i = 0; i < 20; i++) {
+				call(true);
+			}
+			for (int i = 0; i < 9; i++) {
+				call(false);
+			}
+			assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+
+			// 20 calls are kept, so the tenth failure reaches 50% although 30 calls were made
+			call(false);
+			assertThat(breaker.getState()).isEqualTo(State.OPEN);
+		}
+	}
+
+	@Nested
+	@DisplayName("Open")
+	class Open {
+
+		@Test
+		@DisplayName("should reject calls during the cooldown")
+		void shouldRejectDuringCooldown() {
+			open();
+			advanceSeconds(29);
+
+			assertThat(breaker.tryAcquire()).isFalse();
+			assertThat(breaker.getState()).isEqualTo(State.OPEN);
+		}
+
+		@Test
+		@DisplayName("should report rejection without starting the half-open state")
+		void shouldPeekWithoutAcquiring() {
+			assertThat(breaker.isRejecting()).isFalse();
+			open();
+
+			assertThat(breaker.isRejecting()).isTrue();
+			advanceSeconds(30);
+			assertThat(breaker.isRejecting()).isFalse();
+			assertThat(breaker.getState()).isEqualTo(State.OPEN);
+
+			assertThat(breaker.tryAcquire()).isTrue();
+			assertThat(breaker.tryAcquire()).isTrue();
+			assertThat(breaker.isRejecting()).isTrue();
+		}
+
+		@Test
+		@DisplayName("should ignore outcomes of calls started before opening")
+		void shouldIgnoreLateOutcomes() {
+			open();
+
+			assertThat(breaker.onFailure()).isFalse();
+			breaker.onSuccess();
+
+			assertThat(breaker.getState()).isEqualTo(State.OPEN);
+		}
+
+		@Test
+		@DisplayName("should apply a changed cooldown right away")
+		void shouldApplyChangedCooldown() {
+			open();
+			settings.set(new Settings(50, 4, Duration.ofSeconds(5), 2));
+			advanceSeconds(5);
+
+			assertThat(breaker.tryAcquire()).isTrue();
+		}
+	}
+
+	@Nested
+	@DisplayName("Half-open")
+	class HalfOpen {
+
+		@Test
+		@DisplayName("should permit the configured number of probes after the cooldown")
+		void shouldPermitProbes() {
+			open();
+			advanceSeconds(30);
+
+			assertThat(breaker.tryAcquire()).isTrue();
+			assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+			assertThat(breaker.tryAcquire()).isTrue();
+			assertThat(breaker.tryAcquire()).isFalse();
+		}
+
+		@Test
+		@DisplayName("should close when all probes succeed")
+		void shouldCloseAfterProbes() {
+			open();
+			advanceSeconds(30);
+
+			call(true);
+			assertThat(breaker.getState()).isEqualTo(State.HALF_OPEN);
+			call(true);
+
+			assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+			// The failures before opening are forgotten
+			call(false);
+			assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+		}
+
+		@Test
+		@DisplayName("should open again for another cooldown when a probe fails")
+		void shouldReopenOnProbeFailure() {
+			open();
+			advanceSeconds(30);
+
+			assertThat(breaker.tryAcquire()).isTrue();
+			assertThat(breaker.onFailure()).isTrue();
+
+			assertThat(breaker.getState()).isEqualTo(State.OPEN);
+			advanceSeconds(29);
+			assertThat(breaker.tryAcquire()).isFalse();
+			advanceSeconds(1);
+			assertThat(breaker.tryAcquire()).isTrue();
+		}
+	}
+
+	@Test
+	@DisplayName("should close and forget recorded calls on reset")
+	void shouldReset() {
+		open();
+
+		breaker.reset();
+
+		assertThat(breaker.getState()).isEqualTo(State.CLOSED);
+		assertThat(breaker.tryAcquire()).isTrue();
+	}
+
+	@Test
+	@DisplayName("should reject invalid settings")
+	void shouldRejectInvalidSettings() {
+		assertThatThrownBy(() -> new Settings(0, 5, Duration.ofSeconds(30), 2))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new Settings(101, 5, Duration.ofSeconds(30), 2))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new Settings(50, 0, Duration.ofSeconds(30), 2))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new Settings(50, 5, Duration.ofSeconds(-1), 2))
+				.isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new Settings(50, 5, Duration.ofSeconds(30), 0))
+				.isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,47 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link CloudAlmMetrics}.
+ */
+@DisplayName("CloudAlmMetrics")
+class CloudAlmMetricsTest {
+
+	@Test
+	@DisplayName("should count requests, retries, failures, rejections, throttling, hedges and bytes")
+	void shouldCount() {
+		CloudAlmMetrics metrics = new CloudAlmMetrics();
+
+		metrics.recordRequest();
+		metrics.recordRequest();
+		metrics.recordRetry();
+		metrics.recordFailure();
+		metrics.recordRejected();
+		metrics.recordRejected();
+		metrics.recordThrottled();
+		metrics.recordHedge();
+		metrics.recordReceivedBytes(100);
+		metrics.recordDecodedBytes(350);
+		metrics.recordDecodedBytes(50);
+
+		assertThat(metrics.getRequests()).isEqualTo(2);
+		assertThat(metrics.getRetries()).isEqualTo(1);
+		assertThat(metrics.getFailures()).isEqualTo(1);
+		assertThat(metrics.getRejected()).isEqualTo(2);
+		assertThat(metrics.getThrottled()).isEqualTo(1);
+		assertThat(metrics.getHedges()).isEqualTo(1);
+		assertThat(metrics.getReceivedBytes()).isEqualTo(100);
+		assertThat(metrics.getDecodedBytes()).isEqualTo(400);
+		assertThat(metrics).hasToString("Cloud ALM requests: 2, retries: 1, failed: 1, rejected: 2, throttled: 1, hedged: 1, bytes received: 100, decoded: 400");
+	}
+
+	@Test
+	@DisplayName("should share one instance")
+	void shouldShareInstance() {
+		assertThat(CloudAlmMetrics.getInstance()).isSameAs(CloudAlmMetrics.getInstance());
+	}
+}
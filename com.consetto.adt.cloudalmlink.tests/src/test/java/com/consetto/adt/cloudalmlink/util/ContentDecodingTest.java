@@ -0,0 +1,144 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link ContentDecoding}.
+ */
+@DisplayName("ContentDecoding")
+class ContentDecodingTest {
+
+	private static final String JSON = "{\"displayId\":\"6-1234\",\"title\":\"Order import\",\"description\":\""
+			+ "Imports orders. ".repeat(200) + "\"}";
+
+	private CloudAlmMetrics metrics;
+
+	@BeforeEach
+	void setUp() {
+		metrics = new CloudAlmMetrics();
+	}
+
+	private static byte[] gzip(byte[] content) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(content);
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] deflate(byte[] content, boolean raw) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, raw);
+		try (DeflaterOutputStream deflate = new DeflaterOutputStream(out, deflater)) {
+			deflate.write(content);
+		} finally {
+			deflater.end();
+		}
+		return out.toByteArray();
+	}
+
+	private String read(byte[] body, String contentEncoding) throws IOException {
+		try (InputStream in = ContentDecoding.decode(new ByteArrayInputStream(body), contentEncoding, metrics)) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	@Nested
+	@DisplayName("Encodings")
+	class Encodings {
+
+		@Test
+		@DisplayName("should decode gzip")
+		void shouldDecodeGzip() throws IOException {
+			assertThat(read(gzip(JSON.getBytes(StandardCharsets.UTF_8)), "gzip")).isEqualTo(JSON);
+			assertThat(read(gzip(JSON.getBytes(StandardCharsets.UTF_8)), "x-gzip")).isEqualTo(JSON);
+		}
+
+		@Test
+		@DisplayName("should decode zlib-wrapped deflate")
+		void shouldDecodeZlibDeflate() throws IOException {
+			assertThat(read(deflate(JSON.getBytes(StandardCharsets.UTF_8), false), "deflate")).isEqualTo(JSON);
+		}
+
+		@Test
+		@DisplayName("should decode raw deflate")
+		void shouldDecodeRawDeflate() throws IOException {
+			assertThat(read(deflate(JSON.getBytes(StandardCharsets.UTF_8), true), "Deflate")).isEqualTo(JSON);
+		}
+
+		@Test
+		@DisplayName("should pass through uncompressed bodies")
+		void shouldPassThroughIdentity() throws IOException {
+			assertThat(read(JSON.getBytes(StandardCharsets.UTF_8), null)).isEqualTo(JSON);
+			assertThat(read(JSON.getBytes(StandardCharsets.UTF_8), "identity")).isEqualTo(JSON);
+		}
+
+		@Test
+		@DisplayName("should undo stacked encodings in reverse order")
+		void shouldDecodeStacked() throws IOException {
+			byte[] body = gzip(deflate(JSON.getBytes(StandardCharsets.UTF_8), false));
+
+			assertThat(read(body, "deflate, gzip")).isEqualTo(JSON);
+		}
+
+		@Test
+		@DisplayName("should reject encodings that were not advertised")
+		void shouldRejectUnsupported() {
+			assertThatThrownBy(() -> read(new byte[0], "br"))
+					.isInstanceOf(IOException.class)
+					.hasMessageContaining("br");
+		}
+	}
+
+	@Nested
+	@DisplayName("Streaming")
+	class Streaming {
+
+		@Test
+		@DisplayName("should count received and decoded bytes")
+		void shouldCountBytes() throws IOException {
+			byte[] body = gzip(JSON.getBytes(StandardCharsets.UTF_8));
+
+			read(body, "gzip");
+
+			assertThat(metrics.getReceivedBytes()).isEqualTo(body.length);
+			assertThat(metrics.getDecodedBytes()).isEqualTo(JSON.getBytes(StandardCharsets.UTF_8).length);
+			assertThat(metrics.getReceivedBytes()).isLessThan(metrics.getDecodedBytes() / 10);
+		}
+
+		@Test
+		@DisplayName("should close an unread empty body without decoding it")
+		void shouldCloseUnreadBody() throws IOException {
+			ContentDecoding.decode(new ByteArrayInputStream(new byte[0]), "gzip", metrics).close();
+
+			assertThat(metrics.getReceivedBytes()).isZero();
+		}
+
+		@Test
+		@DisplayName("should decode while reading")
+		void shouldDecodeIncrementally() throws IOException {
+			byte[] body = gzip(JSON.getBytes(StandardCharsets.UTF_8));
+			try (InputStream in = ContentDecoding.decode(new ByteArrayInputStream(body), "gzip", metrics)) {
+				byte[] start = in.readNBytes(12);
+
+				assertThat(new String(start, StandardCharsets.UTF_8)).isEqualTo("{\"displayId\"");
+				assertThat(metrics.getDecodedBytes()).isEqualTo(12);
+			}
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link Deadline}.
+ * Uses a manual clock so expiry is fully deterministic.
+ */
+@DisplayName("Deadline")
+class DeadlineTest {
+
+	private final AtomicLong now = new AtomicLong(1_000);
+
+	@Test
+	@DisplayName("should count down the remaining time and expire")
+	void shouldExpire() {
+		Deadline deadline = Deadline.after(Duration.ofSeconds(2), now::get);
+
+		assertThat(deadline.isBounded()).isTrue();
+		assertThat(deadline.remaining()).isEqualTo(Duration.ofSeconds(2));
+
+		now.addAndGet(Duration.ofMillis(1500).toNanos());
+		assertThat(deadline.remaining()).isEqualTo(Duration.ofMillis(500));
+		assertThat(deadline.isExpired()).isFalse();
+
+		now.addAndGet(Duration.ofMillis(600).toNanos());
+		assertThat(deadline.remaining()).isZero();
+		assertThat(deadline.isExpired()).isTrue();
+	}
+
+	@Test
+	@DisplayName("should allow only waits ending before the deadline")
+	void shouldAllowWaitsBeforeDeadline() {
+		Deadline deadline = Deadline.after(Duration.ofSeconds(1), now::get);
+
+		assertThat(deadline.allows(Duration.ofMillis(999))).isTrue();
+		assertThat(deadline.allows(Duration.ofSeconds(1))).isFalse();
+	}
+
+	@Test
+	@DisplayName("should cap timeouts to the remaining time")
+	void shouldCapTimeouts() {
+		Deadline deadline = Deadline.after(Duration.ofSeconds(3), now::get);
+
+		assertThat(deadline.cap(Duration.ofSeconds(10))).isEqualTo(Duration.ofSeconds(3));
+		assertThat(deadline.cap(Duration.ofSeconds(1))).isEqualTo(Duration.ofSeconds(1));
+	}
+
+	@Test
+	@DisplayName("should never expire without a limit")
+	void shouldNeverExpireWithoutLimit() {
+		Deadline deadline = Deadline.none();
+
+		assertThat(deadline.isBounded()).isFalse();
+		assertThat(deadline.isExpired()).isFalse();
+		assertThat(deadline.allows(Duration.ofDays(365))).isTrue();
+		assertThat(deadline.cap(Duration.ofSeconds(10))).isEqualTo(Duration.ofSeconds(10));
+	}
+}
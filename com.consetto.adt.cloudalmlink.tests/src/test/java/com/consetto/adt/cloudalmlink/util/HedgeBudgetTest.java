@@ -0,0 +1,80 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link HedgeBudget}.
+ */
+@DisplayName("HedgeBudget")
+class HedgeBudgetTest {
+
+	private static int hedgesAfter(HedgeBudget budget, int requests) {
+		int hedges = 0;
+		for (int i = 0; i < requests; i++) {
+			budget.onRequest();
+			if (budget.tryHedge()) {
+				hedges++;
+			}
+		}
+		return hedges;
+	}
+
+	@Test
+	@DisplayName("should allow no hedge before requests earned one")
+	void shouldStartEmpty() {
+		HedgeBudget budget = new HedgeBudget(5);
+
+		assertThat(budget.tryHedge()).isFalse();
+		assertThat(hedgesAfter(budget, 19)).isZero();
+		assertThat(hedgesAfter(budget, 1)).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("should cap hedges at the configured share of requests")
+	void shouldCapShare() {
+		HedgeBudget budget = new HedgeBudget(5);
+
+		assertThat(hedgesAfter(budget, 1000)).isEqualTo(50);
+	}
+
+	@Test
+	@DisplayName("should save up only a few hedges")
+	void shouldCapBalance() {
+		HedgeBudget budget = new HedgeBudget(50);
+		for (int i = 0; i < 100; i++) {
+			budget.onRequest();
+		}
+
+		int hedges = 0;
+		while (budget.tryHedge()) {
+			hedges++;
+		}
+		assertThat(hedges).isEqualTo(3);
+	}
+
+	@Test
+	@DisplayName("should disable hedging at zero percent")
+	void shouldDisableAtZero() {
+		HedgeBudget budget = new HedgeBudget(10);
+		budget.configure(0);
+
+		assertThat(hedgesAfter(budget, 1000)).isZero();
+	}
+
+	@Test
+	@DisplayName("should reject an invalid share")
+	void shouldRejectInvalidShare() {
+		assertThatThrownBy(() -> new HedgeBudget(101)).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new HedgeBudget(-1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	@DisplayName("should share one instance")
+	void shouldShareInstance() {
+		assertThat(HedgeBudget.getInstance()).isSameAs(HedgeBudget.getInstance());
+	}
+}
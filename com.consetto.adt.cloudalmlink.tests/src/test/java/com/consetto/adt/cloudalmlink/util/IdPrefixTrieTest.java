@@ -0,0 +1,77 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Unit tests for {@link IdPrefixTrie}.
+ * Tests ID matching and prefix classification, including prefixes sharing leading digits.
+ */
+@DisplayName("IdPrefixTrie")
+class IdPrefixTrieTest {
+
+	private static final IdPrefixTrie<String> TRIE = new IdPrefixTrie<>(
+			Map.of("1", "one", "15", "fifteen", "6", "six", "153", "one-five-three"));
+
+	@ParameterizedTest
+	@DisplayName("should match IDs exactly at a position")
+	@CsvSource({
+		"6-1234, 0, 6",
+		"1-2, 0, 3",
+		"15-7, 0, 4",
+		"153-70x, 0, 6",
+		"x6-1, 1, 4",
+		"16-5, 0, -1",
+		"16-5, 1, 4",
+		"6-, 0, -1",
+		"6-x, 0, -1",
+		"-1, 0, -1",
+		"2-1, 0, -1"
+	})
+	void shouldMatchIdAtPosition(String text, int position, int expectedEnd) {
+		assertThat(TRIE.matchId(text, position, text.length())).isEqualTo(expectedEnd);
+	}
+
+	@Test
+	@DisplayName("should not match beyond the region end")
+	void shouldRespectRegionEnd() {
+		assertThat(TRIE.matchId("6-123", 0, 4)).isEqualTo(4);
+		assertThat(TRIE.matchId("6-123", 0, 2)).isEqualTo(-1);
+	}
+
+	@ParameterizedTest
+	@DisplayName("should classify IDs by their longest registered prefix")
+	@CsvSource({
+		"1-9, one",
+		"15-9, fifteen",
+		"153-9, one-five-three",
+		"6-9, six"
+	})
+	void shouldLookUpPrefix(String id, String expected) {
+		assertThat(TRIE.lookup(id)).isEqualTo(expected);
+	}
+
+	@Test
+	@DisplayName("should not classify IDs without a registered prefix")
+	void shouldNotLookUpUnknownPrefixes() {
+		assertThat(TRIE.lookup("16-9")).isNull();
+		assertThat(TRIE.lookup("154-9")).isNull();
+		assertThat(TRIE.lookup("-9")).isNull();
+		assertThat(TRIE.lookup("15")).isNull();
+		assertThat(TRIE.lookup("")).isNull();
+	}
+
+	@Test
+	@DisplayName("should reject prefixes that are not digits")
+	void shouldRejectInvalidPrefixes() {
+		assertThatThrownBy(() -> new IdPrefixTrie<>(Map.of("A1", "x"))).isInstanceOf(IllegalArgumentException.class);
+		assertThatThrownBy(() -> new IdPrefixTrie<>(Map.of("", "x"))).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,89 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LatencyTracker}.
+ */
+@DisplayName("LatencyTracker")
+class LatencyTrackerTest {
+
+	private static LatencyTracker trackerWith(int capacity, int... millis) {
+		LatencyTracker tracker = new LatencyTracker(capacity, 1);
+		for (int latency : millis) {
+			tracker.record(Duration.ofMillis(latency));
+		}
+		return tracker;
+	}
+
+	@Nested
+	@DisplayName("Percentiles")
+	class Percentiles {
+
+		@Test
+		@DisplayName("should report nothing before the minimum number of samples")
+		void shouldReportNothingBeforeMinimum() {
+			LatencyTracker tracker = new LatencyTracker(10, 3);
+			tracker.record(Duration.ofMillis(100));
+			tracker.record(Duration.ofMillis(200));
+
+			assertThat(tracker.percentile(95)).isNull();
+
+			tracker.record(Duration.ofMillis(300));
+			assertThat(tracker.percentile(95)).isEqualTo(Duration.ofMillis(300));
+		}
+
+		@Test
+		@DisplayName("should use the nearest rank")
+		void shouldUseNearestRank() {
+			int[] millis = new int[100];
+			for (int i = 0; i < millis.length; i++) {
+				millis[i] = 100 - i;
+			}
+			LatencyTracker tracker = trackerWith(100, millis);
+
+			assertThat(tracker.percentile(95)).isEqualTo(Duration.ofMillis(95));
+			assertThat(tracker.percentile(50)).isEqualTo(Duration.ofMillis(50));
+			assertThat(tracker.percentile(100)).isEqualTo(Duration.ofMillis(100));
+			assertThat(tracker.percentile(0)).isEqualTo(Duration.ofMillis(1));
+		}
+
+		@Test
+		@DisplayName("should see a single straggler only above its share")
+		void shouldIgnoreSingleStraggler() {
+			LatencyTracker tracker = trackerWith(20, 100, 100, 100, 100, 100, 100, 100, 100, 100, 100,
+					100, 100, 100, 100, 100, 100, 100, 100, 100, 5000);
+
+			assertThat(tracker.percentile(95)).isEqualTo(Duration.ofMillis(100));
+			assertThat(tracker.percentile(99)).isEqualTo(Duration.ofMillis(5000));
+		}
+	}
+
+	@Nested
+	@DisplayName("Ring Buffer")
+	class RingBuffer {
+
+		@Test
+		@DisplayName("should keep only the most recent latencies")
+		void shouldKeepMostRecent() {
+			LatencyTracker tracker = trackerWith(3, 1000, 1000, 1000, 10, 20, 30);
+
+			assertThat(tracker.sampleCount()).isEqualTo(3);
+			assertThat(tracker.percentile(100)).isEqualTo(Duration.ofMillis(30));
+		}
+
+		@Test
+		@DisplayName("should reject a minimum above the capacity")
+		void shouldRejectInvalidSizes() {
+			assertThatThrownBy(() -> new LatencyTracker(5, 6)).isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> new LatencyTracker(0, 0)).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+}
@@ -0,0 +1,103 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Unit tests for {@link LookupBatcher}.
+ * Tests queueing, batch draining and de-duplication of keys requested while painting.
+ */
+@DisplayName("LookupBatcher")
+class LookupBatcherTest {
+
+	@Test
+	@DisplayName("should ask for a job only when the queue was empty")
+	void shouldScheduleOnFirstRequest() {
+		LookupBatcher<String> batcher = new LookupBatcher<>(10);
+
+		assertThat(batcher.request("A")).isTrue();
+		assertThat(batcher.request("B")).isFalse();
+		assertThat(batcher.request("A")).isFalse();
+		assertThat(batcher.queuedCount()).isEqualTo(2);
+	}
+
+	@Test
+	@DisplayName("should drain the queue in batches, oldest requests first")
+	void shouldDrainInBatches() {
+		LookupBatcher<Integer> batcher = new LookupBatcher<>(3);
+		IntStream.range(0, 7).forEach(batcher::request);
+
+		assertThat(batcher.nextBatch()).containsExactly(0, 1, 2);
+		assertThat(batcher.nextBatch()).containsExactly(3, 4, 5);
+		assertThat(batcher.nextBatch()).containsExactly(6);
+		assertThat(batcher.nextBatch()).isEmpty();
+	}
+
+	@Test
+	@DisplayName("should not queue keys whose batch is in flight")
+	void shouldSkipKeysInFlight() {
+		LookupBatcher<String> batcher = new LookupBatcher<>(10);
+		batcher.request("A");
+		List<String> batch = batcher.nextBatch();
+
+		assertThat(batcher.request("A")).isFalse();
+		assertThat(batcher.queuedCount()).isZero();
+
+		batcher.done(batch);
+		assertThat(batcher.request("A")).isTrue();
+	}
+
+	@Test
+	@DisplayName("should ask for a job again once the queue was drained")
+	void shouldRescheduleAfterDrain() {
+		LookupBatcher<String> batcher = new LookupBatcher<>(10);
+		batcher.request("A");
+		batcher.nextBatch();
+
+		assertThat(batcher.request("B")).isTrue();
+	}
+
+	@Test
+	@DisplayName("should drop queued keys on clear")
+	void shouldClear() {
+		LookupBatcher<String> batcher = new LookupBatcher<>(10);
+		batcher.request("A");
+		batcher.clear();
+
+		assertThat(batcher.nextBatch()).isEmpty();
+		assertThat(batcher.request("A")).isTrue();
+	}
+
+	@Test
+	@DisplayName("should hand out every key once when requested concurrently")
+	void shouldHandleConcurrentRequests() {
+		LookupBatcher<Integer> batcher = new LookupBatcher<>(7);
+		AtomicInteger schedules = new AtomicInteger();
+		IntStream.range(0, 1_000).parallel().forEach(i -> {
+			if (batcher.request(i % 500)) {
+				schedules.incrementAndGet();
+			}
+		});
+
+		int total = 0;
+		for (List<Integer> batch = batcher.nextBatch(); !batch.isEmpty(); batch = batcher.nextBatch()) {
+			assertThat(batch).hasSizeLessThanOrEqualTo(7);
+			total += batch.size();
+		}
+		assertThat(total).isEqualTo(500);
+		assertThat(schedules.get()).isEqualTo(1);
+	}
+
+	@Test
+	@DisplayName("should reject non-positive batch sizes")
+	void shouldRejectInvalidBatchSize() {
+		assertThatThrownBy(() -> new LookupBatcher<>(0)).isInstanceOf(IllegalArgumentException.class);
+	}
+}
@@ -0,0 +1,119 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+/**
+ * Unit tests for {@link RetryPolicy}.
+ * Uses a fixed jitter so backoff delays are deterministic.
+ */
+@DisplayName("RetryPolicy")
+class RetryPolicyTest {
+
+	private static RetryPolicy policy(double jitter) {
+		return new RetryPolicy(4, Duration.ofMillis(100), Duration.ofMillis(300), Duration.ofSeconds(10), () -> jitter);
+	}
+
+	@ParameterizedTest(name = "status {0} retryable: {1}")
+	@CsvSource({ "429, true", "502, true", "503, true", "504, true", "500, false", "401, false", "404, false", "200, false" })
+	@DisplayName("should retry only transient statuses")
+	void shouldClassifyStatuses(int statusCode, boolean retryable) {
+		assertThat(RetryPolicy.isRetryableStatus(statusCode)).isEqualTo(retryable);
+	}
+
+	@Nested
+	@DisplayName("nextDelay")
+	class NextDelay {
+
+		@Test
+		@DisplayName("should back off exponentially up to the maximum delay")
+		void shouldBackOffExponentially() {
+			RetryPolicy policy = policy(0.999999);
+
+			assertThat(policy.nextDelay(1, null, Deadline.none())).isBetween(Duration.ofMillis(99), Duration.ofMillis(100));
+			assertThat(policy.nextDelay(2, null, Deadline.none())).isBetween(Duration.ofMillis(199), Duration.ofMillis(200));
+			assertThat(policy.nextDelay(3, null, Deadline.none())).isBetween(Duration.ofMillis(299), Duration.ofMillis(300));
+		}
+
+		@Test
+		@DisplayName("should jitter between zero and the backoff limit")
+		void shouldJitter() {
+			assertThat(policy(0).nextDelay(2, null, Deadline.none())).isZero();
+			assertThat(policy(0.5).nextDelay(2, null, Deadline.none())).isEqualTo(Duration.ofMillis(100));
+		}
+
+		@Test
+		@DisplayName("should stop after the maximum number of attempts")
+		void shouldStopAfterMaxAttempts() {
+			assertThat(policy(0.5).nextDelay(4, null, Deadline.none())).isNull();
+		}
+
+		@Test
+		@DisplayName("should wait as long as Retry-After requests")
+		void shouldHonourRetryAfter() {
+			assertThat(policy(0.5).nextDelay(1, Duration.ofSeconds(2), Deadline.none())).isEqualTo(Duration.ofSeconds(2));
+		}
+
+		@Test
+		@DisplayName("should not retry when Retry-After exceeds the maximum wait")
+		void shouldNotWaitForLongRetryAfter() {
+			assertThat(policy(0.5).nextDelay(1, Duration.ofSeconds(11), Deadline.none())).isNull();
+		}
+
+		@Test
+		@DisplayName("should not retry when the wait overruns the deadline")
+		void shouldRespectDeadline() {
+			long now = 0;
+			Deadline deadline = Deadline.after(Duration.ofSeconds(1), () -> now);
+
+			assertThat(policy(0.5).nextDelay(1, Duration.ofSeconds(2), deadline)).isNull();
+			assertThat(policy(0.5).nextDelay(1, null, deadline)).isEqualTo(Duration.ofMillis(50));
+		}
+
+		@Test
+		@DisplayName("should reject a policy without attempts")
+		void shouldRejectInvalidPolicy() {
+			assertThatThrownBy(() -> new RetryPolicy(0, Duration.ZERO, Duration.ZERO, Duration.ZERO, () -> 0))
+					.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Nested
+	@DisplayName("parseRetryAfter")
+	class ParseRetryAfter {
+
+		private final Instant now = Instant.parse("2015-10-21T07:28:00Z");
+
+		@Test
+		@DisplayName("should parse delay-seconds")
+		void shouldParseSeconds() {
+			assertThat(RetryPolicy.parseRetryAfter(" 120 ", now)).isEqualTo(Duration.ofSeconds(120));
+		}
+
+		@Test
+		@DisplayName("should turn an HTTP date into a wait")
+		void shouldParseHttpDate() {
+			assertThat(RetryPolicy.parseRetryAfter("Wed, 21 Oct 2015 07:28:30 GMT", now)).isEqualTo(Duration.ofSeconds(30));
+			assertThat(RetryPolicy.parseRetryAfter("Wed, 21 Oct 2015 07:27:00 GMT", now)).isZero();
+		}
+
+		@Test
+		@DisplayName("should ignore missing and invalid values")
+		void shouldIgnoreInvalidValues() {
+			assertThat(RetryPolicy.parseRetryAfter(null, now)).isNull();
+			assertThat(RetryPolicy.parseRetryAfter("", now)).isNull();
+			assertThat(RetryPolicy.parseRetryAfter("soon", now)).isNull();
+			assertThat(RetryPolicy.parseRetryAfter("-5", now)).isNull();
+			assertThat(RetryPolicy.parseRetryAfter("99999999999999999999", now)).isNull();
+		}
+	}
+}
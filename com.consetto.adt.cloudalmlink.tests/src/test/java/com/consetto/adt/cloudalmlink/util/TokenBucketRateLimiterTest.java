@@ -0,0 +1,205 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.consetto.adt.cloudalmlink.util.TokenBucketRateLimiter.Priority;
+
+/**
+ * Unit tests for {@link TokenBucketRateLimiter}.
+ * Uses a manual clock for the bucket arithmetic and the real clock only for blocking waits.
+ */
+@DisplayName("TokenBucketRateLimiter")
+class TokenBucketRateLimiterTest {
+
+	private final AtomicLong now = new AtomicLong();
+	private TokenBucketRateLimiter limiter;
+
+	@BeforeEach
+	void setUp() {
+		limiter = new TokenBucketRateLimiter(10, 8, now::get);
+	}
+
+	private void advanceMillis(long millis) {
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+	}
+
+	private int drain(Priority priority) {
+		int taken = 0;
+		while (limiter.tryAcquire(priority) == 0) {
+			taken++;
+		}
+		return taken;
+	}
+
+	@Nested
+	@DisplayName("Token bucket")
+	class Bucket {
+
+		@Test
+		@DisplayName("should allow a full burst, then ask to wait for the next token")
+		void shouldAllowBurst() {
+			assertThat(drain(Priority.INTERACTIVE)).isEqualTo(8);
+
+			assertThat(limiter.tryAcquire(Priority.INTERACTIVE)).isEqualTo(TimeUnit.MILLISECONDS.toNanos(100));
+		}
+
+		@Test
+		@DisplayName("should refill at the configured rate up to the burst size")
+		void shouldRefill() {
+			drain(Priority.INTERACTIVE);
+
+			advanceMillis(300);
+			assertThat(drain(Priority.INTERACTIVE)).isEqualTo(3);
+
+			advanceMillis(60_000);
+			assertThat(drain(Priority.INTERACTIVE)).isEqualTo(8);
+		}
+
+		@Test
+		@DisplayName("should apply new limits and keep the bucket within the burst")
+		void shouldReconfigure() {
+			limiter.configure(1, 2);
+
+			assertThat(drain(Priority.INTERACTIVE)).isEqualTo(2);
+			assertThat(limiter.tryAcquire(Priority.INTERACTIVE)).isEqualTo(TimeUnit.SECONDS.toNanos(1));
+		}
+
+		@Test
+		@DisplayName("should reject invalid limits")
+		void shouldRejectInvalidLimits() {
+			assertThatThrownBy(() -> limiter.configure(0, 5)).isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> limiter.configure(5, 0)).isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Nested
+	@DisplayName("Priorities")
+	class Priorities {
+
+		@Test
+		@DisplayName("should keep a quarter of the bucket for interactive calls")
+		void shouldReserveForInteractive() {
+			assertThat(drain(Priority.BACKGROUND)).isEqualTo(6);
+
+			assertThat(drain(Priority.INTERACTIVE)).isEqualTo(2);
+		}
+
+		@Test
+		@DisplayName("should let background calls wait while an interactive call waits")
+		void shouldPreferWaitingInteractiveCalls() throws Exception {
+			TokenBucketRateLimiter real = new TokenBucketRateLimiter(20, 1);
+			assertThat(real.acquire(Priority.INTERACTIVE, Deadline.none())).isTrue();
+
+			Thread interactive = new Thread(() -> {
+				try {
+					real.acquire(Priority.INTERACTIVE, Deadline.none());
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+			});
+			interactive.start();
+			while (interactive.getState() != Thread.State.TIMED_WAITING && interactive.isAlive()) {
+				Thread.onSpinWait();
+			}
+
+			// The background call cannot get a token before the interactive one is served
+			assertThat(real.acquire(Priority.BACKGROUND, Deadline.after(Duration.ofMillis(30)))).isFalse();
+			interactive.join(1000);
+			assertThat(interactive.isAlive()).isFalse();
+		}
+	}
+
+	@Nested
+	@DisplayName("Blocking acquire")
+	class BlockingAcquire {
+
+		@Test
+		@DisplayName("should wait for the next token")
+		void shouldWaitForToken() throws Exception {
+			TokenBucketRateLimiter real = new TokenBucketRateLimiter(50, 1);
+			assertThat(real.acquire(Priority.INTERACTIVE, Deadline.none())).isTrue();
+
+			long start = System.nanoTime();
+			assertThat(real.acquire(Priority.INTERACTIVE, Deadline.after(Duration.ofSeconds(5)))).isTrue();
+
+			assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(15));
+		}
+
+		@Test
+		@DisplayName("should give up when the wait overruns the deadline")
+		void shouldRespectDeadline() throws Exception {
+			drain(Priority.INTERACTIVE);
+
+			assertThat(limiter.acquire(Priority.INTERACTIVE, Deadline.after(Duration.ofMillis(50), now::get))).isFalse();
+		}
+	}
+
+	@Nested
+	@DisplayName("Adaptive rate")
+	class AdaptiveRate {
+
+		@Test
+		@DisplayName("should halve the rate on 429 down to a tenth of the configured rate")
+		void shouldSlowDownOnThrottling() {
+			limiter.onThrottled(null);
+			assertThat(limiter.getRate()).isEqualTo(5);
+
+			for (int i = 0; i < 10; i++) {
+				limiter.onThrottled(null);
+			}
+			assertThat(limiter.getRate()).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("should empty the bucket and pause for Retry-After")
+		void shouldPauseForRetryAfter() {
+			limiter.onThrottled(Duration.ofSeconds(2));
+
+			assertThat(limiter.tryAcquire(Priority.INTERACTIVE)).isEqualTo(TimeUnit.SECONDS.toNanos(2));
+
+			advanceMillis(2000);
+			assertThat(drain(Priority.INTERACTIVE)).isEqualTo(8);
+		}
+
+		@Test
+		@DisplayName("should recover the configured rate with successful calls")
+		void shouldRecover() {
+			limiter.onThrottled(null);
+
+			for (int i = 0; i < 9; i++) {
+				limiter.onSuccess();
+			}
+			assertThat(limiter.getRate()).isEqualTo(9.5);
+
+			limiter.onSuccess();
+			limiter.onSuccess();
+			assertThat(limiter.getRate()).isEqualTo(10);
+		}
+
+		@Test
+		@DisplayName("should reset the learned rate when reconfigured")
+		void shouldResetOnConfigure() {
+			limiter.onThrottled(null);
+
+			limiter.configure(20, 8);
+
+			assertThat(limiter.getRate()).isEqualTo(20);
+		}
+	}
+
+	@Test
+	@DisplayName("should share one instance")
+	void shouldShareInstance() {
+		assertThat(TokenBucketRateLimiter.getInstance()).isSameAs(TokenBucketRateLimiter.getInstance());
+	}
+}
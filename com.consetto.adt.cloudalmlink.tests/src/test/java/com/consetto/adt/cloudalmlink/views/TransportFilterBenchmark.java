@@ -0,0 +1,110 @@
+package com.consetto.adt.cloudalmlink.views;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.consetto.adt.cloudalmlink.model.FeatureElement;
+import com.consetto.adt.cloudalmlink.model.VersionElement;
+
+/**
+ * JMH benchmark comparing the precomputed search key of {@link TransportFilter}
+ * with the previous per-keystroke {@code toLowerCase()} matching on 100k synthetic rows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransportFilterBenchmark {
+
+	private static final int ROWS = 100_000;
+
+	/** Hit in the title, hit in a feature field, and a search that matches nothing */
+	@Param({"payment", "6-4711", "nomatch"})
+	public String search;
+
+	private List<VersionElement> rows;
+	private TransportFilter filter;
+	private String legacySearch;
+
+	@Setup
+	public void setUp() {
+		rows = new ArrayList<>(ROWS);
+		for (int i = 0; i < ROWS; i++) {
+			VersionElement version = new VersionElement();
+			version.setID(String.format("%05d", i));
+			version.setTransport("DEVK9" + String.format("%05d", i));
+			version.setAuthor("DEVELOPER" + (i % 17));
+			version.setTitle((i % 100 == 0 ? "Fix Payment gateway " : "Refactor logging module ") + i);
+			if (i % 2 == 0) {
+				FeatureElement feature = new FeatureElement();
+				feature.setDisplayId("6-" + (i % 5000));
+				feature.setStatusCode(i % 3 == 0 ? "RELEASED" : "IN_PROGRESS");
+				feature.setResponsibleId("OWNER" + (i % 11));
+				version.setFeature(feature);
+			}
+			// Search keys are built once when the data arrives
+			version.getSearchKey();
+			rows.add(version);
+		}
+		filter = new TransportFilter();
+		filter.setSearchText(search);
+		legacySearch = search.toLowerCase().trim();
+	}
+
+	@Benchmark
+	public int searchKeyFilter() {
+		int count = 0;
+		for (VersionElement row : rows) {
+			if (filter.select(row)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int legacyFilter() {
+		int count = 0;
+		for (VersionElement row : rows) {
+			if (legacySelect(row)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * The filter logic before search keys: lower-cases every field on every call.
+	 */
+	private boolean legacySelect(VersionElement v) {
+		if (legacyMatches(v.getID())) return true;
+		if (legacyMatches(v.getTransportId())) return true;
+		if (legacyMatches(v.getAuthor())) return true;
+		if (legacyMatches(v.getTitle())) return true;
+		if (v.getFeature() != null) {
+			if (legacyMatches(v.getFeature().getDisplayId())) return true;
+			if (legacyMatches(v.getFeature().getStatus())) return true;
+			if (legacyMatches(v.getFeature().getResponsibleId())) return true;
+		}
+		return false;
+	}
+
+	private boolean legacyMatches(String value) {
+		return value != null && value.toLowerCase().contains(legacySearch);
+	}
+}
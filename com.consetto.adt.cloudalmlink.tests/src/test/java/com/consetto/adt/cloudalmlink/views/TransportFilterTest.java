@@ -297,6 +297,29 @@ class TransportFilterTest {
 		}
 	}
 
+	@Nested
+	@DisplayName("Column-Qualified Queries")
+	class ColumnQualifiedQueries {
+
+		@Test
+		@DisplayName("should match column-qualified terms")
+		void shouldMatchColumnQualifiedTerms() {
+			filter.setSearchText("status:IN_PROGRESS owner:DEV*");
+
+			assertThat(filter.select(versionWithFeature)).isTrue();
+			assertThat(filter.select(versionWithoutFeature)).isFalse();
+		}
+
+		@Test
+		@DisplayName("should exclude versions without feature")
+		void shouldExcludeVersionsWithoutFeature() {
+			filter.setSearchText("-\"No Feature\"");
+
+			assertThat(filter.select(versionWithFeature)).isTrue();
+			assertThat(filter.select(versionWithoutFeature)).isFalse();
+		}
+	}
+
 	@Nested
 	@DisplayName("Multiple Matches")
 	class MultipleMatches {
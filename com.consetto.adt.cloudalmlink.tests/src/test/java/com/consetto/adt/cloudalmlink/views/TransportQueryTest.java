@@ -0,0 +1,223 @@
+package com.consetto.adt.cloudalmlink.views;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import com.consetto.adt.cloudalmlink.model.FeatureElement;
+import com.consetto.adt.cloudalmlink.model.VersionElement;
+
+/**
+ * Unit tests for {@link TransportQuery}.
+ * Tests the column-qualified query language of the TransportView search box.
+ */
+@DisplayName("TransportQuery")
+class TransportQueryTest {
+
+	private VersionElement released;
+	private VersionElement inProgress;
+	private VersionElement noFeature;
+
+	@BeforeEach
+	void setUp() {
+		released = version("00001", "DEVK900042", "DEVELOPER1", "Fix payment gateway", "6-1234", "RELEASED", "PRODUCT_OWNER");
+		inProgress = version("00002", "DEVK900043", "TESTER", "Refactor logging", "6-12", "IN_PROGRESS", "DEEP_THOUGHT");
+		noFeature = version("00003", "QASK900044", "DEVELOPER2", "Works on my machine", null, null, null);
+	}
+
+	private static VersionElement version(String id, String transport, String author, String title,
+			String featureId, String status, String responsible) {
+		VersionElement version = new VersionElement();
+		version.setID(id);
+		version.setTransport(transport);
+		version.setAuthor(author);
+		version.setTitle(title);
+		if (featureId != null) {
+			FeatureElement feature = new FeatureElement();
+			feature.setDisplayId(featureId);
+			feature.setStatusCode(status);
+			feature.setResponsibleId(responsible);
+			version.setFeature(feature);
+		}
+		return version;
+	}
+
+	@Nested
+	@DisplayName("Free Text")
+	class FreeText {
+
+		@Test
+		@DisplayName("should match everything for an empty query")
+		void shouldMatchEverythingWhenEmpty() {
+			TransportQuery query = TransportQuery.compile("   ");
+
+			assertThat(query.isEmpty()).isTrue();
+			assertThat(query.test(released)).isTrue();
+			assertThat(query.test(noFeature)).isTrue();
+		}
+
+		@Test
+		@DisplayName("should match a word in any column")
+		void shouldMatchWordInAnyColumn() {
+			TransportQuery query = TransportQuery.compile("gateway");
+
+			assertThat(query.test(released)).isTrue();
+			assertThat(query.test(inProgress)).isFalse();
+		}
+
+		@Test
+		@DisplayName("should require all words to match")
+		void shouldRequireAllWords() {
+			assertThat(TransportQuery.compile("payment developer1").test(released)).isTrue();
+			assertThat(TransportQuery.compile("payment tester").test(released)).isFalse();
+		}
+
+		@Test
+		@DisplayName("should match quoted phrases")
+		void shouldMatchQuotedPhrases() {
+			TransportQuery query = TransportQuery.compile("\"No Feature\"");
+
+			assertThat(query.test(noFeature)).isTrue();
+			assertThat(query.test(released)).isFalse();
+		}
+
+		@Test
+		@DisplayName("should treat unknown qualifiers as free text")
+		void shouldTreatUnknownQualifierAsText() {
+			released.setTitle("See http://example.com");
+
+			assertThat(TransportQuery.compile("http://example").test(released)).isTrue();
+		}
+
+		@Test
+		@DisplayName("should not match null rows")
+		void shouldNotMatchNull() {
+			assertThat(TransportQuery.compile("payment").test(null)).isFalse();
+		}
+	}
+
+	@Nested
+	@DisplayName("Column Terms")
+	class ColumnTerms {
+
+		@Test
+		@DisplayName("should match column values as prefix")
+		void shouldMatchAsPrefix() {
+			TransportQuery query = TransportQuery.compile("feature:6-12");
+
+			assertThat(query.test(released)).isTrue();
+			assertThat(query.test(inProgress)).isTrue();
+			assertThat(query.test(noFeature)).isFalse();
+		}
+
+		@Test
+		@DisplayName("should only read the referenced column")
+		void shouldOnlyReadReferencedColumn() {
+			// DEVELOPER appears in the owner column only, not in the transport column
+			assertThat(TransportQuery.compile("transport:DEVELOPER").test(released)).isFalse();
+			assertThat(TransportQuery.compile("owner:DEVELOPER").test(released)).isTrue();
+		}
+
+		@Test
+		@DisplayName("should match case-insensitively")
+		void shouldMatchCaseInsensitively() {
+			assertThat(TransportQuery.compile("STATUS:released").test(released)).isTrue();
+		}
+
+		@Test
+		@DisplayName("should combine several column terms")
+		void shouldCombineColumnTerms() {
+			TransportQuery query = TransportQuery.compile("status:RELEASED owner:DEV*");
+
+			assertThat(query.test(released)).isTrue();
+			assertThat(query.test(inProgress)).isFalse();
+			assertThat(query.test(noFeature)).isFalse();
+		}
+
+		@Test
+		@DisplayName("should match quoted column values")
+		void shouldMatchQuotedColumnValues() {
+			assertThat(TransportQuery.compile("title:\"fix pay\"").test(released)).isTrue();
+			assertThat(TransportQuery.compile("title:\"fix pay\"").test(inProgress)).isFalse();
+		}
+
+		@Test
+		@DisplayName("should ignore terms without a value")
+		void shouldIgnoreEmptyValues() {
+			assertThat(TransportQuery.compile("status:").isEmpty()).isTrue();
+		}
+	}
+
+	@Nested
+	@DisplayName("Negation")
+	class Negation {
+
+		@Test
+		@DisplayName("should exclude rows matching a negated phrase")
+		void shouldExcludeNegatedPhrase() {
+			TransportQuery query = TransportQuery.compile("-\"No Feature\"");
+
+			assertThat(query.test(released)).isTrue();
+			assertThat(query.test(noFeature)).isFalse();
+		}
+
+		@Test
+		@DisplayName("should negate column terms")
+		void shouldNegateColumnTerms() {
+			TransportQuery query = TransportQuery.compile("-status:IN_*");
+
+			assertThat(query.test(released)).isTrue();
+			assertThat(query.test(inProgress)).isFalse();
+		}
+
+		@Test
+		@DisplayName("should evaluate the example query from the search box")
+		void shouldEvaluateExampleQuery() {
+			TransportQuery query = TransportQuery.compile("status:RELEASED owner:DEV* feature:6-12 -\"No Feature\"");
+
+			assertThat(query.test(released)).isTrue();
+			assertThat(query.test(inProgress)).isFalse();
+			assertThat(query.test(noFeature)).isFalse();
+		}
+
+		@Test
+		@DisplayName("should treat a lone dash as text")
+		void shouldTreatLoneDashAsText() {
+			assertThat(TransportQuery.compile("6 - 1").isEmpty()).isFalse();
+		}
+	}
+
+	@Nested
+	@DisplayName("Glob Matching")
+	class GlobMatching {
+
+		@ParameterizedTest
+		@DisplayName("should match glob patterns against the whole value")
+		@CsvSource({
+			"DEV*, DEVELOPER1, true",
+			"*OPER1, DEVELOPER1, true",
+			"D*P*1, DEVELOPER1, true",
+			"DEVELOPER?, DEVELOPER1, true",
+			"DEVELOPER?, DEVELOPER12, false",
+			"*LOPER, DEVELOPER1, false",
+			"*, DEVELOPER1, true",
+			"dev*1, DEVELOPER1, true",
+			"X*, DEVELOPER1, false"
+		})
+		void shouldMatchGlobs(String pattern, String text, boolean expected) {
+			assertThat(TransportQuery.TextMatcher.compile(pattern).matches(text)).isEqualTo(expected);
+		}
+
+		@Test
+		@DisplayName("should use a prefix matcher for trailing wildcards")
+		void shouldUsePrefixMatcherForTrailingStar() {
+			assertThat(TransportQuery.TextMatcher.compile("DEV*")).isInstanceOf(TransportQuery.PrefixMatcher.class);
+			assertThat(TransportQuery.TextMatcher.compile("D*V")).isInstanceOf(TransportQuery.GlobMatcher.class);
+		}
+	}
+}
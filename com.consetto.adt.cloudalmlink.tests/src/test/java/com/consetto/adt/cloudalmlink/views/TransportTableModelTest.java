@@ -0,0 +1,380 @@
+package com.consetto.adt.cloudalmlink.views;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import com.consetto.adt.cloudalmlink.model.FeatureElement;
+import com.consetto.adt.cloudalmlink.model.VersionElement;
+
+/**
+ * Unit tests for {@link TransportTableModel}.
+ * Tests the index-based row model behind the virtual TransportView table.
+ */
+@DisplayName("TransportTableModel")
+class TransportTableModelTest {
+
+	private static final Comparator<VersionElement> BY_ID = Comparator.comparing(VersionElement::getID);
+	private static final Comparator<VersionElement> BY_AUTHOR =
+			Comparator.comparing(VersionElement::getAuthor, Comparator.nullsLast(Comparator.naturalOrder()));
+
+	private TransportTableModel model;
+	private List<VersionElement> rows;
+
+	@BeforeEach
+	void setUp() {
+		model = new TransportTableModel();
+		rows = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			VersionElement version = new VersionElement();
+			version.setID("0000" + i);
+			version.setTransport("DEVK90000" + i);
+			rows.add(version);
+		}
+	}
+
+	@Nested
+	@DisplayName("Rows")
+	class Rows {
+
+		@Test
+		@DisplayName("should be empty initially")
+		void shouldBeEmptyInitially() {
+			assertThat(model.size()).isZero();
+			assertThat(model.getRows()).isEmpty();
+		}
+
+		@Test
+		@DisplayName("should show all rows after setting them")
+		void shouldShowAllRows() {
+			model.setRows(rows);
+
+			assertThat(model.size()).isEqualTo(5);
+			assertThat(model.get(0)).isSameAs(rows.get(0));
+			assertThat(model.get(4)).isSameAs(rows.get(4));
+		}
+
+		@Test
+		@DisplayName("should treat null rows as empty")
+		void shouldTreatNullAsEmpty() {
+			model.setRows(null);
+
+			assertThat(model.size()).isZero();
+		}
+
+		@Test
+		@DisplayName("should not be affected by later changes to the source list")
+		void shouldCopySourceList() {
+			model.setRows(rows);
+			rows.clear();
+
+			assertThat(model.size()).isEqualTo(5);
+		}
+	}
+
+	@Nested
+	@DisplayName("Filtering")
+	class Filtering {
+
+		@Test
+		@DisplayName("should map view positions to matching rows")
+		void shouldMapViewPositions() {
+			model.setRows(rows);
+
+			model.filter(v -> v.getID().endsWith("1") || v.getID().endsWith("3"));
+
+			assertThat(model.size()).isEqualTo(2);
+			assertThat(model.get(0)).isSameAs(rows.get(1));
+			assertThat(model.get(1)).isSameAs(rows.get(3));
+		}
+
+		@Test
+		@DisplayName("should show all rows for a null predicate")
+		void shouldShowAllForNullPredicate() {
+			model.setRows(rows);
+			model.filter(v -> false);
+
+			model.filter(null);
+
+			assertThat(model.size()).isEqualTo(5);
+		}
+
+		@Test
+		@DisplayName("should reset the filter when rows are replaced")
+		void shouldResetFilterOnNewRows() {
+			model.setRows(rows);
+			model.filter(v -> false);
+
+			model.setRows(rows.subList(0, 2));
+
+			assertThat(model.size()).isEqualTo(2);
+		}
+
+		@Test
+		@DisplayName("should reject positions outside the visible rows")
+		void shouldRejectInvisiblePositions() {
+			model.setRows(rows);
+			model.filter(v -> v.getID().endsWith("0"));
+
+			assertThatThrownBy(() -> model.get(1)).isInstanceOf(IndexOutOfBoundsException.class);
+		}
+
+		@Test
+		@DisplayName("should stay responsive for large histories")
+		void shouldHandleLargeHistories() {
+			List<VersionElement> large = new ArrayList<>();
+			for (int i = 0; i < 20_000; i++) {
+				VersionElement version = new VersionElement();
+				version.setID(String.format("%05d", i));
+				large.add(version);
+			}
+			model.setRows(large);
+
+			model.filter(v -> v.getID().startsWith("1"));
+
+			assertThat(model.size()).isEqualTo(10_000);
+			assertThat(model.get(0).getID()).isEqualTo("10000");
+		}
+	}
+
+	@Nested
+	@DisplayName("Background Filtering")
+	class BackgroundFiltering {
+
+		@Test
+		@DisplayName("should compute visible indexes for a snapshot")
+		void shouldComputeVisibleIndexes() {
+			model.setRows(rows);
+
+			int[] visible = TransportTableModel.computeVisible(model.snapshot(), v -> v.getID().endsWith("2"), () -> false);
+
+			assertThat(visible).containsExactly(2);
+		}
+
+		@Test
+		@DisplayName("should return null when cancelled")
+		void shouldReturnNullWhenCancelled() {
+			model.setRows(rows);
+
+			int[] visible = TransportTableModel.computeVisible(model.snapshot(), v -> true, () -> true);
+
+			assertThat(visible).isNull();
+		}
+
+		@Test
+		@DisplayName("should apply indexes computed for the current rows")
+		void shouldApplyIndexesForCurrentRows() {
+			model.setRows(rows);
+			TransportTableModel.Snapshot snapshot = model.snapshot();
+			int[] visible = TransportTableModel.computeVisible(snapshot, v -> v.getID().endsWith("4"), () -> false);
+
+			assertThat(model.setVisible(snapshot, visible)).isTrue();
+			assertThat(model.size()).isEqualTo(1);
+			assertThat(model.get(0)).isSameAs(rows.get(4));
+		}
+
+		@Test
+		@DisplayName("should show no rows until the filter result for hidden rows is applied")
+		void shouldHideRowsUntilFiltered() {
+			model.setRows(rows, false);
+			TransportTableModel.Snapshot snapshot = model.snapshot();
+
+			assertThat(model.size()).isZero();
+
+			int[] visible = TransportTableModel.computeVisible(snapshot, v -> v.getID().endsWith("2"), () -> false);
+
+			assertThat(model.setVisible(snapshot, visible)).isTrue();
+			assertThat(model.size()).isEqualTo(1);
+			assertThat(model.get(0)).isSameAs(rows.get(2));
+		}
+
+		@Test
+		@DisplayName("should ignore indexes computed for replaced rows")
+		void shouldIgnoreStaleIndexes() {
+			model.setRows(rows);
+			TransportTableModel.Snapshot snapshot = model.snapshot();
+			int[] visible = TransportTableModel.computeVisible(snapshot, v -> false, () -> false);
+
+			model.setRows(rows.subList(0, 3));
+
+			assertThat(model.setVisible(snapshot, visible)).isFalse();
+			assertThat(model.size()).isEqualTo(3);
+		}
+
+		@Test
+		@DisplayName("should ignore indexes computed for a previous sort order")
+		void shouldIgnoreIndexesForPreviousOrder() {
+			model.setRows(rows);
+			TransportTableModel.Snapshot snapshot = model.snapshot();
+			int[] visible = TransportTableModel.computeVisible(snapshot, v -> false, () -> false);
+
+			model.setSortKeys(List.of(new TransportTableModel.SortKey(BY_ID, false)));
+
+			assertThat(model.setVisible(snapshot, visible)).isFalse();
+			assertThat(model.size()).isEqualTo(5);
+		}
+
+		@Test
+		@DisplayName("should return visible indexes in sort order")
+		void shouldReturnIndexesInSortOrder() {
+			model.setRows(rows);
+			model.setSortKeys(List.of(new TransportTableModel.SortKey(BY_ID, false)));
+
+			int[] visible = TransportTableModel.computeVisible(model.snapshot(), v -> !v.getID().endsWith("2"), () -> false);
+
+			assertThat(visible).containsExactly(4, 3, 1, 0);
+		}
+	}
+
+	@Nested
+	@DisplayName("Sorting")
+	class Sorting {
+
+		@Test
+		@DisplayName("should keep the original order without sort keys")
+		void shouldKeepOriginalOrder() {
+			model.setRows(rows);
+
+			assertThat(model.getSortKeys()).isEmpty();
+			assertThat(visibleIds()).containsExactly("00000", "00001", "00002", "00003", "00004");
+		}
+
+		@Test
+		@DisplayName("should sort by a single column in both directions")
+		void shouldSortBySingleColumn() {
+			Collections.reverse(rows);
+			model.setRows(rows);
+
+			model.setSortKeys(List.of(new TransportTableModel.SortKey(BY_ID, true)));
+			assertThat(visibleIds()).containsExactly("00000", "00001", "00002", "00003", "00004");
+
+			model.setSortKeys(List.of(new TransportTableModel.SortKey(BY_ID, false)));
+			assertThat(visibleIds()).containsExactly("00004", "00003", "00002", "00001", "00000");
+		}
+
+		@Test
+		@DisplayName("should sort by secondary keys within equal primary keys")
+		void shouldSortByMultipleKeys() {
+			rows.get(0).setAuthor("B");
+			rows.get(1).setAuthor("A");
+			rows.get(2).setAuthor("B");
+			rows.get(3).setAuthor("A");
+			rows.get(4).setAuthor("B");
+			model.setRows(rows);
+
+			model.setSortKeys(List.of(
+					new TransportTableModel.SortKey(BY_AUTHOR, true),
+					new TransportTableModel.SortKey(BY_ID, false)));
+
+			assertThat(visibleIds()).containsExactly("00003", "00001", "00004", "00002", "00000");
+		}
+
+		@Test
+		@DisplayName("should keep the original order of equal rows")
+		void shouldSortStably() {
+			rows.forEach(v -> v.setAuthor("SAME"));
+			model.setRows(rows);
+
+			model.setSortKeys(List.of(new TransportTableModel.SortKey(BY_AUTHOR, false)));
+
+			assertThat(visibleIds()).containsExactly("00000", "00001", "00002", "00003", "00004");
+		}
+
+		@Test
+		@DisplayName("should sort null values last in ascending order")
+		void shouldSortNullsLast() {
+			rows.get(0).setAuthor(null);
+			rows.get(1).setAuthor("Z");
+			rows.get(2).setAuthor("A");
+			rows.get(3).setAuthor(null);
+			rows.get(4).setAuthor("M");
+			model.setRows(rows);
+
+			model.setSortKeys(List.of(new TransportTableModel.SortKey(BY_AUTHOR, true)));
+
+			assertThat(visibleIds()).containsExactly("00002", "00004", "00001", "00000", "00003");
+		}
+
+		@Test
+		@DisplayName("should re-arrange filtered rows without evaluating the filter again")
+		void shouldResortWithoutRefiltering() {
+			model.setRows(rows);
+			AtomicInteger evaluations = new AtomicInteger();
+			model.filter(v -> {
+				evaluations.incrementAndGet();
+				return !v.getID().endsWith("2");
+			});
+
+			model.setSortKeys(List.of(new TransportTableModel.SortKey(BY_ID, false)));
+
+			assertThat(evaluations).hasValue(5);
+			assertThat(visibleIds()).containsExactly("00004", "00003", "00001", "00000");
+		}
+
+		@Test
+		@DisplayName("should keep the sort order when rows are replaced")
+		void shouldKeepSortOrderForNewRows() {
+			model.setSortKeys(List.of(new TransportTableModel.SortKey(BY_ID, false)));
+
+			model.setRows(rows);
+
+			assertThat(visibleIds()).containsExactly("00004", "00003", "00002", "00001", "00000");
+		}
+
+		@Test
+		@DisplayName("should restore the original order for empty sort keys")
+		void shouldRestoreOriginalOrder() {
+			model.setRows(rows);
+			model.setSortKeys(List.of(new TransportTableModel.SortKey(BY_ID, false)));
+
+			model.setSortKeys(List.of());
+
+			assertThat(visibleIds()).containsExactly("00000", "00001", "00002", "00003", "00004");
+		}
+
+		@Test
+		@DisplayName("should sort column definitions of the transport view")
+		void shouldSortViewColumns() {
+			model.setRows(rows);
+			TableColumnDefinition<VersionElement> transport = TransportViewColumns.findColumn("transport");
+
+			model.setSortKeys(List.of(new TransportTableModel.SortKey(transport.comparator(), false)));
+
+			assertThat(model.get(0).getTransportId()).isEqualTo("DEVK900004");
+		}
+
+		@Test
+		@DisplayName("should label the feature columns of versions without, with unavailable or with timed-out feature")
+		void shouldLabelMissingFeatures() {
+			VersionElement unavailable = new VersionElement();
+			unavailable.setFeature(FeatureElement.unavailable());
+			VersionElement timedOut = new VersionElement();
+			timedOut.setFeature(FeatureElement.timedOut());
+
+			for (String key : List.of("feature", "status", "responsible")) {
+				TableColumnDefinition<VersionElement> column = TransportViewColumns.findColumn(key);
+				assertThat(column.labelExtractor().apply(new VersionElement())).isEqualTo(VersionElement.NO_FEATURE_LABEL);
+				assertThat(column.labelExtractor().apply(unavailable)).isEqualTo(VersionElement.FEATURE_UNAVAILABLE_LABEL);
+				assertThat(column.labelExtractor().apply(timedOut)).isEqualTo(VersionElement.FEATURE_TIMED_OUT_LABEL);
+			}
+		}
+	}
+
+	private List<String> visibleIds() {
+		List<String> ids = new ArrayList<>();
+		for (int i = 0; i < model.size(); i++) {
+			ids.add(model.get(i).getID());
+		}
+		return ids;
+	}
+}
@@ -28,6 +28,18 @@ public final class CloudAlmLinkConstants {
 	/** Cloud ALM API path for features */
 	public static final String FEATURES_API_PATH = "/api/calm-features/v1";
 
+	/** Cloud ALM API collection for feature lookup by display ID */
+	public static final String FEATURES_COLLECTION_PATH = FEATURES_API_PATH + "/Features";
+
+	/** Cloud ALM API collection for task/requirement lookup by display ID */
+	public static final String TASKS_COLLECTION_PATH = "/api/calm-tasks/v1/tasks";
+
+	/** Cloud ALM API collection for document lookup by display ID */
+	public static final String DOCUMENTS_COLLECTION_PATH = "/api/calm-documents/v1/Documents";
+
+	/** Cloud ALM API collection for library element lookup by display ID */
+	public static final String LIBRARIES_COLLECTION_PATH = "/api/calm-libraries/v1/LibraryElements";
+
 	/** OAuth token endpoint path */
 	public static final String OAUTH_TOKEN_PATH = "/oauth/token";
 
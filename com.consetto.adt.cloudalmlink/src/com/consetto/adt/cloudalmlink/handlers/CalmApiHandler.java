@@ -2,38 +2,144 @@ package com.consetto.adt.cloudalmlink.handlers;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
+import org.apache.hc.client5.http.ConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.HttpRoute;
 import org.apache.hc.client5.http.classic.methods.HttpGet;
 import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.ChainElement;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
 import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
 import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
 import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
-import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
 import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.io.HttpClientResponseHandler;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
 import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.pool.PoolStats;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
 
 import com.consetto.adt.cloudalmlink.model.BearerToken;
 import com.consetto.adt.cloudalmlink.model.CloudAlmConfig;
+import com.consetto.adt.cloudalmlink.model.CloudAlmItem;
 import com.consetto.adt.cloudalmlink.model.FeatureElement;
+import com.consetto.adt.cloudalmlink.model.HttpSettings;
+import com.consetto.adt.cloudalmlink.model.ItemTypeRegistry;
+import com.consetto.adt.cloudalmlink.model.ItemTypeRegistry.ItemType;
 import com.consetto.adt.cloudalmlink.model.VersionElement;
 import com.consetto.adt.cloudalmlink.services.ICloudAlmApiService;
 import com.consetto.adt.cloudalmlink.services.PreferenceService;
+import com.consetto.adt.cloudalmlink.util.CircuitBreaker;
 import com.consetto.adt.cloudalmlink.util.CloudAlmLinkLogger;
+import com.consetto.adt.cloudalmlink.util.CloudAlmMetrics;
+import com.consetto.adt.cloudalmlink.util.ContentDecoding;
+import com.consetto.adt.cloudalmlink.util.Deadline;
+import com.consetto.adt.cloudalmlink.util.HedgeBudget;
+import com.consetto.adt.cloudalmlink.util.LatencyTracker;
+import com.consetto.adt.cloudalmlink.util.RetryPolicy;
+import com.consetto.adt.cloudalmlink.util.TokenBucketRateLimiter;
+import com.consetto.adt.cloudalmlink.util.TokenBucketRateLimiter.Priority;
 import com.google.gson.Gson;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
 
 /**
  * Handles communication with the SAP Cloud ALM REST API.
  * Manages OAuth 2.0 Bearer Token authentication and feature retrieval.
  * Implements ICloudAlmApiService for dependency injection and AutoCloseable for resource cleanup.
+ * <p>
+ * All requests, including the token request, pass a {@link CircuitBreaker}. Failed and very slow
+ * requests count as failures; once the breaker opens, lookups fail fast with
+ * {@link FeatureElement#unavailable()} or unchecked items instead of waiting for Cloud ALM.
+ * The lookups are idempotent GETs and are retried on I/O errors and transient statuses as the
+ * {@link RetryPolicy} allows, within the caller's {@link Deadline}. Every attempt takes a token
+ * from the workbench-wide {@link TokenBucketRateLimiter}.
+ * <p>
+ * Timeouts, pool sizes and connection lifetimes come from the {@link HttpSettings} the client was
+ * built with, so no request can hold a pooled connection indefinitely.
+ * <p>
+ * If enabled, a feature request still running after the 95th percentile of the recent ones is
+ * hedged: an identical request is sent, the first response wins and the other request is cancelled.
+ * Both are timed from the moment they have a token and a connection, so waiting for the rate limit
+ * or the pool neither counts as latency nor triggers a hedge. A hedge is only sent if it gets a
+ * token and a free connection right away, and the workbench-wide {@link HedgeBudget} keeps hedges
+ * at a small share of all requests.
+ * <p>
+ * Responses are requested compressed and decoded while they are read by {@link ContentDecoding},
+ * which counts the bytes received and decoded.
  */
 public class CalmApiHandler implements ICloudAlmApiService {
 
-	private BearerToken token = null;
+	// Keeps the OData filter, and with it the request URL, at a safe length
+	private static final int MAX_IDS_PER_REQUEST = 40;
+
+	// Marks transports without feature in concurrent maps
+	private static final FeatureElement NO_FEATURE = new FeatureElement();
+
+	// Requests answered slower than this count as failures of the circuit breaker
+	private static final long SLOW_CALL_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+	// Feature lookups slower than this share of the recent ones are hedged
+	private static final double HEDGE_PERCENTILE = 95;
+
+	private volatile BearerToken token = null;
 	private final CloseableHttpClient httpClient;
-	private final HttpClientConnectionManager connectionManager;
+	private final PoolingHttpClientConnectionManager connectionManager;
 	private final CloudAlmConfig config;
+	private final HttpSettings settings;
+	private final RequestConfig requestConfig;
+	private final CircuitBreaker breaker;
+	private final RetryPolicy retryPolicy = RetryPolicy.DEFAULT;
+	private final CloudAlmMetrics metrics = CloudAlmMetrics.getInstance();
+	private final TokenBucketRateLimiter rateLimiter = TokenBucketRateLimiter.getInstance();
+	private final HedgeBudget hedgeBudget = HedgeBudget.getInstance();
+	private final LatencyTracker featureLatency = new LatencyTracker(200, 20);
+	// Runs the feature lookups of all callers, at most one per pooled connection to Cloud ALM and
+	// priority, so background lookups cannot keep the ones a user waits for from the rate limiter
+	private final Map<Priority, ExecutorService> lookupExecutors = new EnumMap<>(Priority.class);
+	// Sends hedges without queueing them; a hedge that finds no thread is not sent
+	private final ExecutorService hedgeExecutor;
 	private HttpPost httpTokenPost = null;
 
 	/**
@@ -50,15 +156,64 @@ public class CalmApiHandler implements ICloudAlmApiService {
 	 * @param config The Cloud ALM configuration
 	 */
 	public CalmApiHandler(CloudAlmConfig config) {
+		this(config, new CircuitBreaker(() -> PreferenceService.getInstance().getCircuitBreakerSettings()),
+				PreferenceService.getInstance().getHttpSettings());
+	}
+
+	/**
+	 * Constructor with explicit configuration, circuit breaker and HTTP settings.
+	 *
+	 * @param config The Cloud ALM configuration
+	 * @param breaker The circuit breaker guarding the requests
+	 * @param settings The timeouts and pool limits of the HTTP client
+	 */
+	public CalmApiHandler(CloudAlmConfig config, CircuitBreaker breaker, HttpSettings settings) {
 		this.config = config;
+		this.breaker = breaker;
+		this.settings = settings;
+		for (Priority priority : Priority.values()) {
+			lookupExecutors.put(priority, Executors.newFixedThreadPool(settings.maxConnPerRoute(),
+					daemonThreads("Cloud ALM lookup (" + priority.name().toLowerCase(Locale.ROOT) + ")")));
+		}
+		this.hedgeExecutor = new ThreadPoolExecutor(0, settings.maxConnPerRoute(), 60, TimeUnit.SECONDS,
+				new SynchronousQueue<>(), daemonThreads("Cloud ALM hedged lookup"));
 
 		// Create connection pool for efficient HTTP connection management
 		this.connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
-				.setMaxConnTotal(10)
-				.setMaxConnPerRoute(5)
+				.setDefaultConnectionConfig(ConnectionConfig.custom()
+						.setConnectTimeout(toTimeout(settings.connectTimeout()))
+						.setSocketTimeout(toTimeout(settings.responseTimeout()))
+						.setTimeToLive(toTimeout(settings.connectionTtl()))
+						.setValidateAfterInactivity(toTimeout(settings.validateAfterInactivity()))
+						.build())
+				.setMaxConnTotal(settings.maxConnTotal())
+				.setMaxConnPerRoute(settings.maxConnPerRoute())
 				.build();
+		this.requestConfig = RequestConfig.custom()
+				.setConnectionRequestTimeout(toTimeout(settings.connectionRequestTimeout()))
+				.setResponseTimeout(toTimeout(settings.responseTimeout()))
+				.setConnectionKeepAlive(toTimeout(settings.keepAlive()))
+				.build();
+		// Honors the server's Keep-Alive header up to the configured maximum
+		ConnectionKeepAliveStrategy keepAliveStrategy = (response, context) -> {
+			TimeValue server = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+			return toTimeout(settings.keepAliveFor(Duration.ofMillis(server.toMilliseconds())));
+		};
 		this.httpClient = HttpClients.custom()
 				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(requestConfig)
+				.setKeepAliveStrategy(keepAliveStrategy)
+				// Decoded by DecodingEntity, which counts the bytes
+				.disableContentCompression()
+				.evictExpiredConnections()
+				.evictIdleConnections(toTimeout(settings.idleEviction()))
+				// Runs once the request has its connection, right before it is sent
+				.addExecInterceptorAfter(ChainElement.CONNECT.name(), "sent", (request, scope, chain) -> {
+					if (scope.clientContext.getAttribute(Exchange.ATTRIBUTE) instanceof Exchange exchange) {
+						exchange.sent(scope.route);
+					}
+					return chain.proceed(request, scope);
+				})
 				.build();
 
 		if (config.isValid()) {
@@ -94,46 +249,248 @@ public class CalmApiHandler implements ICloudAlmApiService {
 			return null;
 		}
 
-		// Ensure we have a valid OAuth token
-		if (token == null || !token.isValid()) {
-			getOAuthToken();
+		if (!ensureToken(Deadline.none())) {
+			if (isUnavailable()) {
+				return FeatureElement.unavailable();
+			}
+			CloudAlmLinkLogger.logWarning("No OAuth token available - cannot fetch feature");
+			return null;
 		}
 
-		if (token == null) {
-			CloudAlmLinkLogger.logWarning("No OAuth token available - cannot fetch feature");
+		try {
+			return fetchFeature(transportId, Deadline.none(), Priority.INTERACTIVE);
+		} catch (UnavailableException e) {
+			return FeatureElement.unavailable();
+		} catch (IOException | JsonParseException e) {
+			CloudAlmLinkLogger.logWarning("Failed to fetch feature for transport " + transportId + ": " + e.getMessage());
 			return null;
 		}
+	}
+
+	@Override
+	public Map<String, FeatureElement> getFeatures(Collection<String> transportIds, Deadline deadline, Priority priority) {
+		Map<String, FeatureElement> result = new ConcurrentHashMap<>();
+		if (!isConfigured()) {
+			CloudAlmLinkLogger.logWarning("CalmApiHandler is not configured - cannot fetch features");
+			return result;
+		}
+		if (transportIds.isEmpty()) {
+			return result;
+		}
+		if (!ensureToken(deadline)) {
+			Map<String, FeatureElement> features = new HashMap<>();
+			if (isUnavailable()) {
+				transportIds.forEach(transportId -> features.put(transportId, FeatureElement.unavailable()));
+			}
+			return features;
+		}
+
+		// The API has no batch endpoint; the requests share the token and the pooled connections
+		List<String> ids = new ArrayList<>(new LinkedHashSet<>(transportIds));
+		List<Future<?>> tasks = new ArrayList<>();
+		try {
+			for (String transportId : ids) {
+				tasks.add(lookupExecutors.get(priority).submit(() -> {
+					if (deadline.isExpired()) {
+						// Left unchecked
+						return;
+					}
+					try {
+						FeatureElement feature = fetchFeature(transportId, deadline, priority);
+						// ConcurrentHashMap does not take null values
+						result.put(transportId, feature != null ? feature : NO_FEATURE);
+					} catch (UnavailableException e) {
+						result.put(transportId, FeatureElement.unavailable());
+					} catch (IOException | JsonParseException e) {
+						CloudAlmLinkLogger.logWarning("Failed to fetch feature for transport " + transportId + ": " + e.getMessage());
+					}
+				}));
+			}
+			for (Future<?> task : tasks) {
+				// Lookups queued behind other work must not hold the caller past its deadline
+				task.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (TimeoutException e) {
+			// Returns the features found so far
+		} catch (ExecutionException e) {
+			CloudAlmLinkLogger.logError("Failed to fetch features", e.getCause());
+		} catch (RejectedExecutionException e) {
+			// The handler was closed
+		} finally {
+			// Lookups not started or still running when this call gives up are abandoned
+			tasks.forEach(task -> task.cancel(true));
+		}
 
+		Map<String, FeatureElement> features = new HashMap<>();
+		result.forEach((transportId, feature) -> features.put(transportId, feature != NO_FEATURE ? feature : null));
+		return features;
+	}
+
+	/**
+	 * Requests the parent feature of a transport.
+	 *
+	 * @return The feature, or null if the transport is not assigned to one
+	 * @throws IOException If the request failed
+	 */
+	private FeatureElement fetchFeature(String transportId, Deadline deadline, Priority priority) throws IOException {
 		// Build API URL for parent feature lookup
 		String transportAPIUrl = config.apiUrl() + "/Transports/" + transportId + "/parent";
-		HttpGet httpGet = new HttpGet(transportAPIUrl);
+		Supplier<HttpGet> request = () -> {
+			HttpGet httpGet = new HttpGet(transportAPIUrl);
+
+			// Set authorization header with Bearer token
+			httpGet.setHeader("Authorization", "Bearer " + token.getToken());
+			httpGet.setHeader("Accept", "application/json");
+			return httpGet;
+		};
+
+		HttpClientResponseHandler<FeatureElement> handler = response -> {
+			int statusCode = response.getCode();
+			if (statusCode == 404 || statusCode == 204) {
+				return null;
+			}
+			checkStatus(response, "Feature API");
+
+			HttpEntity entity = response.getEntity();
+			if (entity != null) {
+				try (InputStream inputStream = entity.getContent()) {
+					String content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+					Gson gson = new Gson();
+					return gson.fromJson(content, FeatureElement.class);
+				}
+			}
+			return null;
+		};
+
+		return get(request.get(), request, deadline, priority, handler);
+	}
+
+	/**
+	 * Gets the time after which a feature request is hedged.
+	 *
+	 * @return The 95th percentile of the recent requests, or null if hedging is disabled, the circuit
+	 *         breaker is not closed or too few requests were measured
+	 */
+	private Duration hedgeDelay() {
+		if (!settings.hedging() || breaker.getState() != CircuitBreaker.State.CLOSED) {
+			return null;
+		}
+		return featureLatency.percentile(HEDGE_PERCENTILE);
+	}
+
+	@Override
+	public CloudAlmItem getItem(String itemId) {
+		Map<String, CloudAlmItem> items = getItems(List.of(itemId));
+		return items.get(itemId);
+	}
+
+	@Override
+	public Map<String, CloudAlmItem> getItems(Collection<String> itemIds, Deadline deadline) {
+		Map<String, CloudAlmItem> result = new HashMap<>();
+		if (!isConfigured()) {
+			CloudAlmLinkLogger.logWarning("CalmApiHandler is not configured - cannot fetch items");
+			return result;
+		}
+
+		// One collection per item type; unknown types cannot exist in Cloud ALM,
+		// configured types without a lookup collection stay unchecked
+		ItemTypeRegistry registry = ItemTypeRegistry.getCurrent();
+		Map<ItemType, List<String>> idsByType = new LinkedHashMap<>();
+		for (String itemId : new LinkedHashSet<>(itemIds)) {
+			ItemType type = registry.fromId(itemId);
+			if (type == null) {
+				result.put(itemId, null);
+			} else if (type.lookupPath() != null) {
+				idsByType.computeIfAbsent(type, t -> new ArrayList<>()).add(itemId);
+			}
+		}
+		if (idsByType.isEmpty()) {
+			return result;
+		}
 
-		// Set authorization header with Bearer token
+		if (!ensureToken(deadline)) {
+			CloudAlmLinkLogger.logWarning("No OAuth token available - cannot fetch items");
+			return result;
+		}
+
+		for (Map.Entry<ItemType, List<String>> entry : idsByType.entrySet()) {
+			List<String> ids = entry.getValue();
+			for (int start = 0; start < ids.size(); start += MAX_IDS_PER_REQUEST) {
+				List<String> chunk = ids.subList(start, Math.min(ids.size(), start + MAX_IDS_PER_REQUEST));
+				fetchItems(entry.getKey(), chunk, result, deadline);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Fetches one batch of items of the same type with a single OData request.
+	 * On success every requested ID is put into the result, mapped to null if it was not found.
+	 */
+	private void fetchItems(ItemType type, List<String> itemIds, Map<String, CloudAlmItem> result, Deadline deadline) {
+		StringBuilder filter = new StringBuilder();
+		for (String itemId : itemIds) {
+			if (!filter.isEmpty()) {
+				filter.append(" or ");
+			}
+			filter.append("displayId eq '").append(itemId).append('\'');
+		}
+		String encodedFilter = URLEncoder.encode(filter.toString(), StandardCharsets.UTF_8).replace("+", "%20");
+		HttpGet httpGet = new HttpGet(config.baseUrl() + type.lookupPath()
+				+ "?$filter=" + encodedFilter + "&$top=" + itemIds.size());
 		httpGet.setHeader("Authorization", "Bearer " + token.getToken());
 		httpGet.setHeader("Accept", "application/json");
 
 		try {
-			return httpClient.execute(httpGet, response -> {
-				int statusCode = response.getCode();
-				if (statusCode != 200) {
-					CloudAlmLinkLogger.logWarning("Feature API returned status code: " + statusCode + " for transport " + transportId);
-					return null;
-				}
+			List<CloudAlmItem> items = get(httpGet, deadline, Priority.INTERACTIVE, response -> {
+				checkStatus(response, "Item API");
 
 				HttpEntity entity = response.getEntity();
 				if (entity != null) {
 					try (InputStream inputStream = entity.getContent()) {
 						String content = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
-						Gson gson = new Gson();
-						return gson.fromJson(content, FeatureElement.class);
+						return parseItems(content);
 					}
 				}
 				return null;
 			});
-		} catch (IOException e) {
-			CloudAlmLinkLogger.logWarning("Failed to fetch feature for transport " + transportId + ": " + e.getMessage());
-			return null;
+			if (items == null) {
+				return;
+			}
+			for (String itemId : itemIds) {
+				result.put(itemId, null);
+			}
+			for (CloudAlmItem item : items) {
+				if (item.getDisplayId() != null && result.containsKey(item.getDisplayId())) {
+					result.put(item.getDisplayId(), item);
+				}
+			}
+		} catch (UnavailableException e) {
+			// Stay unchecked; the outage was logged when the circuit opened
+		} catch (IOException | JsonParseException e) {
+			CloudAlmLinkLogger.logWarning("Failed to fetch items " + itemIds + ": " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Parses the items of an OData collection response.
+	 *
+	 * @param content The JSON response, e.g. {"value":[{...}]}
+	 * @return The items, empty if the collection is empty
+	 */
+	private static List<CloudAlmItem> parseItems(String content) {
+		Gson gson = new Gson();
+		JsonObject root = gson.fromJson(content, JsonObject.class);
+		List<CloudAlmItem> items = new ArrayList<>();
+		JsonArray values = root != null ? root.getAsJsonArray("value") : null;
+		if (values != null) {
+			for (JsonElement value : values) {
+				items.add(gson.fromJson(value, CloudAlmItem.class));
+			}
 		}
+		return items;
 	}
 
 	/**
@@ -150,23 +507,63 @@ public class CalmApiHandler implements ICloudAlmApiService {
 		}
 	}
 
+	@Override
+	public void warmUp(Deadline deadline) {
+		// The token request connects to the authentication server
+		if (!isConfigured() || !ensureToken(deadline)) {
+			return;
+		}
+		// Any answer of the service root leaves a connection to Cloud ALM in the pool
+		HttpGet httpGet = new HttpGet(config.apiUrl());
+		httpGet.setHeader("Authorization", "Bearer " + token.getToken());
+		httpGet.setHeader("Accept", "application/json");
+		try {
+			get(httpGet, deadline, Priority.BACKGROUND, response -> {
+				EntityUtils.consume(response.getEntity());
+				return null;
+			});
+		} catch (UnavailableException e) {
+			// The outage was logged when the circuit opened
+		} catch (IOException e) {
+			CloudAlmLinkLogger.logWarning("Could not connect to Cloud ALM in advance: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Makes sure a valid OAuth token is available, requesting a new one if needed.
+	 * Synchronized so concurrent background lookups share one token request.
+	 *
+	 * @param deadline The time by which the token has to be obtained
+	 * @return true if a valid token is available
+	 */
+	private synchronized boolean ensureToken(Deadline deadline) {
+		if (token == null || !token.isValid()) {
+			getOAuthToken(deadline);
+		}
+		return token != null;
+	}
+
 	/**
 	 * Obtains an OAuth 2.0 access token from the SAP authentication server.
 	 * Token is cached and reused until expiration.
+	 *
+	 * @param deadline The time by which the token has to be obtained
 	 */
-	private void getOAuthToken() {
+	private void getOAuthToken(Deadline deadline) {
 		if (httpTokenPost == null) {
 			CloudAlmLinkLogger.logWarning("Token request not initialized - check configuration");
 			return;
 		}
+		if (deadline.isExpired()) {
+			CloudAlmLinkLogger.logWarning("No time left to request an OAuth token");
+			return;
+		}
 
+		// Only called while holding the lock, so the shared request can be reconfigured
+		httpTokenPost.setConfig(requestConfig(deadline));
 		try {
-			token = httpClient.execute(httpTokenPost, response -> {
-				int statusCode = response.getCode();
-				if (statusCode != 200) {
-					CloudAlmLinkLogger.logWarning("OAuth token request failed with status code: " + statusCode);
-					return null;
-				}
+			token = callGuarded(() -> httpClient.execute(httpTokenPost, response -> {
+				checkStatus(response, "OAuth token request");
 
 				HttpEntity entity = response.getEntity();
 				if (entity != null) {
@@ -180,12 +577,438 @@ public class CalmApiHandler implements ICloudAlmApiService {
 					}
 				}
 				return null;
-			});
-		} catch (IOException e) {
+			}));
+		} catch (UnavailableException e) {
+			// The outage was logged when the circuit opened
+		} catch (IOException | JsonParseException e) {
 			CloudAlmLinkLogger.logError("OAuth authentication failed", e);
 		}
 	}
 
+	/**
+	 * Checks whether requests currently fail fast because the circuit breaker is open.
+	 *
+	 * @return true while Cloud ALM is considered unavailable
+	 */
+	public boolean isUnavailable() {
+		return breaker.getState() == CircuitBreaker.State.OPEN;
+	}
+
+	/**
+	 * Sends an idempotent GET, retrying I/O errors and transient statuses as the retry policy allows.
+	 * Every attempt waits for the rate limiter, passes the circuit breaker and times out at the deadline.
+	 *
+	 * @throws UnavailableException If the breaker rejected an attempt
+	 * @throws IOException If the last attempt failed, or the deadline passed
+	 */
+	private <T> T get(HttpGet request, Deadline deadline, Priority priority, HttpClientResponseHandler<T> handler)
+			throws IOException {
+		return get(request, null, deadline, priority, handler);
+	}
+
+	/**
+	 * Sends an idempotent GET as {@link #get(HttpGet, Deadline, Priority, HttpClientResponseHandler)}
+	 * does. If hedges are given, the request is a feature lookup: a first attempt that succeeds on its
+	 * own is measured, and attempts still running after the hedge delay are hedged.
+	 *
+	 * @param hedges Creates the hedges of the attempts, or null to neither measure nor hedge them
+	 */
+	private <T> T get(HttpGet request, Supplier<HttpGet> hedges, Deadline deadline, Priority priority,
+			HttpClientResponseHandler<T> handler) throws IOException {
+		for (int attempt = 1;; attempt++) {
+			if (deadline.isExpired()) {
+				metrics.recordFailure();
+				throw new InterruptedIOException("Deadline exceeded after " + (attempt - 1) + " attempts");
+			}
+			// Fail fast without waiting for, and spending, a token of the rate limit
+			if (breaker.isRejecting()) {
+				metrics.recordRejected();
+				throw new UnavailableException();
+			}
+			try {
+				if (!rateLimiter.acquire(priority, deadline)) {
+					metrics.recordFailure();
+					throw new InterruptedIOException("Rate limit leaves no time before the deadline");
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting for the rate limit");
+			}
+
+			IOException failure;
+			Duration retryAfter = null;
+			try {
+				T result = hedges != null
+						? new HedgedAttempt<>(request, hedges, deadline, priority, handler).send(attempt == 1)
+						: send(request, new Exchange(null), deadline, handler);
+				rateLimiter.onSuccess();
+				return result;
+			} catch (UnavailableException e) {
+				throw e;
+			} catch (StatusException e) {
+				failure = e;
+				retryAfter = e.retryAfter;
+				if (e.statusCode == 429) {
+					metrics.recordThrottled();
+					rateLimiter.onThrottled(retryAfter);
+				}
+				if (!RetryPolicy.isRetryableStatus(e.statusCode)) {
+					metrics.recordFailure();
+					throw e;
+				}
+			} catch (IOException e) {
+				failure = e;
+			}
+
+			Duration delay = retryPolicy.nextDelay(attempt, retryAfter, deadline);
+			if (delay == null) {
+				metrics.recordFailure();
+				throw failure;
+			}
+			metrics.recordRetry();
+			try {
+				Thread.sleep(delay.toMillis());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException("Interrupted while waiting to retry");
+			}
+		}
+	}
+
+	/**
+	 * Sends a single request through the circuit breaker, decoding the response.
+	 *
+	 * @param exchange The context of the request, which is told when the request is sent
+	 * @throws UnavailableException If the breaker rejected the request
+	 * @throws IOException If the request failed
+	 */
+	private <T> T send(HttpGet request, Exchange exchange, Deadline deadline, HttpClientResponseHandler<T> handler)
+			throws IOException {
+		request.setConfig(requestConfig(deadline));
+		request.setHeader(HttpHeaders.ACCEPT_ENCODING, ContentDecoding.ACCEPT_ENCODING);
+		return callGuarded(() -> httpClient.execute(request, exchange.context, response -> {
+			if (response.getEntity() != null) {
+				response.setEntity(new DecodingEntity(response.getEntity(), metrics));
+			}
+			return handler.handleResponse(response);
+		}), request::isCancelled);
+	}
+
+	/**
+	 * Checks whether a request to a route would get a pooled connection without waiting.
+	 */
+	private boolean hasFreeConnection(HttpRoute route) {
+		return isFree(connectionManager.getTotalStats()) && isFree(connectionManager.getStats(route));
+	}
+
+	private static boolean isFree(PoolStats stats) {
+		return stats.getLeased() + stats.getPending() < stats.getMax();
+	}
+
+	/**
+	 * Gets the configuration of a request that has to complete by a deadline.
+	 *
+	 * @return The client defaults with timeouts capped at the time left, or null to use the
+	 *         defaults unchanged
+	 */
+	private RequestConfig requestConfig(Deadline deadline) {
+		if (!deadline.isBounded()) {
+			return null;
+		}
+		// Replaces the client's defaults, so start from them
+		return RequestConfig.copy(requestConfig)
+				.setConnectionRequestTimeout(toTimeout(deadline.cap(settings.connectionRequestTimeout())))
+				.setResponseTimeout(toTimeout(deadline.cap(settings.responseTimeout())))
+				.build();
+	}
+
+	private static ThreadFactory daemonThreads(String name) {
+		return runnable -> {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	private static Timeout toTimeout(Duration duration) {
+		return Timeout.ofMilliseconds(Math.max(1, duration.toMillis()));
+	}
+
+	/**
+	 * Throws a {@link StatusException} unless the response status is 200.
+	 */
+	private static void checkStatus(ClassicHttpResponse response, String api) throws StatusException {
+		int statusCode = response.getCode();
+		if (statusCode != 200) {
+			Header retryAfter = response.getFirstHeader(HttpHeaders.RETRY_AFTER);
+			throw new StatusException(api + " returned status code " + statusCode, statusCode,
+					RetryPolicy.parseRetryAfter(retryAfter != null ? retryAfter.getValue() : null, Instant.now()));
+		}
+	}
+
+	/**
+	 * Makes a request through the circuit breaker.
+	 * I/O errors, server errors and responses slower than {@link #SLOW_CALL_NANOS} count as failures;
+	 * client errors such as 404 or 429 show that Cloud ALM is up.
+	 *
+	 * @throws UnavailableException If the breaker rejected the request
+	 * @throws IOException If the request failed
+	 */
+	private <T> T callGuarded(Request<T> request) throws IOException {
+		return callGuarded(request, () -> false);
+	}
+
+	/**
+	 * Makes a request through the circuit breaker. A request that failed because it was cancelled
+	 * counts as successful: it was only cancelled because another request for it succeeded.
+	 *
+	 * @param cancelled Tells whether the request was cancelled
+	 * @throws UnavailableException If the breaker rejected the request
+	 * @throws IOException If the request failed
+	 */
+	private <T> T callGuarded(Request<T> request, BooleanSupplier cancelled) throws IOException {
+		if (!breaker.tryAcquire()) {
+			metrics.recordRejected();
+			throw new UnavailableException();
+		}
+		metrics.recordRequest();
+		hedgeBudget.onRequest();
+		long start = System.nanoTime();
+		boolean failed = true;
+		try {
+			T result = request.execute();
+			failed = System.nanoTime() - start > SLOW_CALL_NANOS;
+			return result;
+		} catch (StatusException e) {
+			failed = e.statusCode >= 500;
+			throw e;
+		} catch (IOException e) {
+			failed = !cancelled.getAsBoolean();
+			throw e;
+		} finally {
+			if (!failed) {
+				breaker.onSuccess();
+			} else if (breaker.onFailure()) {
+				CloudAlmLinkLogger.logWarning("Cloud ALM is not responding - lookups fail fast until it recovers");
+			}
+		}
+	}
+
+	/**
+	 * An HTTP request made through {@link CalmApiHandler#callGuarded(Request)}.
+	 */
+	@FunctionalInterface
+	private interface Request<T> {
+		T execute() throws IOException;
+	}
+
+	/**
+	 * The context of a single request, which records when the request got its connection and was
+	 * sent.
+	 */
+	private static final class Exchange {
+
+		static final String ATTRIBUTE = Exchange.class.getName();
+
+		private final HttpClientContext context = HttpClientContext.create();
+		private final Consumer<HttpRoute> onSent;
+		private long sentAt;
+		private HttpRoute route;
+
+		/**
+		 * @param onSent Gets the route when the request is first sent, or null
+		 */
+		Exchange(Consumer<HttpRoute> onSent) {
+			this.onSent = onSent;
+			context.setAttribute(ATTRIBUTE, this);
+		}
+
+		void sent(HttpRoute route) {
+			// The client may resend the request on a new connection
+			if (this.route == null) {
+				this.route = route;
+				sentAt = System.nanoTime();
+				if (onSent != null) {
+					onSent.accept(route);
+				}
+			}
+		}
+
+		/**
+		 * Gets the time since the request was sent.
+		 */
+		Duration elapsed() {
+			return Duration.ofNanos(System.nanoTime() - sentAt);
+		}
+	}
+
+	/**
+	 * One attempt of a feature lookup. The request is sent on the calling thread; if it is still
+	 * running after the hedge delay, an identical request is sent on the hedge executor. The first
+	 * successful response wins and the other request is cancelled.
+	 */
+	private final class HedgedAttempt<T> {
+
+		private final HttpGet request;
+		private final Supplier<HttpGet> hedges;
+		private final Deadline deadline;
+		private final Priority priority;
+		private final HttpClientResponseHandler<T> handler;
+		private final CompletableFuture<T> hedgeResult = new CompletableFuture<>();
+		// Guarded by this
+		private HttpGet hedge;
+		private boolean done;
+
+		HedgedAttempt(HttpGet request, Supplier<HttpGet> hedges, Deadline deadline, Priority priority,
+				HttpClientResponseHandler<T> handler) {
+			this.request = request;
+			this.hedges = hedges;
+			this.deadline = deadline;
+			this.priority = priority;
+			this.handler = handler;
+		}
+
+		/**
+		 * Sends the request and, if needed, its hedge.
+		 *
+		 * @param measure Whether a successful request is recorded in the feature latencies
+		 * @throws IOException If the request failed and no hedge succeeded
+		 */
+		T send(boolean measure) throws IOException {
+			Duration hedgeDelay = hedgeDelay();
+			Exchange exchange = new Exchange(hedgeDelay == null ? null : route -> scheduleHedge(hedgeDelay, route));
+			try {
+				T result = CalmApiHandler.this.send(request, exchange, deadline, handler);
+				if (measure) {
+					featureLatency.record(exchange.elapsed());
+				}
+				return result;
+			} catch (IOException e) {
+				// Cancelled by a hedge that won, or failed while a hedge may still win
+				if (finish() == null) {
+					throw e;
+				}
+				try {
+					return hedgeResult.get();
+				} catch (InterruptedException interrupted) {
+					Thread.currentThread().interrupt();
+					throw new InterruptedIOException("Interrupted while waiting for a hedged lookup");
+				} catch (ExecutionException hedgeFailure) {
+					throw e;
+				}
+			} finally {
+				// Aborts the hedge that lost; a completed hedge ignores the cancellation
+				HttpGet sent = finish();
+				if (sent != null) {
+					sent.cancel();
+				}
+			}
+		}
+
+		private void scheduleHedge(Duration hedgeDelay, HttpRoute route) {
+			CompletableFuture.delayedExecutor(hedgeDelay.toNanos(), TimeUnit.NANOSECONDS).execute(() -> {
+				try {
+					hedgeExecutor.execute(() -> sendHedge(route));
+				} catch (RejectedExecutionException e) {
+					// As many hedges running as connections per route, or the handler was closed
+				}
+			});
+		}
+
+		private void sendHedge(HttpRoute route) {
+			HttpGet sent;
+			synchronized (this) {
+				// A hedge waiting for a token or a connection would only be slower. The token is taken
+				// last, so no token is spent on a hedge that is not sent
+				if (done || !hasFreeConnection(route) || !hedgeBudget.tryHedge()
+						|| rateLimiter.tryAcquire(priority) != 0) {
+					return;
+				}
+				hedge = hedges.get();
+				sent = hedge;
+			}
+			metrics.recordHedge();
+			try {
+				hedgeResult.complete(CalmApiHandler.this.send(sent, new Exchange(null), deadline, handler));
+				request.cancel();
+			} catch (IOException | RuntimeException e) {
+				hedgeResult.completeExceptionally(e);
+			}
+		}
+
+		/**
+		 * Stops further hedges.
+		 *
+		 * @return The hedge sent, or null if none was sent
+		 */
+		private synchronized HttpGet finish() {
+			done = true;
+			return hedge;
+		}
+	}
+
+	/**
+	 * Response entity returning the decoded content of a compressed response.
+	 */
+	private static final class DecodingEntity extends HttpEntityWrapper {
+
+		private final CloudAlmMetrics metrics;
+		private InputStream content;
+
+		DecodingEntity(HttpEntity entity, CloudAlmMetrics metrics) {
+			super(entity);
+			this.metrics = metrics;
+		}
+
+		@Override
+		public InputStream getContent() throws IOException {
+			// The client closes the content again after the handler, so hand out a single stream
+			if (content == null) {
+				content = ContentDecoding.decode(super.getContent(), super.getContentEncoding(), metrics);
+			}
+			return content;
+		}
+
+		@Override
+		public String getContentEncoding() {
+			return null;
+		}
+
+		@Override
+		public long getContentLength() {
+			return -1;
+		}
+	}
+
+	/**
+	 * Thrown for a response with an unexpected status.
+	 */
+	private static final class StatusException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		private final int statusCode;
+		private final transient Duration retryAfter;
+
+		StatusException(String message, int statusCode, Duration retryAfter) {
+			super(message);
+			this.statusCode = statusCode;
+			this.retryAfter = retryAfter;
+		}
+	}
+
+	/**
+	 * Thrown instead of making a request while the circuit breaker is open.
+	 */
+	private static final class UnavailableException extends IOException {
+
+		private static final long serialVersionUID = 1L;
+
+		UnavailableException() {
+			super("Cloud ALM is unavailable");
+		}
+	}
+
 	/**
 	 * Gets the current Cloud ALM configuration.
 	 *
@@ -197,10 +1020,15 @@ public class CalmApiHandler implements ICloudAlmApiService {
 
 	/**
 	 * Closes the HTTP client and releases all associated resources.
-	 * Should be called when the handler is no longer needed.
+	 * Should be called when the handler is no longer needed. Logs the request metrics so far.
 	 */
 	@Override
 	public void close() {
+		if (metrics.getRequests() > 0) {
+			CloudAlmLinkLogger.logInfo(metrics.toString());
+		}
+		lookupExecutors.values().forEach(ExecutorService::shutdownNow);
+		hedgeExecutor.shutdownNow();
 		try {
 			if (httpClient != null) {
 				httpClient.close();
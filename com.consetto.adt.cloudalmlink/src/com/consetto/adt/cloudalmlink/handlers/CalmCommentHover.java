@@ -0,0 +1,129 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.jface.text.BadPartitioningException;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension3;
+import org.eclipse.jface.text.IRegion;
+import org.eclipse.jface.text.ITextHover;
+import org.eclipse.jface.text.ITextHoverExtension2;
+import org.eclipse.jface.text.ITextViewer;
+import org.eclipse.jface.text.ITextViewerExtension2;
+import org.eclipse.jface.text.Region;
+import org.eclipse.swt.SWT;
+
+import com.consetto.adt.cloudalmlink.model.CloudAlmItem;
+import com.consetto.adt.cloudalmlink.services.CloudAlmLookupService;
+
+/**
+ * Hover showing title, status and responsible of a Cloud ALM item referenced in a comment.
+ * Shown while the hyperlink modifier (Ctrl/Cmd) is held, the same gesture that underlines the link.
+ * <p>
+ * Item details come from the shared {@link CloudAlmLookupService} cache. Hover information is
+ * computed on the hover thread of the text viewer, so waiting for a lookup never blocks the editor.
+ */
+public class CalmCommentHover implements ITextHover, ITextHoverExtension2 {
+
+	private static final long LOOKUP_TIMEOUT_MS = 3000;
+
+	private static final Map<ITextViewer, Boolean> INSTALLED = new WeakHashMap<>();
+
+	/**
+	 * Installs the hover on a text viewer for all content types, once per viewer.
+	 *
+	 * @param viewer The text viewer of an editor showing Cloud ALM links
+	 */
+	public static void install(ITextViewer viewer) {
+		if (!(viewer instanceof ITextViewerExtension2 extension) || viewer.getDocument() == null) {
+			return;
+		}
+		synchronized (INSTALLED) {
+			if (INSTALLED.put(viewer, Boolean.TRUE) != null) {
+				return;
+			}
+		}
+
+		CalmCommentHover hover = new CalmCommentHover();
+		extension.setTextHover(hover, IDocument.DEFAULT_CONTENT_TYPE, SWT.MOD1);
+		IDocument document = viewer.getDocument();
+		if (document instanceof IDocumentExtension3 partitioned) {
+			for (String partitioning : partitioned.getPartitionings()) {
+				try {
+					for (String contentType : partitioned.getLegalContentTypes(partitioning)) {
+						extension.setTextHover(hover, contentType, SWT.MOD1);
+					}
+				} catch (BadPartitioningException e) {
+					// Partitioning was removed meanwhile - the default content type is covered
+				}
+			}
+		}
+	}
+
+	@Override
+	public IRegion getHoverRegion(ITextViewer textViewer, int offset) {
+		CalmIdIndex.Occurrence occurrence = findOccurrence(textViewer, offset);
+		if (occurrence == null) {
+			return null;
+		}
+		// Start the lookup right away so it runs while the hover delay elapses
+		CloudAlmLookupService.getInstance().lookup(occurrence.itemId());
+		return new Region(occurrence.offset(), occurrence.length());
+	}
+
+	@Override
+	public Object getHoverInfo2(ITextViewer textViewer, IRegion hoverRegion) {
+		CalmIdIndex.Occurrence occurrence = findOccurrence(textViewer, hoverRegion.getOffset());
+		if (occurrence == null) {
+			return null;
+		}
+
+		String itemId = occurrence.itemId();
+		try {
+			CloudAlmItem item = CloudAlmLookupService.getInstance().lookup(itemId)
+					.get(LOOKUP_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+			return item != null ? formatItem(itemId, item) : itemId + " was not found in Cloud ALM";
+		} catch (TimeoutException e) {
+			return "Loading " + itemId + " from Cloud ALM...";
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return null;
+		} catch (ExecutionException e) {
+			return "Could not load " + itemId + " from Cloud ALM";
+		}
+	}
+
+	@Override
+	@Deprecated
+	public String getHoverInfo(ITextViewer textViewer, IRegion hoverRegion) {
+		Object info = getHoverInfo2(textViewer, hoverRegion);
+		return info != null ? info.toString() : null;
+	}
+
+	private static CalmIdIndex.Occurrence findOccurrence(ITextViewer textViewer, int offset) {
+		IDocument document = textViewer.getDocument();
+		if (document == null) {
+			return null;
+		}
+		CalmIdIndex.Occurrence occurrence = CalmIdDocumentIndex.forDocument(document).find(offset);
+		return occurrence != null && occurrence.inComment() ? occurrence : null;
+	}
+
+	private static String formatItem(String itemId, CloudAlmItem item) {
+		StringBuilder text = new StringBuilder(itemId);
+		if (item.getTitle() != null) {
+			text.append(": ").append(item.getTitle());
+		}
+		if (item.getStatus() != null) {
+			text.append("\nStatus: ").append(item.getStatus());
+		}
+		if (item.getResponsibleId() != null) {
+			text.append("\nResponsible: ").append(item.getResponsibleId());
+		}
+		return text.toString();
+	}
+}
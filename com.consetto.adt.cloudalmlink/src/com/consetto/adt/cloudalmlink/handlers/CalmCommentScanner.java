@@ -1,10 +1,5 @@
 package com.consetto.adt.cloudalmlink.handlers;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-
 import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.ITextViewer;
@@ -12,16 +7,20 @@ import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.hyperlink.IHyperlink;
 import org.eclipse.jface.text.hyperlink.IHyperlinkDetector;
 
+import com.consetto.adt.cloudalmlink.services.CloudAlmLookupService;
+
 /**
  * Scans source code for Cloud ALM IDs.
  * Supports features (6-NNNN), tasks/requirements (3-NNNN), documents (7-NNNN), and libraries (15-NNNN).
  * Creates clickable links that open the item in Cloud ALM.
+ * <p>
+ * IDs are looked up in the incrementally maintained {@link CalmIdDocumentIndex} of the document,
+ * so detection on mouse move is a binary search instead of a rescan of the line.
+ * Detected items are prefetched for the {@link CalmCommentHover}, which is installed on the
+ * viewer the first time links are detected in it.
  */
 public class CalmCommentScanner implements IHyperlinkDetector {
 
-	// Matches features (6-NNNN), tasks/requirements (3-NNNN), documents (7-NNNN), and libraries (15-NNNN)
-	private static final Pattern CALM_ID_PATTERN = Pattern.compile("(?:3|6|7|15)-\\d+");
-
 	@Override
 	public IHyperlink[] detectHyperlinks(ITextViewer textViewer, IRegion region, boolean canShowMultipleHyperlinks) {
 		if (textViewer == null || region == null) {
@@ -34,36 +33,17 @@ public class CalmCommentScanner implements IHyperlinkDetector {
 		}
 
 		try {
-			// Get the current line
-			int lineNumber = document.getLineOfOffset(region.getOffset());
-			int lineOffset = document.getLineOffset(lineNumber);
-			int lineLength = document.getLineLength(lineNumber);
-			String lineText = document.get(lineOffset, lineLength);
-
-			// Find all Cloud ALM ID patterns in the line
-			List<IHyperlink> links = new ArrayList<>();
-			Matcher matcher = CALM_ID_PATTERN.matcher(lineText);
-
-			while (matcher.find()) {
-				int start = lineOffset + matcher.start();
-				int end = lineOffset + matcher.end();
-
-				// Check if cursor is within this match
-				if (region.getOffset() >= start && region.getOffset() <= end) {
-					// Only detect if ID is in a comment (after " or on a line starting with *)
-					String textBeforeMatch = lineText.substring(0, matcher.start());
-					String trimmedLine = lineText.trim();
-					boolean isInComment = trimmedLine.startsWith("*") || textBeforeMatch.contains("\"");
-
-					if (isInComment) {
-						String itemId = matcher.group();
-						IRegion linkRegion = new Region(start, end - start);
-						links.add(new CalmComment(linkRegion, itemId));
-					}
-				}
+			// Only detect if ID is in a comment (after " or on a line starting with *)
+			CalmIdIndex.Occurrence occurrence = CalmIdDocumentIndex.forDocument(document).find(region.getOffset());
+			if (occurrence == null || !occurrence.inComment()) {
+				return null;
 			}
 
-			return links.isEmpty() ? null : links.toArray(new IHyperlink[0]);
+			CalmCommentHover.install(textViewer);
+			CloudAlmLookupService.getInstance().lookup(occurrence.itemId());
+
+			IRegion linkRegion = new Region(occurrence.offset(), occurrence.length());
+			return new IHyperlink[] { new CalmComment(linkRegion, occurrence.itemId()) };
 		} catch (Exception e) {
 			return null;
 		}
@@ -0,0 +1,164 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.IEditorPart;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IPropertyListener;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.IWorkbenchWindow;
+import org.eclipse.ui.IWindowListener;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.texteditor.IDocumentProvider;
+import org.eclipse.ui.texteditor.ITextEditor;
+
+import com.consetto.adt.cloudalmlink.services.CalmReferenceService;
+import com.consetto.adt.cloudalmlink.util.CloudAlmLinkLogger;
+import com.consetto.adt.cloudalmlink.util.StartupTrace;
+import com.sap.adt.tools.core.ui.editors.IAdtFormEditor;
+
+/**
+ * Attaches a {@link CalmIdValidator} to every open ABAP source editor and updates the
+ * reference search index of the object whenever the editor is saved.
+ * Started by {@link CloudAlmStartup} so editors restored with the workbench are tracked as well,
+ * or by the first reference search.
+ */
+public class CalmEditorTracker implements IWindowListener, IPartListener2 {
+
+	private static final String ADT_EDITOR_PREFIX = "com.sap.adt";
+
+	private static CalmEditorTracker instance;
+
+	private final Map<IWorkbenchPart, TrackedEditor> editors = new HashMap<>();
+
+	/**
+	 * Validator and save listener attached to one editor part.
+	 */
+	private record TrackedEditor(CalmIdValidator validator, IPropertyListener saveListener) {
+	}
+
+	/**
+	 * Starts tracking the editors of all workbench windows. Calling it again has no effect.
+	 */
+	public static synchronized void start() {
+		if (instance == null) {
+			instance = new CalmEditorTracker();
+			instance.track();
+		}
+	}
+
+	private void track() {
+		IWorkbench workbench = PlatformUI.getWorkbench();
+		workbench.getDisplay().asyncExec(() -> {
+			long start = StartupTrace.start();
+			workbench.addWindowListener(this);
+			for (IWorkbenchWindow window : workbench.getWorkbenchWindows()) {
+				windowOpened(window);
+			}
+			StartupTrace.end("editor tracking", start);
+		});
+	}
+
+	@Override
+	public void windowOpened(IWorkbenchWindow window) {
+		window.getPartService().addPartListener(this);
+		for (IWorkbenchPage page : window.getPages()) {
+			for (IEditorReference reference : page.getEditorReferences()) {
+				partOpened(reference);
+			}
+		}
+	}
+
+	@Override
+	public void windowClosed(IWorkbenchWindow window) {
+		window.getPartService().removePartListener(this);
+	}
+
+	@Override
+	public void windowActivated(IWorkbenchWindow window) {
+		// Nothing to do
+	}
+
+	@Override
+	public void windowDeactivated(IWorkbenchWindow window) {
+		// Nothing to do
+	}
+
+	@Override
+	public void partOpened(IWorkbenchPartReference partRef) {
+		// Restored editors are not instantiated until shown, getPart(false) skips them
+		IWorkbenchPart part = partRef.getPart(false);
+		if (!(part instanceof IEditorPart editorPart) || editors.containsKey(part)
+				|| !partRef.getId().startsWith(ADT_EDITOR_PREFIX)) {
+			return;
+		}
+		// ADT source editors are multi-page form editors exposing their source page as adapter
+		ITextEditor editor = part instanceof ITextEditor textEditor ? textEditor : part.getAdapter(ITextEditor.class);
+		if (editor == null) {
+			return;
+		}
+
+		IEditorInput input = editor.getEditorInput();
+		IDocumentProvider provider = editor.getDocumentProvider();
+		if (input == null || provider == null) {
+			return;
+		}
+		IDocument document = provider.getDocument(input);
+		IAnnotationModel annotationModel = provider.getAnnotationModel(input);
+		if (document == null || annotationModel == null) {
+			return;
+		}
+
+		try {
+			CalmIdValidator validator = new CalmIdValidator(document, annotationModel);
+			validator.install();
+			IPropertyListener saveListener = (source, propertyId) -> {
+				if (propertyId == IEditorPart.PROP_DIRTY && !editorPart.isDirty()) {
+					updateReferenceIndex(part, document);
+				}
+			};
+			editorPart.addPropertyListener(saveListener);
+			editors.put(part, new TrackedEditor(validator, saveListener));
+		} catch (Exception e) {
+			CloudAlmLinkLogger.logError("Failed to attach Cloud ALM validation to " + partRef.getId(), e);
+		}
+	}
+
+	@Override
+	public void partVisible(IWorkbenchPartReference partRef) {
+		// Restored editors are created when they become visible for the first time
+		partOpened(partRef);
+	}
+
+	@Override
+	public void partClosed(IWorkbenchPartReference partRef) {
+		IWorkbenchPart part = partRef.getPart(false);
+		TrackedEditor tracked = part != null ? editors.remove(part) : null;
+		if (tracked != null) {
+			part.removePropertyListener(tracked.saveListener());
+			tracked.validator().uninstall();
+		}
+	}
+
+	/**
+	 * Re-indexes the saved source of an ADT editor for the reference search.
+	 */
+	private static void updateReferenceIndex(IWorkbenchPart part, IDocument document) {
+		if (!(part instanceof IAdtFormEditor formEditor)) {
+			return;
+		}
+		AdtObjectContext context = AdtObjectContext.fromEditor(formEditor);
+		if (context != null && context.getObjectUri() != null) {
+			CalmReferenceService.getInstance().update(context.getProject().getName(), context.getObjectUri(),
+					document.get());
+		}
+	}
+}
@@ -0,0 +1,104 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.jface.text.BadLocationException;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentListener;
+
+import com.consetto.adt.cloudalmlink.services.PreferenceService;
+import com.consetto.adt.cloudalmlink.util.CloudAlmLinkLogger;
+
+/**
+ * Keeps a {@link CalmIdIndex} per open document up to date.
+ * The index is built when a document is first queried and afterwards only the lines
+ * touched by a document change are rescanned.
+ * <p>
+ * Documents are held weakly, so closing an editor releases its index. Neither the
+ * listener nor the index references the document.
+ */
+public final class CalmIdDocumentIndex implements IDocumentListener {
+
+	private static final Map<IDocument, CalmIdDocumentIndex> INDEXES = new WeakHashMap<>();
+
+	// Guarded by INDEXES
+	private static boolean listening;
+
+	private final CalmIdIndex index = new CalmIdIndex();
+
+	// Line-aligned range affected by the pending change, captured before the document changes
+	private int changeStart = -1;
+	private int changeLength;
+
+	private CalmIdDocumentIndex() {
+	}
+
+	/**
+	 * Gets the index of a document, building it on first access.
+	 *
+	 * @param document The document
+	 * @return The up-to-date index of the document
+	 */
+	public static CalmIdIndex forDocument(IDocument document) {
+		synchronized (INDEXES) {
+			if (!listening) {
+				// Loads the configured item types before the first scan; open documents were
+				// scanned for the previous prefixes when they change
+				PreferenceService.getInstance().addItemTypeListener(registry -> rebuildAll());
+				listening = true;
+			}
+			CalmIdDocumentIndex documentIndex = INDEXES.get(document);
+			if (documentIndex == null) {
+				documentIndex = new CalmIdDocumentIndex();
+				documentIndex.index.reset(document.get());
+				document.addDocumentListener(documentIndex);
+				INDEXES.put(document, documentIndex);
+			}
+			return documentIndex.index;
+		}
+	}
+
+	/**
+	 * Rescans all indexed documents after the registered item types changed.
+	 */
+	private static void rebuildAll() {
+		synchronized (INDEXES) {
+			INDEXES.forEach((document, documentIndex) -> documentIndex.index.reset(document.get()));
+		}
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		IDocument document = event.getDocument();
+		try {
+			// Include the previous line: changing a leading \n can merge it with a trailing \r
+			int firstLine = Math.max(0, document.getLineOfOffset(event.getOffset()) - 1);
+			int lastLine = document.getLineOfOffset(event.getOffset() + event.getLength());
+			changeStart = document.getLineOffset(firstLine);
+			changeLength = document.getLineOffset(lastLine) + document.getLineLength(lastLine) - changeStart;
+		} catch (BadLocationException e) {
+			changeStart = -1;
+		}
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		IDocument document = event.getDocument();
+		try {
+			if (changeStart >= 0) {
+				String text = event.getText() != null ? event.getText() : "";
+				int newLength = changeLength + text.length() - event.getLength();
+				index.replace(changeStart, changeLength, document.get(changeStart, newLength));
+			} else {
+				index.reset(document.get());
+			}
+		} catch (BadLocationException e) {
+			CloudAlmLinkLogger.logError("Failed to update Cloud ALM ID index", e);
+			index.reset(document.get());
+		} finally {
+			changeStart = -1;
+		}
+	}
+}
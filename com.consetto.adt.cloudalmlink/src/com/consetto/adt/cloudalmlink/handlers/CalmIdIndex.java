@@ -0,0 +1,225 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.consetto.adt.cloudalmlink.model.ItemTypeRegistry;
+import com.consetto.adt.cloudalmlink.util.AbapCommentLexer;
+
+/**
+ * Index of the Cloud ALM IDs in a text, sorted by offset.
+ * Each occurrence records its offset, the ID and whether it is inside an ABAP comment.
+ * <p>
+ * The index is built once for the whole text and then kept up to date with
+ * {@link #replace(int, int, String)}, which only rescans the changed lines and
+ * shifts the offsets of all occurrences behind them. Lookups are a binary search.
+ */
+public final class CalmIdIndex {
+
+	private static final int INITIAL_CAPACITY = 16;
+
+	/**
+	 * A Cloud ALM ID found in the text.
+	 *
+	 * @param offset The offset of the ID in the text
+	 * @param itemId The Cloud ALM ID (e.g. "6-1234")
+	 * @param inComment true if the ID is inside an ABAP comment
+	 */
+	public record Occurrence(int offset, String itemId, boolean inComment) {
+
+		/**
+		 * Gets the length of the ID.
+		 *
+		 * @return The length in characters
+		 */
+		public int length() {
+			return itemId.length();
+		}
+	}
+
+	private int[] offsets = new int[INITIAL_CAPACITY];
+	private String[] ids = new String[INITIAL_CAPACITY];
+	private boolean[] comments = new boolean[INITIAL_CAPACITY];
+	private int count;
+
+	/**
+	 * Rebuilds the index for a complete text.
+	 *
+	 * @param text The text to index, may be null
+	 */
+	public synchronized void reset(String text) {
+		Arrays.fill(ids, 0, count, null);
+		count = 0;
+		if (text != null) {
+			Scan scan = scan(text, 0);
+			ensureCapacity(scan.count);
+			copyScan(scan, 0);
+			count = scan.count;
+		}
+	}
+
+	/**
+	 * Updates the index after a range of whole lines was replaced.
+	 * Occurrences inside the old range are dropped, the new text is scanned and
+	 * all occurrences behind the range are shifted by the length difference.
+	 *
+	 * @param offset The start offset of the first replaced line
+	 * @param length The length of the replaced lines in the old text, including their delimiters
+	 * @param text The new text of the replaced lines
+	 */
+	public synchronized void replace(int offset, int length, String text) {
+		int end = offset + length;
+		int first = lowerBound(offset);
+		int last = lowerBound(end);
+
+		Scan scan = scan(text, offset);
+		int delta = text.length() - length;
+		int tail = count - last;
+		int newCount = first + scan.count + tail;
+		ensureCapacity(newCount);
+
+		// Move the occurrences behind the range into place and shift their offsets
+		int target = first + scan.count;
+		System.arraycopy(offsets, last, offsets, target, tail);
+		System.arraycopy(ids, last, ids, target, tail);
+		System.arraycopy(comments, last, comments, target, tail);
+		for (int i = target; i < newCount; i++) {
+			offsets[i] += delta;
+		}
+		copyScan(scan, first);
+
+		if (newCount < count) {
+			Arrays.fill(ids, newCount, count, null);
+		}
+		count = newCount;
+	}
+
+	/**
+	 * Finds the ID at the given offset. The offset directly behind an ID still hits it.
+	 *
+	 * @param offset The offset in the text
+	 * @return The occurrence at the offset, or null if there is none
+	 */
+	public synchronized Occurrence find(int offset) {
+		// Last occurrence starting at or before the offset
+		int index = lowerBound(offset + 1) - 1;
+		if (index < 0 || offset > offsets[index] + ids[index].length()) {
+			return null;
+		}
+		return new Occurrence(offsets[index], ids[index], comments[index]);
+	}
+
+	/**
+	 * Gets the number of indexed IDs.
+	 *
+	 * @return The number of occurrences
+	 */
+	public synchronized int size() {
+		return count;
+	}
+
+	/**
+	 * Gets the occurrence at an index position.
+	 *
+	 * @param index The position, 0 for the occurrence with the lowest offset
+	 * @return The occurrence
+	 * @throws IndexOutOfBoundsException if the position is outside the index
+	 */
+	public synchronized Occurrence get(int index) {
+		if (index < 0 || index >= count) {
+			throw new IndexOutOfBoundsException(index);
+		}
+		return new Occurrence(offsets[index], ids[index], comments[index]);
+	}
+
+	/**
+	 * Gets a consistent copy of all occurrences, e.g. to process them off the UI thread.
+	 *
+	 * @return The occurrences in offset order
+	 */
+	public synchronized List<Occurrence> occurrences() {
+		List<Occurrence> result = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			result.add(new Occurrence(offsets[i], ids[i], comments[i]));
+		}
+		return result;
+	}
+
+	/**
+	 * Gets the first index position whose offset is not less than the given offset.
+	 */
+	private int lowerBound(int offset) {
+		int low = 0;
+		int high = count;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (offsets[mid] < offset) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Copies scanned occurrences to a position; the caller has made room for them.
+	 */
+	private void copyScan(Scan scan, int position) {
+		System.arraycopy(scan.offsets, 0, offsets, position, scan.count);
+		System.arraycopy(scan.ids, 0, ids, position, scan.count);
+		System.arraycopy(scan.comments, 0, comments, position, scan.count);
+	}
+
+	private void ensureCapacity(int capacity) {
+		if (capacity > offsets.length) {
+			int newLength = Math.max(capacity, offsets.length * 2);
+			offsets = Arrays.copyOf(offsets, newLength);
+			ids = Arrays.copyOf(ids, newLength);
+			comments = Arrays.copyOf(comments, newLength);
+		}
+	}
+
+	/**
+	 * Scans text for Cloud ALM IDs with the lexer of the current {@link ItemTypeRegistry}.
+	 *
+	 * @param text The text, starting at a line start
+	 * @param base The offset of the text in the document
+	 */
+	private static Scan scan(String text, int base) {
+		Scan scan = new Scan(text, base);
+		ItemTypeRegistry.getCurrent().lexer().scan(text, 0, text.length(), scan);
+		return scan;
+	}
+
+	/**
+	 * Occurrences collected while scanning text.
+	 */
+	private static final class Scan implements AbapCommentLexer.IdSink {
+		final String text;
+		final int base;
+		int[] offsets = new int[4];
+		String[] ids = new String[4];
+		boolean[] comments = new boolean[4];
+		int count;
+
+		Scan(String text, int base) {
+			this.text = text;
+			this.base = base;
+		}
+
+		@Override
+		public void id(int start, int end, boolean inComment) {
+			if (count == offsets.length) {
+				offsets = Arrays.copyOf(offsets, count * 2);
+				ids = Arrays.copyOf(ids, count * 2);
+				comments = Arrays.copyOf(comments, count * 2);
+			}
+			offsets[count] = base + start;
+			ids[count] = text.substring(start, end);
+			comments[count] = inComment;
+			count++;
+		}
+	}
+}
@@ -0,0 +1,160 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.text.DocumentEvent;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
+import org.eclipse.jface.text.IDocumentListener;
+import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.source.Annotation;
+import org.eclipse.jface.text.source.IAnnotationModel;
+import org.eclipse.jface.text.source.IAnnotationModelExtension;
+
+import com.consetto.adt.cloudalmlink.model.CloudAlmItem;
+import com.consetto.adt.cloudalmlink.services.CloudAlmLookupService;
+import com.consetto.adt.cloudalmlink.services.PreferenceService;
+
+/**
+ * Validates the Cloud ALM IDs referenced in the comments of one editor document and
+ * flags unknown and closed items with warning annotations.
+ * <p>
+ * Edits reschedule a single validation job after a short delay, so a burst of keystrokes
+ * results in one validation. Each run resolves all referenced IDs through the
+ * {@link CloudAlmLookupService}; only IDs that are not cached yet are requested, in one
+ * batched request per item type.
+ */
+public final class CalmIdValidator implements IDocumentListener {
+
+	/** Annotation type for problematic Cloud ALM references, declared in plugin.xml */
+	public static final String ANNOTATION_TYPE = "com.consetto.adt.cloudalmlink.invalidId";
+
+	private static final long VALIDATION_DELAY_MS = 750;
+
+	private final IDocument document;
+	private final IAnnotationModel annotationModel;
+	private final ValidationJob job = new ValidationJob();
+	private Annotation[] annotations = new Annotation[0];
+	private volatile boolean installed;
+
+	/**
+	 * Creates a validator for an editor document.
+	 *
+	 * @param document The document to validate
+	 * @param annotationModel The annotation model of the editor showing the document
+	 */
+	public CalmIdValidator(IDocument document, IAnnotationModel annotationModel) {
+		this.document = document;
+		this.annotationModel = annotationModel;
+	}
+
+	/**
+	 * Starts listening to the document and runs a first validation.
+	 */
+	public void install() {
+		// Build the ID index on the UI thread before the first background run reads it
+		CalmIdDocumentIndex.forDocument(document);
+		installed = true;
+		document.addDocumentListener(this);
+		job.schedule();
+	}
+
+	/**
+	 * Stops validating and removes all annotations of this validator.
+	 */
+	public void uninstall() {
+		document.removeDocumentListener(this);
+		job.cancel();
+		synchronized (this) {
+			installed = false;
+			replaceAnnotations(Map.of());
+		}
+	}
+
+	@Override
+	public void documentAboutToBeChanged(DocumentEvent event) {
+		// Validation runs after the change
+	}
+
+	@Override
+	public void documentChanged(DocumentEvent event) {
+		// Restart the delay; a running validation finishes and is followed by one more run
+		job.cancel();
+		job.schedule(VALIDATION_DELAY_MS);
+	}
+
+	private long modificationStamp() {
+		return document instanceof IDocumentExtension4 extension
+				? extension.getModificationStamp()
+				: IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
+	/**
+	 * Replaces the annotations of this validator in one model update.
+	 */
+	private synchronized void replaceAnnotations(Map<Annotation, Position> newAnnotations) {
+		if (annotationModel instanceof IAnnotationModelExtension extension) {
+			extension.replaceAnnotations(annotations, newAnnotations);
+		} else {
+			for (Annotation annotation : annotations) {
+				annotationModel.removeAnnotation(annotation);
+			}
+			newAnnotations.forEach(annotationModel::addAnnotation);
+		}
+		annotations = newAnnotations.keySet().toArray(new Annotation[0]);
+	}
+
+	/**
+	 * Background job collecting, resolving and flagging the referenced IDs.
+	 */
+	private class ValidationJob extends Job {
+
+		ValidationJob() {
+			super("Validating Cloud ALM references");
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (!PreferenceService.getInstance().isIdValidationEnabled()) {
+				synchronized (CalmIdValidator.this) {
+					if (installed) {
+						replaceAnnotations(Map.of());
+					}
+				}
+				return Status.OK_STATUS;
+			}
+
+			long stamp = modificationStamp();
+			List<CalmIdIndex.Occurrence> occurrences = CalmIdDocumentIndex.forDocument(document).occurrences();
+			Set<String> itemIds = CalmIdValidation.referencedIds(occurrences);
+			Map<String, CloudAlmItem> items = itemIds.isEmpty()
+					? Map.of()
+					: CloudAlmLookupService.getInstance().resolveAll(itemIds);
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+
+			Map<Annotation, Position> newAnnotations = new HashMap<>();
+			for (CalmIdValidation.Problem problem : CalmIdValidation.validate(occurrences, items)) {
+				newAnnotations.put(new Annotation(ANNOTATION_TYPE, false, problem.message()),
+						new Position(problem.offset(), problem.length()));
+			}
+
+			// Offsets are only valid for the document state they were collected from
+			synchronized (CalmIdValidator.this) {
+				if (installed && stamp == modificationStamp()) {
+					replaceAnnotations(newAnnotations);
+				}
+			}
+			return Status.OK_STATUS;
+		}
+	}
+}
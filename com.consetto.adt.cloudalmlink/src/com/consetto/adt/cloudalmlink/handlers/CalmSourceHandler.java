@@ -3,6 +3,7 @@ package com.consetto.adt.cloudalmlink.handlers;
 import java.net.URI;
 import java.net.URLDecoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -10,6 +11,8 @@ import java.util.regex.Pattern;
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.ui.IWorkbenchPage;
@@ -21,6 +24,8 @@ import org.eclipse.ui.handlers.HandlerUtil;
 import com.consetto.adt.cloudalmlink.handlers.AdtObjectContext.AtomLink;
 import com.consetto.adt.cloudalmlink.model.DemoDataProvider;
 import com.consetto.adt.cloudalmlink.model.VersionData;
+import com.consetto.adt.cloudalmlink.services.PreferenceService;
+import com.consetto.adt.cloudalmlink.util.Deadline;
 import com.consetto.adt.cloudalmlink.views.TransportView;
 import com.sap.adt.communication.message.HeadersFactory;
 import com.sap.adt.communication.message.IHeaders;
@@ -36,6 +41,10 @@ import com.sap.adt.tools.core.ui.editors.IAdtFormEditor;
  * Unified command handler for displaying transports and features associated with ABAP source code.
  * Handles both editor context (active ADT editor) and Project Explorer selection.
  * Retrieves version data from ADT using atom links and displays results in the TransportView.
+ * <p>
+ * Each invocation has a time budget, configured in the preferences, shared by the ADT requests,
+ * the OAuth token request and the feature lookups. Features not looked up when it runs out are
+ * shown as not resolved instead of holding up the view.
  */
 public class CalmSourceHandler extends AbstractHandler {
 
@@ -76,15 +85,20 @@ public class CalmSourceHandler extends AbstractHandler {
 		String destination = context.getDestination();
 		IRestResourceFactory restResourceFactory = AdtRestResourceFactory.createRestResourceFactory();
 
-		// STEP 1: Fetch the ACTIVE version's transport from /transports endpoint
-		String activeTransportId = fetchActiveTransport(urls.transportsURL, destination, restResourceFactory);
+		// The budget starts after logon, which may wait for the user to enter a password
+		Duration timeout = PreferenceService.getInstance().getShowTransportsTimeout();
+		Deadline deadline = Deadline.after(timeout);
 
-		// STEP 2: Fetch released versions from /versions endpoint
-		VersionData versions = fetchVersions(urls.versionsURL, destination, restResourceFactory, window);
+		// STEP 1: Fetch the ACTIVE version's transport from /transports endpoint
+		String activeTransportId = fetchActiveTransport(urls.transportsURL, destination, restResourceFactory, deadline);
 
-		// STEP 3: Add active transport as first entry if found
-		if (versions != null && activeTransportId != null) {
-			versions.addActiveVersion(activeTransportId);
+		// STEP 2: Fetch released versions from /versions endpoint, with the active transport as first entry
+		VersionData versions = fetchVersions(urls.versionsURL, activeTransportId, destination, restResourceFactory,
+				window, deadline);
+		if (versions == null && deadline.isExpired()) {
+			MessageDialog.openError(window.getShell(), "ADT Cloud ALM Link Error",
+					"Reading the versions took longer than " + timeout.toSeconds() + " seconds");
+			return null;
 		}
 
 		// Display results in TransportView
@@ -329,11 +343,12 @@ public class CalmSourceHandler extends AbstractHandler {
 	 * @param transportsURL The transports endpoint URL
 	 * @param destination The ABAP destination ID
 	 * @param restResourceFactory The REST resource factory
+	 * @param deadline The time by which the request has to complete
 	 * @return The transport ID if found, null otherwise
 	 */
 	private String fetchActiveTransport(String transportsURL, String destination,
-			IRestResourceFactory restResourceFactory) {
-		if (transportsURL == null) {
+			IRestResourceFactory restResourceFactory, Deadline deadline) {
+		if (transportsURL == null || deadline.isExpired()) {
 			return null;
 		}
 
@@ -346,7 +361,7 @@ public class CalmSourceHandler extends AbstractHandler {
 			IField transportAcceptField = HeadersFactory.newField("Accept", "application/vnd.sap.as+xml");
 			transportHeader.setField(transportAcceptField);
 
-			IMessageBody transportBody = transportResource.get(null, transportHeader, IMessageBody.class);
+			IMessageBody transportBody = transportResource.get(deadlineMonitor(deadline), transportHeader, IMessageBody.class);
 			if (transportBody != null) {
 				byte[] bytes = transportBody.getContent().readAllBytes();
 				String transportResponse = new String(bytes, StandardCharsets.UTF_8);
@@ -398,19 +413,24 @@ public class CalmSourceHandler extends AbstractHandler {
 	 * Fetches version data from the versions endpoint.
 	 *
 	 * @param versionsURL The versions endpoint URL
+	 * @param activeTransportId The transport of the active version, or null if it has none
 	 * @param destination The ABAP destination ID
 	 * @param restResourceFactory The REST resource factory
 	 * @param window The workbench window for error dialogs
-	 * @return The parsed version data, or null on error
+	 * @param deadline The time by which the versions and their features have to be read
+	 * @return The parsed version data, or null on error or if the deadline passed
 	 */
-	private VersionData fetchVersions(String versionsURL, String destination,
-			IRestResourceFactory restResourceFactory, IWorkbenchWindow window) {
+	private VersionData fetchVersions(String versionsURL, String activeTransportId, String destination,
+			IRestResourceFactory restResourceFactory, IWorkbenchWindow window, Deadline deadline) {
+		if (deadline.isExpired()) {
+			return null;
+		}
 		try {
 			URI versionUri = URI.create(versionsURL);
 			IRestResource versionResource = restResourceFactory.createResourceWithStatelessSession(
 					versionUri, destination);
 
-			VersionDataContentHandler versionHandler = new VersionDataContentHandler();
+			VersionDataContentHandler versionHandler = new VersionDataContentHandler(deadline, activeTransportId);
 			versionResource.addContentHandler(versionHandler);
 
 			IHeaders requestHeader = HeadersFactory.newHeaders();
@@ -418,14 +438,31 @@ public class CalmSourceHandler extends AbstractHandler {
 					"text/html,application/xhtml+xml,application/xml;q=0.9,image/avif,image/webp,image/apng,*/*;q=0.8");
 			requestHeader.setField(acceptField);
 
-			return (VersionData) versionResource.get(null, requestHeader, VersionData.class);
+			return (VersionData) versionResource.get(deadlineMonitor(deadline), requestHeader, VersionData.class);
 		} catch (RuntimeException e) {
+			if (deadline.isExpired()) {
+				// Reported by the caller
+				return null;
+			}
 			MessageDialog.openError(window.getShell(), "ADT Cloud ALM Link Error",
 					"An exception occurred reading the versions: " + e.getMessage());
 			return null;
 		}
 	}
 
+	/**
+	 * Creates a progress monitor that reports cancellation once the deadline has passed,
+	 * so ADT aborts a request that would overrun it.
+	 */
+	private static IProgressMonitor deadlineMonitor(Deadline deadline) {
+		return new NullProgressMonitor() {
+			@Override
+			public boolean isCanceled() {
+				return super.isCanceled() || deadline.isExpired();
+			}
+		};
+	}
+
 	/**
 	 * Shows demo data in the TransportView.
 	 */
@@ -1,138 +1,152 @@
 package com.consetto.adt.cloudalmlink.handlers;
 
+import java.lang.reflect.InvocationTargetException;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.core.commands.AbstractHandler;
 import org.eclipse.core.commands.ExecutionEvent;
 import org.eclipse.core.commands.ExecutionException;
 import org.eclipse.jface.dialogs.MessageDialog;
-import org.eclipse.jface.viewers.ITreeSelection;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.window.Window;
 import org.eclipse.ui.IWorkbenchWindow;
 import org.eclipse.ui.PartInitException;
 import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.dialogs.ListSelectionDialog;
 import org.eclipse.ui.handlers.HandlerUtil;
 
+import com.consetto.adt.cloudalmlink.handlers.TransportFeatures.FeatureGroup;
+import com.consetto.adt.cloudalmlink.handlers.TransportFeatures.Grouping;
+import com.consetto.adt.cloudalmlink.handlers.TransportFeatures.Transport;
 import com.consetto.adt.cloudalmlink.model.CloudAlmConfig;
 import com.consetto.adt.cloudalmlink.model.FeatureElement;
-import com.consetto.adt.cloudalmlink.services.ICloudAlmApiService;
+import com.consetto.adt.cloudalmlink.model.ItemTypeRegistry;
+import com.consetto.adt.cloudalmlink.services.CloudAlmLookupService;
 import com.consetto.adt.cloudalmlink.services.PreferenceService;
 import com.consetto.adt.cloudalmlink.util.CloudAlmLinkLogger;
 import com.sap.adt.tm.impl.Request;
 
 /**
- * Command handler for opening a transport request's associated feature in Cloud ALM.
- * Fetches the feature via Cloud ALM API or falls back to description parsing.
+ * Command handler for opening the features of the selected transport requests in Cloud ALM.
+ * The features of all selected transports are resolved with one cached lookup; the description is
+ * parsed only for transports the API did not resolve. Up to {@value #MAX_FEATURES_WITHOUT_PICKER}
+ * distinct features are opened directly, more are offered in a picker.
  */
 public class CalmTransportHandler extends AbstractHandler {
 
-	private ICloudAlmApiService apiService;
+	private static final int MAX_FEATURES_WITHOUT_PICKER = 3;
 
 	@Override
 	public Object execute(ExecutionEvent event) throws ExecutionException {
 		// Get configuration using service layer
 		CloudAlmConfig config = PreferenceService.getInstance().getCloudAlmConfig();
+		IWorkbenchWindow window = HandlerUtil.getActiveWorkbenchWindowChecked(event);
 
 		if (!config.hasConnectionSettings()) {
-			IWorkbenchWindow window = HandlerUtil.getActiveWorkbenchWindowChecked(event);
 			MessageDialog.openWarning(window.getShell(), "Cloud ALM Link",
 					"Cloud ALM connection is not configured. Please configure tenant and region in preferences.");
 			return null;
 		}
 
-		IWorkbenchWindow window = HandlerUtil.getActiveWorkbenchWindowChecked(event);
-		ITreeSelection selection = (ITreeSelection) window.getSelectionService().getSelection();
-
-		if (selection.size() == 1) {
-			Object selObject = selection.getFirstElement();
-
-			if (selObject instanceof Request req) {
-				String transportId = req.getNumber();
-				String featureId = getFeatureFromApi(transportId);
+		List<Transport> transports = getSelectedTransports(window);
+		if (transports.isEmpty()) {
+			return null;
+		}
 
-				// Fall back to description parsing if API lookup fails
-				if (featureId == null) {
-					featureId = getFeatureFromDescription(req.getDesc());
-				}
+		Map<String, FeatureElement> resolved = resolveFeatures(window, transports);
+		if (resolved == null) {
+			return null;
+		}
+		Grouping grouping = TransportFeatures.group(transports, resolved);
 
-				if (featureId != null) {
-					// Use centralized URL building from CloudAlmConfig
-					String calmURL = config.featureUrl(featureId);
-					try {
-						PlatformUI.getWorkbench().getBrowserSupport().getExternalBrowser().openURL(new URL(calmURL));
-					} catch (PartInitException | MalformedURLException e) {
-						CloudAlmLinkLogger.logError("Failed to open browser for URL: " + calmURL, e);
-						MessageDialog.openError(window.getShell(), "Cloud ALM Link",
-								"Could not open browser. Please check the Error Log for details.");
-					}
-				} else {
-					MessageDialog.openInformation(window.getShell(), "Cloud ALM Link",
-							"No feature found for transport " + transportId);
-				}
-			}
+		if (grouping.features().isEmpty()) {
+			MessageDialog.openInformation(window.getShell(), "Cloud ALM Link",
+					"No feature found for transport " + String.join(", ", grouping.withoutFeature()));
+			return null;
 		}
 
+		List<FeatureGroup> features = grouping.features();
+		if (features.size() > MAX_FEATURES_WITHOUT_PICKER) {
+			features = pickFeatures(window, features);
+		}
+		for (FeatureGroup feature : features) {
+			openFeature(window, feature.featureId(), config);
+		}
 		return null;
 	}
 
 	/**
-	 * Gets or creates the API service instance.
-	 *
-	 * @return The Cloud ALM API service
+	 * Collects the transport requests of the current selection.
 	 */
-	private ICloudAlmApiService getApiService() {
-		if (apiService == null) {
-			apiService = new CalmApiHandler();
+	private static List<Transport> getSelectedTransports(IWorkbenchWindow window) {
+		List<Transport> transports = new ArrayList<>();
+		if (window.getSelectionService().getSelection() instanceof IStructuredSelection selection) {
+			for (Object selObject : selection) {
+				if (selObject instanceof Request req && req.getNumber() != null && !req.getNumber().isEmpty()) {
+					transports.add(new Transport(req.getNumber(), req.getDesc()));
+				}
+			}
 		}
-		return apiService;
+		return transports;
 	}
 
 	/**
-	 * Fetches the Cloud ALM feature ID via API for the given transport.
+	 * Resolves the features of the transports with a busy cursor, showing progress if it takes longer.
 	 *
-	 * @param transportId The transport request ID (e.g., "S4DK911940")
-	 * @return The feature displayId if found, null otherwise
+	 * @return The features by transport ID, or null if the lookup was canceled
 	 */
-	private String getFeatureFromApi(String transportId) {
-		if (transportId == null || transportId.isEmpty()) {
+	private static Map<String, FeatureElement> resolveFeatures(IWorkbenchWindow window, List<Transport> transports) {
+		List<String> transportIds = transports.stream().map(Transport::id).toList();
+		Map<String, FeatureElement> resolved = new HashMap<>();
+		try {
+			PlatformUI.getWorkbench().getProgressService().busyCursorWhile(
+					monitor -> resolved.putAll(CloudAlmLookupService.getInstance().resolveFeatures(transportIds)));
+		} catch (InvocationTargetException e) {
+			// Fall back to the descriptions of all transports
+			CloudAlmLinkLogger.logError("Failed to look up the features of transports " + transportIds, e.getCause());
+		} catch (InterruptedException e) {
 			return null;
 		}
-
-		FeatureElement feature = getApiService().getFeature(transportId);
-		if (feature != null) {
-			return feature.getDisplayId();
-		}
-		return null;
+		return resolved;
 	}
 
 	/**
-	 * Extracts the Cloud ALM feature ID from a transport description.
-	 * Feature IDs follow the pattern "6-NNNN" (e.g., "6-123").
-	 * (Fallback method if API lookup fails.)
+	 * Lets the user choose which of many features to open.
 	 *
-	 * @param descr The transport request description
-	 * @return The feature ID if found and valid, null otherwise
+	 * @return The chosen features, empty if the picker was canceled
 	 */
-	private String getFeatureFromDescription(String descr) {
-		if (descr == null || descr.isEmpty()) {
-			return null;
+	private static List<FeatureGroup> pickFeatures(IWorkbenchWindow window, List<FeatureGroup> features) {
+		ListSelectionDialog dialog = ListSelectionDialog.of(features)
+				.contentProvider(ArrayContentProvider.getInstance())
+				.labelProvider(LabelProvider.createTextProvider(feature -> ((FeatureGroup) feature).label()))
+				.message("The selected transports belong to " + features.size() + " features. Select the features to open:")
+				.title("Open in Cloud ALM")
+				.create(window.getShell());
+		if (dialog.open() != Window.OK) {
+			return List.of();
 		}
-
-		String[] descrSplit = descr.split(":");
-		String feature = descrSplit[0];
-
-		if (feature.matches("^6-\\d+$")) {
-			return feature;
+		List<FeatureGroup> chosen = new ArrayList<>();
+		for (Object feature : dialog.getResult()) {
+			chosen.add((FeatureGroup) feature);
 		}
-		return null;
+		return chosen;
 	}
 
-	@Override
-	public void dispose() {
-		if (apiService != null) {
-			apiService.close();
-			apiService = null;
+	private static void openFeature(IWorkbenchWindow window, String featureId, CloudAlmConfig config) {
+		String calmURL = ItemTypeRegistry.getCurrent().buildUrl(featureId, config);
+		try {
+			PlatformUI.getWorkbench().getBrowserSupport().getExternalBrowser().openURL(new URL(calmURL));
+		} catch (PartInitException | MalformedURLException e) {
+			CloudAlmLinkLogger.logError("Failed to open browser for URL: " + calmURL, e);
+			MessageDialog.openError(window.getShell(), "Cloud ALM Link",
+					"Could not open browser. Please check the Error Log for details.");
 		}
-		super.dispose();
 	}
 }
@@ -0,0 +1,82 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.PreferenceChangeEvent;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.ui.IStartup;
+
+import com.consetto.adt.cloudalmlink.CloudAlmLinkConstants;
+import com.consetto.adt.cloudalmlink.preferences.PreferenceConstants;
+import com.consetto.adt.cloudalmlink.services.CalmReferenceService;
+import com.consetto.adt.cloudalmlink.services.CloudAlmLookupService;
+import com.consetto.adt.cloudalmlink.services.FeaturePrefetchService;
+import com.consetto.adt.cloudalmlink.util.StartupTrace;
+
+/**
+ * The only startup hook of the plugin. Starts what has to run with the workbench, if enabled:
+ * the {@link CalmEditorTracker} for ID validation and reference index updates, the
+ * {@link FeaturePrefetchService} and the connection warm-up.
+ * <p>
+ * The options are read from the preference node, so with all of them disabled the hook neither
+ * initializes the preference service nor the Cloud ALM client and its limits. Options enabled later
+ * are picked up from the preference node as well.
+ */
+public class CloudAlmStartup implements IStartup {
+
+	// Leaves the first seconds after startup to the workbench
+	private static final long WARM_UP_DELAY_MS = 5_000;
+
+	@Override
+	public void earlyStartup() {
+		long start = StartupTrace.start();
+		// A saved index is kept up to date even with ID validation disabled
+		if (isEnabled(PreferenceConstants.P_VALIDATE_IDS) || CalmReferenceService.isIndexSaved()) {
+			CalmEditorTracker.start();
+		}
+		if (isEnabled(PreferenceConstants.P_PREFETCH_FEATURES)) {
+			FeaturePrefetchService.getInstance().start();
+		}
+		if (isEnabled(PreferenceConstants.P_WARM_UP_CONNECTIONS)) {
+			warmUp();
+		}
+		InstanceScope.INSTANCE.getNode(CloudAlmLinkConstants.PREFERENCE_QUALIFIER)
+				.addPreferenceChangeListener(this::preferenceChanged);
+		StartupTrace.end("startup hook", start);
+	}
+
+	/**
+	 * Starts the editor tracking or the prefetching when it is enabled after startup.
+	 */
+	private void preferenceChanged(PreferenceChangeEvent event) {
+		if (!isEnabled(event.getKey())) {
+			return;
+		}
+		if (PreferenceConstants.P_VALIDATE_IDS.equals(event.getKey())) {
+			CalmEditorTracker.start();
+		} else if (PreferenceConstants.P_PREFETCH_FEATURES.equals(event.getKey())) {
+			FeaturePrefetchService.getInstance().start();
+		}
+	}
+
+	/**
+	 * Connects to Cloud ALM in the background, so the first "Show Transports and Features" does not
+	 * wait for DNS, TLS handshakes and the OAuth token.
+	 */
+	private static void warmUp() {
+		Job job = Job.create("Connecting to Cloud ALM", monitor -> {
+			CloudAlmLookupService.getInstance().warmUp();
+			return Status.OK_STATUS;
+		});
+		job.setSystem(true);
+		job.setPriority(Job.DECORATE);
+		job.schedule(WARM_UP_DELAY_MS);
+	}
+
+	private static boolean isEnabled(String key) {
+		// Also reads the default scope, filled by the preference initializer
+		return Platform.getPreferencesService().getBoolean(CloudAlmLinkConstants.PREFERENCE_QUALIFIER, key, false,
+				null);
+	}
+}
@@ -0,0 +1,135 @@
+package com.consetto.adt.cloudalmlink.handlers;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import com.consetto.adt.cloudalmlink.model.FeatureElement;
+
+/**
+ * Groups selected transports by their Cloud ALM feature for "Open in Cloud ALM" and formats
+ * the feature shown next to transports in the Transport Organizer.
+ * Features come from the API; the description ({@code 6-1234: ...}) is only used for
+ * transports the API did not resolve.
+ */
+public final class TransportFeatures {
+
+	private static final Pattern FEATURE_PATTERN = Pattern.compile("^6-\\d+$");
+
+	/**
+	 * A selected transport request.
+	 *
+	 * @param id The transport request ID (e.g. "S4DK911940")
+	 * @param description The transport description, may be null
+	 */
+	public record Transport(String id, String description) {
+	}
+
+	/**
+	 * A feature and the selected transports belonging to it.
+	 *
+	 * @param featureId The feature display ID
+	 * @param title The feature title, or null if the feature was taken from a description
+	 * @param transportIds The transports in selection order
+	 */
+	public record FeatureGroup(String featureId, String title, List<String> transportIds) {
+
+		/**
+		 * Gets the label shown in the feature picker.
+		 *
+		 * @return e.g. "6-1234 Order import (2 transports)"
+		 */
+		public String label() {
+			StringBuilder label = new StringBuilder(featureId);
+			if (title != null && !title.isEmpty()) {
+				label.append(' ').append(title);
+			}
+			int count = transportIds.size();
+			return label.append(" (").append(count).append(count == 1 ? " transport)" : " transports)").toString();
+		}
+	}
+
+	/**
+	 * The result of grouping a selection.
+	 *
+	 * @param features The distinct features in order of their first transport
+	 * @param withoutFeature The transports neither the API nor the description assigns to a feature
+	 */
+	public record Grouping(List<FeatureGroup> features, List<String> withoutFeature) {
+	}
+
+	private TransportFeatures() {
+	}
+
+	/**
+	 * Groups transports by feature.
+	 *
+	 * @param transports The selected transports
+	 * @param resolved The features by transport ID as returned by the API; null values, unavailable
+	 *        markers, features without display ID and missing transports fall back to the
+	 *        description
+	 * @return The grouping
+	 */
+	public static Grouping group(List<Transport> transports, Map<String, FeatureElement> resolved) {
+		Map<String, FeatureGroup> groups = new LinkedHashMap<>();
+		List<String> withoutFeature = new ArrayList<>();
+		for (Transport transport : transports) {
+			FeatureElement feature = resolved.get(transport.id());
+			// A feature without display ID cannot be opened; treat the transport as unresolved
+			if (feature != null && (feature.isUnavailable() || feature.getDisplayId() == null)) {
+				feature = null;
+			}
+			String featureId = feature != null ? feature.getDisplayId() : featureFromDescription(transport.description());
+			if (featureId == null) {
+				if (!withoutFeature.contains(transport.id())) {
+					withoutFeature.add(transport.id());
+				}
+				continue;
+			}
+			String title = feature != null ? feature.getTitle() : null;
+			FeatureGroup group = groups.get(featureId);
+			if (group == null || (group.title() == null && title != null)) {
+				group = new FeatureGroup(featureId, title, group != null ? group.transportIds() : new ArrayList<>());
+				groups.put(featureId, group);
+			}
+			if (!group.transportIds().contains(transport.id())) {
+				group.transportIds().add(transport.id());
+			}
+		}
+		return new Grouping(List.copyOf(groups.values()), withoutFeature);
+	}
+
+	/**
+	 * Builds the suffix appended to transport requests in the Transport Organizer.
+	 *
+	 * @param feature The feature of the transport, may be null
+	 * @return e.g. " [6-1234 IN_PROGRESS]", or null if there is no feature
+	 */
+	public static String decorationSuffix(FeatureElement feature) {
+		if (feature == null || feature.getDisplayId() == null) {
+			return null;
+		}
+		StringBuilder suffix = new StringBuilder(" [").append(feature.getDisplayId());
+		if (feature.getStatus() != null && !feature.getStatus().isEmpty()) {
+			suffix.append(' ').append(feature.getStatus());
+		}
+		return suffix.append(']').toString();
+	}
+
+	/**
+	 * Extracts the Cloud ALM feature ID from a transport description.
+	 * Feature IDs follow the pattern "6-NNNN" (e.g., "6-123") and precede the first colon.
+	 *
+	 * @param description The transport request description
+	 * @return The feature ID if found and valid, null otherwise
+	 */
+	public static String featureFromDescription(String description) {
+		if (description == null || description.isEmpty()) {
+			return null;
+		}
+		String feature = description.split(":")[0];
+		return FEATURE_PATTERN.matcher(feature).matches() ? feature : null;
+	}
+}
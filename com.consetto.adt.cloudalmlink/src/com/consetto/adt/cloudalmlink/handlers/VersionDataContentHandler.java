@@ -3,6 +3,7 @@ package com.consetto.adt.cloudalmlink.handlers;
 import java.nio.charset.Charset;
 
 import com.consetto.adt.cloudalmlink.model.VersionData;
+import com.consetto.adt.cloudalmlink.util.Deadline;
 import com.sap.adt.communication.content.AdtMediaType;
 import com.sap.adt.communication.content.IContentHandler;
 import com.sap.adt.communication.message.IMessageBody;
@@ -13,13 +14,40 @@ import com.sap.adt.communication.message.IMessageBody;
  */
 public class VersionDataContentHandler implements IContentHandler<VersionData> {
 
+	private final Deadline deadline;
+	private final String activeTransportId;
+
+	/**
+	 * Creates a content handler looking up features without a deadline.
+	 */
+	public VersionDataContentHandler() {
+		this(Deadline.none());
+	}
+
+	/**
+	 * Creates a content handler looking up features within a deadline.
+	 *
+	 * @param deadline The time by which the features of the versions have to be looked up
+	 */
+	public VersionDataContentHandler(Deadline deadline) {
+		this(deadline, null);
+	}
+
+	/**
+	 * Creates a content handler adding the active version to the versions read.
+	 *
+	 * @param deadline The time by which the features of the versions have to be looked up
+	 * @param activeTransportId The transport of the active version, or null if it has none
+	 */
+	public VersionDataContentHandler(Deadline deadline, String activeTransportId) {
+		this.deadline = deadline;
+		this.activeTransportId = activeTransportId;
+	}
+
 	@Override
 	public VersionData deserialize(IMessageBody body, Class<? extends VersionData> dataType) {
-		// Create new VersionData instance using factory method
-		VersionData versionData = VersionData.fromMessageBody(body);
-		// Update shared instance for backward compatibility
-		VersionData.setInstance(versionData);
-		return versionData;
+		// Each response gets its own instance, so concurrent requests do not share state
+		return VersionData.fromMessageBody(body, activeTransportId, deadline);
 	}
 
 	@Override
@@ -5,14 +5,30 @@ import com.consetto.adt.cloudalmlink.CloudAlmLinkConstants;
 /**
  * Immutable configuration record for Cloud ALM connection settings.
  * Centralizes URL building logic that was previously duplicated across multiple classes.
+ * <p>
+ * {@link com.consetto.adt.cloudalmlink.services.PreferenceService} keeps one snapshot and replaces it
+ * when a preference changes, so readers never touch the preference store.
  */
 public record CloudAlmConfig(
 		String tenant,
 		String region,
 		String clientId,
-		String clientSecret
+		String clientSecret,
+		boolean demoMode
 ) {
 
+	/**
+	 * Creates a configuration with demo mode disabled.
+	 *
+	 * @param tenant The Cloud ALM tenant
+	 * @param region The Cloud ALM region
+	 * @param clientId The OAuth client ID
+	 * @param clientSecret The OAuth client secret
+	 */
+	public CloudAlmConfig(String tenant, String region, String clientId, String clientSecret) {
+		this(tenant, region, clientId, clientSecret, false);
+	}
+
 	/**
 	 * Checks if the configuration has all required fields populated.
 	 *
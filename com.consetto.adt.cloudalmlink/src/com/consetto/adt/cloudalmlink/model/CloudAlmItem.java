@@ -0,0 +1,56 @@
+package com.consetto.adt.cloudalmlink.model;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Summary of a Cloud ALM item (feature, task, document or library element) referenced by its display ID.
+ * Deserialized from Cloud ALM API responses via Gson; the different item APIs name
+ * the status and responsible fields differently, which the alternate names cover.
+ */
+public class CloudAlmItem {
+
+	private String displayId;
+	private String title;
+
+	@SerializedName(value = "statusCode", alternate = { "status" })
+	private String statusCode;
+
+	@SerializedName(value = "responsibleId", alternate = { "assigneeId", "responsible" })
+	private String responsibleId;
+
+	public CloudAlmItem() {
+	}
+
+	public CloudAlmItem(String displayId, String title, String statusCode, String responsibleId) {
+		this.displayId = displayId;
+		this.title = title;
+		this.statusCode = statusCode;
+		this.responsibleId = responsibleId;
+	}
+
+	/**
+	 * Creates an item summary from a feature.
+	 *
+	 * @param feature The feature
+	 * @return The item summary
+	 */
+	public static CloudAlmItem fromFeature(FeatureElement feature) {
+		return new CloudAlmItem(feature.getDisplayId(), feature.getTitle(), feature.getStatus(), feature.getResponsibleId());
+	}
+
+	public String getDisplayId() {
+		return displayId;
+	}
+
+	public String getTitle() {
+		return title;
+	}
+
+	public String getStatus() {
+		return statusCode;
+	}
+
+	public String getResponsibleId() {
+		return responsibleId;
+	}
+}
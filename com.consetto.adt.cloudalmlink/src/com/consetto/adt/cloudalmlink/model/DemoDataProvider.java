@@ -3,10 +3,7 @@ package com.consetto.adt.cloudalmlink.model;
 import java.util.ArrayList;
 import java.util.List;
 
-import org.eclipse.core.runtime.preferences.InstanceScope;
-import org.eclipse.ui.preferences.ScopedPreferenceStore;
-
-import com.consetto.adt.cloudalmlink.preferences.PreferenceConstants;
+import com.consetto.adt.cloudalmlink.services.PreferenceService;
 
 /**
  * Provides demo data for testing the Cloud ALM Link plugin.
@@ -23,9 +20,7 @@ public class DemoDataProvider {
 	 * @return true if demo mode is enabled
 	 */
 	public static boolean isDemoModeEnabled() {
-		ScopedPreferenceStore scopedPreferenceStore = new ScopedPreferenceStore(InstanceScope.INSTANCE,
-				"com.consetto.adt.cloudalmlink.preferences.CloudAlmPeferencePage");
-		return scopedPreferenceStore.getBoolean(PreferenceConstants.P_DEMO);
+		return PreferenceService.getInstance().getCloudAlmConfig().demoMode();
 	}
 
 	/**
@@ -103,4 +98,35 @@ public class DemoDataProvider {
 
 		return demoVersions;
 	}
+
+	/**
+	 * Finds a demo Cloud ALM item by its display ID.
+	 *
+	 * @param itemId The item ID (e.g., "6-1234")
+	 * @return The demo item, or null if there is no demo item with this ID
+	 */
+	public static CloudAlmItem getDemoItem(String itemId) {
+		for (VersionElement version : getDemoVersions()) {
+			FeatureElement feature = version.getFeature();
+			if (feature != null && feature.getDisplayId().equals(itemId)) {
+				return CloudAlmItem.fromFeature(feature);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Finds the demo feature of a transport.
+	 *
+	 * @param transportId The transport request ID
+	 * @return The demo feature, or null if the transport has no demo feature
+	 */
+	public static FeatureElement getDemoFeature(String transportId) {
+		for (VersionElement version : getDemoVersions()) {
+			if (transportId.equals(version.getTransportId())) {
+				return version.getFeature();
+			}
+		}
+		return null;
+	}
 }
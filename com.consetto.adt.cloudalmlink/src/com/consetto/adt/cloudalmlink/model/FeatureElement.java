@@ -21,6 +21,52 @@ public class FeatureElement {
 	private String releaseId;
 	private String workstreamId;
 
+	// Not part of the API response; set only on the markers for lookups that could not be made or finished
+	private transient boolean unavailable;
+	private transient boolean timedOut;
+
+	/**
+	 * Creates a marker for a transport whose feature could not be looked up because Cloud ALM
+	 * is unavailable. The marker has no display ID and must not be cached.
+	 *
+	 * @return A new unavailable marker
+	 */
+	public static FeatureElement unavailable() {
+		FeatureElement feature = new FeatureElement();
+		feature.unavailable = true;
+		return feature;
+	}
+
+	/**
+	 * Checks whether this is a marker for a lookup that failed fast while Cloud ALM was unavailable.
+	 *
+	 * @return true for the marker created by {@link #unavailable()}
+	 */
+	public boolean isUnavailable() {
+		return unavailable;
+	}
+
+	/**
+	 * Creates a marker for a transport whose feature was not looked up before the deadline of the
+	 * lookup passed. The marker has no display ID and must not be cached.
+	 *
+	 * @return A new timed-out marker
+	 */
+	public static FeatureElement timedOut() {
+		FeatureElement feature = new FeatureElement();
+		feature.timedOut = true;
+		return feature;
+	}
+
+	/**
+	 * Checks whether this is a marker for a lookup that did not finish before its deadline.
+	 *
+	 * @return true for the marker created by {@link #timedOut()}
+	 */
+	public boolean isTimedOut() {
+		return timedOut;
+	}
+
 	public void setUuid(String uuid) {
 		this.uuid = uuid;
 	}
@@ -77,6 +123,10 @@ public class FeatureElement {
 		return displayId;
 	}
 
+	public String getTitle() {
+		return title;
+	}
+
 	public String getStatus() {
 		return statusCode;
 	}
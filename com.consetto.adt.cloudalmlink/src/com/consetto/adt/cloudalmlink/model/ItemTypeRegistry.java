@@ -0,0 +1,180 @@
+package com.consetto.adt.cloudalmlink.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.consetto.adt.cloudalmlink.util.AbapCommentLexer;
+import com.consetto.adt.cloudalmlink.util.IdPrefixTrie;
+
+/**
+ * Registry of the Cloud ALM item types an ID can refer to: the built-in {@link CloudAlmItemType}s
+ * plus the types configured in the preferences.
+ * <p>
+ * All prefixes are compiled into one {@link IdPrefixTrie} that is shared by the lexer finding IDs
+ * in source, the classification of an ID and the URL building, so the three always agree.
+ * A registry is immutable; {@link com.consetto.adt.cloudalmlink.services.PreferenceService}
+ * replaces the current one when the configured types change.
+ */
+public final class ItemTypeRegistry {
+
+	/** Placeholder for the item ID in URL templates */
+	public static final String ID_PLACEHOLDER = "{id}";
+
+	/** Registry of the built-in item types only */
+	public static final ItemTypeRegistry BUILT_IN = new ItemTypeRegistry(builtInTypes());
+
+	private static volatile ItemTypeRegistry current = BUILT_IN;
+
+	private final List<ItemType> types;
+	private final IdPrefixTrie<ItemType> trie;
+	private final AbapCommentLexer lexer;
+
+	/**
+	 * An item type of the registry.
+	 *
+	 * @param prefix The ID prefix without the trailing {@code -} (e.g. "6")
+	 * @param urlTemplate The launchpad URL containing {@link #ID_PLACEHOLDER}; absolute or relative
+	 *        to the Cloud ALM base URL
+	 * @param lookupPath The API collection to look up items by display ID, or null if items of
+	 *        this type cannot be looked up
+	 * @param kind The built-in type, or {@link CloudAlmItemType#UNKNOWN} for configured types
+	 */
+	public record ItemType(String prefix, String urlTemplate, String lookupPath, CloudAlmItemType kind) {
+
+		/**
+		 * Builds the URL of an item of this type.
+		 *
+		 * @param itemId The item ID
+		 * @param config The Cloud ALM configuration, needed for relative templates
+		 * @return The URL, or null if the template is relative and no connection is configured
+		 */
+		public String buildUrl(String itemId, CloudAlmConfig config) {
+			String path = urlTemplate.replace(ID_PLACEHOLDER, itemId);
+			if (isAbsolute(urlTemplate)) {
+				return path;
+			}
+			if (config == null || !config.hasConnectionSettings()) {
+				return null;
+			}
+			return config.baseUrl() + path;
+		}
+	}
+
+	private ItemTypeRegistry(List<ItemType> types) {
+		Map<String, ItemType> byPrefix = new LinkedHashMap<>();
+		for (ItemType type : types) {
+			byPrefix.put(type.prefix(), type);
+		}
+		this.types = List.copyOf(byPrefix.values());
+		this.trie = new IdPrefixTrie<>(byPrefix);
+		this.lexer = new AbapCommentLexer(trie);
+	}
+
+	/**
+	 * Gets the registry in effect.
+	 *
+	 * @return The current registry
+	 */
+	public static ItemTypeRegistry getCurrent() {
+		return current;
+	}
+
+	/**
+	 * Replaces the registry in effect.
+	 *
+	 * @param registry The new registry
+	 */
+	public static void setCurrent(ItemTypeRegistry registry) {
+		current = registry;
+	}
+
+	/**
+	 * Creates a registry of the built-in types and configured types.
+	 * <p>
+	 * Types are given as whitespace-separated {@code prefix=urlTemplate} entries, e.g.
+	 * {@code 42=/launchpad#risk-management&/risks/{id}}. A configured type with a built-in prefix
+	 * replaces its URL and keeps the lookup.
+	 *
+	 * @param definitions The type definitions, may be null or empty
+	 * @return The registry
+	 * @throws IllegalArgumentException If an entry is malformed
+	 */
+	public static ItemTypeRegistry withCustomTypes(String definitions) {
+		if (definitions == null || definitions.isBlank()) {
+			return BUILT_IN;
+		}
+		List<ItemType> types = new ArrayList<>(BUILT_IN.types);
+		for (String entry : definitions.trim().split("\\s+")) {
+			int separator = entry.indexOf('=');
+			String prefix = separator > 0 ? entry.substring(0, separator) : "";
+			String urlTemplate = entry.substring(separator + 1);
+			if (!prefix.chars().allMatch(c -> c >= '0' && c <= '9') || prefix.isEmpty()
+					|| !urlTemplate.contains(ID_PLACEHOLDER)) {
+				throw new IllegalArgumentException("Invalid item type '" + entry
+						+ "', expected <digits>=<URL containing " + ID_PLACEHOLDER + ">");
+			}
+			ItemType builtIn = BUILT_IN.trie.lookup(prefix + "-");
+			types.add(builtIn != null
+					? new ItemType(prefix, urlTemplate, builtIn.lookupPath(), builtIn.kind())
+					: new ItemType(prefix, urlTemplate, null, CloudAlmItemType.UNKNOWN));
+		}
+		return new ItemTypeRegistry(types);
+	}
+
+	/**
+	 * Gets all item types of this registry.
+	 *
+	 * @return The item types, built-in types first
+	 */
+	public List<ItemType> getTypes() {
+		return types;
+	}
+
+	/**
+	 * Determines the item type of an ID.
+	 *
+	 * @param itemId The item ID (e.g. "6-1234")
+	 * @return The item type, or null if the ID has no registered prefix
+	 */
+	public ItemType fromId(CharSequence itemId) {
+		return itemId != null ? trie.lookup(itemId) : null;
+	}
+
+	/**
+	 * Builds the URL of an item.
+	 *
+	 * @param itemId The item ID
+	 * @param config The Cloud ALM configuration
+	 * @return The URL, or null if the ID has no registered prefix or no connection is configured
+	 */
+	public String buildUrl(String itemId, CloudAlmConfig config) {
+		ItemType type = fromId(itemId);
+		return type != null ? type.buildUrl(itemId, config) : null;
+	}
+
+	/**
+	 * Gets the lexer finding IDs of all types of this registry.
+	 *
+	 * @return The lexer
+	 */
+	public AbapCommentLexer lexer() {
+		return lexer;
+	}
+
+	private static boolean isAbsolute(String urlTemplate) {
+		return urlTemplate.startsWith("https://") || urlTemplate.startsWith("http://");
+	}
+
+	private static List<ItemType> builtInTypes() {
+		List<ItemType> types = new ArrayList<>();
+		for (CloudAlmItemType kind : CloudAlmItemType.values()) {
+			if (kind != CloudAlmItemType.UNKNOWN) {
+				String prefix = kind.getPrefix().substring(0, kind.getPrefix().length() - 1);
+				types.add(new ItemType(prefix, kind.getUrlTemplate(), kind.getLookupPath(), kind));
+			}
+		}
+		return types;
+	}
+}
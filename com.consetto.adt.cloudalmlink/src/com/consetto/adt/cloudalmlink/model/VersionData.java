@@ -1,14 +1,20 @@
 package com.consetto.adt.cloudalmlink.model;
 
+import java.time.Instant;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
 
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamReader;
 
-import com.consetto.adt.cloudalmlink.handlers.CalmApiHandler;
+import com.consetto.adt.cloudalmlink.services.CloudAlmLookupService;
 import com.consetto.adt.cloudalmlink.services.ICloudAlmApiService;
+import com.consetto.adt.cloudalmlink.util.Deadline;
 import com.sap.adt.communication.content.ContentHandlerException;
 import com.sap.adt.communication.message.IMessageBody;
 import com.sap.adt.tools.core.content.AdtStaxContentHandlerUtility;
@@ -16,12 +22,22 @@ import com.sap.adt.tools.core.content.AdtStaxContentHandlerUtility;
 /**
  * Holds version/transport data retrieved from ADT.
  * Parses ATOM+XML responses and enriches versions with Cloud ALM feature data.
- * No longer a singleton - instances are created via factory methods.
+ * Instances are created via factory methods and belong to the request that created them.
+ * <p>
+ * The versions are published once as an immutable list: parsing builds the complete list, including
+ * the active version, assigns the features and builds the search keys before the list is swapped
+ * in. A view or job reading {@link #getVersions()} never sees a list or an element that is being
+ * changed, and no lock is shared between requests.
+ * <p>
+ * Features are looked up within the deadline given on creation. Transports whose feature was not
+ * looked up when the deadline passed get a {@link FeatureElement#timedOut()} marker, so the
+ * versions are shown with the features found so far.
  */
 public final class VersionData {
 
-	private final List<VersionElement> versions;
-	private final ICloudAlmApiService apiService;
+	private volatile List<VersionElement> versions = List.of();
+	private final BiFunction<Collection<String>, Deadline, Map<String, FeatureElement>> featureLookup;
+	private final Deadline deadline;
 
 	/**
 	 * Creates a new VersionData instance with the specified API service.
@@ -29,15 +45,37 @@ public final class VersionData {
 	 * @param apiService The Cloud ALM API service for feature lookup
 	 */
 	public VersionData(ICloudAlmApiService apiService) {
-		this.versions = new ArrayList<>();
-		this.apiService = apiService;
+		this(apiService, Deadline.none());
 	}
 
 	/**
-	 * Creates a new VersionData instance with a default API handler.
+	 * Creates a new VersionData instance with the specified API service and lookup deadline.
+	 *
+	 * @param apiService The Cloud ALM API service for feature lookup
+	 * @param deadline The time by which features have to be looked up
+	 */
+	public VersionData(ICloudAlmApiService apiService, Deadline deadline) {
+		this.featureLookup = apiService != null ? apiService::getFeatures : null;
+		this.deadline = deadline;
+	}
+
+	/**
+	 * Creates a new VersionData instance looking up features through the shared, cached
+	 * {@link CloudAlmLookupService}, so prefetched transports are not fetched again.
 	 */
 	public VersionData() {
-		this(new CalmApiHandler());
+		this(Deadline.none());
+	}
+
+	/**
+	 * Creates a new VersionData instance looking up features through the shared, cached
+	 * {@link CloudAlmLookupService} within a deadline.
+	 *
+	 * @param deadline The time by which features have to be looked up
+	 */
+	public VersionData(Deadline deadline) {
+		this.featureLookup = CloudAlmLookupService.getInstance()::resolveFeatures;
+		this.deadline = deadline;
 	}
 
 	/**
@@ -61,8 +99,34 @@ public final class VersionData {
 	 * @return A new VersionData instance with parsed and enriched data
 	 */
 	public static VersionData fromMessageBody(IMessageBody body) {
-		VersionData data = new VersionData();
-		data.parseBody(body);
+		return fromMessageBody(body, Deadline.none());
+	}
+
+	/**
+	 * Factory method to create and populate VersionData from an ATOM+XML response body,
+	 * looking up features through the shared lookup service within a deadline.
+	 *
+	 * @param body The message body containing ATOM+XML feed data
+	 * @param deadline The time by which features have to be looked up
+	 * @return A new VersionData instance with parsed and enriched data
+	 */
+	public static VersionData fromMessageBody(IMessageBody body, Deadline deadline) {
+		return fromMessageBody(body, null, deadline);
+	}
+
+	/**
+	 * Factory method to create and populate VersionData from an ATOM+XML response body and the
+	 * transport of the active version, looking up features through the shared lookup service within
+	 * a deadline.
+	 *
+	 * @param body The message body containing ATOM+XML feed data
+	 * @param activeTransportId The transport of the active version, or null if it has none
+	 * @param deadline The time by which features have to be looked up
+	 * @return A new VersionData instance with parsed and enriched data
+	 */
+	public static VersionData fromMessageBody(IMessageBody body, String activeTransportId, Deadline deadline) {
+		VersionData data = new VersionData(deadline);
+		data.parseBody(body, activeTransportId);
 		return data;
 	}
 
@@ -72,7 +136,18 @@ public final class VersionData {
 	 * @param body The message body containing ATOM+XML feed data
 	 */
 	public void parseBody(IMessageBody body) {
-		versions.clear();
+		parseBody(body, null);
+	}
+
+	/**
+	 * Parses the ATOM+XML response body and populates version elements, preceded by an "Active"
+	 * entry for the current working version if it is assigned to a transport.
+	 *
+	 * @param body The message body containing ATOM+XML feed data
+	 * @param activeTransportId The transport of the active version, or null if it has none
+	 */
+	public void parseBody(IMessageBody body, String activeTransportId) {
+		List<VersionElement> parsed = new ArrayList<>();
 		AdtStaxContentHandlerUtility xmlUtility = new AdtStaxContentHandlerUtility();
 
 		XMLStreamReader xsr = null;
@@ -85,7 +160,7 @@ public final class VersionData {
 				if (event == XMLStreamReader.START_ELEMENT) {
 					if ("entry".contentEquals(xsr.getLocalName())) {
 						versionElement = new VersionElement();
-						versions.add(versionElement);
+						parsed.add(versionElement);
 						continue;
 					}
 					if (versionElement != null) {
@@ -120,67 +195,78 @@ public final class VersionData {
 		}
 
 		// Sort versions by ID in descending order (newest first)
-		versions.sort((v1, v2) -> v2.getID().compareTo(v1.getID()));
+		parsed.sort((v1, v2) -> v2.getID().compareTo(v1.getID()));
+		if (activeTransportId != null && !activeTransportId.isEmpty()) {
+			parsed.add(0, activeVersion(activeTransportId));
+		}
 
-		// Enrich versions with Cloud ALM feature data
-		assignFeatures();
+		// Complete the versions before publishing them, so they are not changed afterwards
+		assignFeatures(parsed);
+		parsed.forEach(VersionElement::getSearchKey);
+		versions = List.copyOf(parsed);
+	}
+
+	/**
+	 * Creates the "Active" entry representing the current working version with its transport.
+	 */
+	private static VersionElement activeVersion(String transportId) {
+		VersionElement activeVersion = new VersionElement();
+		activeVersion.setID("Active");
+		activeVersion.setTransport(transportId);
+		activeVersion.setTitle("Current working version");
+		activeVersion.setLastUpdate(Instant.now().toString());
+		return activeVersion;
 	}
 
 	/**
-	 * Fetches and assigns Cloud ALM features for all versions with transport IDs.
+	 * Fetches and assigns Cloud ALM features for all versions with transport IDs in one batch.
 	 */
-	private void assignFeatures() {
-		if (apiService == null) {
+	private void assignFeatures(List<VersionElement> parsed) {
+		if (featureLookup == null) {
 			return;
 		}
 
-		for (VersionElement version : versions) {
+		Set<String> transportIds = new LinkedHashSet<>();
+		for (VersionElement version : parsed) {
 			if (version.getTransportId() != null && !version.getTransportId().isEmpty()) {
-				FeatureElement feature = apiService.getFeature(version.getTransportId());
-				if (feature != null) {
-					version.setFeature(feature);
-				}
+				transportIds.add(version.getTransportId());
+			}
+		}
+		if (transportIds.isEmpty()) {
+			return;
+		}
+		Map<String, FeatureElement> features = featureLookup.apply(transportIds, deadline);
+		for (VersionElement version : parsed) {
+			FeatureElement feature = lookupResult(features, version.getTransportId());
+			if (feature != null) {
+				version.setFeature(feature);
 			}
 		}
 	}
 
 	/**
-	 * Gets the list of versions.
+	 * Gets the feature of a transport from a lookup result.
 	 *
-	 * @return An unmodifiable view of the versions list
+	 * @return The feature, a timed-out marker if the transport was not looked up before the
+	 *         deadline, or null
 	 */
-	public List<VersionElement> getVersions() {
-		return Collections.unmodifiableList(versions);
+	private FeatureElement lookupResult(Map<String, FeatureElement> features, String transportId) {
+		if (transportId == null || transportId.isEmpty()) {
+			return null;
+		}
+		if (!features.containsKey(transportId) && deadline.isExpired()) {
+			return FeatureElement.timedOut();
+		}
+		return features.get(transportId);
 	}
 
 	/**
-	 * Adds an "Active" version entry at the beginning of the versions list.
-	 * This represents the current working version with its transport assignment.
+	 * Gets the list of versions.
 	 *
-	 * @param transportId The transport request ID for the active version
+	 * @return The immutable list of the versions, empty until the response was parsed
 	 */
-	public void addActiveVersion(String transportId) {
-		if (transportId == null || transportId.isEmpty()) {
-			return;
-		}
-
-		// Create active version element
-		VersionElement activeVersion = new VersionElement();
-		activeVersion.setID("Active");
-		activeVersion.setTransport(transportId);
-		activeVersion.setTitle("Current working version");
-		activeVersion.setLastUpdate(java.time.Instant.now().toString());
-
-		// Fetch Cloud ALM feature for the active transport
-		if (apiService != null) {
-			FeatureElement feature = apiService.getFeature(transportId);
-			if (feature != null) {
-				activeVersion.setFeature(feature);
-			}
-		}
-
-		// Add at the beginning of the list
-		versions.add(0, activeVersion);
+	public List<VersionElement> getVersions() {
+		return versions;
 	}
 
 	/**
@@ -200,36 +286,4 @@ public final class VersionData {
 	public boolean isEmpty() {
 		return versions.isEmpty();
 	}
-
-	// Legacy singleton support for backward compatibility during migration
-	// TODO: Remove after all callers are updated to use instance methods
-
-	private static volatile VersionData instance;
-
-	/**
-	 * @deprecated Use instance methods or factory methods instead.
-	 *             This method is provided for backward compatibility during migration.
-	 */
-	@Deprecated
-	public static VersionData getInstance() {
-		if (instance == null) {
-			synchronized (VersionData.class) {
-				if (instance == null) {
-					instance = new VersionData();
-				}
-			}
-		}
-		return instance;
-	}
-
-	/**
-	 * @deprecated Use instance methods instead.
-	 *             Sets the shared instance for backward compatibility.
-	 */
-	@Deprecated
-	public static void setInstance(VersionData data) {
-		synchronized (VersionData.class) {
-			instance = data;
-		}
-	}
 }
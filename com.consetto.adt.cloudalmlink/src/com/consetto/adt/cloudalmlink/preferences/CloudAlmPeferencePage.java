@@ -1,12 +1,13 @@
 package com.consetto.adt.cloudalmlink.preferences;
 
-import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.jface.preference.StringFieldEditor;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
-import org.eclipse.ui.preferences.ScopedPreferenceStore;
+
+import com.consetto.adt.cloudalmlink.services.PreferenceService;
 
 /**
  * Preference page for configuring Cloud ALM connection settings.
@@ -16,9 +17,8 @@ public class CloudAlmPeferencePage extends FieldEditorPreferencePage implements
 
 	public CloudAlmPeferencePage() {
 		super(GRID);
-		ScopedPreferenceStore scopedPreferenceStore = new ScopedPreferenceStore(InstanceScope.INSTANCE,
-				"com.consetto.adt.cloudalmlink.preferences.CloudAlmPeferencePage");
-		setPreferenceStore(scopedPreferenceStore);
+		// Share the service's store so saved settings update its configuration snapshot right away
+		setPreferenceStore(PreferenceService.getInstance().getPreferenceStore());
 		setDescription("Please enter tenant and region from Cloud ALM: https://tenant.region.alm.cloud.sap");
 	}
 
@@ -29,6 +29,48 @@ public class CloudAlmPeferencePage extends FieldEditorPreferencePage implements
 		addField(new StringFieldEditor(PreferenceConstants.P_CID, "Client ID:", getFieldEditorParent()));
 		addField(new StringFieldEditor(PreferenceConstants.P_KEY, "Client Secret:", getFieldEditorParent()));
 		addField(new BooleanFieldEditor(PreferenceConstants.P_DEMO, "Enable Demo Mode", getFieldEditorParent()));
+
+		IntegerFieldEditor filterDelay = new IntegerFieldEditor(PreferenceConstants.P_FILTER_DELAY,
+				"Search filter delay (ms):", getFieldEditorParent());
+		filterDelay.setValidRange(0, 5000);
+		addField(filterDelay);
+
+		addField(new BooleanFieldEditor(PreferenceConstants.P_VALIDATE_IDS,
+				"Flag unknown and closed Cloud ALM IDs in comments", getFieldEditorParent()));
+		addField(new StringFieldEditor(PreferenceConstants.P_INDEX_PATTERNS,
+				"Objects indexed for reference search:", getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PreferenceConstants.P_PREFETCH_FEATURES,
+				"Prefetch the features of my modifiable transports after logon", getFieldEditorParent()));
+		addField(new BooleanFieldEditor(PreferenceConstants.P_WARM_UP_CONNECTIONS,
+				"Connect to Cloud ALM in the background at startup", getFieldEditorParent()));
+		addField(new StringFieldEditor(PreferenceConstants.P_CUSTOM_ITEM_TYPES,
+				"Additional item types (prefix=URL with {id}):", getFieldEditorParent()));
+
+		addIntegerField(PreferenceConstants.P_BREAKER_FAILURE_RATE, "Fail fast when Cloud ALM lookups fail (%):", 1, 100);
+		addIntegerField(PreferenceConstants.P_BREAKER_MIN_CALLS, "Minimum lookups before failing fast:", 1, 100);
+		addIntegerField(PreferenceConstants.P_BREAKER_OPEN_SECONDS, "Retry Cloud ALM after (s):", 0, 3600);
+		addIntegerField(PreferenceConstants.P_BREAKER_PROBES, "Successful retries to resume lookups:", 1, 10);
+		addIntegerField(PreferenceConstants.P_RATE_LIMIT, "Cloud ALM requests per second:", 1, 1000);
+		addIntegerField(PreferenceConstants.P_RATE_BURST, "Cloud ALM requests in a burst:", 1, 1000);
+		addIntegerField(PreferenceConstants.P_SHOW_TRANSPORTS_TIMEOUT, "Show transports for at most (s):", 1, 600);
+		addField(new BooleanFieldEditor(PreferenceConstants.P_HEDGE_REQUESTS,
+				"Send a second request for unusually slow feature lookups", getFieldEditorParent()));
+		addIntegerField(PreferenceConstants.P_HEDGE_BUDGET, "Requests sent twice at most (%):", 0, 100);
+		addIntegerField(PreferenceConstants.P_HTTP_CONNECT_TIMEOUT, "Connect timeout (s):", 1, 300);
+		addIntegerField(PreferenceConstants.P_HTTP_POOL_TIMEOUT, "Wait for a free connection (s):", 1, 300);
+		addIntegerField(PreferenceConstants.P_HTTP_RESPONSE_TIMEOUT, "Response timeout (s):", 1, 600);
+		addIntegerField(PreferenceConstants.P_HTTP_MAX_CONNECTIONS, "Maximum connections:", 1, 100);
+		addIntegerField(PreferenceConstants.P_HTTP_MAX_CONNECTIONS_PER_HOST, "Maximum connections per host:", 1, 100);
+		addIntegerField(PreferenceConstants.P_HTTP_CONNECTION_TTL, "Replace connections after (s):", 1, 86400);
+		addIntegerField(PreferenceConstants.P_HTTP_IDLE_EVICTION, "Close unused connections after (s):", 1, 3600);
+		addIntegerField(PreferenceConstants.P_HTTP_VALIDATE_AFTER, "Check idle connections after (ms):", 1, 600000);
+		addIntegerField(PreferenceConstants.P_HTTP_KEEP_ALIVE, "Keep idle connections at most (s):", 1, 3600);
+	}
+
+	private void addIntegerField(String name, String label, int min, int max) {
+		IntegerFieldEditor field = new IntegerFieldEditor(name, label, getFieldEditorParent());
+		field.setValidRange(min, max);
+		addField(field);
 	}
 
 	@Override
@@ -19,4 +19,85 @@ public class PreferenceConstants {
 
 	/** Preference key for Demo Mode toggle */
 	public static final String P_DEMO = "demoModePreference";
+
+	/** Preference key for the TransportView search debounce delay in milliseconds */
+	public static final String P_FILTER_DELAY = "filterDelayPreference";
+
+	/** Default search debounce delay in milliseconds */
+	public static final int DEFAULT_FILTER_DELAY = 250;
+
+	/** Preference key for validating Cloud ALM IDs in source comments */
+	public static final String P_VALIDATE_IDS = "validateIdsPreference";
+
+	/** Preference key for the object name patterns scanned by the reference search index */
+	public static final String P_INDEX_PATTERNS = "indexPatternsPreference";
+
+	/** Default object name patterns: the customer namespace */
+	public static final String DEFAULT_INDEX_PATTERNS = "Z* Y*";
+
+	/** Preference key for prefetching the features of the user's modifiable transports */
+	public static final String P_PREFETCH_FEATURES = "prefetchFeaturesPreference";
+
+	/** Preference key for connecting to Cloud ALM in the background when the workbench starts */
+	public static final String P_WARM_UP_CONNECTIONS = "warmUpConnectionsPreference";
+
+	/** Preference key for the failure rate in percent at which Cloud ALM lookups start to fail fast */
+	public static final String P_BREAKER_FAILURE_RATE = "breakerFailureRatePreference";
+
+	/** Preference key for the number of calls required before the failure rate is evaluated */
+	public static final String P_BREAKER_MIN_CALLS = "breakerMinimumCallsPreference";
+
+	/** Preference key for the seconds lookups fail fast before Cloud ALM is probed again */
+	public static final String P_BREAKER_OPEN_SECONDS = "breakerOpenSecondsPreference";
+
+	/** Preference key for the number of successful probes after which lookups resume */
+	public static final String P_BREAKER_PROBES = "breakerProbesPreference";
+
+	/** Preference key for the sustained Cloud ALM API requests per second of the workbench */
+	public static final String P_RATE_LIMIT = "rateLimitPreference";
+
+	/** Preference key for the number of Cloud ALM API requests allowed in a burst */
+	public static final String P_RATE_BURST = "rateBurstPreference";
+
+	/** Preference key for the seconds "Show Transports and Features" may take before showing partial results */
+	public static final String P_SHOW_TRANSPORTS_TIMEOUT = "showTransportsTimeoutPreference";
+
+	/** Default time budget of "Show Transports and Features" in seconds */
+	public static final int DEFAULT_SHOW_TRANSPORTS_TIMEOUT = 30;
+
+	/** Preference key for hedging slow feature lookups with a second request */
+	public static final String P_HEDGE_REQUESTS = "hedgeRequestsPreference";
+
+	/** Preference key for the share of Cloud ALM requests in percent that may be hedged */
+	public static final String P_HEDGE_BUDGET = "hedgeBudgetPreference";
+
+	/** Preference key for the seconds to establish a connection to Cloud ALM */
+	public static final String P_HTTP_CONNECT_TIMEOUT = "httpConnectTimeoutPreference";
+
+	/** Preference key for the seconds to wait for a free connection of the pool */
+	public static final String P_HTTP_POOL_TIMEOUT = "httpPoolTimeoutPreference";
+
+	/** Preference key for the seconds to wait for a Cloud ALM response */
+	public static final String P_HTTP_RESPONSE_TIMEOUT = "httpResponseTimeoutPreference";
+
+	/** Preference key for the maximum number of pooled connections */
+	public static final String P_HTTP_MAX_CONNECTIONS = "httpMaxConnectionsPreference";
+
+	/** Preference key for the maximum number of pooled connections to one Cloud ALM host */
+	public static final String P_HTTP_MAX_CONNECTIONS_PER_HOST = "httpMaxConnectionsPerHostPreference";
+
+	/** Preference key for the seconds after which a connection is replaced */
+	public static final String P_HTTP_CONNECTION_TTL = "httpConnectionTtlPreference";
+
+	/** Preference key for the seconds after which an unused connection is closed */
+	public static final String P_HTTP_IDLE_EVICTION = "httpIdleEvictionPreference";
+
+	/** Preference key for the milliseconds of inactivity after which a pooled connection is checked */
+	public static final String P_HTTP_VALIDATE_AFTER = "httpValidateAfterPreference";
+
+	/** Preference key for the maximum seconds an idle connection is kept alive */
+	public static final String P_HTTP_KEEP_ALIVE = "httpKeepAlivePreference";
+
+	/** Preference key for additional Cloud ALM item types as {@code prefix=urlTemplate} entries */
+	public static final String P_CUSTOM_ITEM_TYPES = "customItemTypesPreference";
 }
@@ -1,6 +1,14 @@
 package com.consetto.adt.cloudalmlink.preferences;
 
 import org.eclipse.core.runtime.preferences.AbstractPreferenceInitializer;
+import org.eclipse.core.runtime.preferences.DefaultScope;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+
+import com.consetto.adt.cloudalmlink.CloudAlmLinkConstants;
+import com.consetto.adt.cloudalmlink.model.HttpSettings;
+import com.consetto.adt.cloudalmlink.util.CircuitBreaker;
+import com.consetto.adt.cloudalmlink.util.HedgeBudget;
+import com.consetto.adt.cloudalmlink.util.TokenBucketRateLimiter;
 
 /**
  * Initializes default preference values for the Cloud ALM plugin.
@@ -9,6 +17,33 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
 
 	@Override
 	public void initializeDefaultPreferences() {
-		// Default values are empty strings; users must configure via preferences page
+		// Connection settings have no defaults; users must configure via preferences page
+		IEclipsePreferences defaults = DefaultScope.INSTANCE.getNode(CloudAlmLinkConstants.PREFERENCE_QUALIFIER);
+		defaults.putInt(PreferenceConstants.P_FILTER_DELAY, PreferenceConstants.DEFAULT_FILTER_DELAY);
+		defaults.putBoolean(PreferenceConstants.P_VALIDATE_IDS, true);
+		defaults.put(PreferenceConstants.P_INDEX_PATTERNS, PreferenceConstants.DEFAULT_INDEX_PATTERNS);
+
+		CircuitBreaker.Settings breaker = CircuitBreaker.Settings.DEFAULTS;
+		defaults.putInt(PreferenceConstants.P_BREAKER_FAILURE_RATE, breaker.failureRatePercent());
+		defaults.putInt(PreferenceConstants.P_BREAKER_MIN_CALLS, breaker.minimumCalls());
+		defaults.putInt(PreferenceConstants.P_BREAKER_OPEN_SECONDS, (int) breaker.openDuration().toSeconds());
+		defaults.putInt(PreferenceConstants.P_BREAKER_PROBES, breaker.halfOpenProbes());
+
+		defaults.putInt(PreferenceConstants.P_RATE_LIMIT, TokenBucketRateLimiter.DEFAULT_RATE);
+		defaults.putInt(PreferenceConstants.P_RATE_BURST, TokenBucketRateLimiter.DEFAULT_BURST);
+
+		defaults.putInt(PreferenceConstants.P_HEDGE_BUDGET, HedgeBudget.DEFAULT_PERCENT);
+		defaults.putInt(PreferenceConstants.P_SHOW_TRANSPORTS_TIMEOUT, PreferenceConstants.DEFAULT_SHOW_TRANSPORTS_TIMEOUT);
+
+		HttpSettings http = HttpSettings.DEFAULTS;
+		defaults.putInt(PreferenceConstants.P_HTTP_CONNECT_TIMEOUT, (int) http.connectTimeout().toSeconds());
+		defaults.putInt(PreferenceConstants.P_HTTP_POOL_TIMEOUT, (int) http.connectionRequestTimeout().toSeconds());
+		defaults.putInt(PreferenceConstants.P_HTTP_RESPONSE_TIMEOUT, (int) http.responseTimeout().toSeconds());
+		defaults.putInt(PreferenceConstants.P_HTTP_MAX_CONNECTIONS, http.maxConnTotal());
+		defaults.putInt(PreferenceConstants.P_HTTP_MAX_CONNECTIONS_PER_HOST, http.maxConnPerRoute());
+		defaults.putInt(PreferenceConstants.P_HTTP_CONNECTION_TTL, (int) http.connectionTtl().toSeconds());
+		defaults.putInt(PreferenceConstants.P_HTTP_IDLE_EVICTION, (int) http.idleEviction().toSeconds());
+		defaults.putInt(PreferenceConstants.P_HTTP_VALIDATE_AFTER, (int) http.validateAfterInactivity().toMillis());
+		defaults.putInt(PreferenceConstants.P_HTTP_KEEP_ALIVE, (int) http.keepAlive().toSeconds());
 	}
 }
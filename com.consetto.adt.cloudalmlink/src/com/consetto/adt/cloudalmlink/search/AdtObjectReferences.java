@@ -0,0 +1,115 @@
+package com.consetto.adt.cloudalmlink.search;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parser for the object references returned by the ADT repository search,
+ * used to enumerate the ABAP sources of a system for the reference index.
+ */
+public final class AdtObjectReferences {
+
+	/** Object types with a single main source that can contain Cloud ALM references */
+	public static final Set<String> SOURCE_TYPES = Set.of(
+			"PROG/P", "PROG/I", "CLAS/OC", "INTF/OI", "FUGR/FF", "DDLS/DF", "BDEF/BDO");
+
+	private static final String SOURCE_SUFFIX = "/source/main";
+
+	private static final Pattern REFERENCE_PATTERN = Pattern.compile("<adtcore:objectReference\\s[^>]*>");
+	private static final Pattern ATTRIBUTE_PATTERN = Pattern.compile("adtcore:(uri|type|name)=\"([^\"]*)\"");
+
+	/**
+	 * An ABAP object found by the repository search.
+	 *
+	 * @param uri The ADT URI of the object
+	 * @param type The ADT object type, e.g. CLAS/OC
+	 * @param name The object name
+	 */
+	public record ObjectReference(String uri, String type, String name) {
+
+		/**
+		 * @return true if the object has a main source
+		 */
+		public boolean hasSource() {
+			return SOURCE_TYPES.contains(type);
+		}
+
+		/**
+		 * @return The URI of the main source
+		 */
+		public String sourceUri() {
+			return uri + SOURCE_SUFFIX;
+		}
+	}
+
+	private AdtObjectReferences() {
+		// Prevent instantiation
+	}
+
+	/**
+	 * Parses the object references of a repository search response.
+	 *
+	 * @param xml The response, a list of adtcore:objectReference elements
+	 * @return The references with a URI and type, in response order
+	 */
+	public static List<ObjectReference> parse(String xml) {
+		List<ObjectReference> references = new ArrayList<>();
+		if (xml == null) {
+			return references;
+		}
+
+		Matcher element = REFERENCE_PATTERN.matcher(xml);
+		while (element.find()) {
+			String uri = null;
+			String type = null;
+			String name = null;
+			Matcher attribute = ATTRIBUTE_PATTERN.matcher(element.group());
+			while (attribute.find()) {
+				switch (attribute.group(1)) {
+				case "uri" -> uri = unescape(attribute.group(2));
+				case "type" -> type = attribute.group(2);
+				default -> name = unescape(attribute.group(2));
+				}
+			}
+			if (uri != null && type != null) {
+				references.add(new ObjectReference(uri, type, name));
+			}
+		}
+		return references;
+	}
+
+	/**
+	 * Reduces an editor or source URI to the object URI used as index key.
+	 *
+	 * @param uri An object URI, optionally followed by the main source path and a fragment
+	 * @return The object URI
+	 */
+	public static String objectUri(String uri) {
+		int fragment = uri.indexOf('#');
+		String path = fragment != -1 ? uri.substring(0, fragment) : uri;
+		return path.endsWith(SOURCE_SUFFIX) ? path.substring(0, path.length() - SOURCE_SUFFIX.length()) : path;
+	}
+
+	/**
+	 * Derives a display name from an object URI, e.g. ZCL_ORDER from /sap/bc/adt/oo/classes/zcl_order.
+	 *
+	 * @param uri The object URI
+	 * @return The upper-case last path segment
+	 */
+	public static String displayName(String uri) {
+		String path = objectUri(uri);
+		String name = path.substring(path.lastIndexOf('/') + 1);
+		return URLDecoder.decode(name, StandardCharsets.UTF_8).toUpperCase(Locale.ROOT);
+	}
+
+	private static String unescape(String value) {
+		return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+				.replace("&apos;", "'").replace("&amp;", "&");
+	}
+}
@@ -0,0 +1,292 @@
+package com.consetto.adt.cloudalmlink.search;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.consetto.adt.cloudalmlink.model.ItemTypeRegistry;
+import com.consetto.adt.cloudalmlink.util.AbapCommentLexer;
+
+/**
+ * Inverted index from Cloud ALM IDs to the ABAP source lines that reference them in comments.
+ * <p>
+ * Sources are scanned with the {@link AbapCommentLexer} of the current {@link ItemTypeRegistry},
+ * so the index agrees with the hyperlinks in the editor. {@link #scan} holds no state and can run
+ * in parallel for many sources; the results are merged with {@link #put}, which replaces all
+ * references of the object. The index is thread-safe and can be written to and read from a
+ * compact binary file.
+ */
+public final class CalmReferenceIndex {
+
+	private static final int FORMAT_MAGIC = 0x43414C4D; // "CALM"
+	private static final int FORMAT_VERSION = 1;
+
+	private static final Comparator<Reference> REFERENCE_ORDER = Comparator
+			.comparing((Reference reference) -> reference.object().project())
+			.thenComparing(reference -> reference.object().uri())
+			.thenComparingInt(Reference::line);
+
+	/**
+	 * An indexed ABAP source.
+	 *
+	 * @param project The name of the ABAP project the source belongs to
+	 * @param uri The ADT URI of the object
+	 */
+	public record SourceObject(String project, String uri) {
+	}
+
+	/**
+	 * A source line referencing a Cloud ALM item.
+	 *
+	 * @param object The source
+	 * @param line The 1-based line number
+	 */
+	public record Reference(SourceObject object, int line) {
+	}
+
+	// Lines per ID for every object, and the same line arrays per object for every ID
+	private final Map<SourceObject, Map<String, int[]>> objects = new HashMap<>();
+	private final Map<String, Map<SourceObject, int[]>> items = new HashMap<>();
+
+	/**
+	 * Collects the lines of all IDs referenced in comments of a source.
+	 *
+	 * @param source The ABAP source
+	 * @return The ascending, distinct 1-based line numbers per ID, in order of first occurrence
+	 */
+	public static Map<String, int[]> scan(CharSequence source) {
+		return scan(source, ItemTypeRegistry.getCurrent().lexer());
+	}
+
+	/**
+	 * Collects the lines of all IDs a lexer finds in comments of a source.
+	 *
+	 * @param source The ABAP source
+	 * @param lexer The lexer, e.g. of the registry of the configured item types
+	 * @return The ascending, distinct 1-based line numbers per ID, in order of first occurrence
+	 */
+	public static Map<String, int[]> scan(CharSequence source, AbapCommentLexer lexer) {
+		LineScan scan = new LineScan(source);
+		lexer.scan(source, 0, source.length(), scan);
+		Map<String, int[]> references = new LinkedHashMap<>();
+		scan.lines.forEach((itemId, lines) -> references.put(itemId, lines.toArray()));
+		return references;
+	}
+
+	/**
+	 * Replaces all references of an object.
+	 *
+	 * @param object The source
+	 * @param references The lines per ID as returned by {@link #scan}; empty to drop the object
+	 */
+	public synchronized void put(SourceObject object, Map<String, int[]> references) {
+		remove(object);
+		if (references.isEmpty()) {
+			return;
+		}
+		Map<String, int[]> copy = new HashMap<>();
+		references.forEach((itemId, lines) -> {
+			int[] linesCopy = lines.clone();
+			copy.put(itemId, linesCopy);
+			items.computeIfAbsent(itemId, id -> new HashMap<>()).put(object, linesCopy);
+		});
+		objects.put(object, copy);
+	}
+
+	/**
+	 * Replaces all references of the objects of a project in one step, so concurrent queries
+	 * see either the old or the new state of the project.
+	 *
+	 * @param project The project name
+	 * @param references The lines per ID for every object of the project
+	 */
+	public synchronized void replaceProject(String project, Map<SourceObject, Map<String, int[]>> references) {
+		removeProject(project);
+		references.forEach(this::put);
+	}
+
+	/**
+	 * Drops all references of an object.
+	 *
+	 * @param object The source
+	 */
+	public synchronized void remove(SourceObject object) {
+		Map<String, int[]> old = objects.remove(object);
+		if (old == null) {
+			return;
+		}
+		for (String itemId : old.keySet()) {
+			Map<SourceObject, int[]> sources = items.get(itemId);
+			sources.remove(object);
+			if (sources.isEmpty()) {
+				items.remove(itemId);
+			}
+		}
+	}
+
+	/**
+	 * Drops all references of the objects of a project, e.g. before the project is indexed again.
+	 *
+	 * @param project The project name
+	 */
+	public synchronized void removeProject(String project) {
+		for (SourceObject object : new ArrayList<>(objects.keySet())) {
+			if (object.project().equals(project)) {
+				remove(object);
+			}
+		}
+	}
+
+	/**
+	 * Finds all references to a Cloud ALM item.
+	 *
+	 * @param itemId The item ID, e.g. 6-4711
+	 * @return The references ordered by project, object URI and line
+	 */
+	public synchronized List<Reference> find(String itemId) {
+		Map<SourceObject, int[]> sources = items.get(itemId);
+		if (sources == null) {
+			return List.of();
+		}
+		List<Reference> references = new ArrayList<>();
+		sources.forEach((object, lines) -> {
+			for (int line : lines) {
+				references.add(new Reference(object, line));
+			}
+		});
+		references.sort(REFERENCE_ORDER);
+		return references;
+	}
+
+	/**
+	 * @return The number of objects with at least one reference
+	 */
+	public synchronized int objectCount() {
+		return objects.size();
+	}
+
+	/**
+	 * @return The number of distinct referenced IDs
+	 */
+	public synchronized int itemCount() {
+		return items.size();
+	}
+
+	/**
+	 * Writes the index. The stream is not closed.
+	 *
+	 * @param out The target stream
+	 * @throws IOException If writing fails
+	 */
+	public synchronized void write(OutputStream out) throws IOException {
+		DataOutputStream data = new DataOutputStream(out);
+		data.writeInt(FORMAT_MAGIC);
+		data.writeInt(FORMAT_VERSION);
+		data.writeInt(objects.size());
+		for (Map.Entry<SourceObject, Map<String, int[]>> object : objects.entrySet()) {
+			data.writeUTF(object.getKey().project());
+			data.writeUTF(object.getKey().uri());
+			data.writeInt(object.getValue().size());
+			for (Map.Entry<String, int[]> item : object.getValue().entrySet()) {
+				data.writeUTF(item.getKey());
+				data.writeInt(item.getValue().length);
+				for (int line : item.getValue()) {
+					data.writeInt(line);
+				}
+			}
+		}
+		data.flush();
+	}
+
+	/**
+	 * Reads an index written by {@link #write}. The stream is not closed.
+	 *
+	 * @param in The source stream
+	 * @return The index
+	 * @throws IOException If reading fails or the data is not an index of this version
+	 */
+	public static CalmReferenceIndex read(InputStream in) throws IOException {
+		DataInputStream data = new DataInputStream(in);
+		if (data.readInt() != FORMAT_MAGIC || data.readInt() != FORMAT_VERSION) {
+			throw new IOException("Unsupported Cloud ALM reference index format");
+		}
+		CalmReferenceIndex index = new CalmReferenceIndex();
+		int objectCount = data.readInt();
+		for (int i = 0; i < objectCount; i++) {
+			SourceObject object = new SourceObject(data.readUTF(), data.readUTF());
+			int itemCount = data.readInt();
+			Map<String, int[]> references = new HashMap<>();
+			for (int j = 0; j < itemCount; j++) {
+				String itemId = data.readUTF();
+				int[] lines = new int[data.readInt()];
+				for (int k = 0; k < lines.length; k++) {
+					lines[k] = data.readInt();
+				}
+				references.put(itemId, lines);
+			}
+			index.put(object, references);
+		}
+		return index;
+	}
+
+	/**
+	 * Lexer sink tracking the line of each ID.
+	 */
+	private static final class LineScan implements AbapCommentLexer.IdSink {
+
+		private final CharSequence source;
+		private final Map<String, IntList> lines = new LinkedHashMap<>();
+		private int position;
+		private int line = 1;
+
+		LineScan(CharSequence source) {
+			this.source = source;
+		}
+
+		@Override
+		public void id(int start, int end, boolean inComment) {
+			// IDs arrive in offset order, so line counting continues where the last ID was
+			for (; position < start; position++) {
+				char c = source.charAt(position);
+				if (c == '\n' || (c == '\r' && (position + 1 >= source.length() || source.charAt(position + 1) != '\n'))) {
+					line++;
+				}
+			}
+			if (inComment) {
+				lines.computeIfAbsent(source.subSequence(start, end).toString(), id -> new IntList()).addDistinct(line);
+			}
+		}
+	}
+
+	/**
+	 * Growable list of ascending line numbers.
+	 */
+	private static final class IntList {
+
+		private int[] values = new int[2];
+		private int size;
+
+		void addDistinct(int value) {
+			if (size > 0 && values[size - 1] == value) {
+				return;
+			}
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.consetto.adt.cloudalmlink.search;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.search.ui.ISearchQuery;
+import org.eclipse.search.ui.ISearchResult;
+import org.eclipse.search.ui.text.Match;
+
+import com.consetto.adt.cloudalmlink.search.CalmReferenceIndex.Reference;
+import com.consetto.adt.cloudalmlink.services.CalmReferenceService;
+
+/**
+ * Search for the ABAP sources referencing a Cloud ALM item, answered from the reference index.
+ * Each referencing line becomes a line-based {@link Match} on its {@link CalmReferenceIndex.SourceObject}.
+ */
+public class CalmReferenceQuery implements ISearchQuery {
+
+	private final String itemId;
+	private final CalmReferenceSearchResult result;
+
+	/**
+	 * Creates a query for one item.
+	 *
+	 * @param itemId The item ID, e.g. 6-4711
+	 */
+	public CalmReferenceQuery(String itemId) {
+		this.itemId = itemId;
+		this.result = new CalmReferenceSearchResult(this);
+	}
+
+	@Override
+	public IStatus run(IProgressMonitor monitor) throws OperationCanceledException {
+		result.removeAll();
+		for (Reference reference : CalmReferenceService.getInstance().find(itemId)) {
+			result.addMatch(new Match(reference.object(), Match.UNIT_LINE, reference.line(), 1));
+		}
+		return Status.OK_STATUS;
+	}
+
+	/**
+	 * @return The searched item ID
+	 */
+	public String getItemId() {
+		return itemId;
+	}
+
+	@Override
+	public String getLabel() {
+		return "Cloud ALM References";
+	}
+
+	@Override
+	public boolean canRerun() {
+		return true;
+	}
+
+	@Override
+	public boolean canRunInBackground() {
+		return true;
+	}
+
+	@Override
+	public ISearchResult getSearchResult() {
+		return result;
+	}
+}
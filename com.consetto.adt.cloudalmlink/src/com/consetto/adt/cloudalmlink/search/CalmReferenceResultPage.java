@@ -0,0 +1,100 @@
+package com.consetto.adt.cloudalmlink.search;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.search.ui.text.AbstractTextSearchResult;
+import org.eclipse.search.ui.text.AbstractTextSearchViewPage;
+import org.eclipse.search.ui.text.Match;
+import org.eclipse.ui.PartInitException;
+
+import com.consetto.adt.cloudalmlink.search.CalmReferenceIndex.SourceObject;
+import com.consetto.adt.cloudalmlink.util.CloudAlmLinkLogger;
+import com.sap.adt.tools.core.ui.navigation.AdtNavigationServiceFactory;
+
+/**
+ * Search view page listing the objects of a {@link CalmReferenceSearchResult} with their
+ * referencing lines. Opening a match navigates to the line in the ADT editor.
+ */
+public class CalmReferenceResultPage extends AbstractTextSearchViewPage {
+
+	private TableViewer viewer;
+
+	/**
+	 * Creates the page with a flat layout; references have no meaningful hierarchy.
+	 */
+	public CalmReferenceResultPage() {
+		super(FLAG_LAYOUT_FLAT);
+	}
+
+	@Override
+	protected void configureTableViewer(TableViewer tableViewer) {
+		this.viewer = tableViewer;
+		tableViewer.setContentProvider(ArrayContentProvider.getInstance());
+		tableViewer.setLabelProvider(new ColumnLabelProvider() {
+			@Override
+			public String getText(Object element) {
+				return element instanceof SourceObject object ? describe(object) : super.getText(element);
+			}
+		});
+		tableViewer.setComparator(new ViewerComparator());
+	}
+
+	@Override
+	protected void configureTreeViewer(TreeViewer treeViewer) {
+		throw new IllegalStateException("Only the flat layout is supported");
+	}
+
+	@Override
+	protected void elementsChanged(Object[] objects) {
+		refreshInput();
+	}
+
+	@Override
+	protected void clear() {
+		refreshInput();
+	}
+
+	@Override
+	protected void showMatch(Match match, int currentOffset, int currentLength, boolean activate)
+			throws PartInitException {
+		if (!(match.getElement() instanceof SourceObject object)) {
+			return;
+		}
+		IProject project = ResourcesPlugin.getWorkspace().getRoot().getProject(object.project());
+		if (!project.isOpen()) {
+			CloudAlmLinkLogger.logWarning("Project " + object.project() + " is not open");
+			return;
+		}
+		// ADT positions the editor from the start fragment (line, column)
+		String uri = object.uri() + "/source/main#start=" + match.getOffset() + ",0";
+		AdtNavigationServiceFactory.createNavigationService().navigateWithExternalLink(uri, project);
+	}
+
+	private void refreshInput() {
+		if (viewer == null || viewer.getControl().isDisposed()) {
+			return;
+		}
+		AbstractTextSearchResult result = getInput();
+		viewer.setInput(result != null ? result.getElements() : new Object[0]);
+	}
+
+	private String describe(SourceObject object) {
+		AbstractTextSearchResult result = getInput();
+		Match[] matches = result != null ? result.getMatches(object) : new Match[0];
+		String lines = Arrays.stream(matches)
+				.mapToInt(Match::getOffset)
+				.sorted()
+				.mapToObj(Integer::toString)
+				.collect(Collectors.joining(", "));
+		return AdtObjectReferences.displayName(object.uri()) + " [" + object.project() + "] - "
+				+ (matches.length == 1 ? "line " : "lines ") + lines;
+	}
+}
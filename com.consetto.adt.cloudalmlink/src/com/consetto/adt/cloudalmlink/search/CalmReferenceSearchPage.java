@@ -0,0 +1,130 @@
+package com.consetto.adt.cloudalmlink.search;
+
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.jface.dialogs.DialogPage;
+import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.search.ui.ISearchPage;
+import org.eclipse.search.ui.ISearchPageContainer;
+import org.eclipse.search.ui.NewSearchUI;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Text;
+
+import com.consetto.adt.cloudalmlink.handlers.CalmEditorTracker;
+import com.consetto.adt.cloudalmlink.services.CalmReferenceService;
+import com.consetto.adt.cloudalmlink.services.PreferenceService;
+import com.consetto.adt.cloudalmlink.util.AbapCommentLexer;
+
+/**
+ * Search dialog page for the ABAP sources referencing a Cloud ALM item in comments.
+ * Searches run against the reference index; the page also starts (re)building it.
+ */
+public class CalmReferenceSearchPage extends DialogPage implements ISearchPage {
+
+	private ISearchPageContainer container;
+	private Text itemIdText;
+	private Label indexLabel;
+
+	@Override
+	public void createControl(Composite parent) {
+		Composite composite = new Composite(parent, SWT.NONE);
+		GridLayoutFactory.swtDefaults().numColumns(2).applyTo(composite);
+
+		Label label = new Label(composite, SWT.NONE);
+		label.setText("Cloud ALM ID (e.g. 6-4711):");
+		GridDataFactory.swtDefaults().span(2, 1).applyTo(label);
+
+		itemIdText = new Text(composite, SWT.BORDER | SWT.SINGLE);
+		GridDataFactory.fillDefaults().grab(true, false).span(2, 1).applyTo(itemIdText);
+		itemIdText.addModifyListener(e -> updateSearchEnabled());
+
+		indexLabel = new Label(composite, SWT.WRAP);
+		GridDataFactory.fillDefaults().grab(true, false).applyTo(indexLabel);
+
+		Button rebuildButton = new Button(composite, SWT.PUSH);
+		rebuildButton.setText("Rebuild Index");
+		rebuildButton.addListener(SWT.Selection, e -> rebuildIndex());
+
+		updateIndexLabel();
+		setControl(composite);
+	}
+
+	@Override
+	public void setContainer(ISearchPageContainer container) {
+		this.container = container;
+	}
+
+	@Override
+	public void setVisible(boolean visible) {
+		super.setVisible(visible);
+		if (visible) {
+			itemIdText.setFocus();
+			updateSearchEnabled();
+		}
+	}
+
+	@Override
+	public boolean performAction() {
+		String itemId = itemIdText.getText().trim();
+		if (!isItemId(itemId)) {
+			return false;
+		}
+		// Keeps the index up to date when sources are saved
+		CalmEditorTracker.start();
+		if (!CalmReferenceService.getInstance().isBuilt()) {
+			// First search: build the index, the query runs once it is available
+			Job rebuild = CalmReferenceService.getInstance().rebuild();
+			rebuild.addJobChangeListener(new JobChangeAdapter() {
+				@Override
+				public void done(IJobChangeEvent event) {
+					rebuild.removeJobChangeListener(this);
+					NewSearchUI.runQueryInBackground(new CalmReferenceQuery(itemId));
+				}
+			});
+			return true;
+		}
+		NewSearchUI.runQueryInBackground(new CalmReferenceQuery(itemId));
+		return true;
+	}
+
+	private void rebuildIndex() {
+		Job rebuild = CalmReferenceService.getInstance().rebuild();
+		indexLabel.setText("Indexing ABAP sources...");
+		rebuild.addJobChangeListener(new JobChangeAdapter() {
+			@Override
+			public void done(IJobChangeEvent event) {
+				rebuild.removeJobChangeListener(this);
+				if (!indexLabel.isDisposed()) {
+					indexLabel.getDisplay().asyncExec(() -> updateIndexLabel());
+				}
+			}
+		});
+	}
+
+	private void updateIndexLabel() {
+		if (indexLabel.isDisposed()) {
+			return;
+		}
+		CalmReferenceService service = CalmReferenceService.getInstance();
+		indexLabel.setText(service.isBuilt()
+				? service.getSummary()
+				: "The index is built with the first search");
+		indexLabel.getParent().layout();
+	}
+
+	private void updateSearchEnabled() {
+		if (container != null) {
+			container.setPerformActionEnabled(isItemId(itemIdText.getText().trim()));
+		}
+	}
+
+	private static boolean isItemId(String text) {
+		AbapCommentLexer lexer = PreferenceService.getInstance().getItemTypeRegistry().lexer();
+		return !text.isEmpty() && lexer.matchId(text, 0, text.length()) == text.length();
+	}
+}
@@ -0,0 +1,57 @@
+package com.consetto.adt.cloudalmlink.search;
+
+import org.eclipse.jface.resource.ImageDescriptor;
+import org.eclipse.search.ui.ISearchQuery;
+import org.eclipse.search.ui.text.AbstractTextSearchResult;
+import org.eclipse.search.ui.text.IEditorMatchAdapter;
+import org.eclipse.search.ui.text.IFileMatchAdapter;
+
+/**
+ * Result of a {@link CalmReferenceQuery}: the referencing lines grouped by source object.
+ */
+public class CalmReferenceSearchResult extends AbstractTextSearchResult {
+
+	private final CalmReferenceQuery query;
+
+	/**
+	 * Creates an empty result.
+	 *
+	 * @param query The query producing the result
+	 */
+	public CalmReferenceSearchResult(CalmReferenceQuery query) {
+		this.query = query;
+	}
+
+	@Override
+	public String getLabel() {
+		int matches = getMatchCount();
+		return "'" + query.getItemId() + "' - " + matches + (matches == 1 ? " reference" : " references")
+				+ " in " + getElements().length + " objects";
+	}
+
+	@Override
+	public String getTooltip() {
+		return getLabel();
+	}
+
+	@Override
+	public ImageDescriptor getImageDescriptor() {
+		return null;
+	}
+
+	@Override
+	public ISearchQuery getQuery() {
+		return query;
+	}
+
+	@Override
+	public IEditorMatchAdapter getEditorMatchAdapter() {
+		// Sources are remote ADT objects, not workspace files
+		return null;
+	}
+
+	@Override
+	public IFileMatchAdapter getFileMatchAdapter() {
+		return null;
+	}
+}
@@ -0,0 +1,362 @@
+package com.consetto.adt.cloudalmlink.services;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.Job;
+import org.osgi.framework.FrameworkUtil;
+
+import com.consetto.adt.cloudalmlink.search.AdtObjectReferences;
+import com.consetto.adt.cloudalmlink.search.AdtObjectReferences.ObjectReference;
+import com.consetto.adt.cloudalmlink.search.CalmReferenceIndex;
+import com.consetto.adt.cloudalmlink.search.CalmReferenceIndex.Reference;
+import com.consetto.adt.cloudalmlink.search.CalmReferenceIndex.SourceObject;
+import com.consetto.adt.cloudalmlink.util.AbapCommentLexer;
+import com.consetto.adt.cloudalmlink.util.CloudAlmLinkLogger;
+import com.sap.adt.communication.message.HeadersFactory;
+import com.sap.adt.communication.message.IHeaders;
+import com.sap.adt.communication.message.IMessageBody;
+import com.sap.adt.communication.resources.AdtRestResourceFactory;
+import com.sap.adt.communication.resources.IRestResource;
+import com.sap.adt.communication.resources.IRestResourceFactory;
+import com.sap.adt.destinations.logon.AdtLogonServiceFactory;
+import com.sap.adt.tools.core.project.IAbapProject;
+
+/**
+ * Workspace-wide index of the Cloud ALM IDs referenced in ABAP source comments.
+ * <p>
+ * The index is kept in the plugin state location and loaded on first use, so searches are
+ * answered without fetching sources. A rebuild scans the sources of all logged-on ABAP projects
+ * whose names match the configured patterns, several sources in parallel. Saved editors update
+ * the index for their object only.
+ */
+public final class CalmReferenceService {
+
+	private static final String INDEX_FILE = "references.idx";
+	private static final String SEARCH_PATH = "/sap/bc/adt/repository/informationsystem/search";
+	private static final int MAX_SEARCH_RESULTS = 10000;
+	private static final int PARALLEL_REQUESTS = 4;
+	private static final long SAVE_DELAY_MS = 2000;
+
+	private static volatile CalmReferenceService instance;
+
+	private CalmReferenceIndex index;
+	private boolean built;
+	private final Job rebuildJob = new RebuildJob();
+	private final Job saveJob;
+
+	private CalmReferenceService() {
+		this.saveJob = Job.create("Saving Cloud ALM reference index", monitor -> {
+			save();
+			return Status.OK_STATUS;
+		});
+		this.saveJob.setSystem(true);
+	}
+
+	/**
+	 * Gets the singleton instance of the reference service.
+	 * Thread-safe lazy initialization.
+	 *
+	 * @return The reference service instance
+	 */
+	public static CalmReferenceService getInstance() {
+		if (instance == null) {
+			synchronized (CalmReferenceService.class) {
+				if (instance == null) {
+					instance = new CalmReferenceService();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Checks whether an index was saved, without loading it.
+	 *
+	 * @return true if a previous session built the index
+	 */
+	public static boolean isIndexSaved() {
+		return getIndexFile().isFile();
+	}
+
+	/**
+	 * Finds all indexed references to a Cloud ALM item.
+	 *
+	 * @param itemId The item ID, e.g. 6-4711
+	 * @return The references ordered by project, object and line
+	 */
+	public List<Reference> find(String itemId) {
+		return getIndex().find(itemId);
+	}
+
+	/**
+	 * Checks whether the index was built or loaded from an earlier session.
+	 *
+	 * @return true if the index has content to search
+	 */
+	public synchronized boolean isBuilt() {
+		getIndex();
+		return built;
+	}
+
+	/**
+	 * @return A short description of the index content
+	 */
+	public String getSummary() {
+		CalmReferenceIndex current = getIndex();
+		return current.itemCount() + " Cloud ALM IDs referenced in " + current.objectCount() + " objects";
+	}
+
+	/**
+	 * Rebuilds the index in a background job. A running rebuild is restarted.
+	 *
+	 * @return The rebuild job, e.g. to wait for it
+	 */
+	public Job rebuild() {
+		rebuildJob.cancel();
+		rebuildJob.schedule();
+		return rebuildJob;
+	}
+
+	/**
+	 * Updates the references of one saved object in the background.
+	 *
+	 * @param project The ABAP project name
+	 * @param uri The ADT URI of the object or its main source
+	 * @param source The saved source
+	 */
+	public void update(String project, String uri, String source) {
+		SourceObject object = new SourceObject(project, AdtObjectReferences.objectUri(uri));
+		Job job = Job.create("Indexing Cloud ALM references", monitor -> {
+			AbapCommentLexer lexer = PreferenceService.getInstance().getItemTypeRegistry().lexer();
+			getIndex().put(object, CalmReferenceIndex.scan(source, lexer));
+			saveJob.schedule(SAVE_DELAY_MS);
+			return Status.OK_STATUS;
+		});
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	/**
+	 * Gets the index, loading it from the state location on first use.
+	 */
+	private synchronized CalmReferenceIndex getIndex() {
+		if (index == null) {
+			File file = getIndexFile();
+			if (file.isFile()) {
+				try (InputStream in = Files.newInputStream(file.toPath())) {
+					index = CalmReferenceIndex.read(in);
+					built = true;
+				} catch (IOException e) {
+					CloudAlmLinkLogger.logWarning("Discarding unreadable Cloud ALM reference index: " + e.getMessage());
+				}
+			}
+			if (index == null) {
+				index = new CalmReferenceIndex();
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Writes the index to a temporary file and moves it into place, so a crash never leaves a
+	 * partial index. Only called by the save job, which never runs twice at the same time.
+	 */
+	private void save() {
+		Path target = getIndexFile().toPath();
+		Path temp = target.resolveSibling(INDEX_FILE + ".tmp");
+		try {
+			try (OutputStream out = Files.newOutputStream(temp)) {
+				getIndex().write(out);
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			CloudAlmLinkLogger.logError("Failed to save the Cloud ALM reference index", e);
+		}
+	}
+
+	private static File getIndexFile() {
+		return Platform.getStateLocation(FrameworkUtil.getBundle(CalmReferenceService.class))
+				.append(INDEX_FILE).toFile();
+	}
+
+	/**
+	 * Gets the open ABAP projects of the workspace.
+	 */
+	private static List<IProject> getAbapProjects() {
+		List<IProject> projects = new ArrayList<>();
+		for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+			if (project.isOpen() && project.getAdapter(IAbapProject.class) != null) {
+				projects.add(project);
+			}
+		}
+		return projects;
+	}
+
+	/**
+	 * Background job rebuilding the index project by project.
+	 */
+	private class RebuildJob extends Job {
+
+		RebuildJob() {
+			super("Indexing Cloud ALM references");
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			List<IProject> projects = getAbapProjects();
+			SubMonitor progress = SubMonitor.convert(monitor, "Indexing Cloud ALM references", projects.size());
+			for (IProject project : projects) {
+				if (progress.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				indexProject(project, progress.split(1));
+			}
+			synchronized (CalmReferenceService.this) {
+				built = true;
+			}
+			// Saved by the save job only, so two saves never write the temporary file at once
+			saveJob.schedule();
+			return Status.OK_STATUS;
+		}
+
+		private void indexProject(IProject project, IProgressMonitor monitor) {
+			String destination = project.getAdapter(IAbapProject.class).getDestinationId();
+			// A background job must not open logon dialogs; projects are indexed once logged on
+			if (!AdtLogonServiceFactory.createLogonService().isLoggedOn(destination)) {
+				CloudAlmLinkLogger.logInfo("Skipping reference indexing of " + project.getName() + ": not logged on");
+				return;
+			}
+
+			IRestResourceFactory factory = AdtRestResourceFactory.createRestResourceFactory();
+			AbapCommentLexer lexer = PreferenceService.getInstance().getItemTypeRegistry().lexer();
+			Map<String, ObjectReference> objects = new LinkedHashMap<>();
+			AtomicBoolean complete = new AtomicBoolean(true);
+			for (String pattern : PreferenceService.getInstance().getIndexPatterns()) {
+				List<ObjectReference> found = searchObjects(factory, destination, pattern);
+				// A failed or cut-off search does not list every object of the project
+				if (found == null || found.size() >= MAX_SEARCH_RESULTS) {
+					complete.set(false);
+					continue;
+				}
+				for (ObjectReference object : found) {
+					if (object.hasSource()) {
+						objects.putIfAbsent(object.uri(), object);
+					}
+				}
+			}
+
+			SubMonitor progress = SubMonitor.convert(monitor, project.getName(), objects.size());
+			Map<SourceObject, Map<String, int[]>> references = new ConcurrentHashMap<>();
+			ExecutorService executor = Executors.newFixedThreadPool(PARALLEL_REQUESTS);
+			try {
+				List<Future<?>> tasks = new ArrayList<>();
+				for (ObjectReference object : objects.values()) {
+					tasks.add(executor.submit(() -> {
+						if (progress.isCanceled()) {
+							return;
+						}
+						String source = fetchSource(factory, destination, object);
+						if (source != null) {
+							references.put(new SourceObject(project.getName(), object.uri()),
+									CalmReferenceIndex.scan(source, lexer));
+						} else {
+							complete.set(false);
+						}
+					}));
+				}
+				for (Future<?> task : tasks) {
+					if (progress.isCanceled()) {
+						return;
+					}
+					task.get();
+					progress.worked(1);
+				}
+			} catch (Exception e) {
+				CloudAlmLinkLogger.logError("Failed to index Cloud ALM references of " + project.getName(), e);
+				return;
+			} finally {
+				executor.shutdownNow();
+				awaitTermination(executor);
+			}
+
+			if (complete.get()) {
+				// Also drops objects that were deleted or no longer match the patterns
+				getIndex().replaceProject(project.getName(), references);
+				return;
+			}
+			// Objects that could not be listed or read keep their previous references
+			CloudAlmLinkLogger.logWarning("Incomplete reference indexing of " + project.getName()
+					+ ": kept the previous references of the objects that could not be read");
+			CalmReferenceIndex current = getIndex();
+			references.forEach(current::put);
+		}
+
+		/**
+		 * Searches the objects matching a pattern.
+		 *
+		 * @return The objects found, or null if the search failed
+		 */
+		private List<ObjectReference> searchObjects(IRestResourceFactory factory, String destination, String pattern) {
+			String query = SEARCH_PATH + "?operation=quickSearch&query="
+					+ URLEncoder.encode(pattern, StandardCharsets.UTF_8) + "&maxResults=" + MAX_SEARCH_RESULTS;
+			String response = get(factory, destination, query, "application/xml");
+			return response != null ? AdtObjectReferences.parse(response) : null;
+		}
+
+		private String fetchSource(IRestResourceFactory factory, String destination, ObjectReference object) {
+			return get(factory, destination, object.sourceUri(), "text/plain");
+		}
+
+		private String get(IRestResourceFactory factory, String destination, String uri, String accept) {
+			try {
+				IRestResource resource = factory.createResourceWithStatelessSession(URI.create(uri), destination);
+				IHeaders headers = HeadersFactory.newHeaders();
+				headers.setField(HeadersFactory.newField("Accept", accept));
+				IMessageBody body = resource.get(null, headers, IMessageBody.class);
+				if (body == null) {
+					return null;
+				}
+				try (InputStream content = body.getContent()) {
+					return new String(content.readAllBytes(), StandardCharsets.UTF_8);
+				}
+			} catch (Exception e) {
+				CloudAlmLinkLogger.logWarning("Failed to read " + uri + " for the reference index: " + e.getMessage());
+				return null;
+			}
+		}
+
+		private void awaitTermination(ExecutorService executor) {
+			try {
+				executor.awaitTermination(10, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
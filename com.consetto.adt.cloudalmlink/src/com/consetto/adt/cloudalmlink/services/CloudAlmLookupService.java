@@ -0,0 +1,414 @@
+package com.consetto.adt.cloudalmlink.services;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.consetto.adt.cloudalmlink.handlers.CalmApiHandler;
+import com.consetto.adt.cloudalmlink.model.CloudAlmItem;
+import com.consetto.adt.cloudalmlink.model.DemoDataProvider;
+import com.consetto.adt.cloudalmlink.model.FeatureElement;
+import com.consetto.adt.cloudalmlink.util.AsyncLookupCache;
+import com.consetto.adt.cloudalmlink.util.Deadline;
+import com.consetto.adt.cloudalmlink.util.TokenBucketRateLimiter.Priority;
+
+/**
+ * Shared, cached access to Cloud ALM item details by display ID and to the features of transports.
+ * Lookups run in background jobs; every item is fetched at most once per time-to-live,
+ * also when several editors or hovers ask for it at the same time.
+ */
+public final class CloudAlmLookupService {
+
+	private static final int MAX_CACHED_ITEMS = 1000;
+	private static final Duration ITEM_TTL = Duration.ofMinutes(10);
+	private static final Duration WARM_UP_TIMEOUT = Duration.ofSeconds(30);
+
+	/**
+	 * Runs each lookup in its own short system job.
+	 */
+	private static final Executor JOB_EXECUTOR = runnable -> {
+		Job job = Job.create("Looking up Cloud ALM item", monitor -> {
+			runnable.run();
+			return Status.OK_STATUS;
+		});
+		job.setSystem(true);
+		job.schedule();
+	};
+
+	private static volatile CloudAlmLookupService instance;
+
+	private final AsyncLookupCache<String, CloudAlmItem> cache;
+	private final AsyncLookupCache<String, FeatureElement> featureCache;
+	private final AtomicInteger runningLookups = new AtomicInteger();
+	private SharedApiService apiService;
+
+	private CloudAlmLookupService() {
+		this.cache = new AsyncLookupCache<>(MAX_CACHED_ITEMS, ITEM_TTL, JOB_EXECUTOR, this::fetchItem);
+		this.featureCache = new AsyncLookupCache<>(MAX_CACHED_ITEMS, ITEM_TTL, JOB_EXECUTOR, this::fetchFeature);
+		// Items and the API client belong to the tenant they were fetched from
+		PreferenceService.getInstance().addConfigListener(config -> invalidate());
+		// Cached results stay valid; only the client is rebuilt with the new timeouts and pool
+		PreferenceService.getInstance().addHttpSettingsListener(settings -> closeApiService());
+	}
+
+	/**
+	 * Gets the singleton instance of the lookup service.
+	 * Thread-safe lazy initialization.
+	 *
+	 * @return The lookup service instance
+	 */
+	public static CloudAlmLookupService getInstance() {
+		if (instance == null) {
+			synchronized (CloudAlmLookupService.class) {
+				if (instance == null) {
+					instance = new CloudAlmLookupService();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Looks up an item without blocking the caller.
+	 *
+	 * @param itemId The item ID (e.g., "6-1234")
+	 * @return A future completing with the item, or with null if it does not exist
+	 */
+	public CompletableFuture<CloudAlmItem> lookup(String itemId) {
+		return cache.get(itemId);
+	}
+
+	/**
+	 * Gets an item only if it was already fetched.
+	 *
+	 * @param itemId The item ID
+	 * @return The cached item, or null if it is not cached or does not exist
+	 */
+	public CloudAlmItem getCached(String itemId) {
+		return cache.getIfPresent(itemId);
+	}
+
+	/**
+	 * Resolves several items at once, e.g. to validate all IDs of a source.
+	 * Cached items are served from the cache; all others are fetched with one batched request
+	 * per item type and cached. Blocks while fetching, so call it from a background job.
+	 *
+	 * @param itemIds The item IDs
+	 * @return The items by ID; IDs that do not exist map to null, IDs that could not be checked are missing
+	 */
+	public Map<String, CloudAlmItem> resolveAll(Collection<String> itemIds) {
+		Map<String, CloudAlmItem> result = new HashMap<>();
+		List<String> misses = new ArrayList<>();
+		for (String itemId : itemIds) {
+			if (cache.contains(itemId)) {
+				result.put(itemId, cache.getIfPresent(itemId));
+			} else {
+				misses.add(itemId);
+			}
+		}
+		if (!misses.isEmpty()) {
+			Map<String, CloudAlmItem> fetched = fetchItems(misses);
+			fetched.forEach(cache::put);
+			result.putAll(fetched);
+		}
+		return result;
+	}
+
+	/**
+	 * Looks up the feature of a transport without blocking the caller.
+	 *
+	 * @param transportId The transport request ID
+	 * @return A future completing with the feature, or with null if the transport has none
+	 */
+	public CompletableFuture<FeatureElement> lookupFeature(String transportId) {
+		return featureCache.get(transportId);
+	}
+
+	/**
+	 * Checks whether the feature of a transport was already looked up.
+	 *
+	 * @param transportId The transport request ID
+	 * @return true if {@link #getCachedFeature(String)} answers without a lookup
+	 */
+	public boolean isFeatureCached(String transportId) {
+		return featureCache.contains(transportId);
+	}
+
+	/**
+	 * Gets the feature of a transport only if it was already looked up.
+	 *
+	 * @param transportId The transport request ID
+	 * @return The cached feature, or null if it is not cached or the transport has none
+	 */
+	public FeatureElement getCachedFeature(String transportId) {
+		return featureCache.getIfPresent(transportId);
+	}
+
+	/**
+	 * Resolves the features of several transports at once, e.g. for a multi-selection.
+	 * Cached features are served from the cache; all others are fetched in parallel and cached.
+	 * Blocks while fetching, so call it from a background job.
+	 *
+	 * @param transportIds The transport request IDs
+	 * @return The features by transport ID; transports without feature map to null, transports that
+	 *         failed fast while Cloud ALM is unavailable map to {@link FeatureElement#unavailable()},
+	 *         other transports that could not be checked are missing
+	 */
+	public Map<String, FeatureElement> resolveFeatures(Collection<String> transportIds) {
+		return resolveFeatures(transportIds, Deadline.none());
+	}
+
+	/**
+	 * Resolves the features of several transports at once within a deadline.
+	 * Blocks while fetching, but not past the deadline.
+	 *
+	 * @param transportIds The transport request IDs
+	 * @param deadline The time by which the features have to be looked up
+	 * @return The features by transport ID as for {@link #resolveFeatures(Collection)}; transports
+	 *         not looked up before the deadline are missing
+	 */
+	public Map<String, FeatureElement> resolveFeatures(Collection<String> transportIds, Deadline deadline) {
+		return resolveFeatures(transportIds, deadline, Priority.INTERACTIVE);
+	}
+
+	/**
+	 * Resolves the features of several transports for a background consumer such as a label
+	 * decorator. Like {@link #prefetchFeatures(Collection)} this does not count as a running lookup
+	 * and its API calls give way to interactive ones in the rate limiter.
+	 * Blocks while fetching, so call it from a background job.
+	 *
+	 * @param transportIds The transport request IDs
+	 * @return The features by transport ID as for {@link #resolveFeatures(Collection)}
+	 */
+	public Map<String, FeatureElement> resolveFeaturesInBackground(Collection<String> transportIds) {
+		return resolveFeatures(transportIds, Deadline.none(), Priority.BACKGROUND);
+	}
+
+	private Map<String, FeatureElement> resolveFeatures(Collection<String> transportIds, Deadline deadline,
+			Priority priority) {
+		Map<String, FeatureElement> result = new HashMap<>();
+		List<String> misses = new ArrayList<>();
+		for (String transportId : transportIds) {
+			if (featureCache.contains(transportId)) {
+				result.put(transportId, featureCache.getIfPresent(transportId));
+			} else {
+				misses.add(transportId);
+			}
+		}
+		if (!misses.isEmpty()) {
+			Map<String, FeatureElement> fetched = fetchFeatures(misses, deadline, priority);
+			cacheFeatures(fetched);
+			result.putAll(fetched);
+		}
+		return result;
+	}
+
+	/**
+	 * Warms the feature cache for transports the user is likely to look up.
+	 * Unlike {@link #resolveFeatures(Collection)} this does not count as a running lookup, so
+	 * background prefetching can yield to {@link #isLookupRunning() interactive lookups}, and its
+	 * API calls give way to interactive ones in the rate limiter.
+	 * Blocks while fetching, so call it from a background job.
+	 *
+	 * @param transportIds The transport request IDs
+	 * @return The number of transports fetched, 0 if all were cached or in demo mode
+	 */
+	public int prefetchFeatures(Collection<String> transportIds) {
+		List<String> misses = new ArrayList<>();
+		for (String transportId : transportIds) {
+			if (!featureCache.contains(transportId)) {
+				misses.add(transportId);
+			}
+		}
+		if (misses.isEmpty() || PreferenceService.getInstance().isDemoModeEnabled()) {
+			return 0;
+		}
+		return cacheFeatures(
+				withApiService(service -> service.getFeatures(misses, Deadline.none(), Priority.BACKGROUND)));
+	}
+
+	/**
+	 * Caches fetched features. Unavailable markers are not cached, so the transports are looked up
+	 * again once Cloud ALM is back.
+	 *
+	 * @return The number of features cached
+	 */
+	private int cacheFeatures(Map<String, FeatureElement> features) {
+		int cached = 0;
+		for (Map.Entry<String, FeatureElement> entry : features.entrySet()) {
+			if (entry.getValue() == null || !entry.getValue().isUnavailable()) {
+				featureCache.put(entry.getKey(), entry.getValue());
+				cached++;
+			}
+		}
+		return cached;
+	}
+
+	/**
+	 * Connects to Cloud ALM and its authentication server and obtains the OAuth token with the
+	 * shared API client, so the first lookup after starting the workbench finds the connections
+	 * and token ready. Does nothing in demo mode or without credentials.
+	 * Blocks while connecting, so call it from a background job.
+	 */
+	public void warmUp() {
+		PreferenceService preferences = PreferenceService.getInstance();
+		if (preferences.isDemoModeEnabled() || !preferences.getCloudAlmConfig().isValid()) {
+			return;
+		}
+		withApiService(service -> {
+			service.warmUp(Deadline.after(WARM_UP_TIMEOUT));
+			return null;
+		});
+	}
+
+	/**
+	 * Checks whether a lookup requested by the user, e.g. a hover or "Open in Cloud ALM", is
+	 * currently calling Cloud ALM.
+	 *
+	 * @return true while at least one such lookup is running
+	 */
+	public boolean isLookupRunning() {
+		return runningLookups.get() > 0;
+	}
+
+	/**
+	 * Drops all cached items and features and the API client. Called when the connection settings change.
+	 */
+	public void invalidate() {
+		cache.invalidateAll();
+		featureCache.invalidateAll();
+		closeApiService();
+	}
+
+	private CloudAlmItem fetchItem(String itemId) {
+		Map<String, CloudAlmItem> items = fetchItems(List.of(itemId));
+		if (!items.containsKey(itemId)) {
+			// Not cached, so the next hover tries again
+			throw new IllegalStateException("Could not look up Cloud ALM item " + itemId);
+		}
+		return items.get(itemId);
+	}
+
+	private Map<String, CloudAlmItem> fetchItems(Collection<String> itemIds) {
+		if (PreferenceService.getInstance().isDemoModeEnabled()) {
+			Map<String, CloudAlmItem> items = new HashMap<>();
+			for (String itemId : itemIds) {
+				items.put(itemId, DemoDataProvider.getDemoItem(itemId));
+			}
+			return items;
+		}
+		runningLookups.incrementAndGet();
+		try {
+			return withApiService(service -> service.getItems(itemIds));
+		} finally {
+			runningLookups.decrementAndGet();
+		}
+	}
+
+	private FeatureElement fetchFeature(String transportId) {
+		Map<String, FeatureElement> features = fetchFeatures(List.of(transportId), Deadline.none(),
+				Priority.INTERACTIVE);
+		FeatureElement feature = features.get(transportId);
+		// Failed loads are not cached
+		if (!features.containsKey(transportId) || (feature != null && feature.isUnavailable())) {
+			throw new IllegalStateException("Could not look up the feature of transport " + transportId);
+		}
+		return feature;
+	}
+
+	private Map<String, FeatureElement> fetchFeatures(Collection<String> transportIds, Deadline deadline,
+			Priority priority) {
+		if (PreferenceService.getInstance().isDemoModeEnabled()) {
+			Map<String, FeatureElement> features = new HashMap<>();
+			for (String transportId : transportIds) {
+				features.put(transportId, DemoDataProvider.getDemoFeature(transportId));
+			}
+			return features;
+		}
+		// Background lookups do not count as running, so they yield to interactive ones
+		if (priority == Priority.BACKGROUND) {
+			return withApiService(service -> service.getFeatures(transportIds, deadline, priority));
+		}
+		runningLookups.incrementAndGet();
+		try {
+			return withApiService(service -> service.getFeatures(transportIds, deadline));
+		} finally {
+			runningLookups.decrementAndGet();
+		}
+	}
+
+	/**
+	 * Makes a call with the API service shared by all lookups, creating it if needed.
+	 */
+	private <T> T withApiService(Function<ICloudAlmApiService, T> call) {
+		SharedApiService shared = acquireApiService();
+		try {
+			return call.apply(shared.service);
+		} finally {
+			shared.release();
+		}
+	}
+
+	private synchronized SharedApiService acquireApiService() {
+		if (apiService == null) {
+			apiService = new SharedApiService(new CalmApiHandler());
+		}
+		apiService.acquire();
+		return apiService;
+	}
+
+	/**
+	 * Replaces the API service by a new one on the next call. The current one is closed once the
+	 * calls still using it have returned, so they are not cut off by the closing connection pool.
+	 */
+	private synchronized void closeApiService() {
+		if (apiService != null) {
+			apiService.retire();
+			apiService = null;
+		}
+	}
+
+	/**
+	 * An API service with the number of calls using it.
+	 */
+	private static final class SharedApiService {
+
+		private final ICloudAlmApiService service;
+		private int users;
+		private boolean retired;
+
+		SharedApiService(ICloudAlmApiService service) {
+			this.service = service;
+		}
+
+		synchronized void acquire() {
+			users++;
+		}
+
+		synchronized void release() {
+			users--;
+			closeIfUnused();
+		}
+
+		synchronized void retire() {
+			retired = true;
+			closeIfUnused();
+		}
+
+		private void closeIfUnused() {
+			if (retired && users == 0) {
+				service.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,217 @@
+package com.consetto.adt.cloudalmlink.services;
+
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+import com.consetto.adt.cloudalmlink.handlers.UserTransportRequests;
+import com.consetto.adt.cloudalmlink.model.CloudAlmConfig;
+import com.consetto.adt.cloudalmlink.util.CloudAlmLinkLogger;
+import com.sap.adt.communication.message.HeadersFactory;
+import com.sap.adt.communication.message.IHeaders;
+import com.sap.adt.communication.message.IMessageBody;
+import com.sap.adt.communication.resources.AdtRestResourceFactory;
+import com.sap.adt.communication.resources.IRestResource;
+import com.sap.adt.destinations.logon.AdtLogonServiceFactory;
+import com.sap.adt.tools.core.project.IAbapProject;
+
+/**
+ * Warms the feature cache of the {@link CloudAlmLookupService} with the user's modifiable transports,
+ * which are the ones "Open in Cloud ALM", the Transport Organizer labels and "Show Transports and
+ * Features" ask for most.
+ * <p>
+ * While prefetching is enabled in the preferences, a low-priority system job checks the ABAP
+ * projects every minute. Once a destination is logged on, its modifiable requests are listed and
+ * their features fetched in small, spaced chunks; the job waits while a lookup requested by the user
+ * is running. Destinations are prefetched again when the cached features expire.
+ */
+public final class FeaturePrefetchService {
+
+	private static final long CHECK_INTERVAL_MS = 60_000;
+
+	// Matches the time to live of the feature cache
+	private static final long REFRESH_INTERVAL_MS = 10 * 60_000;
+
+	private static final int CHUNK_SIZE = 10;
+	private static final long CHUNK_PAUSE_MS = 500;
+	private static final long BUSY_WAIT_MS = 250;
+
+	private static volatile FeaturePrefetchService instance;
+
+	// Destination ID -> time of the last complete prefetch
+	private final Map<String, Long> prefetched = new ConcurrentHashMap<>();
+	private final Job job = new PrefetchJob();
+
+	private FeaturePrefetchService() {
+		// Features of another tenant are not cached anymore
+		PreferenceService.getInstance().addConfigListener(config -> prefetched.clear());
+		PreferenceService.getInstance().addFeaturePrefetchListener(enabled -> {
+			if (enabled) {
+				job.schedule();
+			} else {
+				job.cancel();
+			}
+		});
+	}
+
+	/**
+	 * Gets the singleton instance of the prefetch service.
+	 * Thread-safe lazy initialization.
+	 *
+	 * @return The prefetch service instance
+	 */
+	public static FeaturePrefetchService getInstance() {
+		if (instance == null) {
+			synchronized (FeaturePrefetchService.class) {
+				if (instance == null) {
+					instance = new FeaturePrefetchService();
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Starts checking for logged-on destinations if prefetching is enabled, and from then on whenever
+	 * it is enabled. Calling it again has no effect.
+	 */
+	public void start() {
+		if (PreferenceService.getInstance().isFeaturePrefetchEnabled() && job.getState() == Job.NONE) {
+			job.schedule(CHECK_INTERVAL_MS);
+		}
+	}
+
+	/**
+	 * Stops prefetching; a running prefetch ends after its current chunk.
+	 */
+	public void stop() {
+		job.cancel();
+	}
+
+	/**
+	 * Background job prefetching the features of logged-on destinations.
+	 */
+	private class PrefetchJob extends Job {
+
+		PrefetchJob() {
+			super("Prefetching Cloud ALM features");
+			setSystem(true);
+			setPriority(Job.DECORATE);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			try {
+				if (isEnabled()) {
+					for (IProject project : ResourcesPlugin.getWorkspace().getRoot().getProjects()) {
+						if (monitor.isCanceled()) {
+							return Status.CANCEL_STATUS;
+						}
+						IAbapProject abapProject = project.isOpen() ? project.getAdapter(IAbapProject.class) : null;
+						if (abapProject != null) {
+							prefetchDestination(abapProject, monitor);
+						}
+					}
+				}
+			} catch (RuntimeException e) {
+				CloudAlmLinkLogger.logWarning("Failed to prefetch Cloud ALM features", e);
+			}
+			// Switching prefetching off cancels the job; switching it on schedules it again
+			if (!monitor.isCanceled() && PreferenceService.getInstance().isFeaturePrefetchEnabled()) {
+				schedule(CHECK_INTERVAL_MS);
+			}
+			return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+		}
+
+		private boolean isEnabled() {
+			CloudAlmConfig config = PreferenceService.getInstance().getCloudAlmConfig();
+			return PreferenceService.getInstance().isFeaturePrefetchEnabled() && config.isValid() && !config.demoMode();
+		}
+
+		private void prefetchDestination(IAbapProject abapProject, IProgressMonitor monitor) {
+			String destination = abapProject.getDestinationId();
+			Long last = prefetched.get(destination);
+			if (last != null && System.currentTimeMillis() - last < REFRESH_INTERVAL_MS) {
+				return;
+			}
+			// Logging on would open a dialog; wait until the user logs on
+			if (!AdtLogonServiceFactory.createLogonService().isLoggedOn(destination)) {
+				return;
+			}
+
+			String user = abapProject.getDestinationData().getUser();
+			String requests = get(destination, UserTransportRequests.modifiableRequestsUri(user));
+			if (requests == null) {
+				// Tried again with the next check
+				return;
+			}
+			List<String> transportIds = UserTransportRequests.parseModifiable(requests);
+			CloudAlmLookupService lookupService = CloudAlmLookupService.getInstance();
+			for (int start = 0; start < transportIds.size(); start += CHUNK_SIZE) {
+				if (!awaitIdle(lookupService, monitor)) {
+					return;
+				}
+				lookupService.prefetchFeatures(transportIds.subList(start, Math.min(transportIds.size(), start + CHUNK_SIZE)));
+				if (!sleep(CHUNK_PAUSE_MS, monitor)) {
+					return;
+				}
+			}
+			prefetched.put(destination, System.currentTimeMillis());
+			CloudAlmLinkLogger.logInfo("Prefetched Cloud ALM features of " + transportIds.size()
+					+ " transports for " + destination);
+		}
+
+		/**
+		 * Waits while a lookup requested by the user is running.
+		 *
+		 * @return false if the job was canceled
+		 */
+		private boolean awaitIdle(CloudAlmLookupService lookupService, IProgressMonitor monitor) {
+			while (lookupService.isLookupRunning()) {
+				if (!sleep(BUSY_WAIT_MS, monitor)) {
+					return false;
+				}
+			}
+			return !monitor.isCanceled();
+		}
+
+		private boolean sleep(long millis, IProgressMonitor monitor) {
+			try {
+				Thread.sleep(millis);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+			return !monitor.isCanceled();
+		}
+
+		private String get(String destination, String uri) {
+			try {
+				IRestResource resource = AdtRestResourceFactory.createRestResourceFactory()
+						.createResourceWithStatelessSession(URI.create(uri), destination);
+				IHeaders headers = HeadersFactory.newHeaders();
+				headers.setField(HeadersFactory.newField("Accept", "application/vnd.sap.adt.transportorganizertree.v1+xml, application/xml"));
+				IMessageBody body = resource.get(null, headers, IMessageBody.class);
+				if (body == null) {
+					return null;
+				}
+				try (InputStream content = body.getContent()) {
+					return new String(content.readAllBytes(), StandardCharsets.UTF_8);
+				}
+			} catch (Exception e) {
+				CloudAlmLinkLogger.logWarning("Failed to list the transports of " + destination + ": " + e.getMessage());
+				return null;
+			}
+		}
+	}
+}
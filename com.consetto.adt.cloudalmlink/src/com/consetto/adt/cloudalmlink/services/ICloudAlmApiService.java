@@ -1,6 +1,12 @@
 package com.consetto.adt.cloudalmlink.services;
 
+import java.util.Collection;
+import java.util.Map;
+
+import com.consetto.adt.cloudalmlink.model.CloudAlmItem;
 import com.consetto.adt.cloudalmlink.model.FeatureElement;
+import com.consetto.adt.cloudalmlink.util.Deadline;
+import com.consetto.adt.cloudalmlink.util.TokenBucketRateLimiter.Priority;
 
 /**
  * Service interface for Cloud ALM API operations.
@@ -12,10 +18,83 @@ public interface ICloudAlmApiService extends AutoCloseable {
 	 * Fetches the Cloud ALM feature associated with a transport.
 	 *
 	 * @param transportId The transport request ID
-	 * @return The feature element, or null if not found
+	 * @return The feature element, null if not found, or {@link FeatureElement#unavailable()} if the
+	 *         lookup failed fast because Cloud ALM is unavailable
 	 */
 	FeatureElement getFeature(String transportId);
 
+	/**
+	 * Fetches the Cloud ALM features associated with several transports.
+	 *
+	 * @param transportIds The transport request IDs
+	 * @return The features by transport ID; transports without feature map to null, transports that
+	 *         failed fast because Cloud ALM is unavailable map to {@link FeatureElement#unavailable()},
+	 *         transports that could not be checked for other reasons are missing
+	 */
+	default Map<String, FeatureElement> getFeatures(Collection<String> transportIds) {
+		return getFeatures(transportIds, Deadline.none());
+	}
+
+	/**
+	 * Fetches the Cloud ALM features associated with several transports within a deadline.
+	 * Transports not answered by the deadline, retries included, are left unchecked.
+	 *
+	 * @param transportIds The transport request IDs
+	 * @param deadline The time by which the features are needed
+	 * @return The features by transport ID as for {@link #getFeatures(Collection)}
+	 */
+	default Map<String, FeatureElement> getFeatures(Collection<String> transportIds, Deadline deadline) {
+		return getFeatures(transportIds, deadline, Priority.INTERACTIVE);
+	}
+
+	/**
+	 * Fetches the Cloud ALM features associated with several transports within a deadline.
+	 * Background lookups give way to interactive ones when the API calls are rate-limited.
+	 *
+	 * @param transportIds The transport request IDs
+	 * @param deadline The time by which the features are needed
+	 * @param priority Whether a user is waiting for the features
+	 * @return The features by transport ID as for {@link #getFeatures(Collection)}
+	 */
+	Map<String, FeatureElement> getFeatures(Collection<String> transportIds, Deadline deadline, Priority priority);
+
+	/**
+	 * Fetches the summary of a Cloud ALM item by its display ID.
+	 *
+	 * @param itemId The item ID (e.g., "6-1234", "3-5678")
+	 * @return The item, or null if not found
+	 */
+	CloudAlmItem getItem(String itemId);
+
+	/**
+	 * Fetches the summaries of several Cloud ALM items with as few requests as possible.
+	 *
+	 * @param itemIds The item IDs
+	 * @return The items by ID; IDs that do not exist map to null, IDs that could not be checked,
+	 *         including while Cloud ALM is unavailable, are missing
+	 */
+	default Map<String, CloudAlmItem> getItems(Collection<String> itemIds) {
+		return getItems(itemIds, Deadline.none());
+	}
+
+	/**
+	 * Fetches the summaries of several Cloud ALM items within a deadline.
+	 * Items not answered by the deadline, retries included, are left unchecked.
+	 *
+	 * @param itemIds The item IDs
+	 * @param deadline The time by which the items are needed
+	 * @return The items by ID as for {@link #getItems(Collection)}
+	 */
+	Map<String, CloudAlmItem> getItems(Collection<String> itemIds, Deadline deadline);
+
+	/**
+	 * Connects to Cloud ALM and its authentication server and obtains the OAuth token, so the
+	 * first lookup finds them ready. Failures are logged and left to the first lookup to retry.
+	 *
+	 * @param deadline The time by which warming up has to be done
+	 */
+	void warmUp(Deadline deadline);
+
 	/**
 	 * Checks if the service is properly configured and ready to make API calls.
 	 *
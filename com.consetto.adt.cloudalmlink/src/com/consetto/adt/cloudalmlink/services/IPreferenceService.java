@@ -1,6 +1,13 @@
 package com.consetto.adt.cloudalmlink.services;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
 import com.consetto.adt.cloudalmlink.model.CloudAlmConfig;
+import com.consetto.adt.cloudalmlink.model.HttpSettings;
+import com.consetto.adt.cloudalmlink.model.ItemTypeRegistry;
+import com.consetto.adt.cloudalmlink.util.CircuitBreaker;
 
 /**
  * Service interface for accessing Cloud ALM plugin preferences.
@@ -10,11 +17,27 @@ public interface IPreferenceService {
 
 	/**
 	 * Gets the current Cloud ALM configuration from preferences.
+	 * The configuration is an immutable snapshot; a new one is created when the settings change.
 	 *
 	 * @return The configuration, never null (but may have empty fields)
 	 */
 	CloudAlmConfig getCloudAlmConfig();
 
+	/**
+	 * Registers a listener notified with the new configuration whenever a connection setting
+	 * or demo mode changes.
+	 *
+	 * @param listener The listener
+	 */
+	void addConfigListener(Consumer<CloudAlmConfig> listener);
+
+	/**
+	 * Removes a configuration listener.
+	 *
+	 * @param listener The listener
+	 */
+	void removeConfigListener(Consumer<CloudAlmConfig> listener);
+
 	/**
 	 * Checks if demo mode is enabled.
 	 *
@@ -49,4 +72,96 @@ public interface IPreferenceService {
 	 * @return The client secret
 	 */
 	String getClientSecret();
+
+	/**
+	 * Gets the delay after the last keystroke before the TransportView search is applied.
+	 *
+	 * @return The debounce delay in milliseconds
+	 */
+	int getFilterDelay();
+
+	/**
+	 * Checks if Cloud ALM IDs in source comments are validated against Cloud ALM.
+	 *
+	 * @return true if ID validation is enabled
+	 */
+	boolean isIdValidationEnabled();
+
+	/**
+	 * Gets the object name patterns whose sources are scanned for the reference search index.
+	 *
+	 * @return The patterns, e.g. Z*
+	 */
+	List<String> getIndexPatterns();
+
+	/**
+	 * Checks if the features of the user's modifiable transports are prefetched in the background.
+	 *
+	 * @return true if feature prefetching is enabled
+	 */
+	boolean isFeaturePrefetchEnabled();
+
+	/**
+	 * Registers a listener notified whenever feature prefetching is switched on or off.
+	 *
+	 * @param listener The listener, given whether prefetching is enabled
+	 */
+	void addFeaturePrefetchListener(Consumer<Boolean> listener);
+
+	/**
+	 * Checks if connections to Cloud ALM are opened in the background when the workbench starts.
+	 *
+	 * @return true if connection warm-up is enabled
+	 */
+	boolean isConnectionWarmUpEnabled();
+
+	/**
+	 * Gets the thresholds of the circuit breaker guarding Cloud ALM calls.
+	 *
+	 * @return The current thresholds, never null
+	 */
+	CircuitBreaker.Settings getCircuitBreakerSettings();
+
+	/**
+	 * Gets the time budget of one "Show Transports and Features" invocation, shared by its ADT
+	 * requests and Cloud ALM lookups.
+	 *
+	 * @return The time budget, at least one second
+	 */
+	Duration getShowTransportsTimeout();
+
+	/**
+	 * Checks if slow feature lookups are hedged with a second request.
+	 *
+	 * @return true if hedging is enabled
+	 */
+	boolean isHedgingEnabled();
+
+	/**
+	 * Gets the timeouts and connection pool limits of the Cloud ALM HTTP client.
+	 *
+	 * @return The current settings, never null
+	 */
+	HttpSettings getHttpSettings();
+
+	/**
+	 * Registers a listener notified with the new settings whenever an HTTP setting changes.
+	 *
+	 * @param listener The listener
+	 */
+	void addHttpSettingsListener(Consumer<HttpSettings> listener);
+
+	/**
+	 * Gets the registry of the built-in and configured Cloud ALM item types.
+	 *
+	 * @return The current registry, never null
+	 */
+	ItemTypeRegistry getItemTypeRegistry();
+
+	/**
+	 * Registers a listener notified with the new registry whenever the configured item types change.
+	 *
+	 * @param listener The listener
+	 */
+	void addItemTypeListener(Consumer<ItemTypeRegistry> listener);
 }
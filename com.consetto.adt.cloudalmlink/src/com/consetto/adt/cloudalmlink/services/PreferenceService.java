@@ -1,20 +1,61 @@
 package com.consetto.adt.cloudalmlink.services;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
 import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.jface.util.PropertyChangeEvent;
 import org.eclipse.ui.preferences.ScopedPreferenceStore;
 
 import com.consetto.adt.cloudalmlink.CloudAlmLinkConstants;
 import com.consetto.adt.cloudalmlink.model.CloudAlmConfig;
+import com.consetto.adt.cloudalmlink.model.HttpSettings;
+import com.consetto.adt.cloudalmlink.model.ItemTypeRegistry;
 import com.consetto.adt.cloudalmlink.preferences.PreferenceConstants;
+import com.consetto.adt.cloudalmlink.util.CircuitBreaker;
+import com.consetto.adt.cloudalmlink.util.CloudAlmLinkLogger;
+import com.consetto.adt.cloudalmlink.util.HedgeBudget;
+import com.consetto.adt.cloudalmlink.util.TokenBucketRateLimiter;
 
 /**
  * Default implementation of IPreferenceService using Eclipse's ScopedPreferenceStore.
  * Provides centralized access to plugin preferences.
+ * <p>
+ * Settings read on hot paths are kept as immutable snapshots rebuilt when they change: the
+ * {@link CloudAlmConfig}, the circuit breaker thresholds, the {@link HttpSettings} including the
+ * hedging option, the {@link ItemTypeRegistry}, the filter delay and the Show Transports timeout.
+ * Request limits are applied to the shared {@link TokenBucketRateLimiter} and {@link HedgeBudget}.
  */
 public class PreferenceService implements IPreferenceService {
 
+	private static final Set<String> CONFIG_KEYS = Set.of(PreferenceConstants.P_TEN, PreferenceConstants.P_REG,
+			PreferenceConstants.P_CID, PreferenceConstants.P_KEY, PreferenceConstants.P_DEMO);
+
+	private static final Set<String> BREAKER_KEYS = Set.of(PreferenceConstants.P_BREAKER_FAILURE_RATE,
+			PreferenceConstants.P_BREAKER_MIN_CALLS, PreferenceConstants.P_BREAKER_OPEN_SECONDS,
+			PreferenceConstants.P_BREAKER_PROBES);
+
+	private static final Set<String> HTTP_KEYS = Set.of(PreferenceConstants.P_HTTP_CONNECT_TIMEOUT,
+			PreferenceConstants.P_HTTP_POOL_TIMEOUT, PreferenceConstants.P_HTTP_RESPONSE_TIMEOUT,
+			PreferenceConstants.P_HTTP_MAX_CONNECTIONS, PreferenceConstants.P_HTTP_MAX_CONNECTIONS_PER_HOST,
+			PreferenceConstants.P_HTTP_CONNECTION_TTL, PreferenceConstants.P_HTTP_IDLE_EVICTION,
+			PreferenceConstants.P_HTTP_VALIDATE_AFTER, PreferenceConstants.P_HTTP_KEEP_ALIVE,
+			PreferenceConstants.P_HEDGE_REQUESTS);
+
 	private static volatile PreferenceService instance;
 	private final ScopedPreferenceStore preferenceStore;
+	private final List<Consumer<CloudAlmConfig>> configListeners = new CopyOnWriteArrayList<>();
+	private final List<Consumer<HttpSettings>> httpSettingsListeners = new CopyOnWriteArrayList<>();
+	private final List<Consumer<ItemTypeRegistry>> itemTypeListeners = new CopyOnWriteArrayList<>();
+	private final List<Consumer<Boolean>> prefetchListeners = new CopyOnWriteArrayList<>();
+	private volatile CloudAlmConfig config;
+	private volatile CircuitBreaker.Settings breakerSettings;
+	private volatile HttpSettings httpSettings;
+	private volatile int filterDelay;
+	private volatile Duration showTransportsTimeout;
 
 	/**
 	 * Creates a new PreferenceService.
@@ -24,6 +65,15 @@ public class PreferenceService implements IPreferenceService {
 				InstanceScope.INSTANCE,
 				CloudAlmLinkConstants.PREFERENCE_QUALIFIER
 		);
+		this.config = readConfig();
+		this.breakerSettings = readBreakerSettings();
+		this.httpSettings = readHttpSettings();
+		this.filterDelay = readFilterDelay();
+		this.showTransportsTimeout = readShowTransportsTimeout();
+		applyItemTypes();
+		applyRateLimit();
+		applyHedgeBudget();
+		this.preferenceStore.addPropertyChangeListener(this::preferenceChanged);
 	}
 
 	/**
@@ -45,37 +95,271 @@ public class PreferenceService implements IPreferenceService {
 
 	@Override
 	public CloudAlmConfig getCloudAlmConfig() {
-		return new CloudAlmConfig(
-				getTenant(),
-				getRegion(),
-				getClientId(),
-				getClientSecret()
-		);
+		return config;
+	}
+
+	@Override
+	public void addConfigListener(Consumer<CloudAlmConfig> listener) {
+		configListeners.add(listener);
+	}
+
+	@Override
+	public void removeConfigListener(Consumer<CloudAlmConfig> listener) {
+		configListeners.remove(listener);
 	}
 
 	@Override
 	public boolean isDemoModeEnabled() {
-		return preferenceStore.getBoolean(PreferenceConstants.P_DEMO);
+		return config.demoMode();
 	}
 
 	@Override
 	public String getTenant() {
-		return preferenceStore.getString(PreferenceConstants.P_TEN);
+		return config.tenant();
 	}
 
 	@Override
 	public String getRegion() {
-		return preferenceStore.getString(PreferenceConstants.P_REG);
+		return config.region();
 	}
 
 	@Override
 	public String getClientId() {
-		return preferenceStore.getString(PreferenceConstants.P_CID);
+		return config.clientId();
 	}
 
 	@Override
 	public String getClientSecret() {
-		return preferenceStore.getString(PreferenceConstants.P_KEY);
+		return config.clientSecret();
+	}
+
+	@Override
+	public int getFilterDelay() {
+		return filterDelay;
+	}
+
+	@Override
+	public boolean isIdValidationEnabled() {
+		return preferenceStore.getBoolean(PreferenceConstants.P_VALIDATE_IDS);
+	}
+
+	@Override
+	public List<String> getIndexPatterns() {
+		String patterns = preferenceStore.getString(PreferenceConstants.P_INDEX_PATTERNS).trim();
+		return patterns.isEmpty() ? List.of() : List.of(patterns.split("[\\s,]+"));
+	}
+
+	@Override
+	public boolean isFeaturePrefetchEnabled() {
+		return preferenceStore.getBoolean(PreferenceConstants.P_PREFETCH_FEATURES);
+	}
+
+	@Override
+	public void addFeaturePrefetchListener(Consumer<Boolean> listener) {
+		prefetchListeners.add(listener);
+	}
+
+	@Override
+	public boolean isConnectionWarmUpEnabled() {
+		return preferenceStore.getBoolean(PreferenceConstants.P_WARM_UP_CONNECTIONS);
+	}
+
+	@Override
+	public CircuitBreaker.Settings getCircuitBreakerSettings() {
+		return breakerSettings;
+	}
+
+	@Override
+	public Duration getShowTransportsTimeout() {
+		return showTransportsTimeout;
+	}
+
+	@Override
+	public boolean isHedgingEnabled() {
+		return httpSettings.hedging();
+	}
+
+	@Override
+	public HttpSettings getHttpSettings() {
+		return httpSettings;
+	}
+
+	@Override
+	public void addHttpSettingsListener(Consumer<HttpSettings> listener) {
+		httpSettingsListeners.add(listener);
+	}
+
+	@Override
+	public ItemTypeRegistry getItemTypeRegistry() {
+		return ItemTypeRegistry.getCurrent();
+	}
+
+	@Override
+	public void addItemTypeListener(Consumer<ItemTypeRegistry> listener) {
+		itemTypeListeners.add(listener);
+	}
+
+	/**
+	 * Rebuilds the configuration snapshot when a connection setting changed and the item type
+	 * registry when the configured types changed.
+	 * The store also reports changes made through other stores on the same preference node.
+	 */
+	private void preferenceChanged(PropertyChangeEvent event) {
+		if (PreferenceConstants.P_CUSTOM_ITEM_TYPES.equals(event.getProperty())) {
+			applyItemTypes();
+			ItemTypeRegistry registry = ItemTypeRegistry.getCurrent();
+			for (Consumer<ItemTypeRegistry> listener : itemTypeListeners) {
+				listener.accept(registry);
+			}
+			return;
+		}
+		if (PreferenceConstants.P_RATE_LIMIT.equals(event.getProperty())
+				|| PreferenceConstants.P_RATE_BURST.equals(event.getProperty())) {
+			applyRateLimit();
+			return;
+		}
+		if (PreferenceConstants.P_HEDGE_BUDGET.equals(event.getProperty())) {
+			applyHedgeBudget();
+			return;
+		}
+		if (PreferenceConstants.P_FILTER_DELAY.equals(event.getProperty())) {
+			filterDelay = readFilterDelay();
+			return;
+		}
+		if (PreferenceConstants.P_SHOW_TRANSPORTS_TIMEOUT.equals(event.getProperty())) {
+			showTransportsTimeout = readShowTransportsTimeout();
+			return;
+		}
+		if (PreferenceConstants.P_PREFETCH_FEATURES.equals(event.getProperty())) {
+			boolean enabled = isFeaturePrefetchEnabled();
+			for (Consumer<Boolean> listener : prefetchListeners) {
+				listener.accept(enabled);
+			}
+			return;
+		}
+		if (BREAKER_KEYS.contains(event.getProperty())) {
+			breakerSettings = readBreakerSettings();
+			return;
+		}
+		if (HTTP_KEYS.contains(event.getProperty())) {
+			HttpSettings newSettings = readHttpSettings();
+			if (!newSettings.equals(httpSettings)) {
+				httpSettings = newSettings;
+				for (Consumer<HttpSettings> listener : httpSettingsListeners) {
+					listener.accept(newSettings);
+				}
+			}
+			return;
+		}
+		if (!CONFIG_KEYS.contains(event.getProperty())) {
+			return;
+		}
+		CloudAlmConfig newConfig = readConfig();
+		if (newConfig.equals(config)) {
+			return;
+		}
+		config = newConfig;
+		for (Consumer<CloudAlmConfig> listener : configListeners) {
+			listener.accept(newConfig);
+		}
+	}
+
+	/**
+	 * Compiles the configured item types into the current registry.
+	 * Invalid definitions are logged and leave only the built-in types in effect.
+	 */
+	private void applyItemTypes() {
+		try {
+			ItemTypeRegistry.setCurrent(ItemTypeRegistry.withCustomTypes(
+					preferenceStore.getString(PreferenceConstants.P_CUSTOM_ITEM_TYPES)));
+		} catch (IllegalArgumentException e) {
+			CloudAlmLinkLogger.logWarning(e.getMessage());
+			ItemTypeRegistry.setCurrent(ItemTypeRegistry.BUILT_IN);
+		}
+	}
+
+	/**
+	 * Applies the configured request limits to the shared rate limiter.
+	 * Out-of-range values are logged and leave the current limits in effect.
+	 */
+	private void applyRateLimit() {
+		try {
+			TokenBucketRateLimiter.getInstance().configure(
+					preferenceStore.getInt(PreferenceConstants.P_RATE_LIMIT),
+					preferenceStore.getInt(PreferenceConstants.P_RATE_BURST));
+		} catch (IllegalArgumentException e) {
+			CloudAlmLinkLogger.logWarning("Invalid Cloud ALM rate limit: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Applies the configured share of hedged requests to the shared hedge budget.
+	 * Out-of-range values are logged and leave the current share in effect.
+	 */
+	private void applyHedgeBudget() {
+		try {
+			HedgeBudget.getInstance().configure(preferenceStore.getInt(PreferenceConstants.P_HEDGE_BUDGET));
+		} catch (IllegalArgumentException e) {
+			CloudAlmLinkLogger.logWarning("Invalid hedge budget: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Reads the circuit breaker thresholds.
+	 * Out-of-range values are logged and replaced by the defaults.
+	 */
+	private CircuitBreaker.Settings readBreakerSettings() {
+		try {
+			return new CircuitBreaker.Settings(
+					preferenceStore.getInt(PreferenceConstants.P_BREAKER_FAILURE_RATE),
+					preferenceStore.getInt(PreferenceConstants.P_BREAKER_MIN_CALLS),
+					Duration.ofSeconds(preferenceStore.getInt(PreferenceConstants.P_BREAKER_OPEN_SECONDS)),
+					preferenceStore.getInt(PreferenceConstants.P_BREAKER_PROBES));
+		} catch (IllegalArgumentException e) {
+			CloudAlmLinkLogger.logWarning("Invalid circuit breaker settings, using defaults: " + e.getMessage());
+			return CircuitBreaker.Settings.DEFAULTS;
+		}
+	}
+
+	/**
+	 * Reads the HTTP client settings.
+	 * Out-of-range values are logged and replaced by the defaults.
+	 */
+	private HttpSettings readHttpSettings() {
+		try {
+			return new HttpSettings(
+					Duration.ofSeconds(preferenceStore.getInt(PreferenceConstants.P_HTTP_CONNECT_TIMEOUT)),
+					Duration.ofSeconds(preferenceStore.getInt(PreferenceConstants.P_HTTP_POOL_TIMEOUT)),
+					Duration.ofSeconds(preferenceStore.getInt(PreferenceConstants.P_HTTP_RESPONSE_TIMEOUT)),
+					preferenceStore.getInt(PreferenceConstants.P_HTTP_MAX_CONNECTIONS),
+					preferenceStore.getInt(PreferenceConstants.P_HTTP_MAX_CONNECTIONS_PER_HOST),
+					Duration.ofSeconds(preferenceStore.getInt(PreferenceConstants.P_HTTP_CONNECTION_TTL)),
+					Duration.ofSeconds(preferenceStore.getInt(PreferenceConstants.P_HTTP_IDLE_EVICTION)),
+					Duration.ofMillis(preferenceStore.getInt(PreferenceConstants.P_HTTP_VALIDATE_AFTER)),
+					Duration.ofSeconds(preferenceStore.getInt(PreferenceConstants.P_HTTP_KEEP_ALIVE)),
+					preferenceStore.getBoolean(PreferenceConstants.P_HEDGE_REQUESTS));
+		} catch (IllegalArgumentException e) {
+			CloudAlmLinkLogger.logWarning("Invalid HTTP settings, using defaults: " + e.getMessage());
+			return HttpSettings.DEFAULTS;
+		}
+	}
+
+	private int readFilterDelay() {
+		return Math.max(0, preferenceStore.getInt(PreferenceConstants.P_FILTER_DELAY));
+	}
+
+	private Duration readShowTransportsTimeout() {
+		return Duration.ofSeconds(Math.max(1, preferenceStore.getInt(PreferenceConstants.P_SHOW_TRANSPORTS_TIMEOUT)));
+	}
+
+	private CloudAlmConfig readConfig() {
+		return new CloudAlmConfig(
+				preferenceStore.getString(PreferenceConstants.P_TEN),
+				preferenceStore.getString(PreferenceConstants.P_REG),
+				preferenceStore.getString(PreferenceConstants.P_CID),
+				preferenceStore.getString(PreferenceConstants.P_KEY),
+				preferenceStore.getBoolean(PreferenceConstants.P_DEMO)
+		);
 	}
 
 	/**
@@ -0,0 +1,162 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Single-pass lexer finding Cloud ALM IDs in ABAP source and their comment status.
+ * <p>
+ * The lexer walks a {@link CharSequence} region line by line and tracks the ABAP comment state:
+ * <ul>
+ * <li>a line whose first non-blank character is {@code *} is a comment</li>
+ * <li>a {@code "} starts a comment up to the end of the line, unless it is inside a
+ * {@code '...'} or {@code `...`} literal</li>
+ * </ul>
+ * An ID is one of the configured prefixes, a {@code -} and at least one digit (e.g. {@code 6-1234}),
+ * found at the same positions as the pattern {@code (?:3|6|7|15)-\d+}. Prefixes are matched with an
+ * {@link IdPrefixTrie}, so one walk over the digits decides between all of them.
+ * Scanning does not allocate; IDs are reported as offsets to an {@link IdSink}.
+ */
+public final class AbapCommentLexer {
+
+	/**
+	 * Lexer for features (6-), tasks/requirements (3-), documents (7-) and libraries (15-).
+	 * Use {@link com.consetto.adt.cloudalmlink.model.ItemTypeRegistry#lexer()} to include configured types.
+	 */
+	public static final AbapCommentLexer DEFAULT = new AbapCommentLexer("3", "6", "7", "15");
+
+	/**
+	 * Receives the IDs found by {@link AbapCommentLexer#scan}.
+	 */
+	@FunctionalInterface
+	public interface IdSink {
+
+		/**
+		 * Called for every ID in offset order.
+		 *
+		 * @param start The offset of the first ID character
+		 * @param end The offset behind the last ID character
+		 * @param inComment true if the ID is inside an ABAP comment
+		 */
+		void id(int start, int end, boolean inComment);
+	}
+
+	private final IdPrefixTrie<?> prefixes;
+
+	/**
+	 * Creates a lexer for the given ID prefixes.
+	 *
+	 * @param prefixes The ID prefixes without the trailing {@code -} (e.g. "6"), digits only
+	 */
+	public AbapCommentLexer(String... prefixes) {
+		Map<String, String> trie = new LinkedHashMap<>();
+		for (String prefix : prefixes) {
+			trie.put(prefix, prefix);
+		}
+		this.prefixes = new IdPrefixTrie<>(trie);
+	}
+
+	/**
+	 * Creates a lexer for the prefixes of a compiled trie.
+	 *
+	 * @param prefixes The prefix trie
+	 */
+	public AbapCommentLexer(IdPrefixTrie<?> prefixes) {
+		this.prefixes = prefixes;
+	}
+
+	/**
+	 * Scans a region for IDs. The region should start at a line start.
+	 *
+	 * @param text The text
+	 * @param start The start offset of the region
+	 * @param end The end offset of the region (exclusive)
+	 * @param sink Receives the IDs
+	 */
+	public void scan(CharSequence text, int start, int end, IdSink sink) {
+		int pos = start;
+		boolean lineStart = true;
+		boolean comment = false;
+		char literal = 0;
+		while (pos < end) {
+			char c = text.charAt(pos);
+			if (c == '\n' || c == '\r') {
+				lineStart = true;
+				comment = false;
+				literal = 0;
+				pos++;
+				continue;
+			}
+			if (lineStart && c > ' ') {
+				lineStart = false;
+				comment = c == '*';
+			}
+
+			if (!comment) {
+				if (literal != 0) {
+					if (c == literal) {
+						literal = 0;
+					}
+				} else if (c == '\'' || c == '`') {
+					literal = c;
+				} else if (c == '"') {
+					comment = true;
+				}
+			}
+
+			int idEnd = matchId(text, pos, end);
+			if (idEnd != -1) {
+				sink.id(pos, idEnd, comment);
+				pos = idEnd;
+			} else {
+				pos++;
+			}
+		}
+	}
+
+	/**
+	 * Checks whether a position of a line is inside an ABAP comment.
+	 *
+	 * @param text The text
+	 * @param lineStart The offset of the line start
+	 * @param lineEnd The offset of the line end (exclusive)
+	 * @param position The position to check
+	 * @return true if the position is inside a comment
+	 */
+	public boolean isInComment(CharSequence text, int lineStart, int lineEnd, int position) {
+		int pos = lineStart;
+		while (pos < lineEnd && text.charAt(pos) <= ' ') {
+			pos++;
+		}
+		if (pos < lineEnd && text.charAt(pos) == '*') {
+			return true;
+		}
+
+		char literal = 0;
+		for (int end = Math.min(position, lineEnd); pos < end; pos++) {
+			char c = text.charAt(pos);
+			if (literal != 0) {
+				if (c == literal) {
+					literal = 0;
+				}
+			} else if (c == '\'' || c == '`') {
+				literal = c;
+			} else if (c == '"') {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Matches an ID starting exactly at a position.
+	 *
+	 * @param text The text
+	 * @param pos The position of the first prefix character
+	 * @param end The end of the text region (exclusive)
+	 * @return The offset behind the ID, or -1 if no ID starts at the position
+	 */
+	public int matchId(CharSequence text, int pos, int end) {
+		return prefixes.matchId(text, pos, end);
+	}
+}
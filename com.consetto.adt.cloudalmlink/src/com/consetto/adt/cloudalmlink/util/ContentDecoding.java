@@ -0,0 +1,187 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Streaming decoder of compressed HTTP response bodies, counting the bytes received and the bytes
+ * decoded so the savings of compression show in the {@link CloudAlmMetrics}.
+ * <p>
+ * Supports the encodings advertised in {@link #ACCEPT_ENCODING}. The body is decoded while it is
+ * read; nothing is buffered beyond the decoder's window, and a body that is closed without being
+ * read is not decoded at all.
+ */
+public final class ContentDecoding {
+
+	/** Value of the {@code Accept-Encoding} header for requests whose responses are decoded here */
+	public static final String ACCEPT_ENCODING = "gzip, deflate";
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private ContentDecoding() {
+	}
+
+	/**
+	 * Wraps a response body in a stream returning the decoded content.
+	 *
+	 * @param raw The body as received
+	 * @param contentEncoding The value of the {@code Content-Encoding} header, may be null
+	 * @param metrics The metrics counting the received and decoded bytes
+	 * @return The decoded body
+	 * @throws IOException If an encoding is not supported
+	 */
+	public static InputStream decode(InputStream raw, String contentEncoding, CloudAlmMetrics metrics)
+			throws IOException {
+		List<String> encodings = parseEncodings(contentEncoding);
+		InputStream received = new CountingInputStream(raw, metrics::recordReceivedBytes);
+		return new CountingInputStream(new DecodingInputStream(received, encodings), metrics::recordDecodedBytes);
+	}
+
+	/**
+	 * Parses a {@code Content-Encoding} header.
+	 *
+	 * @return The encodings in the order they were applied, without {@code identity}
+	 * @throws IOException If an encoding is not supported
+	 */
+	private static List<String> parseEncodings(String contentEncoding) throws IOException {
+		List<String> encodings = new ArrayList<>();
+		if (contentEncoding == null) {
+			return encodings;
+		}
+		for (String value : contentEncoding.split(",")) {
+			String encoding = value.trim().toLowerCase(Locale.ROOT);
+			switch (encoding) {
+			case "", "identity" -> {
+				// Not encoded
+			}
+			case "gzip", "x-gzip" -> encodings.add("gzip");
+			case "deflate" -> encodings.add("deflate");
+			default -> throw new IOException("Unsupported content encoding: " + encoding);
+			}
+		}
+		return encodings;
+	}
+
+	private static InputStream decoder(InputStream in, String encoding) throws IOException {
+		if ("gzip".equals(encoding)) {
+			return new GZIPInputStream(in, BUFFER_SIZE);
+		}
+		// "deflate" is meant to be zlib-wrapped, but some servers send a raw deflate stream
+		PushbackInputStream pushback = new PushbackInputStream(in, 2);
+		byte[] header = new byte[2];
+		int length = 0;
+		for (int n; length < header.length && (n = pushback.read(header, length, header.length - length)) > 0;) {
+			length += n;
+		}
+		pushback.unread(header, 0, length);
+		boolean zlib = length == 2 && (header[0] & 0x0F) == 8
+				&& (((header[0] & 0xFF) << 8) | (header[1] & 0xFF)) % 31 == 0;
+		Inflater inflater = new Inflater(!zlib);
+		return new InflaterInputStream(pushback, inflater, BUFFER_SIZE) {
+			@Override
+			public void close() throws IOException {
+				try {
+					super.close();
+				} finally {
+					inflater.end();
+				}
+			}
+		};
+	}
+
+	/**
+	 * Decodes the body on first read, so an unread body is closed without decoding its header.
+	 */
+	private static final class DecodingInputStream extends InputStream {
+
+		private final InputStream raw;
+		private final List<String> encodings;
+		private InputStream decoded;
+
+		DecodingInputStream(InputStream raw, List<String> encodings) {
+			this.raw = raw;
+			this.encodings = encodings;
+		}
+
+		private InputStream decoded() throws IOException {
+			if (decoded == null) {
+				InputStream in = raw;
+				// Decode in the reverse order of encoding
+				for (int i = encodings.size() - 1; i >= 0; i--) {
+					in = decoder(in, encodings.get(i));
+				}
+				decoded = in;
+			}
+			return decoded;
+		}
+
+		@Override
+		public int read() throws IOException {
+			return decoded().read();
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return decoded().read(b, off, len);
+		}
+
+		@Override
+		public int available() throws IOException {
+			return decoded != null ? decoded.available() : 0;
+		}
+
+		@Override
+		public void close() throws IOException {
+			(decoded != null ? decoded : raw).close();
+		}
+	}
+
+	/**
+	 * Reports the number of bytes read through it.
+	 */
+	private static final class CountingInputStream extends FilterInputStream {
+
+		private final LongConsumer counter;
+
+		CountingInputStream(InputStream in, LongConsumer counter) {
+			super(in);
+			this.counter = counter;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int b = super.read();
+			if (b >= 0) {
+				counter.accept(1);
+			}
+			return b;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int n = super.read(b, off, len);
+			if (n > 0) {
+				counter.accept(n);
+			}
+			return n;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long skipped = super.skip(n);
+			if (skipped > 0) {
+				counter.accept(skipped);
+			}
+			return skipped;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.consetto.adt.cloudalmlink.util;
+
+/**
+ * Budget capping hedged requests at a share of all Cloud ALM requests of the workbench, so
+ * hedging cuts tail latency without adding noticeable load.
+ * <p>
+ * Every request earns a fraction of a hedge and every hedge spends a whole one. The balance is
+ * capped, so a quiet period does not allow a burst of hedges afterwards. The class is thread-safe.
+ */
+public final class HedgeBudget {
+
+	/** Default share of requests that may be hedged in percent */
+	public static final int DEFAULT_PERCENT = 5;
+
+	// The most hedges that can be saved up
+	private static final double MAX_BALANCE = 3;
+
+	private static volatile HedgeBudget instance;
+
+	private double earnedPerRequest;
+	private double balance;
+
+	/**
+	 * Creates an empty budget.
+	 *
+	 * @param percent The share of requests that may be hedged, 0 to 100
+	 */
+	public HedgeBudget(int percent) {
+		configure(percent);
+	}
+
+	/**
+	 * Gets the budget shared by all Cloud ALM calls.
+	 * Thread-safe lazy initialization.
+	 *
+	 * @return The shared budget
+	 */
+	public static HedgeBudget getInstance() {
+		if (instance == null) {
+			synchronized (HedgeBudget.class) {
+				if (instance == null) {
+					instance = new HedgeBudget(DEFAULT_PERCENT);
+				}
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * Changes the share of requests that may be hedged. The saved-up hedges are kept.
+	 *
+	 * @param percent The share in percent, 0 disables hedging
+	 * @throws IllegalArgumentException If the share is out of range
+	 */
+	public synchronized void configure(int percent) {
+		if (percent < 0 || percent > 100) {
+			throw new IllegalArgumentException("percent must be between 0 and 100: " + percent);
+		}
+		this.earnedPerRequest = percent / 100.0;
+	}
+
+	/**
+	 * Credits a request sent to Cloud ALM.
+	 */
+	public synchronized void onRequest() {
+		balance = Math.min(MAX_BALANCE, balance + earnedPerRequest);
+	}
+
+	/**
+	 * Spends a hedge if the budget allows one.
+	 *
+	 * @return true if a hedged request may be sent
+	 */
+	public synchronized boolean tryHedge() {
+		if (balance < 1) {
+			return false;
+		}
+		balance--;
+		return true;
+	}
+}
@@ -0,0 +1,74 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Latencies of the most recent requests, to tell a straggler from a normal response.
+ * <p>
+ * A fixed number of samples is kept in a ring buffer, so old measurements age out as Cloud ALM
+ * gets faster or slower. Percentiles are only reported once enough samples were recorded to be
+ * meaningful. The class is thread-safe.
+ */
+public final class LatencyTracker {
+
+	private final long[] samples;
+	private final int minimumSamples;
+	private int next;
+	private int count;
+
+	/**
+	 * Creates an empty tracker.
+	 *
+	 * @param capacity The number of most recent latencies kept
+	 * @param minimumSamples The number of latencies required before percentiles are reported
+	 * @throws IllegalArgumentException If the capacity is not positive or smaller than the minimum
+	 */
+	public LatencyTracker(int capacity, int minimumSamples) {
+		if (capacity < 1 || minimumSamples < 1 || minimumSamples > capacity) {
+			throw new IllegalArgumentException("Requires 1 <= minimumSamples <= capacity: " + minimumSamples + ", " + capacity);
+		}
+		this.samples = new long[capacity];
+		this.minimumSamples = minimumSamples;
+	}
+
+	/**
+	 * Records the latency of a completed request.
+	 *
+	 * @param latency The time from sending the request to receiving the response
+	 */
+	public synchronized void record(Duration latency) {
+		samples[next] = latency.toNanos();
+		next = (next + 1) % samples.length;
+		count = Math.min(count + 1, samples.length);
+	}
+
+	/**
+	 * Gets a percentile of the recent latencies.
+	 *
+	 * @param percent The percentile, e.g. 95
+	 * @return The latency that this share of the recent requests did not exceed, or null if too few
+	 *         latencies were recorded
+	 */
+	public Duration percentile(double percent) {
+		long[] sorted;
+		synchronized (this) {
+			if (count < minimumSamples) {
+				return null;
+			}
+			sorted = Arrays.copyOf(samples, count);
+		}
+		Arrays.sort(sorted);
+		int rank = (int) Math.ceil(percent / 100 * sorted.length);
+		return Duration.ofNanos(sorted[Math.max(0, Math.min(sorted.length, rank) - 1)]);
+	}
+
+	/**
+	 * Gets the number of latencies kept.
+	 *
+	 * @return The sample count
+	 */
+	public synchronized int sampleCount() {
+		return count;
+	}
+}
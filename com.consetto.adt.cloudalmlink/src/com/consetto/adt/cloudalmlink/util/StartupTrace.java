@@ -0,0 +1,43 @@
+package com.consetto.adt.cloudalmlink.util;
+
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Measures what the plugin adds to workbench start and view restore.
+ * <p>
+ * Enabled by the debug option {@value #OPTION}, e.g. in an {@code .options} file passed with
+ * {@code -debug}. When disabled, measuring costs a single field read.
+ */
+public final class StartupTrace {
+
+	/** Debug option enabling the startup trace */
+	public static final String OPTION = "com.consetto.adt.cloudalmlink/debug/startup";
+
+	private static final boolean ENABLED = "true".equalsIgnoreCase(Platform.getDebugOption(OPTION));
+
+	private StartupTrace() {
+		// Prevent instantiation
+	}
+
+	/**
+	 * Starts measuring a startup step.
+	 *
+	 * @return The start time to pass to {@link #end(String, long)}
+	 */
+	public static long start() {
+		return ENABLED ? System.nanoTime() : 0;
+	}
+
+	/**
+	 * Logs the time a startup step took, if the trace is enabled.
+	 *
+	 * @param step The name of the step
+	 * @param start The time returned by {@link #start()}
+	 */
+	public static void end(String step, long start) {
+		if (ENABLED) {
+			long micros = (System.nanoTime() - start) / 1_000;
+			CloudAlmLinkLogger.logInfo(String.format("Startup: %s took %d.%03d ms", step, micros / 1_000, micros % 1_000));
+		}
+	}
+}
@@ -10,6 +10,7 @@ import java.util.function.Function;
  * @param <T> The type of elements in the table
  */
 public record TableColumnDefinition<T>(
+		String key,
 		String title,
 		int width,
 		Function<T, String> labelExtractor,
@@ -19,12 +20,13 @@ public record TableColumnDefinition<T>(
 	/**
 	 * Creates a column definition without a comparator.
 	 *
+	 * @param key The column key used in column-qualified searches (e.g. "status")
 	 * @param title The column header text
 	 * @param width The initial column width in pixels
 	 * @param labelExtractor Function to extract the display text from an element
 	 */
-	public TableColumnDefinition(String title, int width, Function<T, String> labelExtractor) {
-		this(title, width, labelExtractor, null);
+	public TableColumnDefinition(String key, String title, int width, Function<T, String> labelExtractor) {
+		this(key, title, width, labelExtractor, null);
 	}
 
 	/**
@@ -0,0 +1,39 @@
+package com.consetto.adt.cloudalmlink.views;
+
+import org.eclipse.jface.viewers.ILazyContentProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.Viewer;
+
+/**
+ * Lazy content provider for the virtual TransportView table.
+ * Rows are only handed to the viewer when SWT asks for a visible item,
+ * so label providers never run for rows that are scrolled out of view.
+ */
+public class TransportContentProvider implements ILazyContentProvider {
+
+	private final TableViewer viewer;
+	private final TransportTableModel model;
+
+	/**
+	 * Creates a content provider serving rows from the given model.
+	 *
+	 * @param viewer The virtual table viewer
+	 * @param model The row model
+	 */
+	public TransportContentProvider(TableViewer viewer, TransportTableModel model) {
+		this.viewer = viewer;
+		this.model = model;
+	}
+
+	@Override
+	public void updateElement(int index) {
+		if (index < model.size()) {
+			viewer.replace(model.get(index), index);
+		}
+	}
+
+	@Override
+	public void inputChanged(Viewer changedViewer, Object oldInput, Object newInput) {
+		// Rows are pushed through the model, the viewer input is only a marker
+	}
+}
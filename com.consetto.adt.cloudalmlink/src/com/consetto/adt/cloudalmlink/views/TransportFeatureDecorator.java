@@ -0,0 +1,128 @@
+package com.consetto.adt.cloudalmlink.views;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.IDecoration;
+import org.eclipse.jface.viewers.ILightweightLabelDecorator;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.LabelProviderChangedEvent;
+import org.eclipse.swt.widgets.Display;
+
+import com.consetto.adt.cloudalmlink.handlers.TransportFeatures;
+import com.consetto.adt.cloudalmlink.model.CloudAlmConfig;
+import com.consetto.adt.cloudalmlink.services.CloudAlmLookupService;
+import com.consetto.adt.cloudalmlink.services.PreferenceService;
+import com.consetto.adt.cloudalmlink.util.CloudAlmLinkLogger;
+import com.consetto.adt.cloudalmlink.util.LookupBatcher;
+import com.sap.adt.tm.impl.Request;
+
+/**
+ * Appends the Cloud ALM feature and its status to transport requests in the Transport Organizer.
+ * <p>
+ * The tree only asks for the rows it paints, so only visible requests are looked up. Decorating
+ * never waits for Cloud ALM: uncached requests are queued and resolved in batches by a background
+ * job through the shared {@link CloudAlmLookupService} cache, and their labels are refreshed
+ * once the features arrive.
+ */
+public class TransportFeatureDecorator extends LabelProvider implements ILightweightLabelDecorator {
+
+	private static final int MAX_BATCH_SIZE = 50;
+
+	// Collects the rows painted together into one batch
+	private static final long BATCH_DELAY_MS = 50;
+
+	private final LookupBatcher<String> batcher = new LookupBatcher<>(MAX_BATCH_SIZE);
+	private final Map<String, Request> elements = new ConcurrentHashMap<>();
+	private final Job batchJob = Job.create("Looking up Cloud ALM features of transports", monitor -> {
+		resolveQueued();
+		return Status.OK_STATUS;
+	});
+	private final Consumer<CloudAlmConfig> configListener = config -> {
+		batcher.clear();
+		Display.getDefault().asyncExec(() -> fireLabelProviderChanged(new LabelProviderChangedEvent(this)));
+	};
+
+	/**
+	 * Creates the decorator. Instantiated by the workbench decorator manager.
+	 */
+	public TransportFeatureDecorator() {
+		batchJob.setSystem(true);
+		// Registered after the lookup service, so its cache is invalidated before labels are refreshed
+		CloudAlmLookupService.getInstance();
+		PreferenceService.getInstance().addConfigListener(configListener);
+	}
+
+	@Override
+	public void decorate(Object element, IDecoration decoration) {
+		if (!(element instanceof Request request) || request.getNumber() == null || !isEnabled()) {
+			return;
+		}
+		String transportId = request.getNumber();
+		CloudAlmLookupService lookupService = CloudAlmLookupService.getInstance();
+		if (lookupService.isFeatureCached(transportId)) {
+			String suffix = TransportFeatures.decorationSuffix(lookupService.getCachedFeature(transportId));
+			if (suffix != null) {
+				decoration.addSuffix(suffix);
+			}
+			return;
+		}
+		elements.put(transportId, request);
+		if (batcher.request(transportId)) {
+			batchJob.schedule(BATCH_DELAY_MS);
+		}
+	}
+
+	/**
+	 * Resolves all queued transports batch by batch and refreshes their labels.
+	 */
+	private void resolveQueued() {
+		List<String> batch;
+		while (!(batch = batcher.nextBatch()).isEmpty()) {
+			try {
+				CloudAlmLookupService.getInstance().resolveFeaturesInBackground(batch);
+			} catch (RuntimeException e) {
+				CloudAlmLinkLogger.logWarning("Failed to look up the features of transports " + batch, e);
+			} finally {
+				batcher.done(batch);
+			}
+
+			// Only refresh what was resolved; failed lookups would otherwise be requested again at once
+			List<Request> resolved = new ArrayList<>();
+			for (String transportId : batch) {
+				Request request = elements.remove(transportId);
+				if (request != null && CloudAlmLookupService.getInstance().isFeatureCached(transportId)) {
+					resolved.add(request);
+				}
+			}
+			if (!resolved.isEmpty()) {
+				LabelProviderChangedEvent event = new LabelProviderChangedEvent(this, resolved.toArray());
+				Display.getDefault().asyncExec(() -> fireLabelProviderChanged(event));
+			}
+		}
+	}
+
+	private static boolean isEnabled() {
+		CloudAlmConfig config = PreferenceService.getInstance().getCloudAlmConfig();
+		return config.demoMode() || config.isValid();
+	}
+
+	@Override
+	public boolean isLabelProperty(Object element, String property) {
+		return false;
+	}
+
+	@Override
+	public void dispose() {
+		PreferenceService.getInstance().removeConfigListener(configListener);
+		batchJob.cancel();
+		batcher.clear();
+		elements.clear();
+		super.dispose();
+	}
+}
@@ -1,16 +1,21 @@
 package com.consetto.adt.cloudalmlink.views;
 
+import java.util.Locale;
+
 import org.eclipse.jface.viewers.Viewer;
 import org.eclipse.jface.viewers.ViewerFilter;
 import com.consetto.adt.cloudalmlink.model.VersionElement;
 
 /**
  * Filter for TransportView that matches search text against all visible columns.
- * Supports case-insensitive partial matching across all fields.
+ * Supports case-insensitive partial matching across all fields as well as
+ * column-qualified terms such as {@code status:RELEASED owner:DEV*}; see {@link TransportQuery}.
+ * The search text is compiled once and matching does not allocate.
  */
 public class TransportFilter extends ViewerFilter {
 
 	private String searchString = "";
+	private TransportQuery query = TransportQuery.compile(null);
 
 	/**
 	 * Sets the search text for filtering.
@@ -18,11 +23,32 @@ public class TransportFilter extends ViewerFilter {
 	 * @param s The search string (case-insensitive)
 	 */
 	public void setSearchText(String s) {
-		this.searchString = (s == null ? "" : s.toLowerCase().trim());
+		this.searchString = (s == null ? "" : s.toLowerCase(Locale.ROOT).trim());
+		this.query = TransportQuery.compile(searchString);
+	}
+
+	/**
+	 * Gets the current search text.
+	 *
+	 * @return The current search string
+	 */
+	public String getSearchText() {
+		return searchString;
 	}
 
 	@Override
 	public boolean select(Viewer viewer, Object parentElement, Object element) {
+		return select(element);
+	}
+
+	/**
+	 * Determines if the given element matches the current search criteria.
+	 * Used directly by the TransportView table model, which filters on row indexes.
+	 *
+	 * @param element The element to check
+	 * @return true if the element matches, false otherwise
+	 */
+	public boolean select(Object element) {
 		if (searchString.isEmpty()) {
 			return true;
 		}
@@ -32,23 +58,6 @@ public class TransportFilter extends ViewerFilter {
 			return false;
 		}
 
-		// Match against version/transport fields
-		if (matches(v.getID())) return true;
-		if (matches(v.getTransportId())) return true;
-		if (matches(v.getAuthor())) return true;
-		if (matches(v.getTitle())) return true;
-
-		// Match against feature fields
-		if (v.getFeature() != null) {
-			if (matches(v.getFeature().getDisplayId())) return true;
-			if (matches(v.getFeature().getStatus())) return true;
-			if (matches(v.getFeature().getResponsibleId())) return true;
-		}
-
-		return false;
-	}
-
-	private boolean matches(String value) {
-		return value != null && value.toLowerCase().contains(searchString);
+		return query.test(v);
 	}
 }
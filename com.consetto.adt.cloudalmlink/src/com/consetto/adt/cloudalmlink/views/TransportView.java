@@ -2,8 +2,13 @@ package com.consetto.adt.cloudalmlink.views;
 
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.util.ArrayList;
 import java.util.List;
 
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IMenuListener;
 import org.eclipse.jface.action.IMenuManager;
@@ -11,17 +16,16 @@ import org.eclipse.jface.action.IToolBarManager;
 import org.eclipse.jface.action.MenuManager;
 import org.eclipse.jface.action.Separator;
 import org.eclipse.jface.dialogs.MessageDialog;
-import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.ColumnLabelProvider;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.jface.viewers.TableViewer;
 import org.eclipse.jface.viewers.TableViewerColumn;
 import org.eclipse.swt.SWT;
-import org.eclipse.swt.events.KeyAdapter;
-import org.eclipse.swt.events.KeyEvent;
+import org.eclipse.swt.events.SelectionListener;
 import org.eclipse.swt.layout.GridData;
 import org.eclipse.swt.layout.GridLayout;
 import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Label;
 import org.eclipse.swt.widgets.Menu;
 import org.eclipse.swt.widgets.Table;
@@ -40,6 +44,7 @@ import com.consetto.adt.cloudalmlink.model.VersionData;
 import com.consetto.adt.cloudalmlink.model.VersionElement;
 import com.consetto.adt.cloudalmlink.services.PreferenceService;
 import com.consetto.adt.cloudalmlink.util.CloudAlmLinkLogger;
+import com.consetto.adt.cloudalmlink.util.StartupTrace;
 
 import jakarta.inject.Inject;
 
@@ -55,12 +60,22 @@ public class TransportView extends ViewPart {
 	IWorkbench workbench;
 
 	private TableViewer viewer;
+	private final TransportTableModel model = new TransportTableModel();
 	private Action showInBrowserAction;
 	private TransportFilter searchFilter;
+	private FilterJob filterJob;
+	private final List<ColumnSort> sortColumns = new ArrayList<>();
 	private boolean isDemoMode = false;
 
+	/**
+	 * A sorted table column with its comparator and direction.
+	 */
+	private record ColumnSort(TableColumn column, TableColumnDefinition<VersionElement> definition, boolean ascending) {
+	}
+
 	@Override
 	public void createPartControl(Composite parent) {
+		long start = StartupTrace.start();
 		GridLayout layout = new GridLayout(2, false);
 		parent.setLayout(layout);
 
@@ -69,36 +84,39 @@ public class TransportView extends ViewPart {
 
 		final Text searchText = new Text(parent, SWT.BORDER | SWT.SEARCH);
 		searchText.setLayoutData(new GridData(GridData.GRAB_HORIZONTAL | GridData.HORIZONTAL_ALIGN_FILL));
-		searchText.setMessage("Filter by any column...");
+		searchText.setMessage("Filter, e.g. payment status:RELEASED owner:DEV* -\"No Feature\"");
 
-		// Initialize filter and connect to search field
+		// Initialize filter and connect to search field; filtering is debounced and runs in the background
 		searchFilter = new TransportFilter();
-		searchText.addKeyListener(new KeyAdapter() {
-			@Override
-			public void keyReleased(KeyEvent e) {
-				searchFilter.setSearchText(searchText.getText());
-				viewer.refresh();
-			}
+		searchText.addModifyListener(e -> {
+			TransportFilter filter = new TransportFilter();
+			filter.setSearchText(searchText.getText());
+			searchFilter = filter;
+			scheduleFilter(PreferenceService.getInstance().getFilterDelay());
 		});
 
 		createViewer(parent);
+		StartupTrace.end("Transports view", start);
 	}
 
 	/**
-	 * Creates and configures the table viewer for displaying version data.
+	 * Creates and configures the virtual table viewer for displaying version data.
+	 * Only rows scrolled into view are materialised and labelled.
 	 */
 	private void createViewer(Composite parent) {
-		viewer = new TableViewer(parent, SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION | SWT.BORDER);
+		viewer = new TableViewer(parent,
+				SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL | SWT.FULL_SELECTION | SWT.BORDER | SWT.VIRTUAL);
 		createColumns();
 
 		final Table table = viewer.getTable();
 		table.setHeaderVisible(true);
 		table.setLinesVisible(true);
 
-		viewer.setContentProvider(new ArrayContentProvider());
+		viewer.setContentProvider(new TransportContentProvider(viewer, model));
 		viewer.setUseHashlookup(true);
-		viewer.addFilter(searchFilter);
-		viewer.setInput(VersionData.getInstance().getVersions());
+		viewer.setInput(model);
+		// Starts empty; the HTTP client is only built by the first "Show Transports and Features"
+		setRows(List.of());
 
 		// Make selection available to other views
 		getSite().setSelectionProvider(viewer);
@@ -124,6 +142,8 @@ public class TransportView extends ViewPart {
 
 	/**
 	 * Creates table columns using the declarative column definitions.
+	 * Clicking a header sorts by that column and toggles the direction;
+	 * Shift+click adds the column as an additional sort key.
 	 */
 	private void createColumns() {
 		List<TableColumnDefinition<VersionElement>> columns = TransportViewColumns.getColumns();
@@ -135,6 +155,10 @@ public class TransportView extends ViewPart {
 			column.setWidth(colDef.width());
 			column.setResizable(true);
 			column.setMoveable(true);
+			if (colDef.comparator() != null) {
+				column.addSelectionListener(SelectionListener.widgetSelectedAdapter(
+						e -> sortByColumn(column, colDef, (e.stateMask & SWT.SHIFT) != 0)));
+			}
 
 			viewerColumn.setLabelProvider(new ColumnLabelProvider() {
 				@Override
@@ -148,6 +172,52 @@ public class TransportView extends ViewPart {
 		}
 	}
 
+	/**
+	 * Updates the sort keys after a header click and re-arranges the visible rows.
+	 *
+	 * @param column The clicked column
+	 * @param definition The column definition providing the comparator
+	 * @param addKey true to add or toggle the column as secondary key (Shift+click)
+	 */
+	private void sortByColumn(TableColumn column, TableColumnDefinition<VersionElement> definition, boolean addKey) {
+		int existing = -1;
+		for (int i = 0; i < sortColumns.size(); i++) {
+			if (sortColumns.get(i).column() == column) {
+				existing = i;
+			}
+		}
+
+		if (addKey && existing >= 0) {
+			ColumnSort current = sortColumns.get(existing);
+			sortColumns.set(existing, new ColumnSort(column, definition, !current.ascending()));
+		} else if (addKey) {
+			sortColumns.add(new ColumnSort(column, definition, true));
+		} else {
+			boolean ascending = existing != 0 || !sortColumns.get(0).ascending();
+			sortColumns.clear();
+			sortColumns.add(new ColumnSort(column, definition, ascending));
+		}
+
+		List<TransportTableModel.SortKey> keys = new ArrayList<>();
+		for (ColumnSort sort : sortColumns) {
+			keys.add(new TransportTableModel.SortKey(sort.definition().comparator(), sort.ascending()));
+		}
+		model.setSortKeys(keys);
+
+		// The header indicator shows the primary sort key
+		Table table = viewer.getTable();
+		ColumnSort primary = sortColumns.get(0);
+		table.setSortColumn(primary.column());
+		table.setSortDirection(primary.ascending() ? SWT.UP : SWT.DOWN);
+		refreshTable();
+
+		// A filter result computed against the previous order is discarded, even one that is only
+		// waiting to be applied; compute it again
+		if (!searchFilter.getSearchText().isEmpty()) {
+			scheduleFilter(0);
+		}
+	}
+
 	private void hookContextMenu() {
 		MenuManager menuMgr = new MenuManager("#PopupMenu");
 		menuMgr.setRemoveAllWhenShown(true);
@@ -205,6 +275,10 @@ public class TransportView extends ViewPart {
 							CloudAlmLinkLogger.logError("Failed to open browser for URL: " + calmURL, e);
 							showMessage("Could not open browser. Please check the Error Log for details.");
 						}
+					} else if (version.getFeature() != null && version.getFeature().isUnavailable()) {
+						showMessage("Cloud ALM is currently unavailable. Please show the transports again later.");
+					} else if (version.getFeature() != null && version.getFeature().isTimedOut()) {
+						showMessage("The feature was not looked up in time. Please show the transports again.");
 					} else {
 						showMessage("No Feature ID available for this transport.");
 					}
@@ -236,6 +310,10 @@ public class TransportView extends ViewPart {
 	@Override
 	public void dispose() {
 		// Clean up resources
+		if (filterJob != null) {
+			filterJob.cancel();
+			filterJob = null;
+		}
 		searchFilter = null;
 		viewer = null;
 		showInBrowserAction = null;
@@ -249,7 +327,7 @@ public class TransportView extends ViewPart {
 	 */
 	public void setVersionData(VersionData versions) {
 		isDemoMode = false;
-		viewer.setInput(versions.getVersions());
+		setRows(versions != null ? versions.getVersions() : List.of());
 	}
 
 	/**
@@ -259,6 +337,82 @@ public class TransportView extends ViewPart {
 	 */
 	public void setDemoData(List<VersionElement> demoVersions) {
 		isDemoMode = true;
-		viewer.setInput(demoVersions);
+		setRows(demoVersions);
+	}
+
+	/**
+	 * Replaces the table rows and reapplies the current search filter.
+	 * While a search is entered, no row is shown until the filter result for the new rows is
+	 * applied, so unfiltered rows never flash up.
+	 */
+	private void setRows(List<VersionElement> rows) {
+		boolean filtered = !searchFilter.getSearchText().isEmpty();
+		model.setRows(rows, !filtered);
+		refreshTable();
+		if (filtered) {
+			scheduleFilter(0);
+		}
+	}
+
+	/**
+	 * Schedules a background filter run against the current rows and sort order.
+	 * A pending or running filter job is cancelled, so only the result for the
+	 * latest search text is ever applied to the table.
+	 *
+	 * @param delay Debounce delay in milliseconds
+	 */
+	private void scheduleFilter(long delay) {
+		if (filterJob != null) {
+			filterJob.cancel();
+		}
+		filterJob = new FilterJob(model.snapshot(), searchFilter, viewer.getControl().getDisplay());
+		filterJob.schedule(delay);
+	}
+
+	/**
+	 * Lets the virtual table re-request its visible items after the model changed.
+	 */
+	private void refreshTable() {
+		viewer.setItemCount(model.size());
+		viewer.refresh();
+	}
+
+	/**
+	 * Computes the visible rows off the UI thread and applies the result
+	 * if no newer filter run has been scheduled in the meantime.
+	 */
+	private final class FilterJob extends Job {
+
+		private final TransportTableModel.Snapshot snapshot;
+		private final TransportFilter filter;
+		private final Display display;
+
+		FilterJob(TransportTableModel.Snapshot snapshot, TransportFilter filter, Display display) {
+			super("Filtering Cloud ALM transports");
+			this.snapshot = snapshot;
+			this.filter = filter;
+			this.display = display;
+			setSystem(true);
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			int[] visible = TransportTableModel.computeVisible(snapshot, filter::select, monitor::isCanceled);
+			if (visible == null || monitor.isCanceled() || display.isDisposed()) {
+				return Status.CANCEL_STATUS;
+			}
+			display.asyncExec(() -> {
+				if (filterJob != this || viewer == null || viewer.getControl().isDisposed()) {
+					return;
+				}
+				if (model.setVisible(snapshot, visible)) {
+					refreshTable();
+				} else {
+					// The rows or the order changed without a new run; filter them again
+					scheduleFilter(0);
+				}
+			});
+			return Status.OK_STATUS;
+		}
 	}
 }